@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jfr;
+
+import javax.annotation.Nullable;
+import jdk.jfr.consumer.RecordedEvent;
+
+/** A kind of JFR event with a stack trace whose cost can be attributed to agent frames. */
+enum Dimension {
+  CPU("cpu", "jdk.ExecutionSample", "samples") {
+    @Override
+    long weight(RecordedEvent event) {
+      return 1;
+    }
+  },
+  ALLOCATION("allocation", "jdk.ObjectAllocationSample", "bytes") {
+    @Override
+    long weight(RecordedEvent event) {
+      // each sample stands for all the bytes allocated by the thread since the previous sample
+      return event.getLong("weight");
+    }
+  },
+  MONITOR("monitor", "jdk.JavaMonitorEnter", "ns") {
+    @Override
+    long weight(RecordedEvent event) {
+      return event.getDuration().toNanos();
+    }
+  },
+  PARK("park", "jdk.ThreadPark", "ns") {
+    @Override
+    long weight(RecordedEvent event) {
+      return event.getDuration().toNanos();
+    }
+  };
+
+  private final String reportName;
+  private final String eventName;
+  private final String unit;
+
+  Dimension(String reportName, String eventName, String unit) {
+    this.reportName = reportName;
+    this.eventName = eventName;
+    this.unit = unit;
+  }
+
+  String reportName() {
+    return reportName;
+  }
+
+  String unit() {
+    return unit;
+  }
+
+  abstract long weight(RecordedEvent event);
+
+  @Nullable
+  static Dimension forEvent(RecordedEvent event) {
+    String name = event.getEventType().getName();
+    for (Dimension dimension : values()) {
+      if (dimension.eventName.equals(name)) {
+        return dimension;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jfr;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** A frame of the agent call tree, weighted by the events recorded below it. */
+final class Node {
+
+  private final String frame;
+  private final Map<String, Node> childNodes = new HashMap<>();
+  private long value;
+
+  Node(String frame) {
+    this.frame = frame;
+  }
+
+  Node recordChild(String stackTraceElement, long weight) {
+    Node childNode = childNodes.computeIfAbsent(stackTraceElement, Node::new);
+    childNode.value += weight;
+    return childNode;
+  }
+
+  String getFrame() {
+    return frame;
+  }
+
+  long getValue() {
+    return value;
+  }
+
+  List<Node> getOrderedChildNodes() {
+    return childNodes.values().stream()
+        .sorted(Comparator.comparingLong(Node::getValue).reversed())
+        .collect(Collectors.toList());
+  }
+}
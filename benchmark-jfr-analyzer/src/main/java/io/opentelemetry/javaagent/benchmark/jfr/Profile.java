@@ -0,0 +1,207 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/** Costs of a single JFR recording, split into the part that is attributed to agent frames. */
+final class Profile {
+
+  private final Path recording;
+  private final Map<Dimension, Totals> totals = new EnumMap<>(Dimension.class);
+  private long gcCount;
+  private long gcPauseNanos;
+
+  private Profile(Path recording) {
+    this.recording = recording;
+    for (Dimension dimension : Dimension.values()) {
+      totals.put(dimension, new Totals());
+    }
+  }
+
+  static Profile read(Path recording) throws IOException {
+    // agent callers are collected from all stack traces before any event is attributed, recordings
+    // are streamed twice instead of being loaded into memory
+    Set<String> agentCallers = new HashSet<>();
+    try (RecordingFile recordingFile = new RecordingFile(recording)) {
+      while (recordingFile.hasMoreEvents()) {
+        RecordedEvent event = recordingFile.readEvent();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null && Dimension.forEvent(event) != null) {
+          String agentCaller = getAgentCaller(stackTrace);
+          if (agentCaller != null) {
+            agentCallers.add(agentCaller);
+          }
+        }
+      }
+    }
+
+    Profile profile = new Profile(recording);
+    try (RecordingFile recordingFile = new RecordingFile(recording)) {
+      while (recordingFile.hasMoreEvents()) {
+        profile.record(recordingFile.readEvent(), agentCallers);
+      }
+    }
+    return profile;
+  }
+
+  private void record(RecordedEvent event, Set<String> agentCallers) {
+    if (event.getEventType().getName().equals("jdk.GarbageCollection")) {
+      gcCount++;
+      gcPauseNanos += event.getDuration("sumOfPauses").toNanos();
+      return;
+    }
+    Dimension dimension = Dimension.forEvent(event);
+    if (dimension == null) {
+      return;
+    }
+    long weight = dimension.weight(event);
+    Totals dimensionTotals = totals.get(dimension);
+    dimensionTotals.total += weight;
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    if (stackTrace != null && processStackTrace(stackTrace, agentCallers, dimensionTotals, weight)) {
+      dimensionTotals.agent += weight;
+    }
+  }
+
+  Path getRecording() {
+    return recording;
+  }
+
+  long getTotal(Dimension dimension) {
+    return totals.get(dimension).total;
+  }
+
+  long getAgent(Dimension dimension) {
+    return totals.get(dimension).agent;
+  }
+
+  /** Returns the agent call tree, its first level are the (likely instrumented) agent callers. */
+  Node getAgentTree(Dimension dimension) {
+    return totals.get(dimension).root;
+  }
+
+  long getGcCount() {
+    return gcCount;
+  }
+
+  long getGcPauseNanos() {
+    return gcPauseNanos;
+  }
+
+  /**
+   * GC events have no stack trace, the GC pause time is attributed to the agent in proportion to
+   * the bytes that agent frames allocated.
+   */
+  long getEstimatedAgentGcPauseNanos() {
+    long allocated = getTotal(Dimension.ALLOCATION);
+    if (allocated == 0) {
+      return 0;
+    }
+    return (long) (gcPauseNanos * (getAgent(Dimension.ALLOCATION) / (double) allocated));
+  }
+
+  // getting direct callers since those are likely the instrumented methods
+  @Nullable
+  private static String getAgentCaller(RecordedStackTrace stackTrace) {
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (int i = frames.size() - 1; i >= 0; i--) {
+      RecordedFrame frame = frames.get(i);
+      RecordedMethod method = frame.getMethod();
+      if (isAgentMethod(method)) {
+        if (i == frames.size() - 1) {
+          // agent frame at the bottom of a (truncated) stack trace
+          return null;
+        }
+        RecordedFrame callerFrame = frames.get(i + 1);
+        RecordedMethod callerMethod = callerFrame.getMethod();
+        return getStackTraceElement(callerMethod, callerFrame);
+      }
+    }
+    return null;
+  }
+
+  private static boolean processStackTrace(
+      RecordedStackTrace stackTrace, Set<String> agentCallers, Totals totals, long weight) {
+    boolean analyze = false;
+    int analyzeFromIndex = 0;
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (int i = frames.size() - 1; i >= 0; i--) {
+      RecordedFrame frame = frames.get(i);
+      RecordedMethod method = frame.getMethod();
+      String stackTraceElement = getStackTraceElement(method, frame);
+      if (agentCallers.contains(stackTraceElement)) {
+        if (i == 0) {
+          analyze = true;
+          analyzeFromIndex = i;
+          break;
+        }
+        RecordedMethod nextMethod = frames.get(i - 1).getMethod();
+        String nextClassName = nextMethod.getType().getName();
+        // calls to java.* inside of the agent caller (likely an instrumented method) are
+        // potentially part of the injected agent code
+        if (nextClassName.startsWith("java.") || isAgentMethod(nextMethod)) {
+          analyze = true;
+          analyzeFromIndex = Math.min(i + 2, frames.size() - 1);
+          break;
+        }
+      }
+      if (isAgentMethod(method)) {
+        analyze = true;
+        analyzeFromIndex = Math.min(i + 1, frames.size() - 1);
+        break;
+      }
+    }
+    if (!analyze) {
+      return false;
+    }
+    Node node = totals.root;
+    for (int i = analyzeFromIndex; i >= 0; i--) {
+      RecordedFrame frame = frames.get(i);
+      RecordedMethod method = frame.getMethod();
+      String stackTraceElement = getStackTraceElement(method, frame);
+      node = node.recordChild(stackTraceElement, weight);
+    }
+    return true;
+  }
+
+  private static boolean isAgentMethod(RecordedMethod method) {
+    String className = method.getType().getName();
+    String methodName = method.getName();
+    return className.startsWith("io.opentelemetry.javaagent.")
+        && !className.startsWith("io.opentelemetry.javaagent.benchmark.")
+        // this shows up in stack traces because it's part of the filter chain
+        && !(className.equals(
+                "io.opentelemetry.javaagent.instrumentation.springwebmvc.HandlerMappingResourceNameFilter")
+            && methodName.equals("doFilter"));
+  }
+
+  private static String getStackTraceElement(RecordedMethod method, RecordedFrame frame) {
+    return method.getType().getName()
+        + "."
+        + method.getName()
+        + "() line: "
+        + frame.getLineNumber();
+  }
+
+  private static final class Totals {
+    private final Node root = new Node("");
+    private long total;
+    private long agent;
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jfr;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the agent attributed costs of a recording, optionally compared with a baseline recording.
+ * The text format prints the agent call trees, the JSON and CSV formats print one row per dimension
+ * and per agent caller so that CI can put thresholds on them.
+ */
+final class Report {
+
+  private static final String GC_DIMENSION = "gc";
+
+  private final Profile current;
+  @Nullable private final Profile baseline;
+  private final int topFrames;
+
+  Report(Profile current, @Nullable Profile baseline, int topFrames) {
+    this.current = current;
+    this.baseline = baseline;
+    this.topFrames = topFrames;
+  }
+
+  void writeText(PrintStream out) {
+    out.println("Recording: " + current.getRecording());
+    if (baseline != null) {
+      out.println("Baseline: " + baseline.getRecording());
+    }
+    for (Dimension dimension : Dimension.values()) {
+      out.println();
+      out.println("== " + dimension.reportName() + " (" + dimension.unit() + ")");
+      if (baseline == null) {
+        long total = current.getTotal(dimension);
+        long agent = current.getAgent(dimension);
+        out.println("Total: " + total);
+        out.format(Locale.ROOT, "Total agent: %d (%.2f%%)%n", agent, percent(agent, total));
+        out.println();
+        for (Node rootNode : current.getAgentTree(dimension).getOrderedChildNodes()) {
+          printNode(out, rootNode, 0);
+        }
+      } else {
+        for (Row row : rows(dimension)) {
+          printDiffRow(out, row);
+        }
+      }
+    }
+    out.println();
+    out.println("== " + GC_DIMENSION + " (ns)");
+    out.println("Collections: " + current.getGcCount());
+    if (baseline == null) {
+      long total = current.getGcPauseNanos();
+      long agent = current.getEstimatedAgentGcPauseNanos();
+      out.println("Total pause: " + total);
+      out.format(
+          Locale.ROOT,
+          "Estimated agent pause (by allocation share): %d (%.2f%%)%n",
+          agent,
+          percent(agent, total));
+    } else {
+      printDiffRow(out, gcRow());
+    }
+  }
+
+  void writeJson(PrintStream out) {
+    out.println("{");
+    out.println("  \"recording\": " + jsonString(current.getRecording().toString()) + ",");
+    if (baseline != null) {
+      out.println("  \"baseline\": " + jsonString(baseline.getRecording().toString()) + ",");
+    }
+    out.println("  \"metrics\": [");
+    List<Row> rows = allRows();
+    for (int i = 0; i < rows.size(); i++) {
+      Row row = rows.get(i);
+      StringBuilder sb = new StringBuilder("    {");
+      sb.append("\"dimension\": ").append(jsonString(row.dimension));
+      sb.append(", \"frame\": ").append(row.frame == null ? "null" : jsonString(row.frame));
+      sb.append(", \"unit\": ").append(jsonString(row.unit));
+      sb.append(", \"total\": ").append(row.total);
+      sb.append(", \"agent\": ").append(row.agent);
+      sb.append(", \"agentPercent\": ").append(formatPercent(row.agentPercent()));
+      if (baseline != null) {
+        sb.append(", \"baselineTotal\": ").append(row.baselineTotal);
+        sb.append(", \"baselineAgent\": ").append(row.baselineAgent);
+        sb.append(", \"baselineAgentPercent\": ")
+            .append(formatPercent(row.baselineAgentPercent()));
+        sb.append(", \"agentDelta\": ").append(row.agent - row.baselineAgent);
+      }
+      sb.append('}');
+      if (i < rows.size() - 1) {
+        sb.append(',');
+      }
+      out.println(sb);
+    }
+    out.println("  ]");
+    out.println("}");
+  }
+
+  void writeCsv(PrintStream out) {
+    StringBuilder header = new StringBuilder("dimension,frame,unit,total,agent,agent_percent");
+    if (baseline != null) {
+      header.append(",baseline_total,baseline_agent,baseline_agent_percent,agent_delta");
+    }
+    out.println(header);
+    for (Row row : allRows()) {
+      StringBuilder sb = new StringBuilder();
+      sb.append(row.dimension);
+      sb.append(',').append(row.frame == null ? "" : csvString(row.frame));
+      sb.append(',').append(row.unit);
+      sb.append(',').append(row.total);
+      sb.append(',').append(row.agent);
+      sb.append(',').append(formatPercent(row.agentPercent()));
+      if (baseline != null) {
+        sb.append(',').append(row.baselineTotal);
+        sb.append(',').append(row.baselineAgent);
+        sb.append(',').append(formatPercent(row.baselineAgentPercent()));
+        sb.append(',').append(row.agent - row.baselineAgent);
+      }
+      out.println(sb);
+    }
+  }
+
+  private List<Row> allRows() {
+    List<Row> rows = new ArrayList<>();
+    for (Dimension dimension : Dimension.values()) {
+      rows.addAll(rows(dimension));
+    }
+    rows.add(gcRow());
+    return rows;
+  }
+
+  // the dimension totals followed by the top agent callers
+  private List<Row> rows(Dimension dimension) {
+    List<Row> rows = new ArrayList<>();
+    Row totalRow = new Row(dimension.reportName(), null, dimension.unit());
+    totalRow.total = current.getTotal(dimension);
+    totalRow.agent = current.getAgent(dimension);
+    if (baseline != null) {
+      totalRow.baselineTotal = baseline.getTotal(dimension);
+      totalRow.baselineAgent = baseline.getAgent(dimension);
+    }
+    rows.add(totalRow);
+
+    Map<String, Row> frameRows = new LinkedHashMap<>();
+    for (Node node : current.getAgentTree(dimension).getOrderedChildNodes()) {
+      frameRow(frameRows, totalRow, node.getFrame()).agent = node.getValue();
+    }
+    if (baseline != null) {
+      for (Node node : baseline.getAgentTree(dimension).getOrderedChildNodes()) {
+        frameRow(frameRows, totalRow, node.getFrame()).baselineAgent = node.getValue();
+      }
+    }
+    Comparator<Row> order =
+        baseline == null
+            ? Comparator.comparingLong(row -> row.agent)
+            : Comparator.comparingLong(row -> Math.abs(row.agent - row.baselineAgent));
+    frameRows.values().stream()
+        .sorted(order.reversed())
+        .limit(topFrames)
+        .forEachOrdered(rows::add);
+    return rows;
+  }
+
+  private static Row frameRow(Map<String, Row> frameRows, Row totalRow, String frame) {
+    return frameRows.computeIfAbsent(
+        frame,
+        unused -> {
+          Row row = new Row(totalRow.dimension, frame, totalRow.unit);
+          row.total = totalRow.total;
+          row.baselineTotal = totalRow.baselineTotal;
+          return row;
+        });
+  }
+
+  private Row gcRow() {
+    Row row = new Row(GC_DIMENSION, null, "ns");
+    row.total = current.getGcPauseNanos();
+    row.agent = current.getEstimatedAgentGcPauseNanos();
+    if (baseline != null) {
+      row.baselineTotal = baseline.getGcPauseNanos();
+      row.baselineAgent = baseline.getEstimatedAgentGcPauseNanos();
+    }
+    return row;
+  }
+
+  private static void printNode(PrintStream out, Node node, int indent) {
+    for (int i = 0; i < indent; i++) {
+      out.print("  ");
+    }
+    out.format(Locale.ROOT, "%3d %s%n", node.getValue(), node.getFrame());
+    for (Node childNode : node.getOrderedChildNodes()) {
+      printNode(out, childNode, indent + 1);
+    }
+  }
+
+  private static void printDiffRow(PrintStream out, Row row) {
+    out.format(
+        Locale.ROOT,
+        "%s%d (%.2f%%) -> %d (%.2f%%), delta %+d%n",
+        row.frame == null ? "agent: " : "  " + row.frame + ": ",
+        row.baselineAgent,
+        row.baselineAgentPercent(),
+        row.agent,
+        row.agentPercent(),
+        row.agent - row.baselineAgent);
+  }
+
+  private static double percent(long value, long total) {
+    return total == 0 ? 0 : 100 * value / (double) total;
+  }
+
+  private static String formatPercent(double percent) {
+    return String.format(Locale.ROOT, "%.4f", percent);
+  }
+
+  private static String jsonString(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private static String csvString(String value) {
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  private static final class Row {
+    private final String dimension;
+    @Nullable private final String frame;
+    private final String unit;
+    private long total;
+    private long agent;
+    private long baselineTotal;
+    private long baselineAgent;
+
+    private Row(String dimension, @Nullable String frame, String unit) {
+      this.dimension = dimension;
+      this.frame = frame;
+      this.unit = unit;
+    }
+
+    private double agentPercent() {
+      return percent(agent, total);
+    }
+
+    private double baselineAgentPercent() {
+      return percent(baselineAgent, baselineTotal);
+    }
+  }
+}
@@ -9,6 +9,10 @@ plugins {
 
 dependencies {
   jmhImplementation("org.springframework.boot:spring-boot-starter-web:3.0.2")
+  jmhImplementation("io.netty:netty-codec-http:4.1.87.Final")
+  jmhImplementation("com.h2database:h2:1.4.197")
+  jmhImplementation("org.apache.activemq:activemq-broker:5.16.5")
+  jmhImplementation(project(":instrumentation-annotations"))
 }
 
 tasks {
@@ -27,6 +31,9 @@ tasks {
   val jmhWarmupIterations = gradle.startParameter.projectProperties["jmh.warmupIterations"]?.toInt()
   val jmhIterations = gradle.startParameter.projectProperties["jmh.iterations"]?.toInt()
   val jmhIncludes = gradle.startParameter.projectProperties["jmh.includes"]
+  // comma separated instrumentation names, e.g. -Pjmh.instrumentation=netty,jdbc runs the
+  // benchmarks with only these instrumentation modules enabled
+  val jmhInstrumentation = gradle.startParameter.projectProperties["jmh.instrumentation"]
 
   // note: if you want to capture a flight recording for a single benchmark, try
   //  -Pjmh.fork=1
@@ -52,6 +59,12 @@ tasks {
       // and this benchmark is focused on servlet overhead for now
       "-Dotel.instrumentation.http-url-connection.enabled=false",
     )
+    if (jmhInstrumentation != null) {
+      args.add("-Dotel.instrumentation.common.default-enabled=false")
+      jmhInstrumentation.split(',').forEach {
+        args.add("-Dotel.instrumentation.$it.enabled=true")
+      }
+    }
     if (jmhStartFlightRecording != null) {
       args.addAll(
         listOf(
@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executor;
+
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Fans work out to a thread pool and joins it from inside of a span, so that the context is
+ * propagated to every task.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+  private static final int TASKS = 10;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  public long execute() {
+    return fanOut();
+  }
+
+  @WithSpan
+  long fanOut() {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    CompletableFuture<Long>[] futures = new CompletableFuture[TASKS];
+    for (int i = 0; i < TASKS; i++) {
+      long value = i;
+      futures[i] =
+          CompletableFuture.supplyAsync(() -> value * value, executor)
+              .thenApplyAsync(square -> square + 1, executor);
+    }
+    long sum = 0;
+    for (CompletableFuture<Long> future : futures) {
+      sum += future.join();
+    }
+    return sum;
+  }
+}
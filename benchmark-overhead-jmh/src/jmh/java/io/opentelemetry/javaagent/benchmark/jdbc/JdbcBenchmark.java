@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JdbcBenchmark {
+
+  // the database lives as long as the benchmark jvm, it is shared by all benchmark threads
+  private static final String URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+  static {
+    try (Connection connection = DriverManager.getConnection(URL);
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE owners (id INT PRIMARY KEY, name VARCHAR(64))");
+      for (int i = 0; i < 100; i++) {
+        statement.execute("INSERT INTO owners VALUES (" + i + ", 'owner " + i + "')");
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Connection connection;
+  private PreparedStatement preparedStatement;
+  private int id;
+
+  @Setup
+  public void setup() throws SQLException {
+    connection = DriverManager.getConnection(URL);
+    preparedStatement = connection.prepareStatement("SELECT name FROM owners WHERE id = ?");
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    preparedStatement.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public String execute() throws SQLException {
+    id = (id + 1) % 100;
+    preparedStatement.setInt(1, id);
+    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+      resultSet.next();
+      return resultSet.getString(1);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jms;
+
+import java.util.concurrent.TimeUnit;
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Sends and receives a message through an embedded, non-persistent broker that is reached over the
+ * in-jvm transport, so no network or external broker is needed.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JmsBenchmark {
+
+  private static final ActiveMQConnectionFactory connectionFactory =
+      new ActiveMQConnectionFactory("vm://benchmark?broker.persistent=false&broker.useJmx=false");
+
+  private Connection connection;
+  private Session session;
+  private MessageProducer producer;
+  private MessageConsumer consumer;
+  private TextMessage message;
+
+  @Setup
+  public void setup() throws JMSException {
+    connection = connectionFactory.createConnection();
+    connection.start();
+    session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+    // a queue per benchmark thread, so that every thread receives its own messages
+    Queue queue = session.createTemporaryQueue();
+    producer = session.createProducer(queue);
+    producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+    consumer = session.createConsumer(queue);
+    message = session.createTextMessage("Hello world!");
+  }
+
+  @TearDown
+  public void tearDown() throws JMSException {
+    connection.close();
+  }
+
+  @Benchmark
+  public Message execute() throws JMSException {
+    producer.send(message);
+    return consumer.receive();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.netty.app;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+public class HelloWorldServer {
+
+  private static final ByteBuf CONTENT =
+      Unpooled.unreleasableBuffer(
+          Unpooled.copiedBuffer("Hello world!".getBytes(StandardCharsets.UTF_8)));
+
+  private static volatile EventLoopGroup eventLoopGroup;
+  private static volatile Channel channel;
+
+  public static int start() throws InterruptedException {
+    eventLoopGroup = new NioEventLoopGroup();
+    channel =
+        new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(SocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(new HttpServerCodec())
+                        .addLast(new HttpObjectAggregator(8192))
+                        .addLast(new HelloWorldHandler());
+                  }
+                })
+            .bind(0)
+            .sync()
+            .channel();
+    return ((InetSocketAddress) channel.localAddress()).getPort();
+  }
+
+  public static void stop() {
+    channel.close().syncUninterruptibly();
+    eventLoopGroup.shutdownGracefully();
+  }
+
+  private static class HelloWorldHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+      FullHttpResponse response =
+          new DefaultFullHttpResponse(
+              HttpVersion.HTTP_1_1, HttpResponseStatus.OK, CONTENT.duplicate());
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+      response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, CONTENT.readableBytes());
+      ctx.writeAndFlush(response);
+    }
+  }
+
+  private HelloWorldServer() {}
+}
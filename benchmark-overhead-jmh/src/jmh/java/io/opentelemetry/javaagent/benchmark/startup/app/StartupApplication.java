@@ -0,0 +1,22 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.startup.app;
+
+import io.opentelemetry.javaagent.benchmark.servlet.app.HelloWorldApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Boots the servlet application on a random port and exits as soon as it is ready. */
+public class StartupApplication {
+
+  public static void main(String... args) {
+    ConfigurableApplicationContext context =
+        SpringApplication.run(HelloWorldApplication.class, "--server.port=0");
+    context.close();
+  }
+
+  private StartupApplication() {}
+}
@@ -76,6 +76,10 @@ gradlePlugin {
       displayName = "Checks instrumented libraries against muzzle safety net"
       description = "https://github.com/open-telemetry/opentelemetry-java-instrumentation/blob/main/docs/contributing/muzzle.md"
     }
+    get("io.opentelemetry.instrumentation.virtual-field-injection").apply {
+      displayName = "Injects the fields of library instrumentation virtual fields at build time"
+      description = "https://github.com/open-telemetry/opentelemetry-java-instrumentation/blob/main/docs/virtual-field-injection.md"
+    }
   }
 }
 
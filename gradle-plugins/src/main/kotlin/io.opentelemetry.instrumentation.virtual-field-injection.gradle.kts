@@ -0,0 +1,84 @@
+import io.opentelemetry.instrumentation.field.VirtualFieldInjectionExtension
+import io.opentelemetry.instrumentation.field.VirtualFieldInjectionTransformation
+import net.bytebuddy.ClassFileVersion
+import net.bytebuddy.build.gradle.ByteBuddySimpleTask
+
+plugins {
+  `java-library`
+}
+
+/**
+ * Injects real fields for the configured virtual fields into the classes of the project at build
+ * time, so that library instrumentation (e.g. JDBC, Kafka or executors) stores its virtual fields
+ * in these fields instead of falling back to weak maps, like it does when running with the
+ * javaagent. The library runtime only looks for the injected fields of the virtual fields that are
+ * listed in a resource written by this plugin.
+ *
+ * <p>The ByteBuddy transformation task is configured manually between the compile and the classes
+ * tasks, see the muzzle-generation plugin for the reasons. Jars, e.g. shaded JDBC drivers, can be
+ * enhanced with [io.opentelemetry.instrumentation.field.InjectVirtualFieldsJarTask].
+ */
+
+val LANGUAGES = listOf("java", "scala", "kotlin")
+
+val virtualFieldInjection =
+  extensions.create<VirtualFieldInjectionExtension>("otelVirtualFieldInjection")
+
+val sourceSet = sourceSets.main.get()
+
+val generateVirtualFieldsResource by tasks.registering {
+  val virtualFields = virtualFieldInjection.virtualFields
+  val outputDirectory = layout.buildDirectory.dir("generated/resources/virtualFields")
+  inputs.property("virtualFields", virtualFields)
+  outputs.dir(outputDirectory)
+  doLast {
+    val file = outputDirectory.get()
+      .file("META-INF/io.opentelemetry.instrumentation/virtual-fields")
+      .asFile
+    file.parentFile.mkdirs()
+    file.writeText(virtualFields.get().sorted().joinToString(separator = "") { "$it\n" })
+  }
+}
+
+sourceSet.resources.srcDir(generateVirtualFieldsResource)
+
+val languageTasks = LANGUAGES.map { language ->
+  if (fileTree("src/${sourceSet.name}/${language}").isEmpty) {
+    return@map null
+  }
+  val compileTaskName = sourceSet.getCompileTaskName(language)
+  if (!tasks.names.contains(compileTaskName)) {
+    return@map null
+  }
+  val compileTask = tasks.named(compileTaskName)
+  createLanguageTask(compileTask, "injectVirtualFields${language.capitalize()}")
+}.filterNotNull()
+
+tasks {
+  named(sourceSet.classesTaskName) {
+    dependsOn(languageTasks)
+  }
+}
+
+fun createLanguageTask(
+  compileTaskProvider: TaskProvider<*>, name: String): TaskProvider<*> {
+  return tasks.register<ByteBuddySimpleTask>(name) {
+    setGroup("Byte Buddy")
+    outputs.cacheIf { true }
+    classFileVersion = ClassFileVersion.JAVA_V8
+    val compileTask = compileTaskProvider.get()
+    if (compileTask is AbstractCompile) {
+      val classesDirectory = compileTask.destinationDirectory.asFile.get()
+      val rawClassesDirectory: File = File(classesDirectory.parent, "${classesDirectory.name}raw")
+        .absoluteFile
+      dependsOn(compileTask)
+      compileTask.destinationDirectory.set(rawClassesDirectory)
+      source = rawClassesDirectory
+      target = classesDirectory
+      // the class path is needed to find the owner types in the class hierarchy
+      classPath = compileTask.classpath.plus(files(rawClassesDirectory))
+    }
+
+    transformations.add(VirtualFieldInjectionTransformation(virtualFieldInjection.virtualFields))
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+/**
+ * Names of the injected field and its accessors. These must be the same as the names used by the
+ * javaagent (`GeneratedVirtualFieldNames` in javaagent-tooling) and by the library runtime
+ * (`InjectedVirtualField` in instrumentation-api), so that both find the injected field.
+ */
+internal object GeneratedVirtualFieldNames {
+
+  fun getRealFieldName(typeName: String, fieldTypeName: String): String {
+    return "__opentelemetryVirtualField$" +
+      sanitizeClassName(typeName) +
+      "$" +
+      sanitizeClassName(fieldTypeName)
+  }
+
+  fun getRealGetterName(typeName: String, fieldTypeName: String): String {
+    return "__get" + getRealFieldName(typeName, fieldTypeName)
+  }
+
+  fun getRealSetterName(typeName: String, fieldTypeName: String): String {
+    return "__set" + getRealFieldName(typeName, fieldTypeName)
+  }
+
+  private fun sanitizeClassName(className: String): String {
+    var sanitized = className.replace('.', '$')
+    if (sanitized.endsWith("[]")) {
+      sanitized = sanitized.replace('[', '_').replace(']', '_')
+    }
+    return sanitized
+  }
+}
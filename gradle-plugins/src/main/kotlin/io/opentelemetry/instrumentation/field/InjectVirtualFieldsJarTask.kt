@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+import net.bytebuddy.build.Plugin
+import net.bytebuddy.dynamic.ClassFileLocator
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.SetProperty
+import org.gradle.api.tasks.CacheableTask
+import org.gradle.api.tasks.Classpath
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputFile
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Injects the fields of virtual fields into the classes of a jar, e.g. a shaded JDBC driver, and
+ * writes the enhanced jar to [outputJar]. The classes of the project itself are enhanced by the
+ * `io.opentelemetry.instrumentation.virtual-field-injection` plugin.
+ */
+@CacheableTask
+abstract class InjectVirtualFieldsJarTask : DefaultTask() {
+
+  @get:InputFile
+  @get:PathSensitive(PathSensitivity.NONE)
+  abstract val inputJar: RegularFileProperty
+
+  /** The dependencies of the jar, needed to find the owner types in the class hierarchy. */
+  @get:Classpath
+  abstract val classpath: ConfigurableFileCollection
+
+  @get:Input
+  abstract val virtualFields: SetProperty<String>
+
+  @get:OutputFile
+  abstract val outputJar: RegularFileProperty
+
+  @TaskAction
+  fun injectFields() {
+    val fields = VirtualFieldInjectionExtension.parse(virtualFields.get())
+    val plugin = VirtualFieldInjectionPlugin(fields)
+    val classFileLocator = ClassFileLocator.Compound(
+      classpath.files.map {
+        if (it.isDirectory) ClassFileLocator.ForFolder(it) else ClassFileLocator.ForJarFile.of(it)
+      } + ClassFileLocator.ForClassLoader.ofPlatformLoader()
+    )
+    val output = outputJar.get().asFile
+    output.delete()
+    classFileLocator.use {
+      val summary = Plugin.Engine.Default()
+        .with(it)
+        .apply(inputJar.get().asFile, output, Plugin.Factory.Simple(plugin))
+      if (summary.failed.isNotEmpty()) {
+        throw GradleException("Failed to inject virtual fields into ${summary.failed.keys}")
+      }
+    }
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+import net.bytebuddy.asm.AsmVisitorWrapper
+import net.bytebuddy.description.field.FieldDescription
+import net.bytebuddy.description.field.FieldList
+import net.bytebuddy.description.method.MethodList
+import net.bytebuddy.description.type.TypeDescription
+import net.bytebuddy.implementation.Implementation
+import net.bytebuddy.pool.TypePool
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.FieldVisitor
+import org.objectweb.asm.Label
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+
+/**
+ * Adds the fields of virtual fields and their public accessors to a class, like the javaagent's
+ * `RealFieldInjector` does at runtime. The class also implements the `InjectedVirtualFieldAccessor`
+ * interface of instrumentation-api, through which the library runtime reads and writes the fields
+ * with a plain interface call. When the javaagent instruments an enhanced class, it keeps the
+ * existing fields and accessors and only adds its interfaces.
+ *
+ * @param virtualFields the owner type names and field type names of the virtual fields
+ */
+internal class RealFieldInjector(
+  private val virtualFields: List<Pair<String, String>>
+) : AsmVisitorWrapper {
+
+  override fun mergeWriter(flags: Int): Int = flags or ClassWriter.COMPUTE_MAXS
+
+  override fun mergeReader(flags: Int): Int = flags
+
+  override fun wrap(
+    instrumentedType: TypeDescription,
+    classVisitor: ClassVisitor,
+    implementationContext: Implementation.Context,
+    typePool: TypePool,
+    fields: FieldList<FieldDescription.InDefinedShape>,
+    methods: MethodList<*>,
+    writerFlags: Int,
+    readerFlags: Int
+  ): ClassVisitor {
+    return object : ClassVisitor(Opcodes.ASM9, classVisitor) {
+      private val fieldNames = virtualFields.map { (typeName, fieldTypeName) ->
+        GeneratedVirtualFieldNames.getRealFieldName(typeName, fieldTypeName)
+      }
+      private val foundMembers = mutableSetOf<String>()
+      private var version = 0
+
+      override fun visit(
+        version: Int,
+        access: Int,
+        name: String,
+        signature: String?,
+        superName: String?,
+        interfaces: Array<String>?
+      ) {
+        this.version = version
+        val allInterfaces = (interfaces ?: emptyArray()).toMutableList()
+        if (!allInterfaces.contains(ACCESSOR_INTERFACE)) {
+          allInterfaces.add(ACCESSOR_INTERFACE)
+        }
+        super.visit(version, access, name, signature, superName, allInterfaces.toTypedArray())
+      }
+
+      override fun visitField(
+        access: Int,
+        name: String,
+        descriptor: String,
+        signature: String?,
+        value: Any?
+      ): FieldVisitor? {
+        foundMembers.add(name)
+        return super.visitField(access, name, descriptor, signature, value)
+      }
+
+      override fun visitMethod(
+        access: Int,
+        name: String,
+        descriptor: String,
+        signature: String?,
+        exceptions: Array<String>?
+      ): MethodVisitor? {
+        foundMembers.add(name)
+        return super.visitMethod(access, name, descriptor, signature, exceptions)
+      }
+
+      override fun visitEnd() {
+        for (fieldName in fieldNames) {
+          if (!foundMembers.contains(fieldName)) {
+            // the field type is Object like in the javaagent, where the field type may not be
+            // visible to the class loader of the enhanced class
+            cv.visitField(
+              Opcodes.ACC_PRIVATE or
+                Opcodes.ACC_VOLATILE or
+                Opcodes.ACC_TRANSIENT or
+                Opcodes.ACC_SYNTHETIC,
+              fieldName,
+              OBJECT_DESCRIPTOR,
+              null,
+              null
+            )
+          }
+          if (!foundMembers.contains("__get$fieldName")) {
+            addGetter(fieldName)
+          }
+          if (!foundMembers.contains("__set$fieldName")) {
+            addSetter(fieldName)
+          }
+        }
+        // a class that was enhanced before keeps its accessor methods, these are only generated
+        // together with all of the fields
+        if (!foundMembers.contains(GET_VIRTUAL_FIELD)) {
+          addGetVirtualField()
+        }
+        if (!foundMembers.contains(SET_VIRTUAL_FIELD)) {
+          addSetVirtualField()
+        }
+        super.visitEnd()
+      }
+
+      private fun addGetter(fieldName: String) {
+        val mv = cv.visitMethod(
+          Opcodes.ACC_PUBLIC or Opcodes.ACC_SYNTHETIC,
+          "__get$fieldName",
+          "()$OBJECT_DESCRIPTOR",
+          null,
+          null
+        )
+        mv.visitCode()
+        mv.visitVarInsn(Opcodes.ALOAD, 0)
+        mv.visitFieldInsn(
+          Opcodes.GETFIELD,
+          instrumentedType.internalName,
+          fieldName,
+          OBJECT_DESCRIPTOR
+        )
+        mv.visitInsn(Opcodes.ARETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+      }
+
+      private fun addSetter(fieldName: String) {
+        val mv = cv.visitMethod(
+          Opcodes.ACC_PUBLIC or Opcodes.ACC_SYNTHETIC,
+          "__set$fieldName",
+          "($OBJECT_DESCRIPTOR)V",
+          null,
+          null
+        )
+        mv.visitCode()
+        mv.visitVarInsn(Opcodes.ALOAD, 0)
+        mv.visitVarInsn(Opcodes.ALOAD, 1)
+        mv.visitFieldInsn(
+          Opcodes.PUTFIELD,
+          instrumentedType.internalName,
+          fieldName,
+          OBJECT_DESCRIPTOR
+        )
+        mv.visitInsn(Opcodes.RETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+      }
+
+      // Object __opentelemetryGetVirtualField(String name) {
+      //   if (name.equals("field1")) return field1;
+      //   ...
+      //   return InjectedVirtualFieldAccessor.NOT_INJECTED;
+      // }
+      private fun addGetVirtualField() {
+        val mv = cv.visitMethod(
+          Opcodes.ACC_PUBLIC or Opcodes.ACC_SYNTHETIC,
+          GET_VIRTUAL_FIELD,
+          "($STRING_DESCRIPTOR)$OBJECT_DESCRIPTOR",
+          null,
+          null
+        )
+        mv.visitCode()
+        for (fieldName in fieldNames) {
+          val next = Label()
+          visitNameEquals(mv, fieldName, next)
+          mv.visitVarInsn(Opcodes.ALOAD, 0)
+          mv.visitFieldInsn(
+            Opcodes.GETFIELD,
+            instrumentedType.internalName,
+            fieldName,
+            OBJECT_DESCRIPTOR
+          )
+          mv.visitInsn(Opcodes.ARETURN)
+          visitNext(mv, next)
+        }
+        mv.visitFieldInsn(Opcodes.GETSTATIC, ACCESSOR_INTERFACE, "NOT_INJECTED", OBJECT_DESCRIPTOR)
+        mv.visitInsn(Opcodes.ARETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+      }
+
+      // boolean __opentelemetrySetVirtualField(String name, Object value) {
+      //   if (name.equals("field1")) { field1 = value; return true; }
+      //   ...
+      //   return false;
+      // }
+      private fun addSetVirtualField() {
+        val mv = cv.visitMethod(
+          Opcodes.ACC_PUBLIC or Opcodes.ACC_SYNTHETIC,
+          SET_VIRTUAL_FIELD,
+          "($STRING_DESCRIPTOR$OBJECT_DESCRIPTOR)Z",
+          null,
+          null
+        )
+        mv.visitCode()
+        for (fieldName in fieldNames) {
+          val next = Label()
+          visitNameEquals(mv, fieldName, next)
+          mv.visitVarInsn(Opcodes.ALOAD, 0)
+          mv.visitVarInsn(Opcodes.ALOAD, 2)
+          mv.visitFieldInsn(
+            Opcodes.PUTFIELD,
+            instrumentedType.internalName,
+            fieldName,
+            OBJECT_DESCRIPTOR
+          )
+          mv.visitInsn(Opcodes.ICONST_1)
+          mv.visitInsn(Opcodes.IRETURN)
+          visitNext(mv, next)
+        }
+        mv.visitInsn(Opcodes.ICONST_0)
+        mv.visitInsn(Opcodes.IRETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+      }
+
+      // the runtime passes interned names, so equals() returns on its identity check
+      private fun visitNameEquals(mv: MethodVisitor, fieldName: String, next: Label) {
+        mv.visitVarInsn(Opcodes.ALOAD, 1)
+        mv.visitLdcInsn(fieldName)
+        mv.visitMethodInsn(
+          Opcodes.INVOKEVIRTUAL,
+          "java/lang/String",
+          "equals",
+          "($OBJECT_DESCRIPTOR)Z",
+          false
+        )
+        mv.visitJumpInsn(Opcodes.IFEQ, next)
+      }
+
+      private fun visitNext(mv: MethodVisitor, next: Label) {
+        mv.visitLabel(next)
+        // class files before Java 6 have no stack map frames
+        if ((version and 0xFFFF) >= Opcodes.V1_6) {
+          mv.visitFrame(Opcodes.F_SAME, 0, null, 0, null)
+        }
+      }
+    }
+  }
+
+  companion object {
+    private const val OBJECT_DESCRIPTOR = "Ljava/lang/Object;"
+    private const val STRING_DESCRIPTOR = "Ljava/lang/String;"
+    private const val ACCESSOR_INTERFACE =
+      "io/opentelemetry/instrumentation/api/internal/InjectedVirtualFieldAccessor"
+    private const val GET_VIRTUAL_FIELD = "__opentelemetryGetVirtualField"
+    private const val SET_VIRTUAL_FIELD = "__opentelemetrySetVirtualField"
+  }
+}
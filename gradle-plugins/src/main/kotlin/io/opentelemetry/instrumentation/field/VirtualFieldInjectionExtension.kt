@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+import org.gradle.api.provider.SetProperty
+
+/**
+ * Configures the virtual fields that the `io.opentelemetry.instrumentation.virtual-field-injection`
+ * plugin injects into the classes of the project.
+ */
+abstract class VirtualFieldInjectionExtension {
+
+  /** The virtual fields, as `"typeName fieldTypeName"` pairs. */
+  abstract val virtualFields: SetProperty<String>
+
+  /**
+   * Injects a field for the virtual field of type [fieldTypeName] into all concrete subtypes of
+   * [typeName], e.g. `field("java.sql.Connection",
+   * "io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo")`.
+   */
+  fun field(typeName: String, fieldTypeName: String) {
+    virtualFields.add("$typeName $fieldTypeName")
+  }
+
+  companion object {
+    internal fun parse(virtualFields: Set<String>): Map<String, Set<String>> {
+      val result = linkedMapOf<String, MutableSet<String>>()
+      for (virtualField in virtualFields) {
+        val (typeName, fieldTypeName) = virtualField.split(' ', limit = 2)
+        result.getOrPut(typeName) { linkedSetOf() }.add(fieldTypeName)
+      }
+      return result
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+import net.bytebuddy.build.Plugin
+import net.bytebuddy.description.type.TypeDefinition
+import net.bytebuddy.description.type.TypeDescription
+import net.bytebuddy.dynamic.ClassFileLocator
+import net.bytebuddy.dynamic.DynamicType
+
+/**
+ * ByteBuddy build plugin that injects the fields of the given virtual fields into every concrete
+ * class that is a subtype of the virtual field's owner type, the same classes the javaagent would
+ * inject a field into at runtime.
+ *
+ * @param virtualFields virtual field owner type names, mapped to the field type names
+ */
+class VirtualFieldInjectionPlugin(
+  private val virtualFields: Map<String, Collection<String>>
+) : Plugin {
+
+  override fun matches(target: TypeDescription): Boolean {
+    return !target.isInterface && !target.isAbstract && ownerTypes(target).isNotEmpty()
+  }
+
+  override fun apply(
+    builder: DynamicType.Builder<*>,
+    typeDescription: TypeDescription,
+    classFileLocator: ClassFileLocator
+  ): DynamicType.Builder<*> {
+    val fields = ownerTypes(typeDescription).flatMap { typeName ->
+      virtualFields.getValue(typeName).map { fieldTypeName -> typeName to fieldTypeName }
+    }
+    return builder.visit(RealFieldInjector(fields))
+  }
+
+  override fun close() {}
+
+  private fun ownerTypes(type: TypeDescription): Set<String> {
+    val ownerTypes = linkedSetOf<String>()
+    collectOwnerTypes(type, ownerTypes, mutableSetOf())
+    return ownerTypes
+  }
+
+  private fun collectOwnerTypes(
+    type: TypeDefinition,
+    ownerTypes: MutableSet<String>,
+    visited: MutableSet<String>
+  ) {
+    val name = type.asErasure().name
+    if (!visited.add(name)) {
+      return
+    }
+    if (virtualFields.containsKey(name)) {
+      ownerTypes.add(name)
+    }
+    // types that are not on the class path cannot be resolved, like in the javaagent's
+    // IgnoreFailedTypeMatcher their super types are skipped
+    try {
+      type.superClass?.let { collectOwnerTypes(it, ownerTypes, visited) }
+      for (interfaceType in type.interfaces) {
+        collectOwnerTypes(interfaceType, ownerTypes, visited)
+      }
+    } catch (e: IllegalStateException) {
+      // ignored
+    }
+  }
+}
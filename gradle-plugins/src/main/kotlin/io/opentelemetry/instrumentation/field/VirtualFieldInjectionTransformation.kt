@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field
+
+import net.bytebuddy.build.Plugin.Factory.UsingReflection.ArgumentResolver
+import net.bytebuddy.build.gradle.Transformation
+import org.gradle.api.provider.SetProperty
+import org.gradle.api.tasks.Input
+
+/**
+ * [Transformation] that applies [VirtualFieldInjectionPlugin], the virtual fields are exposed to
+ * Gradle as task input.
+ */
+class VirtualFieldInjectionTransformation(
+  @get:Input val virtualFields: SetProperty<String>
+) : Transformation() {
+
+  init {
+    plugin = VirtualFieldInjectionPlugin::class.java
+  }
+
+  override fun makeArgumentResolvers(): List<ArgumentResolver> {
+    val fields = VirtualFieldInjectionExtension.parse(virtualFields.get())
+    return listOf(ArgumentResolver.ForIndex(0, fields))
+  }
+}
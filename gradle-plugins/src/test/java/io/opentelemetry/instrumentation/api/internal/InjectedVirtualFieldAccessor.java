@@ -0,0 +1,20 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+// a copy of the interface in instrumentation-api that the enhanced classes implement, which is not
+// a dependency of the Gradle plugins
+// CHECKSTYLE:OFF
+@SuppressWarnings("MemberName")
+public interface InjectedVirtualFieldAccessor {
+
+  Object NOT_INJECTED = new Object();
+
+  Object __opentelemetryGetVirtualField(String fieldName);
+
+  boolean __opentelemetrySetVirtualField(String fieldName, Object value);
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.internal.InjectedVirtualFieldAccessor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.jupiter.api.Test;
+
+class VirtualFieldInjectionPluginTest {
+
+  private static final String FIELD_NAME =
+      "__opentelemetryVirtualField$java$lang$Runnable$java$lang$String";
+
+  private final Plugin plugin =
+      new VirtualFieldInjectionPlugin(
+          Collections.singletonMap(
+              Runnable.class.getName(), Collections.singleton(String.class.getName())));
+
+  @Test
+  void matchesConcreteSubtypes() {
+    assertThat(plugin.matches(TypeDescription.ForLoadedType.of(Task.class))).isTrue();
+    assertThat(plugin.matches(TypeDescription.ForLoadedType.of(SubTask.class))).isTrue();
+    assertThat(plugin.matches(TypeDescription.ForLoadedType.of(AbstractTask.class))).isFalse();
+    assertThat(plugin.matches(TypeDescription.ForLoadedType.of(Runnable.class))).isFalse();
+    assertThat(plugin.matches(TypeDescription.ForLoadedType.of(Object.class))).isFalse();
+  }
+
+  @Test
+  void injectsFieldAndAccessors() throws Exception {
+    ClassFileLocator classFileLocator =
+        ClassFileLocator.ForClassLoader.of(Task.class.getClassLoader());
+    Class<?> enhanced =
+        plugin
+            .apply(
+                new ByteBuddy().redefine(Task.class, classFileLocator),
+                TypeDescription.ForLoadedType.of(Task.class),
+                classFileLocator)
+            .make()
+            .load(Task.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+            .getLoaded();
+
+    Field field = enhanced.getDeclaredField(FIELD_NAME);
+    assertThat(Modifier.isPrivate(field.getModifiers())).isTrue();
+    assertThat(Modifier.isVolatile(field.getModifiers())).isTrue();
+    assertThat(Modifier.isTransient(field.getModifiers())).isTrue();
+    assertThat(field.isSynthetic()).isTrue();
+
+    Method getter = enhanced.getMethod("__get" + FIELD_NAME);
+    Method setter = enhanced.getMethod("__set" + FIELD_NAME, Object.class);
+    Object task = enhanced.getDeclaredConstructor().newInstance();
+    assertThat(getter.invoke(task)).isNull();
+    setter.invoke(task, "value");
+    assertThat(getter.invoke(task)).isEqualTo("value");
+
+    // the library runtime accesses the field through the accessor interface
+    assertThat(task).isInstanceOf(InjectedVirtualFieldAccessor.class);
+    InjectedVirtualFieldAccessor accessor = (InjectedVirtualFieldAccessor) task;
+    assertThat(accessor.__opentelemetryGetVirtualField(FIELD_NAME)).isEqualTo("value");
+    assertThat(accessor.__opentelemetrySetVirtualField(FIELD_NAME, "other")).isTrue();
+    assertThat(getter.invoke(task)).isEqualTo("other");
+
+    assertThat(accessor.__opentelemetryGetVirtualField("unknown"))
+        .isSameAs(InjectedVirtualFieldAccessor.NOT_INJECTED);
+    assertThat(accessor.__opentelemetrySetVirtualField("unknown", "value")).isFalse();
+  }
+
+  public abstract static class AbstractTask implements Runnable {}
+
+  public static class Task extends AbstractTask {
+    @Override
+    public void run() {}
+  }
+
+  public static class SubTask extends Task {}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link #sanitize()} writes the command with its arguments as {@code String}s, {@link
+ * #sanitizeBytes()} with the arguments as {@code byte[]}s, like Jedis and Lettuce pass them, and
+ * {@link #sanitizeBytesWithLimit()} cuts the statement at 1024 characters. {@link #lookup()} and
+ * {@link #lookupUpperCaseHashMap()} compare the command lookup with the previous implementation,
+ * which upper-cased the command for a lookup in a {@code HashMap}.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class RedisCommandSanitizerBenchmark {
+
+  private static final RedisCommandSanitizer SANITIZER = RedisCommandSanitizer.create(true);
+  private static final RedisCommandSanitizer LIMITED_SANITIZER =
+      RedisCommandSanitizer.create(true, 1024);
+
+  @Param({"GET", "SET", "HMSET", "EVAL", "UNKNOWN"})
+  public String command;
+
+  // the length of the values, which are masked apart from the EVAL script
+  @Param({"16", "65536"})
+  public int valueLength;
+
+  private String lowerCaseCommand;
+  private List<?> args;
+  private List<byte[]> byteArgs;
+  private Map<String, Object> upperCaseCommands;
+
+  @Setup
+  public void setup() {
+    String value = value(valueLength);
+    switch (command) {
+      case "GET":
+        args = Arrays.asList("owner:42");
+        break;
+      case "SET":
+        args = Arrays.asList("owner:42", value, "EX", 3600);
+        break;
+      case "HMSET":
+        args =
+            Arrays.asList(
+                "owner:42", "first_name", "George", "last_name", "Franklin", "city", "Madison");
+        break;
+      case "EVAL":
+        args = Arrays.asList("return redis.call('get', KEYS[1])", 1, "owner:42");
+        break;
+      default:
+        args = Arrays.asList("owner:42", value);
+    }
+
+    byteArgs = new ArrayList<>();
+    for (Object arg : args) {
+      byteArgs.add(String.valueOf(arg).getBytes(UTF_8));
+    }
+    lowerCaseCommand = command.toLowerCase(Locale.ROOT);
+    upperCaseCommands = new HashMap<>();
+    for (String name : RedisCommandSanitizer.SANITIZERS.names()) {
+      upperCaseCommands.put(name, name);
+    }
+  }
+
+  @Benchmark
+  public String sanitize() {
+    return SANITIZER.sanitize(command, args);
+  }
+
+  @Benchmark
+  public String sanitizeBytes() {
+    return SANITIZER.sanitize(command, byteArgs);
+  }
+
+  @Benchmark
+  public String sanitizeBytesWithLimit() {
+    return LIMITED_SANITIZER.sanitize(command, byteArgs);
+  }
+
+  @Benchmark
+  public Object lookup() {
+    return RedisCommandSanitizer.SANITIZERS.get(lowerCaseCommand);
+  }
+
+  @Benchmark
+  public Object lookupUpperCaseHashMap() {
+    return upperCaseCommands.get(lowerCaseCommand.toUpperCase(Locale.ROOT));
+  }
+
+  private static String value(int length) {
+    StringBuilder value = new StringBuilder(length);
+    while (value.length() < length) {
+      value.append("{\"name\": \"George Franklin\"}");
+    }
+    value.setLength(length);
+    return value.toString();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.db;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class DbClientAttributesExtractorBenchmark {
+
+  private static final AttributesExtractor<String, Void> DB_EXTRACTOR =
+      DbClientAttributesExtractor.create(DbGetter.INSTANCE);
+  private static final AttributesExtractor<String, Void> SQL_EXTRACTOR =
+      SqlClientAttributesExtractor.create(SqlGetter.INSTANCE);
+
+  private static final String MONGO_STATEMENT =
+      "{\"find\": \"owners\", \"filter\": {\"id\": \"?\"}}";
+  // sanitized statements are cached, as in applications the same statement is executed repeatedly
+  private static final String SQL_STATEMENT =
+      "SELECT o.id, o.first_name, o.last_name, p.name FROM owners o"
+          + " LEFT JOIN pets p ON p.owner_id = o.id"
+          + " WHERE o.last_name LIKE 'Dav%' AND o.city = 'Madison' AND p.birth_date > '2010-09-07'"
+          + " ORDER BY o.last_name LIMIT 20";
+
+  @Benchmark
+  public Attributes dbClient() {
+    return extract(DB_EXTRACTOR, MONGO_STATEMENT);
+  }
+
+  @Benchmark
+  public Attributes sqlClient() {
+    return extract(SQL_EXTRACTOR, SQL_STATEMENT);
+  }
+
+  private static Attributes extract(AttributesExtractor<String, Void> extractor, String statement) {
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onStart(attributes, Context.root(), statement);
+    extractor.onEnd(attributes, Context.root(), statement, null, null);
+    return attributes.build();
+  }
+
+  enum DbGetter implements DbClientAttributesGetter<String> {
+    INSTANCE;
+
+    @Override
+    public String getSystem(String statement) {
+      return "mongodb";
+    }
+
+    @Override
+    public String getUser(String statement) {
+      return "petclinic";
+    }
+
+    @Override
+    public String getName(String statement) {
+      return "petclinic";
+    }
+
+    @Override
+    public String getConnectionString(String statement) {
+      return "mongodb://localhost:27017";
+    }
+
+    @Override
+    public String getStatement(String statement) {
+      return statement;
+    }
+
+    @Override
+    public String getOperation(String statement) {
+      return "find";
+    }
+  }
+
+  enum SqlGetter implements SqlClientAttributesGetter<String> {
+    INSTANCE;
+
+    @Override
+    public String getSystem(String statement) {
+      return "postgresql";
+    }
+
+    @Override
+    public String getUser(String statement) {
+      return "petclinic";
+    }
+
+    @Override
+    public String getName(String statement) {
+      return "petclinic";
+    }
+
+    @Override
+    public String getConnectionString(String statement) {
+      return "postgresql://localhost:5432";
+    }
+
+    @Override
+    public String getRawStatement(String statement) {
+      return statement;
+    }
+  }
+}
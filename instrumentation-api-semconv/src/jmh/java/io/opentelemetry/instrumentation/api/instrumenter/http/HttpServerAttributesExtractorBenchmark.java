@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.net.InetSocketAddressNetServerAttributesGetter;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class HttpServerAttributesExtractorBenchmark {
+
+  private static final AttributesExtractor<Request, Integer> EXTRACTOR =
+      HttpServerAttributesExtractor.builder(RequestGetter.INSTANCE, new NetGetter())
+          .setCapturedRequestHeaders(Collections.singletonList("x-request-id"))
+          .build();
+  // Context.root() holds no recording span, so the deferred extractor skips the captured headers
+  private static final AttributesExtractor<Request, Integer> DEFERRED_EXTRACTOR =
+      HttpServerAttributesExtractor.builder(RequestGetter.INSTANCE, new NetGetter())
+          .setCapturedRequestHeaders(Collections.singletonList("x-request-id"))
+          .setDeferredHeaderCapture(true)
+          .build();
+
+  private static final Request REQUEST = new Request(false);
+  private static final Request FORWARDED_REQUEST = new Request(true);
+
+  @Benchmark
+  public Attributes extract() {
+    return extract(REQUEST);
+  }
+
+  @Benchmark
+  public Attributes extractForwarded() {
+    return extract(FORWARDED_REQUEST);
+  }
+
+  @Benchmark
+  public Attributes extractDeferredNotRecording() {
+    return extract(DEFERRED_EXTRACTOR, REQUEST);
+  }
+
+  private static Attributes extract(Request request) {
+    return extract(EXTRACTOR, request);
+  }
+
+  private static Attributes extract(
+      AttributesExtractor<Request, Integer> extractor, Request request) {
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onStart(attributes, Context.root(), request);
+    extractor.onEnd(attributes, Context.root(), request, 200, null);
+    return attributes.build();
+  }
+
+  static final class Request {
+    private final Map<String, List<String>> headers = new HashMap<>();
+
+    Request(boolean forwarded) {
+      headers.put("host", Collections.singletonList("opentelemetry.io:8080"));
+      headers.put(
+          "user-agent",
+          Collections.singletonList(
+              "Mozilla/5.0 (X11; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/110.0"));
+      headers.put("x-request-id", Collections.singletonList("5fd6a4b1-4a4f-4e0b-9b5f"));
+      if (forwarded) {
+        headers.put(
+            "forwarded",
+            Collections.singletonList("for=\"[2001:db8:cafe::17]:4711\";proto=https;by=10.0.0.1"));
+        headers.put("x-forwarded-for", Collections.singletonList("203.0.113.195, 70.41.3.18"));
+      }
+    }
+
+    List<String> getHeader(String name) {
+      return headers.getOrDefault(name, Collections.emptyList());
+    }
+  }
+
+  enum RequestGetter implements HttpServerAttributesGetter<Request, Integer> {
+    INSTANCE;
+
+    @Override
+    public String getMethod(Request request) {
+      return "GET";
+    }
+
+    @Override
+    public List<String> getRequestHeader(Request request, String name) {
+      return request.getHeader(name);
+    }
+
+    @Override
+    public Integer getStatusCode(Request request, Integer response, @Nullable Throwable error) {
+      return response;
+    }
+
+    @Override
+    public List<String> getResponseHeader(Request request, Integer response, String name) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getFlavor(Request request) {
+      return SemanticAttributes.HttpFlavorValues.HTTP_1_1;
+    }
+
+    @Override
+    public String getTarget(Request request) {
+      return "/owners/42/pets?sort=name&page=3";
+    }
+
+    @Nullable
+    @Override
+    public String getRoute(Request request) {
+      return null;
+    }
+
+    @Override
+    public String getScheme(Request request) {
+      return "http";
+    }
+  }
+
+  static class NetGetter extends InetSocketAddressNetServerAttributesGetter<Request> {
+
+    private static final InetSocketAddress PEER_ADDRESS = address("10.1.2.3", 52431);
+    private static final InetSocketAddress HOST_ADDRESS = address("10.1.2.4", 8080);
+
+    @Override
+    public String getTransport(Request request) {
+      return SemanticAttributes.NetTransportValues.IP_TCP;
+    }
+
+    @Nullable
+    @Override
+    public String getHostName(Request request) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public Integer getHostPort(Request request) {
+      return null;
+    }
+
+    @Override
+    protected InetSocketAddress getPeerSocketAddress(Request request) {
+      return PEER_ADDRESS;
+    }
+
+    @Override
+    protected InetSocketAddress getHostSocketAddress(Request request) {
+      return HOST_ADDRESS;
+    }
+
+    private static InetSocketAddress address(String ip, int port) {
+      try {
+        return new InetSocketAddress(InetAddress.getByName(ip), port);
+      } catch (UnknownHostException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.messaging;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class MessagingAttributesExtractorBenchmark {
+
+  private static final AttributesExtractor<String, Void> PROCESS_EXTRACTOR =
+      MessagingAttributesExtractor.builder(MessageGetter.INSTANCE, MessageOperation.PROCESS)
+          .setCapturedHeaders(Collections.singletonList("tenant-id"))
+          .build();
+
+  private static final String MESSAGE = "{\"orderId\": 42, \"status\": \"SHIPPED\"}";
+
+  @Benchmark
+  public Attributes process() {
+    AttributesBuilder attributes = Attributes.builder();
+    PROCESS_EXTRACTOR.onStart(attributes, Context.root(), MESSAGE);
+    PROCESS_EXTRACTOR.onEnd(attributes, Context.root(), MESSAGE, null, null);
+    return attributes.build();
+  }
+
+  enum MessageGetter implements MessagingAttributesGetter<String, Void> {
+    INSTANCE;
+
+    @Override
+    public String getSystem(String message) {
+      return "kafka";
+    }
+
+    @Override
+    public String getDestinationKind(String message) {
+      return "topic";
+    }
+
+    @Override
+    public String getDestination(String message) {
+      return "orders";
+    }
+
+    @Override
+    public boolean isTemporaryDestination(String message) {
+      return false;
+    }
+
+    @Nullable
+    @Override
+    public String getProtocol(String message) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getProtocolVersion(String message) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getUrl(String message) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getConversationId(String message) {
+      return null;
+    }
+
+    @Override
+    public Long getMessagePayloadSize(String message) {
+      return (long) message.length();
+    }
+
+    @Nullable
+    @Override
+    public Long getMessagePayloadCompressedSize(String message) {
+      return null;
+    }
+
+    @Override
+    public String getMessageId(String message, @Nullable Void unused) {
+      return "orders-3@1042";
+    }
+
+    @Override
+    public List<String> getMessageHeader(String message, String name) {
+      if (name.equals("tenant-id")) {
+        return Collections.singletonList("acme");
+      }
+      return Collections.emptyList();
+    }
+  }
+}
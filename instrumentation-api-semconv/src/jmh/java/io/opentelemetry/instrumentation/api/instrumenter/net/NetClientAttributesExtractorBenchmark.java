@@ -0,0 +1,94 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.net;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class NetClientAttributesExtractorBenchmark {
+
+  private static final AttributesExtractor<InetSocketAddress, Void> EXTRACTOR =
+      NetClientAttributesExtractor.create(new NetGetter());
+
+  private static final InetSocketAddress RESOLVED_ADDRESS;
+  private static final InetSocketAddress UNRESOLVED_ADDRESS =
+      InetSocketAddress.createUnresolved("api.opentelemetry.io", 443);
+
+  static {
+    try {
+      RESOLVED_ADDRESS =
+          new InetSocketAddress(
+              InetAddress.getByAddress("api.opentelemetry.io", new byte[] {10, 1, 2, 3}), 443);
+    } catch (UnknownHostException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Benchmark
+  public Attributes extractResolved() {
+    return extract(RESOLVED_ADDRESS);
+  }
+
+  @Benchmark
+  public Attributes extractUnresolved() {
+    return extract(UNRESOLVED_ADDRESS);
+  }
+
+  private static Attributes extract(InetSocketAddress address) {
+    AttributesBuilder attributes = Attributes.builder();
+    EXTRACTOR.onStart(attributes, Context.root(), address);
+    EXTRACTOR.onEnd(attributes, Context.root(), address, null, null);
+    return attributes.build();
+  }
+
+  static class NetGetter
+      extends InetSocketAddressNetClientAttributesGetter<InetSocketAddress, Void> {
+
+    @Override
+    public String getTransport(InetSocketAddress address, @Nullable Void response) {
+      return SemanticAttributes.NetTransportValues.IP_TCP;
+    }
+
+    @Override
+    public String getPeerName(InetSocketAddress address) {
+      return address.getHostString();
+    }
+
+    @Override
+    public Integer getPeerPort(InetSocketAddress address) {
+      return address.getPort();
+    }
+
+    @Override
+    protected InetSocketAddress getPeerSocketAddress(
+        InetSocketAddress address, @Nullable Void response) {
+      return address;
+    }
+  }
+}
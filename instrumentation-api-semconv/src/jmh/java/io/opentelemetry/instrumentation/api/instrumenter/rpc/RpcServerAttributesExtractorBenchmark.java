@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.rpc;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class RpcServerAttributesExtractorBenchmark {
+
+  private static final AttributesExtractor<String, Void> EXTRACTOR =
+      RpcServerAttributesExtractor.create(RpcGetter.INSTANCE);
+
+  // full grpc method name, as seen by a server call
+  private static final String METHOD = "example.petclinic.v1.OwnerService/GetOwner";
+
+  @Benchmark
+  public Attributes extract() {
+    AttributesBuilder attributes = Attributes.builder();
+    EXTRACTOR.onStart(attributes, Context.root(), METHOD);
+    EXTRACTOR.onEnd(attributes, Context.root(), METHOD, null, null);
+    return attributes.build();
+  }
+
+  enum RpcGetter implements RpcAttributesGetter<String> {
+    INSTANCE;
+
+    @Override
+    public String getSystem(String fullMethodName) {
+      return "grpc";
+    }
+
+    @Nullable
+    @Override
+    public String getService(String fullMethodName) {
+      int slashIndex = fullMethodName.lastIndexOf('/');
+      return slashIndex == -1 ? null : fullMethodName.substring(0, slashIndex);
+    }
+
+    @Nullable
+    @Override
+    public String getMethod(String fullMethodName) {
+      int slashIndex = fullMethodName.lastIndexOf('/');
+      return slashIndex == -1 ? null : fullMethodName.substring(slashIndex + 1);
+    }
+  }
+}
@@ -5,13 +5,13 @@
 
 package io.opentelemetry.instrumentation.api.db;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
-import static java.util.Collections.unmodifiableMap;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -36,7 +36,11 @@ import java.util.Map;
  */
 public final class RedisCommandSanitizer {
 
-  private static final Map<String, CommandSanitizer> SANITIZERS;
+  // sanitized commands are usually short, larger buffers are not kept around
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1024;
+
+  // Visible for benchmarks
+  static final CommandTable SANITIZERS;
   private static final CommandSanitizer DEFAULT = new CommandAndNumArgs(0);
 
   static {
@@ -346,42 +350,80 @@ public final class RedisCommandSanitizer {
       sanitizers.put(command, KeepAllArgs.INSTANCE);
     }
 
-    SANITIZERS = unmodifiableMap(sanitizers);
+    SANITIZERS = CommandTable.create(sanitizers);
   }
 
+  // a StringBuilder (and not a class of this library) so that the thread locals don't keep the
+  // class loader of this library alive
+  private static final ThreadLocal<StringBuilder> BUFFER =
+      new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+          return new StringBuilder();
+        }
+      };
+
   public static RedisCommandSanitizer create(boolean statementSanitizationEnabled) {
-    return new RedisCommandSanitizer(statementSanitizationEnabled);
+    return create(statementSanitizationEnabled, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns a new {@link RedisCommandSanitizer} that cuts the sanitized commands at {@code
+   * maxStatementLength} characters. Arguments are decoded only as far as they fit into the limit.
+   */
+  public static RedisCommandSanitizer create(
+      boolean statementSanitizationEnabled, int maxStatementLength) {
+    if (maxStatementLength <= 0) {
+      throw new IllegalArgumentException("maxStatementLength must be positive");
+    }
+    return new RedisCommandSanitizer(statementSanitizationEnabled, maxStatementLength);
   }
 
   private final boolean statementSanitizationEnabled;
+  private final int maxStatementLength;
 
-  private RedisCommandSanitizer(boolean statementSanitizationEnabled) {
+  private RedisCommandSanitizer(boolean statementSanitizationEnabled, int maxStatementLength) {
     this.statementSanitizationEnabled = statementSanitizationEnabled;
+    this.maxStatementLength = maxStatementLength;
   }
 
   public String sanitize(String command, List<?> args) {
-    if (!statementSanitizationEnabled) {
-      return KeepAllArgs.INSTANCE.sanitize(command, args);
+    CommandSanitizer sanitizer =
+        statementSanitizationEnabled ? SANITIZERS.get(command) : KeepAllArgs.INSTANCE;
+
+    StringBuilder buf = BUFFER.get();
+    boolean reused = buf.length() == 0;
+    if (!reused) {
+      // sanitize() was called from the toString() of an argument that is being sanitized
+      buf = new StringBuilder();
+    }
+    try {
+      append(buf, command, maxStatementLength);
+      sanitizer.sanitize(args, buf, maxStatementLength);
+      return buf.toString();
+    } finally {
+      if (reused) {
+        if (buf.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+          BUFFER.remove();
+        } else {
+          buf.setLength(0);
+        }
+      }
     }
-    return SANITIZERS
-        .getOrDefault(command.toUpperCase(Locale.ROOT), DEFAULT)
-        .sanitize(command, args);
   }
 
   interface CommandSanitizer {
-    String sanitize(String command, List<?> args);
+    void sanitize(List<?> args, StringBuilder buf, int limit);
   }
 
   enum KeepAllArgs implements CommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
-      for (Object arg : args) {
-        sanitized.append(" ").append(argToString(arg));
+    public void sanitize(List<?> args, StringBuilder buf, int limit) {
+      for (int i = 0; i < args.size() && buf.length() < limit; ++i) {
+        appendArg(buf, args.get(i), limit);
       }
-      return sanitized.toString();
     }
   }
 
@@ -395,15 +437,14 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
-      for (int i = 0; i < numOfArgsToKeep && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+    public void sanitize(List<?> args, StringBuilder buf, int limit) {
+      int i = 0;
+      for (; i < numOfArgsToKeep && i < args.size() && buf.length() < limit; ++i) {
+        appendArg(buf, args.get(i), limit);
       }
-      for (int i = numOfArgsToKeep; i < args.size(); ++i) {
-        sanitized.append(" ?");
+      for (; i < args.size() && buf.length() < limit; ++i) {
+        append(buf, " ?", limit);
       }
-      return sanitized.toString();
     }
   }
 
@@ -417,18 +458,17 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(List<?> args, StringBuilder buf, int limit) {
       // append all "initial" arguments before key-value pairs start
-      for (int i = 0; i < numOfArgsBeforeKeyValue && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+      for (int i = 0; i < numOfArgsBeforeKeyValue && i < args.size() && buf.length() < limit; ++i) {
+        appendArg(buf, args.get(i), limit);
       }
 
       // loop over keys only
-      for (int i = numOfArgsBeforeKeyValue; i < args.size(); i += 2) {
-        sanitized.append(" ").append(argToString(args.get(i))).append(" ?");
+      for (int i = numOfArgsBeforeKeyValue; i < args.size() && buf.length() < limit; i += 2) {
+        appendArg(buf, args.get(i), limit);
+        append(buf, " ?", limit);
       }
-      return sanitized.toString();
     }
   }
 
@@ -436,9 +476,7 @@ public final class RedisCommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
-
+    public void sanitize(List<?> args, StringBuilder buf, int limit) {
       // get the number of keys passed from the command itself (second arg)
       int numberOfKeys = 0;
       if (args.size() > 2) {
@@ -451,22 +489,228 @@ public final class RedisCommandSanitizer {
 
       int i = 0;
       // log the script, number of keys and all keys
-      for (; i < (numberOfKeys + 2) && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
+      for (; i < (numberOfKeys + 2) && i < args.size() && buf.length() < limit; ++i) {
+        appendArg(buf, args.get(i), limit);
       }
       // mask the rest
-      for (; i < args.size(); ++i) {
-        sanitized.append(" ?");
+      for (; i < args.size() && buf.length() < limit; ++i) {
+        append(buf, " ?", limit);
       }
-      return sanitized.toString();
     }
   }
 
   static String argToString(Object arg) {
     if (arg instanceof byte[]) {
-      return new String((byte[]) arg, StandardCharsets.UTF_8);
+      return new String((byte[]) arg, UTF_8);
     } else {
       return String.valueOf(arg);
     }
   }
+
+  private static void appendArg(StringBuilder buf, Object arg, int limit) {
+    append(buf, " ", limit);
+    if (arg instanceof byte[]) {
+      appendUtf8(buf, (byte[]) arg, limit);
+    } else {
+      append(buf, String.valueOf(arg), limit);
+    }
+  }
+
+  private static void append(StringBuilder buf, String value, int limit) {
+    int remaining = limit - buf.length();
+    if (value.length() <= remaining) {
+      buf.append(value);
+      return;
+    }
+    if (remaining <= 0) {
+      return;
+    }
+    // don't cut a surrogate pair in half
+    if (Character.isHighSurrogate(value.charAt(remaining - 1))) {
+      remaining--;
+    }
+    buf.append(value, 0, remaining);
+  }
+
+  private static void appendUtf8(StringBuilder buf, byte[] bytes, int limit) {
+    // keys and most arguments are ASCII, which is copied without decoding into a String first
+    int i = 0;
+    int asciiEnd = Math.min(bytes.length, limit - buf.length());
+    for (; i < asciiEnd && bytes[i] >= 0; i++) {
+      buf.append((char) bytes[i]);
+    }
+    int length = bytes.length - i;
+    int remaining = limit - buf.length();
+    if (length == 0 || remaining <= 0) {
+      return;
+    }
+    // a char takes at most 3 bytes, the extra bytes complete a code point cut by the prefix
+    if (remaining < length / 3) {
+      length = remaining * 3 + 3;
+    }
+    append(buf, new String(bytes, i, length, UTF_8), limit);
+  }
+
+  /**
+   * Perfect hash table of the command names (hash and displace), which is looked up with the
+   * command as passed by the client library, without creating an upper-cased copy of it.
+   */
+  static final class CommandTable {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int bucketMask;
+    private final int[] displacements;
+    private final int slotMask;
+    private final String[] names;
+    private final CommandSanitizer[] sanitizers;
+    private final int maxNameLength;
+
+    private CommandTable(
+        int[] displacements, String[] names, CommandSanitizer[] sanitizers, int maxNameLength) {
+      this.bucketMask = displacements.length - 1;
+      this.displacements = displacements;
+      this.slotMask = names.length - 1;
+      this.names = names;
+      this.sanitizers = sanitizers;
+      this.maxNameLength = maxNameLength;
+    }
+
+    static CommandTable create(Map<String, CommandSanitizer> sanitizers) {
+      // at most half of the slots are used and there are 4 slots per bucket, which makes finding
+      // a displacement for each bucket quick
+      int slotCount = Integer.highestOneBit(sanitizers.size() * 2 - 1) << 1;
+      int bucketCount = slotCount / 4;
+
+      List<List<String>> buckets = new ArrayList<>(bucketCount);
+      for (int i = 0; i < bucketCount; i++) {
+        buckets.add(new ArrayList<>());
+      }
+      int maxNameLength = 0;
+      for (String name : sanitizers.keySet()) {
+        buckets.get(bucket(hash(name), bucketCount - 1)).add(name);
+        maxNameLength = Math.max(maxNameLength, name.length());
+      }
+
+      List<Integer> bucketOrder = new ArrayList<>(bucketCount);
+      for (int i = 0; i < bucketCount; i++) {
+        bucketOrder.add(i);
+      }
+      // place the largest buckets first, while most slots are still free
+      Collections.sort(
+          bucketOrder, (a, b) -> Integer.compare(buckets.get(b).size(), buckets.get(a).size()));
+
+      int[] displacements = new int[bucketCount];
+      String[] names = new String[slotCount];
+      CommandSanitizer[] slotSanitizers = new CommandSanitizer[slotCount];
+      int[] slots = new int[slotCount];
+      for (int bucketIndex : bucketOrder) {
+        List<String> bucket = buckets.get(bucketIndex);
+        if (bucket.isEmpty()) {
+          break;
+        }
+        int displacement = findDisplacement(bucket, names, slots);
+        displacements[bucketIndex] = displacement;
+        for (String name : bucket) {
+          int slot = slot(hash(name), displacement, slotCount - 1);
+          names[slot] = name;
+          slotSanitizers[slot] = sanitizers.get(name);
+        }
+      }
+      return new CommandTable(displacements, names, slotSanitizers, maxNameLength);
+    }
+
+    private static int findDisplacement(List<String> bucket, String[] names, int[] slots) {
+      for (int displacement = 0; displacement < (1 << 20); displacement++) {
+        if (fits(bucket, displacement, names, slots)) {
+          return displacement;
+        }
+      }
+      throw new IllegalStateException("No perfect hash found for " + bucket);
+    }
+
+    private static boolean fits(
+        List<String> bucket, int displacement, String[] names, int[] slots) {
+      for (int i = 0; i < bucket.size(); i++) {
+        int slot = slot(hash(bucket.get(i)), displacement, names.length - 1);
+        if (names[slot] != null) {
+          return false;
+        }
+        // keys of the same bucket must not collide with each other either
+        for (int j = 0; j < i; j++) {
+          if (slots[j] == slot) {
+            return false;
+          }
+        }
+        slots[i] = slot;
+      }
+      return true;
+    }
+
+    CommandSanitizer get(String command) {
+      if (command.length() > maxNameLength) {
+        return DEFAULT;
+      }
+      long hash = hash(command);
+      int slot = slot(hash, displacements[bucket(hash, bucketMask)], slotMask);
+      String name = names[slot];
+      if (name == null || !equalsIgnoreCase(name, command)) {
+        return DEFAULT;
+      }
+      return sanitizers[slot];
+    }
+
+    // Visible for benchmarks
+    List<String> names() {
+      List<String> result = new ArrayList<>();
+      for (String name : names) {
+        if (name != null) {
+          result.add(name);
+        }
+      }
+      return result;
+    }
+
+    // the names in the table are upper case ASCII
+    private static boolean equalsIgnoreCase(String name, String command) {
+      if (name.length() != command.length()) {
+        return false;
+      }
+      for (int i = 0; i < name.length(); i++) {
+        if (name.charAt(i) != toUpperCase(command.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long hash(String command) {
+      long hash = 0;
+      for (int i = 0; i < command.length(); i++) {
+        hash = 31 * hash + toUpperCase(command.charAt(i));
+      }
+      return hash;
+    }
+
+    private static char toUpperCase(char c) {
+      return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    private static int bucket(long hash, int bucketMask) {
+      return mix(hash) & bucketMask;
+    }
+
+    private static int slot(long hash, int displacement, int slotMask) {
+      return mix(hash + (displacement + 1) * GOLDEN_RATIO) & slotMask;
+    }
+
+    // the finalizer of MurmurHash3
+    private static int mix(long hash) {
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      hash *= 0xc4ceb9fe1a85ec53L;
+      hash ^= hash >>> 33;
+      return (int) hash;
+    }
+  }
 }
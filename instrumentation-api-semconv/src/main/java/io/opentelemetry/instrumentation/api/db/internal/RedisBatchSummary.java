@@ -0,0 +1,153 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Summarizes the commands of a Redis pipeline or transaction that are recorded as a single span:
+ * the number of commands, the number of commands of each type and the sanitized statements of the
+ * first commands.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class RedisBatchSummary {
+
+  public static final AttributeKey<Long> DB_REDIS_BATCH_COMMAND_COUNT =
+      longKey("db.redis.batch.command_count");
+  // e.g. ["SET=120", "EXPIRE=120"], in the order the command types first appeared in the batch
+  public static final AttributeKey<List<String>> DB_REDIS_BATCH_COMMAND_TYPES =
+      stringArrayKey("db.redis.batch.command_types");
+
+  /**
+   * Returns the counter of the commands sent in batches, which replaces the per-command spans. The
+   * commands of a batch are added when the batch ends, once per command type.
+   */
+  public static LongCounter createCommandCounter(Meter meter) {
+    return meter
+        .counterBuilder("db.client.redis.commands")
+        .setUnit("{command}")
+        .setDescription("The number of commands sent in Redis pipelines and transactions")
+        .build();
+  }
+
+  private final RedisCommandSanitizer sanitizer;
+  private final int statementLimit;
+
+  // the int[] is a mutable counter
+  private final Map<String, int[]> commandCounts = new LinkedHashMap<>();
+  @Nullable private StringBuilder statements;
+  private int commandCount;
+
+  public RedisBatchSummary(RedisCommandSanitizer sanitizer, int statementLimit) {
+    this.sanitizer = sanitizer;
+    this.statementLimit = statementLimit;
+  }
+
+  /**
+   * Returns whether the statement of the next command is still included in {@link
+   * #getStatement()}, callers can skip preparing the arguments of the command otherwise.
+   */
+  public synchronized boolean isCapturingStatements() {
+    return commandCount < statementLimit;
+  }
+
+  /**
+   * Adds a command to the batch. The arguments are only sanitized when the statement of the command
+   * is included in {@link #getStatement()}.
+   */
+  public synchronized void addCommand(String command, @Nullable List<?> args) {
+    if (commandCount < statementLimit) {
+      if (statements == null) {
+        statements = new StringBuilder();
+      } else {
+        statements.append('\n');
+      }
+      if (args == null) {
+        statements.append(command);
+      } else {
+        statements.append(sanitizer.sanitize(command, args));
+      }
+    }
+    commandCount++;
+    int[] count = commandCounts.get(command);
+    if (count == null) {
+      commandCounts.put(command, new int[] {1});
+    } else {
+      count[0]++;
+    }
+  }
+
+  public synchronized int getCommandCount() {
+    return commandCount;
+  }
+
+  /**
+   * Returns the command for a batch of a single command, {@code MULTI} for transactions and {@code
+   * PIPELINE} otherwise.
+   */
+  @Nullable
+  public synchronized String getOperation() {
+    if (commandCount == 0) {
+      return null;
+    }
+    if (commandCount == 1) {
+      return commandCounts.keySet().iterator().next();
+    }
+    if (commandCounts.containsKey("MULTI") || commandCounts.containsKey("EXEC")) {
+      return "MULTI";
+    }
+    return "PIPELINE";
+  }
+
+  /** Returns the sanitized statements of the first commands, separated by new lines. */
+  @Nullable
+  public synchronized String getStatement() {
+    return statements == null ? null : statements.toString();
+  }
+
+  /** Adds the command count and the command types of batches of more than one command. */
+  public synchronized void addAttributes(AttributesBuilder attributes) {
+    if (commandCount <= 1) {
+      // looks like the span of a single command
+      return;
+    }
+    attributes.put(DB_REDIS_BATCH_COMMAND_COUNT, commandCount);
+    List<String> commandTypes = new ArrayList<>(commandCounts.size());
+    for (Map.Entry<String, int[]> entry : commandCounts.entrySet()) {
+      commandTypes.add(entry.getKey() + "=" + entry.getValue()[0]);
+    }
+    attributes.put(DB_REDIS_BATCH_COMMAND_TYPES, commandTypes);
+  }
+
+  /** Records the commands of this batch in a counter created by {@link #createCommandCounter}. */
+  public synchronized void recordCommands(LongCounter counter) {
+    for (Map.Entry<String, int[]> entry : commandCounts.entrySet()) {
+      counter.add(
+          entry.getValue()[0],
+          Attributes.of(
+              SemanticAttributes.DB_SYSTEM,
+              SemanticAttributes.DbSystemValues.REDIS,
+              SemanticAttributes.DB_OPERATION,
+              entry.getKey()));
+    }
+  }
+}
@@ -12,6 +12,7 @@ import static io.opentelemetry.instrumentation.api.internal.AttributesExtractorU
 import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.net.internal.FallbackNamePortGetter;
@@ -34,12 +35,23 @@ abstract class HttpCommonAttributesExtractor<
   final GETTER getter;
   private final List<String> capturedRequestHeaders;
   private final List<String> capturedResponseHeaders;
+  // when set, the captured headers are read in onEnd, and only for recorded spans
+  private final boolean deferredHeaderCapture;
 
   HttpCommonAttributesExtractor(
       GETTER getter, List<String> capturedRequestHeaders, List<String> capturedResponseHeaders) {
+    this(getter, capturedRequestHeaders, capturedResponseHeaders, false);
+  }
+
+  HttpCommonAttributesExtractor(
+      GETTER getter,
+      List<String> capturedRequestHeaders,
+      List<String> capturedResponseHeaders,
+      boolean deferredHeaderCapture) {
     this.getter = getter;
     this.capturedRequestHeaders = lowercase(capturedRequestHeaders);
     this.capturedResponseHeaders = lowercase(capturedResponseHeaders);
+    this.deferredHeaderCapture = deferredHeaderCapture;
   }
 
   @Override
@@ -47,6 +59,12 @@ abstract class HttpCommonAttributesExtractor<
     internalSet(attributes, SemanticAttributes.HTTP_METHOD, getter.getMethod(request));
     internalSet(attributes, SemanticAttributes.HTTP_USER_AGENT, userAgent(request));
 
+    if (!deferredHeaderCapture) {
+      captureRequestHeaders(attributes, request);
+    }
+  }
+
+  private void captureRequestHeaders(AttributesBuilder attributes, REQUEST request) {
     for (String name : capturedRequestHeaders) {
       List<String> values = getter.getRequestHeader(request, name);
       if (!values.isEmpty()) {
@@ -66,6 +84,13 @@ abstract class HttpCommonAttributesExtractor<
     internalSet(
         attributes, SemanticAttributes.HTTP_REQUEST_CONTENT_LENGTH, requestContentLength(request));
 
+    // captured headers only end up in span attributes, there's no point in reading them for spans
+    // that are not recorded
+    boolean captureHeaders = !deferredHeaderCapture || Span.fromContext(context).isRecording();
+    if (deferredHeaderCapture && captureHeaders) {
+      captureRequestHeaders(attributes, request);
+    }
+
     if (response != null) {
       Integer statusCode = getter.getStatusCode(request, response, error);
       if (statusCode != null && statusCode > 0) {
@@ -77,10 +102,12 @@ abstract class HttpCommonAttributesExtractor<
           SemanticAttributes.HTTP_RESPONSE_CONTENT_LENGTH,
           responseContentLength(request, response));
 
-      for (String name : capturedResponseHeaders) {
-        List<String> values = getter.getResponseHeader(request, response, name);
-        if (!values.isEmpty()) {
-          internalSet(attributes, responseAttributeKey(name), values);
+      if (captureHeaders) {
+        for (String name : capturedResponseHeaders) {
+          List<String> values = getter.getResponseHeader(request, response, name);
+          if (!values.isEmpty()) {
+            internalSet(attributes, responseAttributeKey(name), values);
+          }
         }
       }
     }
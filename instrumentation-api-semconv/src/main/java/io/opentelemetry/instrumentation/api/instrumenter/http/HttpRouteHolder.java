@@ -12,6 +12,7 @@ import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan;
 import io.opentelemetry.instrumentation.api.internal.HttpRouteState;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -111,6 +112,7 @@ public final class HttpRouteHolder {
       }
       return;
     }
+    resolvePendingRouteIfCompeting(context, source, httpRouteState);
     // special case for servlet filters, even when we have a route from previous filter see whether
     // the new route is better and if so use it instead
     boolean onlyIfBetterRoute =
@@ -130,6 +132,81 @@ public final class HttpRouteHolder {
     }
   }
 
+  /**
+   * Registers a {@link HttpRouteGetter} as the source of the {@code http.route} attribute in the
+   * received {@code context}, without calling it yet.
+   *
+   * <p>Works like {@link #updateHttpRoute(Context, HttpRouteSource, HttpRouteGetter, Object)},
+   * except that the route is only computed once, when the server span ends, and only for the
+   * highest priority source that registered one. The getter must therefore return the same value
+   * at the end of the request as it would have returned when this method was called; it should not
+   * depend on request state that changes later on, e.g. during forwards.
+   *
+   * <p>A getter that returns null does not raise the priority needed to update the route: the route
+   * set before it was registered is kept, and a source registered after it with the same or a lower
+   * priority still updates the route. Such a source makes the pending getter run right away, so
+   * that it can be compared against its route.
+   */
+  public static <T> void updateHttpRouteLazily(
+      Context context, HttpRouteSource source, HttpRouteGetter<T> httpRouteGetter, T arg1) {
+    updateHttpRouteLazily(context, source, OneArgAdapter.getInstance(), arg1, httpRouteGetter);
+  }
+
+  /**
+   * Registers a {@link HttpRouteBiGetter} as the source of the {@code http.route} attribute in the
+   * received {@code context}, without calling it yet.
+   *
+   * <p>Works like {@link #updateHttpRoute(Context, HttpRouteSource, HttpRouteBiGetter, Object,
+   * Object)}, except that the route is only computed once, when the server span ends, and only for
+   * the highest priority source that registered one. See {@link #updateHttpRouteLazily(Context,
+   * HttpRouteSource, HttpRouteGetter, Object)} for the restrictions this puts on the getter.
+   */
+  public static <T, U> void updateHttpRouteLazily(
+      Context context,
+      HttpRouteSource source,
+      HttpRouteBiGetter<T, U> httpRouteGetter,
+      T arg1,
+      U arg2) {
+    HttpRouteState httpRouteState = HttpRouteState.fromContextOrNull(context);
+    if (httpRouteState == null) {
+      updateHttpRoute(context, source, httpRouteGetter, arg1, arg2);
+      return;
+    }
+    resolvePendingRouteIfCompeting(context, source, httpRouteState);
+    // sources that pick the longest route have to compare candidates of the same priority, which
+    // means computing them right away
+    if (!source.useFirst && source.order == httpRouteState.getUpdatedBySourceOrder()) {
+      updateHttpRoute(context, source, httpRouteGetter, arg1, arg2);
+      return;
+    }
+    if (source.order > httpRouteState.getUpdatedBySourceOrder()
+        && LocalRootSpan.fromContextOrNull(context) != null) {
+      httpRouteState.update(
+          context, source.order, new LazyRoute<>(context, httpRouteGetter, arg1, arg2));
+    }
+  }
+
+  /**
+   * Returns whether a route provided by the given {@link HttpRouteSource} would currently be used
+   * by the {@code updateHttpRoute} and {@code updateHttpRouteLazily} methods, i.e. whether there is
+   * a server span in the received {@code context} and no source with a higher priority has set the
+   * route yet. Allows skipping the preparation of the getter arguments, e.g. capturing request
+   * state for a lazily computed route, when the route would not be used anyway.
+   */
+  public static boolean canUpdateHttpRoute(Context context, HttpRouteSource source) {
+    if (LocalRootSpan.fromContextOrNull(context) == null) {
+      return false;
+    }
+    HttpRouteState httpRouteState = HttpRouteState.fromContextOrNull(context);
+    if (httpRouteState == null) {
+      return true;
+    }
+    resolvePendingRouteIfCompeting(context, source, httpRouteState);
+    int updatedBySourceOrder = httpRouteState.getUpdatedBySourceOrder();
+    return source.order > updatedBySourceOrder
+        || (!source.useFirst && source.order == updatedBySourceOrder);
+  }
+
   // This is used when setting route from a servlet filter to pick the most descriptive (longest)
   // route.
   private static boolean isBetterRoute(HttpRouteState httpRouteState, String name) {
@@ -138,6 +215,25 @@ public final class HttpRouteHolder {
     return name.length() > routeLength;
   }
 
+  // a pending route only blocks sources with the same or a lower priority if it is not null, which
+  // is only known after calling its getter
+  private static void resolvePendingRouteIfCompeting(
+      Context context, HttpRouteSource source, HttpRouteState httpRouteState) {
+    if (httpRouteState.isRoutePending()
+        && source.order <= httpRouteState.getUpdatedBySourceOrder()) {
+      resolvePendingRoute(context, httpRouteState);
+    }
+  }
+
+  // the route was registered lazily, the span name could not be updated yet
+  private static void resolvePendingRoute(Context context, HttpRouteState httpRouteState) {
+    String route = httpRouteState.getRoute();
+    Span serverSpan = LocalRootSpan.fromContextOrNull(context);
+    if (route != null && serverSpan != null) {
+      serverSpan.updateName(route);
+    }
+  }
+
   /**
    * Returns the {@code http.route} attribute value that's stored in the {@code context}, or null if
    * it was not set before.
@@ -145,7 +241,34 @@ public final class HttpRouteHolder {
   @Nullable
   static String getRoute(Context context) {
     HttpRouteState httpRouteState = HttpRouteState.fromContextOrNull(context);
-    return httpRouteState == null ? null : httpRouteState.getRoute();
+    if (httpRouteState == null) {
+      return null;
+    }
+    if (httpRouteState.isRoutePending()) {
+      resolvePendingRoute(context, httpRouteState);
+    }
+    return httpRouteState.getRoute();
+  }
+
+  private static final class LazyRoute<T, U> implements Supplier<String> {
+
+    private final Context context;
+    private final HttpRouteBiGetter<T, U> httpRouteGetter;
+    private final T arg1;
+    private final U arg2;
+
+    private LazyRoute(Context context, HttpRouteBiGetter<T, U> httpRouteGetter, T arg1, U arg2) {
+      this.context = context;
+      this.httpRouteGetter = httpRouteGetter;
+      this.arg1 = arg1;
+      this.arg2 = arg2;
+    }
+
+    @Override
+    @Nullable
+    public String get() {
+      return httpRouteGetter.get(context, arg1, arg2);
+    }
   }
 
   private static final class OneArgAdapter<T> implements HttpRouteBiGetter<T, HttpRouteGetter<T>> {
@@ -60,12 +60,14 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
       HttpServerAttributesGetter<REQUEST, RESPONSE> httpAttributesGetter,
       NetServerAttributesGetter<REQUEST> netAttributesGetter,
       List<String> capturedRequestHeaders,
-      List<String> capturedResponseHeaders) {
+      List<String> capturedResponseHeaders,
+      boolean deferredHeaderCapture) {
     this(
         httpAttributesGetter,
         netAttributesGetter,
         capturedRequestHeaders,
         capturedResponseHeaders,
+        deferredHeaderCapture,
         HttpRouteHolder::getRoute);
   }
 
@@ -76,7 +78,27 @@ public final class HttpServerAttributesExtractor<REQUEST, RESPONSE>
       List<String> capturedRequestHeaders,
       List<String> capturedResponseHeaders,
       Function<Context, String> httpRouteHolderGetter) {
-    super(httpAttributesGetter, capturedRequestHeaders, capturedResponseHeaders);
+    this(
+        httpAttributesGetter,
+        netAttributesGetter,
+        capturedRequestHeaders,
+        capturedResponseHeaders,
+        false,
+        httpRouteHolderGetter);
+  }
+
+  private HttpServerAttributesExtractor(
+      HttpServerAttributesGetter<REQUEST, RESPONSE> httpAttributesGetter,
+      NetServerAttributesGetter<REQUEST> netAttributesGetter,
+      List<String> capturedRequestHeaders,
+      List<String> capturedResponseHeaders,
+      boolean deferredHeaderCapture,
+      Function<Context, String> httpRouteHolderGetter) {
+    super(
+        httpAttributesGetter,
+        capturedRequestHeaders,
+        capturedResponseHeaders,
+        deferredHeaderCapture);
     internalNetExtractor =
         new InternalNetServerAttributesExtractor<>(
             netAttributesGetter,
@@ -18,6 +18,7 @@ public final class HttpServerAttributesExtractorBuilder<REQUEST, RESPONSE> {
   final NetServerAttributesGetter<REQUEST> netAttributesGetter;
   List<String> capturedRequestHeaders = emptyList();
   List<String> capturedResponseHeaders = emptyList();
+  boolean deferredHeaderCapture = false;
 
   HttpServerAttributesExtractorBuilder(
       HttpServerAttributesGetter<REQUEST, RESPONSE> httpAttributesGetter,
@@ -63,12 +64,34 @@ public final class HttpServerAttributesExtractorBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  /**
+   * Configures whether the captured HTTP request headers are read when the request ends, instead of
+   * when it starts. With deferred capture, no captured header is read for requests whose span is
+   * not recorded, and the captured request headers are not visible to samplers.
+   *
+   * <p>This is meant for servers whose request headers do not change while the request is
+   * processed. The headers are still read on the thread that ends the request, which is usually
+   * the event loop for reactive servers.
+   *
+   * @param deferredHeaderCapture Whether to defer the header capture to the end of the request.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerAttributesExtractorBuilder<REQUEST, RESPONSE> setDeferredHeaderCapture(
+      boolean deferredHeaderCapture) {
+    this.deferredHeaderCapture = deferredHeaderCapture;
+    return this;
+  }
+
   /**
    * Returns a new {@link HttpServerAttributesExtractor} with the settings of this {@link
    * HttpServerAttributesExtractorBuilder}.
    */
   public HttpServerAttributesExtractor<REQUEST, RESPONSE> build() {
     return new HttpServerAttributesExtractor<>(
-        httpAttributesGetter, netAttributesGetter, capturedRequestHeaders, capturedResponseHeaders);
+        httpAttributesGetter,
+        netAttributesGetter,
+        capturedRequestHeaders,
+        capturedResponseHeaders,
+        deferredHeaderCapture);
   }
 }
@@ -0,0 +1,20 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+/**
+ * Records in a request that it was filtered out by a {@link HttpServerRequestFilter}, e.g. in a
+ * request attribute. The filters of nested server instrumentations that see the same request, or a
+ * request sharing its attributes, then skip it too, without evaluating their routes again.
+ */
+public interface HttpServerFilteredRequestMarker<REQUEST> {
+
+  /** Returns {@code true} if an outer server instrumentation filtered out the request. */
+  boolean isMarked(REQUEST request);
+
+  /** Records that the request was filtered out. */
+  void mark(REQUEST request);
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
+import io.opentelemetry.instrumentation.api.internal.FilteredOperation;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import javax.annotation.Nullable;
+
+/**
+ * Decides, based on the HTTP method and the request path, whether an HTTP server request is
+ * traced at all. Requests matching a skipped route are never traced; requests matching a rate
+ * limited route are traced at a fixed rate per route. The decision is made in {@link
+ * Instrumenter#start(Context, Object)}, before any extractor runs, so requests that are filtered
+ * out cost a trie lookup and nothing else. The context returned for a filtered out request carries
+ * a span that is not sampled, so that the operations done while serving the request, e.g. database
+ * calls, are not traced either instead of each starting a new trace.
+ *
+ * <p>The number of filtered out requests is recorded in the {@code http.server.filtered_requests}
+ * counter.
+ *
+ * <p>A request that was filtered out by an outer server instrumentation, e.g. the one of the
+ * servlet container, must not be evaluated again by nested server instrumentations, e.g. the
+ * servlet one: that would consume a second rate limit token, count the request twice and create a
+ * server span in the nested instrumentation instead. Filters therefore skip requests whose parent
+ * context is the context of a filtered out request, and requests that were recorded as filtered
+ * out with a {@link HttpServerFilteredRequestMarker}, e.g. because the nested instrumentation does
+ * not see the context of the outer one.
+ */
+public final class HttpServerRequestFilter<REQUEST> implements BiPredicate<Context, REQUEST> {
+
+  static final AttributeKey<String> ACTION = AttributeKey.stringKey("action");
+  static final Attributes SKIPPED = Attributes.of(ACTION, "skipped");
+  static final Attributes RATE_LIMITED = Attributes.of(ACTION, "rate_limited");
+
+  /**
+   * Returns a new {@link HttpServerRequestFilterBuilder} that reads the method and path of requests
+   * from the passed {@link HttpServerAttributesGetter}.
+   */
+  public static <REQUEST> HttpServerRequestFilterBuilder<REQUEST> builder(
+      HttpServerAttributesGetter<REQUEST, ?> httpAttributesGetter) {
+    return new HttpServerRequestFilterBuilder<>(httpAttributesGetter);
+  }
+
+  private final HttpServerAttributesGetter<REQUEST, ?> httpAttributesGetter;
+  private final Map<String, RoutePathTrie<Rule>> routesByMethod;
+  @Nullable private final RoutePathTrie<Rule> routesForAnyMethod;
+  private final LongCounter filteredRequests;
+  @Nullable private final HttpServerFilteredRequestMarker<REQUEST> filteredRequestMarker;
+
+  HttpServerRequestFilter(
+      HttpServerAttributesGetter<REQUEST, ?> httpAttributesGetter,
+      Map<String, RoutePathTrie<Rule>> routesByMethod,
+      @Nullable RoutePathTrie<Rule> routesForAnyMethod,
+      LongCounter filteredRequests,
+      @Nullable HttpServerFilteredRequestMarker<REQUEST> filteredRequestMarker) {
+    this.httpAttributesGetter = httpAttributesGetter;
+    this.routesByMethod = routesByMethod;
+    this.routesForAnyMethod = routesForAnyMethod;
+    this.filteredRequests = filteredRequests;
+    this.filteredRequestMarker = filteredRequestMarker;
+  }
+
+  /**
+   * Registers this filter with the passed {@link InstrumenterBuilder}. Does nothing if no routes
+   * were configured.
+   */
+  public void addTo(InstrumenterBuilder<? extends REQUEST, ?> instrumenterBuilder) {
+    if (routesByMethod.isEmpty() && routesForAnyMethod == null) {
+      return;
+    }
+    InstrumenterUtil.addStartFilter(instrumenterBuilder, this);
+  }
+
+  /** Returns {@code false} if the request should not be instrumented. */
+  @Override
+  public boolean test(Context parentContext, REQUEST request) {
+    if (FilteredOperation.isFiltered(parentContext)
+        || (filteredRequestMarker != null && filteredRequestMarker.isMarked(request))) {
+      // an outer server instrumentation already filtered out and counted this request
+      return false;
+    }
+    String target = httpAttributesGetter.getTarget(request);
+    if (target == null) {
+      return true;
+    }
+    Rule rule = null;
+    String method = httpAttributesGetter.getMethod(request);
+    if (method != null) {
+      RoutePathTrie<Rule> routes = routesByMethod.get(method);
+      if (routes != null) {
+        rule = routes.match(target);
+      }
+    }
+    if (rule == null && routesForAnyMethod != null) {
+      rule = routesForAnyMethod.match(target);
+    }
+    if (rule == null) {
+      return true;
+    }
+
+    if (rule.tokenBucket == null) {
+      return filterOut(request, SKIPPED);
+    }
+    if (!rule.tokenBucket.tryAcquire()) {
+      return filterOut(request, RATE_LIMITED);
+    }
+    return true;
+  }
+
+  private boolean filterOut(REQUEST request, Attributes action) {
+    filteredRequests.add(1, action);
+    if (filteredRequestMarker != null) {
+      filteredRequestMarker.mark(request);
+    }
+    return false;
+  }
+
+  static final class Rule {
+    // null for routes that are always skipped
+    @Nullable final TokenBucket tokenBucket;
+
+    Rule(@Nullable TokenBucket tokenBucket) {
+      this.tokenBucket = tokenBucket;
+    }
+  }
+}
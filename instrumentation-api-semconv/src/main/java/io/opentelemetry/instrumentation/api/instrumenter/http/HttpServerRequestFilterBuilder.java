@@ -0,0 +1,181 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterBuilder;
+import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/** A builder of {@link HttpServerRequestFilter}. */
+public final class HttpServerRequestFilterBuilder<REQUEST> {
+
+  private static final String ANY_METHOD = "*";
+
+  private final HttpServerAttributesGetter<REQUEST, ?> httpAttributesGetter;
+  private final List<Route> routes = new ArrayList<>();
+  private LongSupplier nanoClock = System::nanoTime;
+  @Nullable private HttpServerFilteredRequestMarker<REQUEST> filteredRequestMarker;
+
+  HttpServerRequestFilterBuilder(HttpServerAttributesGetter<REQUEST, ?> httpAttributesGetter) {
+    this.httpAttributesGetter = httpAttributesGetter;
+  }
+
+  /**
+   * Adds a route whose requests are never instrumented.
+   *
+   * @param method The HTTP method, or {@code *} for any method.
+   * @param pathPattern A path pattern; {@code *}, {@code {param}} and {@code :param} segments match
+   *     any single path segment, a trailing {@code **} segment matches any number of segments.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerRequestFilterBuilder<REQUEST> addSkippedRoute(
+      String method, String pathPattern) {
+    routes.add(new Route(method, pathPattern, 0));
+    return this;
+  }
+
+  /**
+   * Adds a route whose requests are instrumented at most {@code requestsPerSecond} times per
+   * second; the remaining requests are not instrumented. Each route has its own rate limit. A
+   * route with a rate that is not positive is always skipped.
+   *
+   * @param method The HTTP method, or {@code *} for any method.
+   * @param pathPattern A path pattern, see {@link #addSkippedRoute(String, String)}.
+   * @param requestsPerSecond The number of instrumented requests per second.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerRequestFilterBuilder<REQUEST> addRateLimitedRoute(
+      String method, String pathPattern, double requestsPerSecond) {
+    routes.add(new Route(method, pathPattern, requestsPerSecond > 0 ? requestsPerSecond : 0));
+    return this;
+  }
+
+  /**
+   * Adds routes whose requests are never instrumented, in the {@code [METHOD ]pathPattern} format;
+   * routes without a method match any method.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerRequestFilterBuilder<REQUEST> setSkippedRoutes(List<String> routes) {
+    for (String route : routes) {
+      String[] methodAndPattern = parse(route);
+      addSkippedRoute(methodAndPattern[0], methodAndPattern[1]);
+    }
+    return this;
+  }
+
+  /**
+   * Adds routes whose requests are instrumented at most {@code requestsPerSecond} times per second,
+   * in the {@code [METHOD ]pathPattern} format; routes without a method match any method.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerRequestFilterBuilder<REQUEST> setRateLimitedRoutes(
+      List<String> routes, double requestsPerSecond) {
+    for (String route : routes) {
+      String[] methodAndPattern = parse(route);
+      addRateLimitedRoute(methodAndPattern[0], methodAndPattern[1], requestsPerSecond);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the {@link HttpServerFilteredRequestMarker} that records the filtered out requests, so
+   * that nested server instrumentations seeing the same request skip it too.
+   */
+  @CanIgnoreReturnValue
+  public HttpServerRequestFilterBuilder<REQUEST> setFilteredRequestMarker(
+      HttpServerFilteredRequestMarker<REQUEST> filteredRequestMarker) {
+    this.filteredRequestMarker = requireNonNull(filteredRequestMarker, "filteredRequestMarker");
+    return this;
+  }
+
+  // Visible for testing
+  @CanIgnoreReturnValue
+  HttpServerRequestFilterBuilder<REQUEST> setNanoClock(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    return this;
+  }
+
+  /**
+   * Returns a new {@link HttpServerRequestFilter} with the settings of this {@link
+   * HttpServerRequestFilterBuilder}. The filtered requests counter is registered with a meter
+   * named {@code instrumentationName}.
+   */
+  public HttpServerRequestFilter<REQUEST> build(
+      OpenTelemetry openTelemetry, String instrumentationName) {
+    Map<String, RoutePathTrie.Builder<HttpServerRequestFilter.Rule>> builders = new HashMap<>();
+    for (Route route : routes) {
+      HttpServerRequestFilter.Rule rule =
+          new HttpServerRequestFilter.Rule(
+              route.requestsPerSecond > 0
+                  ? new TokenBucket(route.requestsPerSecond, nanoClock)
+                  : null);
+      builders
+          .computeIfAbsent(route.method, unused -> RoutePathTrie.builder())
+          .add(route.pathPattern, rule);
+    }
+
+    Map<String, RoutePathTrie<HttpServerRequestFilter.Rule>> routesByMethod = new HashMap<>();
+    builders.forEach((method, builder) -> routesByMethod.put(method, builder.build()));
+    RoutePathTrie<HttpServerRequestFilter.Rule> routesForAnyMethod =
+        routesByMethod.remove(ANY_METHOD);
+
+    return new HttpServerRequestFilter<>(
+        httpAttributesGetter,
+        routesByMethod,
+        routesForAnyMethod,
+        filteredRequestsCounter(openTelemetry, instrumentationName),
+        filteredRequestMarker);
+  }
+
+  private static LongCounter filteredRequestsCounter(
+      OpenTelemetry openTelemetry, String instrumentationName) {
+    MeterBuilder meterBuilder = openTelemetry.getMeterProvider().meterBuilder(instrumentationName);
+    String instrumentationVersion =
+        EmbeddedInstrumentationProperties.findVersion(instrumentationName);
+    if (instrumentationVersion != null) {
+      meterBuilder.setInstrumentationVersion(instrumentationVersion);
+    }
+    return meterBuilder
+        .build()
+        .counterBuilder("http.server.filtered_requests")
+        .setUnit("{requests}")
+        .setDescription("The number of HTTP server requests that were not instrumented")
+        .build();
+  }
+
+  private static String[] parse(String route) {
+    String trimmed = route.trim();
+    int space = trimmed.indexOf(' ');
+    if (space < 0) {
+      return new String[] {ANY_METHOD, trimmed};
+    }
+    return new String[] {trimmed.substring(0, space), trimmed.substring(space + 1).trim()};
+  }
+
+  private static final class Route {
+    private final String method;
+    private final String pathPattern;
+    // 0 for routes that are always skipped
+    private final double requestsPerSecond;
+
+    private Route(String method, String pathPattern, double requestsPerSecond) {
+      this.method = requireNonNull(method, "method").toUpperCase(Locale.ROOT);
+      this.pathPattern = requireNonNull(pathPattern, "pathPattern");
+      this.requestsPerSecond = requestsPerSecond;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A trie of URL path patterns, split into {@code /}-separated segments. A pattern segment is either
+ * a literal, {@code *} (or a {@code {param}} / {@code :param} placeholder) matching exactly one
+ * segment, or a trailing {@code **} matching any number of remaining segments. Literal segments
+ * take precedence over placeholders, which take precedence over {@code **}.
+ *
+ * <p>Matching works on the original path string and does not allocate; the query string and
+ * fragment are ignored, as are empty segments.
+ */
+final class RoutePathTrie<V> {
+
+  static <V> Builder<V> builder() {
+    return new Builder<>();
+  }
+
+  private final Node<V> root;
+
+  private RoutePathTrie(Node<V> root) {
+    this.root = root;
+  }
+
+  @Nullable
+  V match(String path) {
+    int end = path.length();
+    for (int i = 0; i < end; i++) {
+      char c = path.charAt(i);
+      if (c == '?' || c == '#') {
+        end = i;
+        break;
+      }
+    }
+    return match(root, path, 0, end);
+  }
+
+  @Nullable
+  private static <V> V match(Node<V> node, String path, int start, int end) {
+    int pos = start;
+    while (pos < end && path.charAt(pos) == '/') {
+      pos++;
+    }
+    if (pos == end) {
+      return node.value != null ? node.value : node.remainderValue;
+    }
+    int segmentEnd = path.indexOf('/', pos);
+    if (segmentEnd < 0 || segmentEnd > end) {
+      segmentEnd = end;
+    }
+    int length = segmentEnd - pos;
+
+    for (int i = 0; i < node.segments.length; i++) {
+      String segment = node.segments[i];
+      if (segment.length() == length && path.regionMatches(pos, segment, 0, length)) {
+        V value = match(node.children[i], path, segmentEnd, end);
+        if (value != null) {
+          return value;
+        }
+        break;
+      }
+    }
+    if (node.placeholder != null) {
+      V value = match(node.placeholder, path, segmentEnd, end);
+      if (value != null) {
+        return value;
+      }
+    }
+    return node.remainderValue;
+  }
+
+  private static final class Node<V> {
+    private final String[] segments;
+    private final Node<V>[] children;
+    @Nullable private final Node<V> placeholder;
+    @Nullable private final V value;
+    @Nullable private final V remainderValue;
+
+    private Node(
+        String[] segments,
+        Node<V>[] children,
+        @Nullable Node<V> placeholder,
+        @Nullable V value,
+        @Nullable V remainderValue) {
+      this.segments = segments;
+      this.children = children;
+      this.placeholder = placeholder;
+      this.value = value;
+      this.remainderValue = remainderValue;
+    }
+  }
+
+  static final class Builder<V> {
+
+    private final MutableNode<V> root = new MutableNode<>();
+
+    private Builder() {}
+
+    /**
+     * Adds a pattern to the trie. When the same pattern is added more than once, the first value
+     * wins.
+     */
+    Builder<V> add(String pattern, V value) {
+      MutableNode<V> node = root;
+      List<String> segments = split(pattern);
+      for (int i = 0; i < segments.size(); i++) {
+        String segment = segments.get(i);
+        if (segment.equals("**")) {
+          if (i != segments.size() - 1) {
+            throw new IllegalArgumentException(
+                "'**' is only allowed as the last segment of a path pattern: " + pattern);
+          }
+          if (node.remainderValue == null) {
+            node.remainderValue = value;
+          }
+          return this;
+        }
+        if (isPlaceholder(segment)) {
+          if (node.placeholder == null) {
+            node.placeholder = new MutableNode<>();
+          }
+          node = node.placeholder;
+        } else {
+          node = node.children.computeIfAbsent(segment, unused -> new MutableNode<>());
+        }
+      }
+      if (node.value == null) {
+        node.value = value;
+      }
+      return this;
+    }
+
+    RoutePathTrie<V> build() {
+      return new RoutePathTrie<>(root.freeze());
+    }
+
+    private static List<String> split(String pattern) {
+      List<String> segments = new ArrayList<>();
+      for (String segment : pattern.split("/")) {
+        if (!segment.isEmpty()) {
+          segments.add(segment);
+        }
+      }
+      return segments;
+    }
+
+    private static boolean isPlaceholder(String segment) {
+      return segment.equals("*")
+          || segment.startsWith(":")
+          || (segment.startsWith("{") && segment.endsWith("}"));
+    }
+  }
+
+  private static final class MutableNode<V> {
+    private final Map<String, MutableNode<V>> children = new LinkedHashMap<>();
+    @Nullable private MutableNode<V> placeholder;
+    @Nullable private V value;
+    @Nullable private V remainderValue;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Node<V> freeze() {
+      String[] segments = new String[children.size()];
+      Node<V>[] frozenChildren = new Node[children.size()];
+      int i = 0;
+      for (Map.Entry<String, MutableNode<V>> entry : children.entrySet()) {
+        segments[i] = entry.getKey();
+        frozenChildren[i] = entry.getValue().freeze();
+        i++;
+      }
+      return new Node<>(
+          segments,
+          frozenChildren,
+          placeholder == null ? null : placeholder.freeze(),
+          value,
+          remainderValue);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free token bucket that refills at a fixed rate and holds at most one second worth of
+ * tokens (and at least one token). The whole state is the time at which the bucket was empty,
+ * which is advanced by one token interval on every successful acquisition.
+ */
+final class TokenBucket {
+
+  private final LongSupplier nanoClock;
+  private final long nanosPerToken;
+  private final long capacityNanos;
+  private final AtomicLong emptyAtNanos;
+
+  TokenBucket(double tokensPerSecond, LongSupplier nanoClock) {
+    if (!(tokensPerSecond > 0)) {
+      throw new IllegalArgumentException("tokensPerSecond must be positive: " + tokensPerSecond);
+    }
+    this.nanoClock = nanoClock;
+    this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+    this.capacityNanos = nanosPerToken * (long) Math.max(1, Math.ceil(tokensPerSecond));
+    // start with a full bucket
+    this.emptyAtNanos = new AtomicLong(nanoClock.getAsLong() - capacityNanos);
+  }
+
+  boolean tryAcquire() {
+    long now = nanoClock.getAsLong();
+    while (true) {
+      long emptyAt = emptyAtNanos.get();
+      // tokens above the capacity are not kept
+      long next = Math.max(emptyAt, now - capacityNanos) + nanosPerToken;
+      if (next - now > 0) {
+        return false;
+      }
+      if (emptyAtNanos.compareAndSet(emptyAt, next)) {
+        return true;
+      }
+    }
+  }
+}
@@ -34,6 +34,7 @@ public final class RpcClientMetrics implements OperationListener {
   private static final Logger logger = Logger.getLogger(RpcClientMetrics.class.getName());
 
   private final DoubleHistogram clientDurationHistogram;
+  private final RpcMessageMetrics messageMetrics;
 
   private RpcClientMetrics(Meter meter) {
     clientDurationHistogram =
@@ -42,6 +43,7 @@ public final class RpcClientMetrics implements OperationListener {
             .setDescription("The duration of an outbound RPC invocation")
             .setUnit("ms")
             .build();
+    messageMetrics = RpcMessageMetrics.client(meter);
   }
 
   /**
@@ -70,10 +72,10 @@ public final class RpcClientMetrics implements OperationListener {
           context);
       return;
     }
+    Attributes attributes = applyClientView(state.startAttributes(), endAttributes);
     clientDurationHistogram.record(
-        (endNanos - state.startTimeNanos()) / NANOS_PER_MS,
-        applyClientView(state.startAttributes(), endAttributes),
-        context);
+        (endNanos - state.startTimeNanos()) / NANOS_PER_MS, attributes, context);
+    messageMetrics.record(endAttributes, attributes, context);
   }
 
   @AutoValue
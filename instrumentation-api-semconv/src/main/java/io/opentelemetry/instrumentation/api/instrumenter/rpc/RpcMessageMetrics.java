@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.rpc;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.context.Context;
+
+/**
+ * Records the messages per RPC histograms of RPC calls whose instrumentation counts the messages of
+ * a call into end attributes (e.g. the gRPC instrumentation), instead of reporting every message.
+ * The message size histograms are not recorded, they describe individual messages and the counts
+ * don't tell their sizes.
+ */
+final class RpcMessageMetrics {
+
+  // these (experimental) attributes are set on the span by the RPC instrumentation
+  static final AttributeKey<Long> SENT_MESSAGES = longKey("rpc.messages.sent");
+  static final AttributeKey<Long> RECEIVED_MESSAGES = longKey("rpc.messages.received");
+
+  private final boolean server;
+  private final LongHistogram requestsPerRpc;
+  private final LongHistogram responsesPerRpc;
+
+  static RpcMessageMetrics server(Meter meter) {
+    return new RpcMessageMetrics(meter, "rpc.server", true);
+  }
+
+  static RpcMessageMetrics client(Meter meter) {
+    return new RpcMessageMetrics(meter, "rpc.client", false);
+  }
+
+  private RpcMessageMetrics(Meter meter, String prefix, boolean server) {
+    this.server = server;
+    String requestDirection = server ? "received" : "sent";
+    String responseDirection = server ? "sent" : "received";
+    requestsPerRpc =
+        meter
+            .histogramBuilder(prefix + ".requests_per_rpc")
+            .setDescription("Measures the number of messages " + requestDirection + " per RPC")
+            .setUnit("{count}")
+            .ofLongs()
+            .build();
+    responsesPerRpc =
+        meter
+            .histogramBuilder(prefix + ".responses_per_rpc")
+            .setDescription("Measures the number of messages " + responseDirection + " per RPC")
+            .setUnit("{count}")
+            .ofLongs()
+            .build();
+  }
+
+  void record(Attributes endAttributes, Attributes metricAttributes, Context context) {
+    Long sentMessages = endAttributes.get(SENT_MESSAGES);
+    Long receivedMessages = endAttributes.get(RECEIVED_MESSAGES);
+    if (sentMessages == null || receivedMessages == null) {
+      return;
+    }
+    requestsPerRpc.record(server ? receivedMessages : sentMessages, metricAttributes, context);
+    responsesPerRpc.record(server ? sentMessages : receivedMessages, metricAttributes, context);
+  }
+}
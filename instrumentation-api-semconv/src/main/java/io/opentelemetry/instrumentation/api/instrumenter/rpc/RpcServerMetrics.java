@@ -34,6 +34,7 @@ public final class RpcServerMetrics implements OperationListener {
   private static final Logger logger = Logger.getLogger(RpcServerMetrics.class.getName());
 
   private final DoubleHistogram serverDurationHistogram;
+  private final RpcMessageMetrics messageMetrics;
 
   private RpcServerMetrics(Meter meter) {
     serverDurationHistogram =
@@ -42,6 +43,7 @@ public final class RpcServerMetrics implements OperationListener {
             .setDescription("The duration of an inbound RPC invocation")
             .setUnit("ms")
             .build();
+    messageMetrics = RpcMessageMetrics.server(meter);
   }
 
   /**
@@ -70,10 +72,10 @@ public final class RpcServerMetrics implements OperationListener {
           context);
       return;
     }
+    Attributes attributes = applyServerView(state.startAttributes(), endAttributes);
     serverDurationHistogram.record(
-        (endNanos - state.startTimeNanos()) / NANOS_PER_MS,
-        applyServerView(state.startAttributes(), endAttributes),
-        context);
+        (endNanos - state.startTimeNanos()) / NANOS_PER_MS, attributes, context);
+    messageMetrics.record(endAttributes, attributes, context);
   }
 
   @AutoValue
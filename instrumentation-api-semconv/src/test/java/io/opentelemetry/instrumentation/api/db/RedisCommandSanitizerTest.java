@@ -5,9 +5,11 @@
 
 package io.opentelemetry.instrumentation.api.db;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -41,6 +43,34 @@ class RedisCommandSanitizerTest {
     assertThat(result).isEqualTo("NEWAUTH ? ?");
   }
 
+  @Test
+  void ignoreCaseOfCommand() {
+    RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+    assertThat(sanitizer.sanitize("hmset", list("hash", "key1", "value1")))
+        .isEqualTo("hmset hash key1 ?");
+    assertThat(sanitizer.sanitize("Get", list("key"))).isEqualTo("Get key");
+  }
+
+  @Test
+  void decodeByteArrayArguments() {
+    List<byte[]> args = Arrays.asList("k\u00e9y".getBytes(UTF_8), "value".getBytes(UTF_8));
+    String result = RedisCommandSanitizer.create(true).sanitize("SET", args);
+    assertThat(result).isEqualTo("SET k\u00e9y ?");
+  }
+
+  @Test
+  void cutAtMaxStatementLength() {
+    RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true, 12);
+    assertThat(sanitizer.sanitize("GET", list("0123456789"))).isEqualTo("GET 01234567");
+    // 2 bytes per char, only the prefix that fits is decoded
+    byte[] value = "\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9".getBytes(UTF_8);
+    assertThat(sanitizer.sanitize("GET", Collections.singletonList(value)))
+        .isEqualTo("GET \u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9");
+    assertThat(sanitizer.sanitize("SET", list("key", "value1", "value2"))).isEqualTo("SET key ? ?");
+    // surrogate pairs are not cut in half
+    assertThat(sanitizer.sanitize("GET", list("1234567\ud83d\ude00"))).isEqualTo("GET 1234567");
+  }
+
   static class SanitizeArgs implements ArgumentsProvider {
 
     @Override
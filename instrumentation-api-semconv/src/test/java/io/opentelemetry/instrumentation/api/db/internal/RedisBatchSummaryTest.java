@@ -0,0 +1,101 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.db.internal;
+
+import static io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary.DB_REDIS_BATCH_COMMAND_COUNT;
+import static io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary.DB_REDIS_BATCH_COMMAND_TYPES;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import org.junit.jupiter.api.Test;
+
+class RedisBatchSummaryTest {
+
+  @Test
+  void summarizesPipeline() {
+    RedisBatchSummary summary = new RedisBatchSummary(RedisCommandSanitizer.create(true), 2);
+    summary.addCommand("SET", asList("key1", "value1"));
+    summary.addCommand("SET", asList("key2", "value2"));
+    assertThat(summary.isCapturingStatements()).isFalse();
+    summary.addCommand("GET", null);
+
+    assertThat(summary.getCommandCount()).isEqualTo(3);
+    assertThat(summary.getOperation()).isEqualTo("PIPELINE");
+    assertThat(summary.getStatement()).isEqualTo("SET key1 ?\nSET key2 ?");
+
+    AttributesBuilder attributes = Attributes.builder();
+    summary.addAttributes(attributes);
+    assertThat(attributes.build())
+        .containsOnly(
+            equalTo(DB_REDIS_BATCH_COMMAND_COUNT, 3L),
+            equalTo(DB_REDIS_BATCH_COMMAND_TYPES, asList("SET=2", "GET=1")));
+  }
+
+  @Test
+  void summarizesTransaction() {
+    RedisBatchSummary summary = new RedisBatchSummary(RedisCommandSanitizer.create(true), 10);
+    summary.addCommand("INCR", singletonList("counter"));
+    summary.addCommand("EXEC", null);
+
+    assertThat(summary.getOperation()).isEqualTo("MULTI");
+    assertThat(summary.getStatement()).isEqualTo("INCR counter\nEXEC");
+  }
+
+  @Test
+  void singleCommandLooksLikeCommandSpan() {
+    RedisBatchSummary summary = new RedisBatchSummary(RedisCommandSanitizer.create(true), 10);
+    summary.addCommand("AUTH", singletonList("password"));
+
+    assertThat(summary.getOperation()).isEqualTo("AUTH");
+    assertThat(summary.getStatement()).isEqualTo("AUTH ?");
+    AttributesBuilder attributes = Attributes.builder();
+    summary.addAttributes(attributes);
+    assertThat(attributes.build()).isEmpty();
+  }
+
+  @Test
+  void recordsCommandsPerType() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+
+    RedisBatchSummary summary = new RedisBatchSummary(RedisCommandSanitizer.create(true), 10);
+    summary.addCommand("SET", asList("key1", "value1"));
+    summary.addCommand("SET", asList("key2", "value2"));
+    summary.addCommand("GET", singletonList("key1"));
+    summary.recordCommands(RedisBatchSummary.createCommandCounter(meterProvider.get("test")));
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("db.client.redis.commands")
+                    .hasUnit("{command}")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(2)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.DB_SYSTEM, "redis"),
+                                            equalTo(SemanticAttributes.DB_OPERATION, "SET")),
+                                point ->
+                                    point
+                                        .hasValue(1)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.DB_SYSTEM, "redis"),
+                                            equalTo(SemanticAttributes.DB_OPERATION, "GET")))));
+  }
+}
@@ -6,11 +6,14 @@
 package io.opentelemetry.instrumentation.api.instrumenter.http;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -34,5 +37,180 @@ class HttpRouteHolderTest {
     assertEquals("/get/:id", HttpRouteHolder.getRoute(context));
   }
 
+  @Test
+  void shouldResolveLazyRouteOnlyOnce() {
+    Context context = startServerSpan();
+    AtomicInteger calls = new AtomicInteger();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context,
+        HttpRouteSource.SERVLET,
+        (ctx, route) -> {
+          calls.incrementAndGet();
+          return route;
+        },
+        "/get/:id");
+
+    assertEquals(0, calls.get());
+    assertEquals("/get/:id", HttpRouteHolder.getRoute(context));
+    assertEquals("/get/:id", HttpRouteHolder.getRoute(context));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void shouldNotResolveLazyRouteThatLost() {
+    Context context = startServerSpan();
+    AtomicInteger calls = new AtomicInteger();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context,
+        HttpRouteSource.SERVLET,
+        (ctx, route) -> {
+          calls.incrementAndGet();
+          return route;
+        },
+        "/servlet/*");
+    HttpRouteHolder.updateHttpRoute(context, HttpRouteSource.CONTROLLER, "/servlet/get/:id");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context,
+        HttpRouteSource.SERVLET,
+        (ctx, route) -> {
+          calls.incrementAndGet();
+          return route;
+        },
+        "/other/*");
+
+    assertEquals("/servlet/get/:id", HttpRouteHolder.getRoute(context));
+    assertEquals(0, calls.get());
+  }
+
+  @Test
+  void shouldKeepPreviousRouteWhenLazyRouteIsNull() {
+    Context context = startServerSpan();
+
+    HttpRouteHolder.updateHttpRoute(context, HttpRouteSource.FILTER, "/filter/*");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, (String) null);
+
+    assertEquals("/filter/*", HttpRouteHolder.getRoute(context));
+  }
+
+  @Test
+  void shouldUseForwardedServletRouteWhenLazyRouteIsNull() {
+    Context context = startServerSpan();
+
+    // the first servlet has no mapping for the request and forwards it to the second one
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, (String) null);
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/forwarded/*");
+
+    assertEquals("/forwarded/*", HttpRouteHolder.getRoute(context));
+  }
+
+  @Test
+  void shouldKeepFirstServletRouteWhenLazyRouteIsNotNull() {
+    Context context = startServerSpan();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/first/*");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/forwarded/*");
+
+    assertEquals("/first/*", HttpRouteHolder.getRoute(context));
+  }
+
+  @Test
+  void shouldFallBackToPendingRouteWhenHigherPriorityLazyRouteIsNull() {
+    Context context = startServerSpan();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/servlet/*");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.CONTROLLER, (ctx, route) -> route, (String) null);
+    HttpRouteHolder.updateHttpRoute(context, HttpRouteSource.FILTER, "/filter/*");
+
+    assertEquals("/servlet/*", HttpRouteHolder.getRoute(context));
+  }
+
+  @Test
+  void shouldCompareFilterRoutesEagerly() {
+    Context context = startServerSpan();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.FILTER, (ctx, route) -> route, "/a/*");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.FILTER, (ctx, route) -> route, "/a/b/*");
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.FILTER, (ctx, route) -> route, "/*");
+
+    assertEquals("/a/b/*", HttpRouteHolder.getRoute(context));
+  }
+
+  @Test
+  void shouldUpdateSpanNameWhenLazyRouteIsResolved() {
+    Instrumenter<String, Void> instrumenter = serverInstrumenter();
+    Context context = instrumenter.start(Context.root(), "test");
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/get/:id");
+    HttpRouteHolder.getRoute(context);
+    instrumenter.end(context, "test", null, null);
+
+    testing.assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace -> trace.hasSpansSatisfyingExactly(span -> span.hasName("/get/:id")));
+  }
+
+  @Test
+  void shouldOnlyAllowUpdatesFromSourcesThatCanWin() {
+    assertFalse(HttpRouteHolder.canUpdateHttpRoute(Context.root(), HttpRouteSource.SERVLET));
+
+    Context context = startServerSpan();
+    assertTrue(HttpRouteHolder.canUpdateHttpRoute(context, HttpRouteSource.SERVLET));
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/servlet/*");
+    assertFalse(HttpRouteHolder.canUpdateHttpRoute(context, HttpRouteSource.FILTER));
+    assertFalse(HttpRouteHolder.canUpdateHttpRoute(context, HttpRouteSource.SERVLET));
+    assertTrue(HttpRouteHolder.canUpdateHttpRoute(context, HttpRouteSource.CONTROLLER));
+  }
+
+  @Test
+  void shouldAllowUpdatesAfterLazyRouteResolvedToNull() {
+    Context context = startServerSpan();
+
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, (String) null);
+
+    assertTrue(HttpRouteHolder.canUpdateHttpRoute(context, HttpRouteSource.SERVLET));
+  }
+
+  @Test
+  void shouldReadRouteResolvedOnAnotherThread() throws InterruptedException {
+    Context context = startServerSpan();
+    HttpRouteHolder.updateHttpRouteLazily(
+        context, HttpRouteSource.SERVLET, (ctx, route) -> route, "/get/:id");
+
+    // e.g. an async request that ends on another thread
+    String[] route = new String[1];
+    Thread thread = new Thread(() -> route[0] = HttpRouteHolder.getRoute(context));
+    thread.start();
+    thread.join();
+
+    assertEquals("/get/:id", route[0]);
+    assertEquals("/get/:id", HttpRouteHolder.getRoute(context));
+  }
+
+  private Context startServerSpan() {
+    return serverInstrumenter().start(Context.root(), "test");
+  }
+
+  private Instrumenter<String, Void> serverInstrumenter() {
+    return Instrumenter.<String, Void>builder(testing.getOpenTelemetry(), "test", s -> s)
+        .addContextCustomizer(HttpRouteHolder.get())
+        .buildInstrumenter();
+  }
+
   // TODO(mateusz): add more unit tests for HttpRouteHolder
 }
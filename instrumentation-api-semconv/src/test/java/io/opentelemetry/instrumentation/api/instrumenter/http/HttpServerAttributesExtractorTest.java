@@ -15,8 +15,10 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.net.NetServerAttributesGetter;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +28,7 @@ import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
@@ -33,6 +36,8 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 
 class HttpServerAttributesExtractorTest {
 
+  @RegisterExtension static final OpenTelemetryExtension testing = OpenTelemetryExtension.create();
+
   static class TestHttpServerAttributesGetter
       implements HttpServerAttributesGetter<Map<String, Object>, Map<String, Object>> {
 
@@ -171,6 +176,54 @@ class HttpServerAttributesExtractorTest {
                 asList("654", "321")));
   }
 
+  @Test
+  void deferredHeaderCapture() {
+    Map<String, Object> request = new HashMap<>();
+    request.put("method", "GET");
+    request.put("header.custom-request-header", "123,456");
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("statusCode", "200");
+    response.put("header.custom-response-header", "654,321");
+
+    HttpServerAttributesExtractor<Map<String, Object>, Map<String, Object>> extractor =
+        HttpServerAttributesExtractor.builder(
+                new TestHttpServerAttributesGetter(), new TestNetServerAttributesGetter())
+            .setCapturedRequestHeaders(singletonList("Custom-Request-Header"))
+            .setCapturedResponseHeaders(singletonList("Custom-Response-Header"))
+            .setDeferredHeaderCapture(true)
+            .build();
+
+    Span span = testing.getOpenTelemetry().getTracer("test").spanBuilder("test").startSpan();
+    Context context = Context.root().with(span);
+
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onStart(attributes, Context.root(), request);
+    assertThat(attributes.build()).containsOnly(entry(SemanticAttributes.HTTP_METHOD, "GET"));
+
+    extractor.onEnd(attributes, context, request, response, null);
+    span.end();
+    assertThat(attributes.build())
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 200L),
+            entry(
+                AttributeKey.stringArrayKey("http.request.header.custom_request_header"),
+                asList("123", "456")),
+            entry(
+                AttributeKey.stringArrayKey("http.response.header.custom_response_header"),
+                asList("654", "321")));
+
+    // headers of requests that are not recorded are never read
+    AttributesBuilder notRecordedAttributes = Attributes.builder();
+    extractor.onStart(notRecordedAttributes, Context.root(), request);
+    extractor.onEnd(notRecordedAttributes, Context.root(), request, response, null);
+    assertThat(notRecordedAttributes.build())
+        .containsOnly(
+            entry(SemanticAttributes.HTTP_METHOD, "GET"),
+            entry(SemanticAttributes.HTTP_STATUS_CODE, 200L));
+  }
+
   @Test
   void extractClientIpFromX_Forwarded_For() {
     Map<String, Object> request = new HashMap<>();
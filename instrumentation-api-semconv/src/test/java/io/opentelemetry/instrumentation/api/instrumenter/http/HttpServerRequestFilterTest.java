@@ -0,0 +1,272 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
+import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
+import io.opentelemetry.instrumentation.api.internal.FilteredOperation;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class HttpServerRequestFilterTest {
+
+  private final InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+  private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+  private final OpenTelemetrySdk openTelemetry =
+      OpenTelemetrySdk.builder()
+          .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+          .setTracerProvider(
+              SdkTracerProvider.builder()
+                  .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                  .build())
+          .build();
+
+  @Test
+  void skipsRoutes() {
+    HttpServerRequestFilter<Map<String, String>> filter =
+        HttpServerRequestFilter.builder(new TestGetter())
+            .setSkippedRoutes(asList("GET /health", "/metrics/**"))
+            .build(openTelemetry, "test");
+
+    assertThat(filter.test(Context.root(), request("GET", "/health"))).isFalse();
+    assertThat(filter.test(Context.root(), request("POST", "/health"))).isTrue();
+    assertThat(filter.test(Context.root(), request("POST", "/metrics/jvm?format=text"))).isFalse();
+    assertThat(filter.test(Context.root(), request("GET", "/orders"))).isTrue();
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("http.server.filtered_requests")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(2)
+                                        .hasAttributes(HttpServerRequestFilter.SKIPPED))));
+  }
+
+  @Test
+  void rateLimitsRoutes() {
+    AtomicLong nanos = new AtomicLong();
+    HttpServerRequestFilter<Map<String, String>> filter =
+        HttpServerRequestFilter.builder(new TestGetter())
+            .setNanoClock(nanos::get)
+            .setRateLimitedRoutes(singletonList("GET /status"), 2)
+            .build(openTelemetry, "test");
+
+    assertThat(filter.test(Context.root(), request("GET", "/status"))).isTrue();
+    assertThat(filter.test(Context.root(), request("GET", "/status"))).isTrue();
+    assertThat(filter.test(Context.root(), request("GET", "/status"))).isFalse();
+    assertThat(filter.test(Context.root(), request("GET", "/other"))).isTrue();
+
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    assertThat(filter.test(Context.root(), request("GET", "/status"))).isTrue();
+    assertThat(filter.test(Context.root(), request("GET", "/status"))).isFalse();
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("http.server.filtered_requests")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(2)
+                                        .hasAttributes(HttpServerRequestFilter.RATE_LIMITED))));
+  }
+
+  @Test
+  void methodSpecificRoutesTakePrecedence() {
+    HttpServerRequestFilter<Map<String, String>> filter =
+        HttpServerRequestFilter.builder(new TestGetter())
+            .addRateLimitedRoute("get", "/items/*", 1000)
+            .addSkippedRoute("*", "/items/**")
+            .build(openTelemetry, "test");
+
+    assertThat(filter.test(Context.root(), request("GET", "/items/1"))).isTrue();
+    assertThat(filter.test(Context.root(), request("DELETE", "/items/1"))).isFalse();
+  }
+
+  @Test
+  void nestedFiltersSkipFilteredRequests() {
+    AtomicLong nanos = new AtomicLong();
+    HttpServerFilteredRequestMarker<Map<String, String>> marker =
+        new HttpServerFilteredRequestMarker<Map<String, String>>() {
+          @Override
+          public boolean isMarked(Map<String, String> request) {
+            return request.containsKey("filtered");
+          }
+
+          @Override
+          public void mark(Map<String, String> request) {
+            request.put("filtered", "true");
+          }
+        };
+    HttpServerRequestFilter<Map<String, String>> outer =
+        HttpServerRequestFilter.builder(new TestGetter())
+            .setNanoClock(nanos::get)
+            .setRateLimitedRoutes(singletonList("GET /status"), 1)
+            .setFilteredRequestMarker(marker)
+            .build(openTelemetry, "test");
+    HttpServerRequestFilter<Map<String, String>> nested =
+        HttpServerRequestFilter.builder(new TestGetter())
+            .setNanoClock(nanos::get)
+            .setRateLimitedRoutes(singletonList("GET /status"), 1)
+            .setFilteredRequestMarker(marker)
+            .build(openTelemetry, "test");
+
+    Map<String, String> first = request("GET", "/status");
+    assertThat(outer.test(Context.root(), first)).isTrue();
+    Map<String, String> second = request("GET", "/status");
+    assertThat(outer.test(Context.root(), second)).isFalse();
+    // the nested filter still has a token, but respects the decision of the outer one
+    assertThat(nested.test(Context.root(), second)).isFalse();
+    assertThat(nested.test(FilteredOperation.start(Context.root()), request("GET", "/status")))
+        .isFalse();
+    assertThat(nested.test(Context.root(), request("GET", "/status"))).isTrue();
+
+    // the filtered out request was counted only once
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("http.server.filtered_requests")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(1)
+                                        .hasAttributes(HttpServerRequestFilter.RATE_LIMITED))));
+  }
+
+  @Test
+  void filteredRequestsHaveNoChildSpans() {
+    InstrumenterBuilder<Map<String, String>, Map<String, String>> serverBuilder =
+        Instrumenter.builder(openTelemetry, "test", request -> "server");
+    HttpServerRequestFilter.builder(new TestGetter())
+        .setSkippedRoutes(singletonList("GET /health"))
+        .build(openTelemetry, "test")
+        .addTo(serverBuilder);
+    Instrumenter<Map<String, String>, Map<String, String>> server =
+        serverBuilder.buildInstrumenter(SpanKindExtractor.alwaysServer());
+    Instrumenter<String, Void> client =
+        Instrumenter.<String, Void>builder(openTelemetry, "test", request -> request)
+            .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+    serve(server, client, request("GET", "/health"));
+
+    // the database call made while serving the filtered out request was not recorded either
+    assertThat(spanExporter.getFinishedSpanItems()).isEmpty();
+
+    serve(server, client, request("GET", "/orders"));
+
+    assertThat(spanExporter.getFinishedSpanItems())
+        .satisfiesExactlyInAnyOrder(
+            span -> assertThat(span).hasName("server").hasKind(SpanKind.SERVER),
+            span -> assertThat(span).hasName("query").hasKind(SpanKind.CLIENT));
+  }
+
+  private static void serve(
+      Instrumenter<Map<String, String>, Map<String, String>> server,
+      Instrumenter<String, Void> client,
+      Map<String, String> request) {
+    assertThat(server.shouldStart(Context.root(), request)).isTrue();
+    Context context = server.start(Context.root(), request);
+    try (Scope ignored = context.makeCurrent()) {
+      Context parentContext = Context.current();
+      if (client.shouldStart(parentContext, "query")) {
+        Context clientContext = client.start(parentContext, "query");
+        assertThat(Span.fromContext(clientContext).getSpanContext().getTraceId())
+            .isEqualTo(Span.fromContext(context).getSpanContext().getTraceId());
+        client.end(clientContext, "query", null, null);
+      }
+    }
+    server.end(context, request, new HashMap<>(), null);
+  }
+
+  private static Map<String, String> request(String method, String target) {
+    Map<String, String> request = new HashMap<>();
+    request.put("method", method);
+    request.put("target", target);
+    return request;
+  }
+
+  private static class TestGetter
+      implements HttpServerAttributesGetter<Map<String, String>, Map<String, String>> {
+
+    @Override
+    public String getMethod(Map<String, String> request) {
+      return request.get("method");
+    }
+
+    @Nullable
+    @Override
+    public String getTarget(Map<String, String> request) {
+      return request.get("target");
+    }
+
+    @Nullable
+    @Override
+    public String getRoute(Map<String, String> request) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public String getScheme(Map<String, String> request) {
+      return null;
+    }
+
+    @Override
+    public List<String> getRequestHeader(Map<String, String> request, String name) {
+      return singletonList(request.get(name));
+    }
+
+    @Nullable
+    @Override
+    public String getFlavor(Map<String, String> request) {
+      return null;
+    }
+
+    @Nullable
+    @Override
+    public Integer getStatusCode(
+        Map<String, String> request, Map<String, String> response, @Nullable Throwable error) {
+      return null;
+    }
+
+    @Override
+    public List<String> getResponseHeader(
+        Map<String, String> request, Map<String, String> response, String name) {
+      return singletonList(response.get(name));
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class RoutePathTrieTest {
+
+  private static final RoutePathTrie<String> TRIE =
+      RoutePathTrie.<String>builder()
+          .add("/health", "health")
+          .add("/api/*/items", "items")
+          .add("/api/users/{id}", "user")
+          .add("/api/users/me", "me")
+          .add("/orders/:id", "order")
+          .add("/static/**", "static")
+          .build();
+
+  @ParameterizedTest
+  @CsvSource({
+    "/health, health",
+    "/health/, health",
+    "//health, health",
+    "/health?verbose=true, health",
+    "/health#top, health",
+    "/api/x/items, items",
+    "/api/users/1, user",
+    "/api/users/me, me",
+    "/orders/42, order",
+    "/static, static",
+    "/static/css/site.css, static",
+  })
+  void matches(String path, String expected) {
+    assertThat(TRIE.match(path)).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"/healthz", "/", "/api/x", "/api/users/1/items", "/orders/42/lines"})
+  void doesNotMatch(String path) {
+    assertThat(TRIE.match(path)).isNull();
+  }
+
+  @Test
+  void firstValueWins() {
+    RoutePathTrie<String> trie =
+        RoutePathTrie.<String>builder().add("/a", "first").add("/a/", "second").build();
+
+    assertThat(trie.match("/a")).isEqualTo("first");
+  }
+
+  @Test
+  void doubleWildcardMustBeLast() {
+    assertThatThrownBy(() -> RoutePathTrie.<String>builder().add("/a/**/b", "value"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -125,6 +125,58 @@ class RpcServerMetricsTest {
                                             equalTo(SemanticAttributes.NET_TRANSPORT, "ip_tcp")))));
   }
 
+  @Test
+  void collectsMessageMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.createDelta();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+
+    OperationListener listener = RpcServerMetrics.get().create(meterProvider.get("test"));
+
+    Attributes requestAttributes =
+        Attributes.builder()
+            .put(SemanticAttributes.RPC_SYSTEM, "grpc")
+            .put(SemanticAttributes.RPC_SERVICE, "myservice.EchoService")
+            .put(SemanticAttributes.RPC_METHOD, "exampleMethod")
+            .build();
+
+    // a stream that received 4 messages and sent 2
+    Attributes responseAttributes =
+        Attributes.builder()
+            .put(RpcMessageMetrics.RECEIVED_MESSAGES, 4L)
+            .put(RpcMessageMetrics.SENT_MESSAGES, 2L)
+            .build();
+
+    Context context = listener.onStart(Context.root(), requestAttributes, nanos(100));
+    listener.onEnd(context, responseAttributes, nanos(250));
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric -> assertThat(metric).hasName("rpc.server.duration"),
+            metric ->
+                assertThat(metric)
+                    .hasName("rpc.server.requests_per_rpc")
+                    .hasUnit("{count}")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasSum(4)
+                                        .hasAttributesSatisfying(
+                                            equalTo(SemanticAttributes.RPC_SYSTEM, "grpc"),
+                                            equalTo(
+                                                SemanticAttributes.RPC_SERVICE,
+                                                "myservice.EchoService"),
+                                            equalTo(
+                                                SemanticAttributes.RPC_METHOD, "exampleMethod")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("rpc.server.responses_per_rpc")
+                    .hasHistogramSatisfying(
+                        histogram -> histogram.hasPointsSatisfying(point -> point.hasSum(2))));
+  }
+
   private static long nanos(int millis) {
     return TimeUnit.MILLISECONDS.toNanos(millis);
   }
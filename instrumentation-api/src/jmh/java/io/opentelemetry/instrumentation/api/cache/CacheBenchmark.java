@@ -11,6 +11,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -25,10 +26,6 @@ import org.openjdk.jmh.infra.Blackhole;
 @State(Scope.Thread)
 public class CacheBenchmark {
 
-  private static final Cache<Object, Object> weakCache = Cache.weak();
-  private static final Cache<Object, Object> boundedLargeCache = Cache.bounded(10);
-  private static final Cache<Object, Object> boundedSmallCache = Cache.bounded(1);
-
   private String key;
   private String key2;
 
@@ -41,118 +38,60 @@ public class CacheBenchmark {
 
   @Benchmark
   @Threads(1)
-  public void threads01_weakConcurrentMap(Blackhole blackhole) {
-    weakCache.put(key, "foo");
-    blackhole.consume(weakCache.get(key));
-    weakCache.put(key2, "foo");
-    blackhole.consume(weakCache.get(key2));
-    weakCache.remove(key);
-    weakCache.remove(key2);
-    blackhole.consume(weakCache.get(key));
-    blackhole.consume(weakCache.get(key2));
+  public void threads01(CacheState state, Blackhole blackhole) {
+    putGetRemove(state.cache, blackhole);
   }
 
   @Benchmark
   @Threads(5)
-  public void threads05_weakConcurrentMap(Blackhole blackhole) {
-    weakCache.put(key, "foo");
-    blackhole.consume(weakCache.get(key));
-    weakCache.put(key2, "foo");
-    blackhole.consume(weakCache.get(key2));
-    weakCache.remove(key);
-    weakCache.remove(key2);
-    blackhole.consume(weakCache.get(key));
-    blackhole.consume(weakCache.get(key2));
+  public void threads05(CacheState state, Blackhole blackhole) {
+    putGetRemove(state.cache, blackhole);
   }
 
   @Benchmark
   @Threads(10)
-  public void threads10_weakConcurrentMap(Blackhole blackhole) {
-    weakCache.put(key, "foo");
-    blackhole.consume(weakCache.get(key));
-    weakCache.put(key2, "foo");
-    blackhole.consume(weakCache.get(key2));
-    weakCache.remove(key);
-    weakCache.remove(key2);
-    blackhole.consume(weakCache.get(key));
-    blackhole.consume(weakCache.get(key2));
+  public void threads10(CacheState state, Blackhole blackhole) {
+    putGetRemove(state.cache, blackhole);
   }
 
-  @Benchmark
-  @Threads(1)
-  public void threads01_boundedLarge(Blackhole blackhole) {
-    boundedLargeCache.put(key, "foo");
-    blackhole.consume(boundedLargeCache.get(key));
-    boundedLargeCache.put(key2, "foo");
-    blackhole.consume(boundedLargeCache.get(key2));
-    boundedLargeCache.remove(key);
-    boundedLargeCache.remove(key2);
-    blackhole.consume(boundedLargeCache.get(key));
-    blackhole.consume(boundedLargeCache.get(key2));
+  private void putGetRemove(Cache<Object, Object> cache, Blackhole blackhole) {
+    cache.put(key, "foo");
+    blackhole.consume(cache.get(key));
+    cache.put(key2, "foo");
+    blackhole.consume(cache.get(key2));
+    cache.remove(key);
+    cache.remove(key2);
+    blackhole.consume(cache.get(key));
+    blackhole.consume(cache.get(key2));
   }
 
-  @Benchmark
-  @Threads(5)
-  public void threads05_boundedLarge(Blackhole blackhole) {
-    boundedLargeCache.put(key, "foo");
-    blackhole.consume(boundedLargeCache.get(key));
-    boundedLargeCache.put(key2, "foo");
-    blackhole.consume(boundedLargeCache.get(key2));
-    boundedLargeCache.remove(key);
-    boundedLargeCache.remove(key2);
-    blackhole.consume(boundedLargeCache.get(key));
-    blackhole.consume(boundedLargeCache.get(key2));
-  }
-
-  @Benchmark
-  @Threads(10)
-  public void threads10_boundedLarge(Blackhole blackhole) {
-    boundedLargeCache.put(key, "foo");
-    blackhole.consume(boundedLargeCache.get(key));
-    boundedLargeCache.put(key2, "foo");
-    blackhole.consume(boundedLargeCache.get(key2));
-    boundedLargeCache.remove(key);
-    boundedLargeCache.remove(key2);
-    blackhole.consume(boundedLargeCache.get(key));
-    blackhole.consume(boundedLargeCache.get(key2));
-  }
+  // shared by all benchmark threads
+  @State(Scope.Benchmark)
+  public static class CacheState {
 
-  @Benchmark
-  @Threads(1)
-  public void threads01_boundedSmall(Blackhole blackhole) {
-    boundedSmallCache.put(key, "foo");
-    blackhole.consume(boundedSmallCache.get(key));
-    boundedSmallCache.put(key2, "foo");
-    blackhole.consume(boundedSmallCache.get(key2));
-    boundedSmallCache.remove(key);
-    boundedSmallCache.remove(key2);
-    blackhole.consume(boundedSmallCache.get(key));
-    blackhole.consume(boundedSmallCache.get(key2));
-  }
+    @Param({"weakConcurrentMap", "weakStriped", "boundedLarge", "boundedSmall"})
+    public String cacheType;
 
-  @Benchmark
-  @Threads(5)
-  public void threads05_boundedSmall(Blackhole blackhole) {
-    boundedSmallCache.put(key, "foo");
-    blackhole.consume(boundedSmallCache.get(key));
-    boundedSmallCache.put(key2, "foo");
-    blackhole.consume(boundedSmallCache.get(key2));
-    boundedSmallCache.remove(key);
-    boundedSmallCache.remove(key2);
-    blackhole.consume(boundedSmallCache.get(key));
-    blackhole.consume(boundedSmallCache.get(key2));
-  }
+    Cache<Object, Object> cache;
 
-  @Benchmark
-  @Threads(10)
-  public void threads10_boundedSmall(Blackhole blackhole) {
-    boundedSmallCache.put(key, "foo");
-    blackhole.consume(boundedSmallCache.get(key));
-    boundedSmallCache.put(key2, "foo");
-    blackhole.consume(boundedSmallCache.get(key2));
-    boundedSmallCache.remove(key);
-    boundedSmallCache.remove(key2);
-    blackhole.consume(boundedSmallCache.get(key));
-    blackhole.consume(boundedSmallCache.get(key2));
+    @Setup
+    public void setUp() {
+      switch (cacheType) {
+        case "weakConcurrentMap":
+          cache = Cache.weak();
+          break;
+        case "weakStriped":
+          cache = Cache.weakStriped();
+          break;
+        case "boundedLarge":
+          cache = Cache.bounded(10);
+          break;
+        case "boundedSmall":
+          cache = Cache.bounded(1);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown cache type: " + cacheType);
+      }
+    }
   }
 }
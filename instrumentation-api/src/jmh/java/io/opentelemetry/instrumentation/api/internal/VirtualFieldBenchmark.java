@@ -0,0 +1,99 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// compares a field injected at build time with the weak map that is used otherwise
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class VirtualFieldBenchmark {
+
+  private static final VirtualField<Owner, String> weakMapField =
+      VirtualField.find(Owner.class, String.class);
+  private static final VirtualField<Owner, String> injectedField =
+      new InjectedVirtualField<>(Owner.class, String.class, weakMapField);
+
+  private Owner owner;
+
+  @Setup
+  public void setUp() {
+    owner = new EnhancedOwner();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_weakMap(Blackhole blackhole) {
+    setAndGet(weakMapField, blackhole);
+  }
+
+  @Benchmark
+  @Threads(5)
+  public void threads05_weakMap(Blackhole blackhole) {
+    setAndGet(weakMapField, blackhole);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_injectedField(Blackhole blackhole) {
+    setAndGet(injectedField, blackhole);
+  }
+
+  @Benchmark
+  @Threads(5)
+  public void threads05_injectedField(Blackhole blackhole) {
+    setAndGet(injectedField, blackhole);
+  }
+
+  private void setAndGet(VirtualField<Owner, String> field, Blackhole blackhole) {
+    field.set(owner, "foo");
+    blackhole.consume(field.get(owner));
+  }
+
+  public interface Owner {}
+
+  // CHECKSTYLE:OFF
+  // what the build time enhancement adds to the classes that implement Owner
+  @SuppressWarnings("MemberName")
+  public static class EnhancedOwner implements Owner, InjectedVirtualFieldAccessor {
+    private static final String FIELD_NAME =
+        "__opentelemetryVirtualField$io$opentelemetry$instrumentation$api$internal$VirtualFieldBenchmark$Owner$java$lang$String";
+
+    private volatile transient Object field;
+
+    @Override
+    public Object __opentelemetryGetVirtualField(String fieldName) {
+      if (fieldName.equals(FIELD_NAME)) {
+        return field;
+      }
+      return NOT_INJECTED;
+    }
+
+    @Override
+    public boolean __opentelemetrySetVirtualField(String fieldName, Object value) {
+      if (fieldName.equals(FIELD_NAME)) {
+        field = value;
+        return true;
+      }
+      return false;
+    }
+  }
+  // CHECKSTYLE:ON
+}
@@ -11,12 +11,14 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.FilteredOperation;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
 import javax.annotation.Nullable;
 
 /**
@@ -73,6 +75,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
   private final List<? extends AttributesExtractor<? super REQUEST, ? super RESPONSE>>
       attributesExtractors;
   private final List<? extends ContextCustomizer<? super REQUEST>> contextCustomizers;
+  private final List<? extends BiPredicate<Context, ? super REQUEST>> startFilters;
   private final List<? extends OperationListener> operationListeners;
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean enabled;
@@ -87,6 +90,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     this.spanLinksExtractors = new ArrayList<>(builder.spanLinksExtractors);
     this.attributesExtractors = new ArrayList<>(builder.attributesExtractors);
     this.contextCustomizers = new ArrayList<>(builder.contextCustomizers);
+    this.startFilters = new ArrayList<>(builder.startFilters);
     this.operationListeners = builder.buildOperationListeners();
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.enabled = builder.enabled;
@@ -112,8 +116,9 @@ public class Instrumenter<REQUEST, RESPONSE> {
 
     if (suppressed) {
       supportability.recordSuppressedSpan(spanKind, instrumentationName);
+      return false;
     }
-    return !suppressed;
+    return true;
   }
 
   /**
@@ -159,6 +164,16 @@ public class Instrumenter<REQUEST, RESPONSE> {
 
   private Context doStart(Context parentContext, REQUEST request, @Nullable Instant startTime) {
     SpanKind spanKind = spanKindExtractor.extract(request);
+
+    // filtered out operations still get a context, which the instrumentation makes current while
+    // the operation runs, so that the nested operations are not sampled either
+    for (BiPredicate<Context, ? super REQUEST> startFilter : startFilters) {
+      if (!startFilter.test(parentContext, request)) {
+        Context context = FilteredOperation.start(parentContext);
+        return spanSuppressor.storeInContext(context, spanKind, Span.fromContext(context));
+      }
+    }
+
     SpanBuilder spanBuilder =
         tracer.spanBuilder(spanNameExtractor.extract(request)).setSpanKind(spanKind);
 
@@ -212,6 +227,9 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable RESPONSE response,
       @Nullable Throwable error,
       @Nullable Instant endTime) {
+    if (FilteredOperation.isFilteredOperation(context)) {
+      return;
+    }
     Span span = Span.fromContext(context);
 
     if (error != null) {
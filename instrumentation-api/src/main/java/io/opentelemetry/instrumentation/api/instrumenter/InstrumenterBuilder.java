@@ -25,6 +25,7 @@ import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -50,6 +51,7 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
   final List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> attributesExtractors =
       new ArrayList<>();
   final List<ContextCustomizer<? super REQUEST>> contextCustomizers = new ArrayList<>();
+  final List<BiPredicate<Context, ? super REQUEST>> startFilters = new ArrayList<>();
   private final List<OperationListener> operationListeners = new ArrayList<>();
   private final List<OperationMetrics> operationMetrics = new ArrayList<>();
 
@@ -185,6 +187,16 @@ public final class InstrumenterBuilder<REQUEST, RESPONSE> {
     return this;
   }
 
+  /**
+   * Adds a filter of the parent context and the request that is evaluated by {@link
+   * Instrumenter#start(Context, Object)} before any extractor runs; when any of the filters returns
+   * {@code false} the operation is not recorded, and its context carries a span that is not sampled
+   * instead. Called through {@link io.opentelemetry.instrumentation.api.internal.InstrumenterUtil}.
+   */
+  void addStartFilter(BiPredicate<Context, ? super REQUEST> startFilter) {
+    startFilters.add(requireNonNull(startFilter, "startFilter"));
+  }
+
   /**
    * Returns a new {@link Instrumenter} which will create {@linkplain SpanKind#CLIENT client} spans
    * and inject context into requests.
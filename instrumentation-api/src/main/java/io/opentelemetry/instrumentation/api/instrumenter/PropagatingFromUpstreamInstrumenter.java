@@ -9,6 +9,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 
 final class PropagatingFromUpstreamInstrumenter<REQUEST, RESPONSE>
     extends Instrumenter<REQUEST, RESPONSE> {
@@ -27,7 +28,9 @@ final class PropagatingFromUpstreamInstrumenter<REQUEST, RESPONSE>
   public Context start(Context parentContext, REQUEST request) {
     ContextPropagationDebug.debugContextLeakIfEnabled();
 
-    Context extracted = propagators.getTextMapPropagator().extract(parentContext, request, getter);
+    Context extracted =
+        TraceparentBytesPropagation.extract(
+            propagators.getTextMapPropagator(), parentContext, request, getter);
     return super.start(extracted, request);
   }
 }
@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.instrumenter;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 
 final class PropagatingToDownstreamInstrumenter<REQUEST, RESPONSE>
     extends Instrumenter<REQUEST, RESPONSE> {
@@ -25,7 +26,8 @@ final class PropagatingToDownstreamInstrumenter<REQUEST, RESPONSE>
   @Override
   public Context start(Context parentContext, REQUEST request) {
     Context newContext = super.start(parentContext, request);
-    propagators.getTextMapPropagator().inject(newContext, request, setter);
+    TraceparentBytesPropagation.inject(
+        propagators.getTextMapPropagator(), newContext, request, setter);
     return newContext;
   }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Samples a snapshot at most once per minimum interval, so that all metric readers collecting
+ * within that interval observe the same values.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CachedSnapshot<T> implements Supplier<T> {
+
+  private final Supplier<T> sampler;
+  private final long minimumIntervalNanos;
+
+  // guarded by this
+  @Nullable private T snapshot;
+  private long sampledAtNanos;
+
+  public CachedSnapshot(Supplier<T> sampler, Duration minimumInterval) {
+    this.sampler = sampler;
+    this.minimumIntervalNanos = minimumInterval.toNanos();
+  }
+
+  @Override
+  public synchronized T get() {
+    long now = System.nanoTime();
+    T current = snapshot;
+    if (current == null || now - sampledAtNanos >= minimumIntervalNanos) {
+      current = sampler.get();
+      snapshot = current;
+      sampledAtNanos = now;
+    }
+    return current;
+  }
+}
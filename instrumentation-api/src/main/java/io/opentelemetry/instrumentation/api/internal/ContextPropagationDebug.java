@@ -8,11 +8,18 @@ package io.opentelemetry.instrumentation.api.internal;
 import static java.util.logging.Level.SEVERE;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
@@ -30,6 +37,15 @@ public final class ContextPropagationDebug {
 
   private static final boolean THREAD_PROPAGATION_DEBUGGER;
   private static final boolean FAIL_ON_CONTEXT_LEAK;
+  // capture propagation locations for 1 in N submissions, 1 means every submission
+  private static final int SAMPLE_INTERVAL;
+
+  private static final AtomicReferenceArray<SuspiciousPropagation> suspiciousPropagations;
+  private static final AtomicLong suspiciousPropagationIndex = new AtomicLong();
+
+  private static final LongAdder sampledPropagations = new LongAdder();
+  private static final LongAdder overwrittenContexts = new LongAdder();
+  private static final LongAdder notConsumedContexts = new LongAdder();
 
   static {
     boolean agentDebugEnabled = ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false);
@@ -39,6 +55,17 @@ public final class ContextPropagationDebug {
             "otel.javaagent.experimental.thread-propagation-debugger.enabled", agentDebugEnabled);
     FAIL_ON_CONTEXT_LEAK =
         ConfigPropertiesUtil.getBoolean("otel.javaagent.testing.fail-on-context-leak", false);
+    SAMPLE_INTERVAL =
+        Math.max(
+            1,
+            ConfigPropertiesUtil.getInt(
+                "otel.javaagent.experimental.thread-propagation-debugger.sample-interval", 1));
+    suspiciousPropagations =
+        new AtomicReferenceArray<>(
+            Math.max(
+                1,
+                ConfigPropertiesUtil.getInt(
+                    "otel.javaagent.experimental.thread-propagation-debugger.buffer-size", 128)));
   }
 
   // context to which debug locations were added
@@ -56,18 +83,100 @@ public final class ContextPropagationDebug {
     return THREAD_PROPAGATION_DEBUGGER;
   }
 
-  public static Context appendLocations(
-      Context context, StackTraceElement[] locations, Object carrier) {
+  /**
+   * Records the current location as a propagation of {@code context} to {@code carrier}. Only 1 in
+   * {@code otel.javaagent.experimental.thread-propagation-debugger.sample-interval} calls capture
+   * the location, the remaining calls return {@code context} unchanged. Stack frames of the
+   * captured location are only resolved when they are reported.
+   */
+  public static Context appendLocations(Context context, Object carrier) {
+    if (SAMPLE_INTERVAL > 1 && ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0) {
+      return context;
+    }
+    sampledPropagations.increment();
+    return appendLocation(context, new Propagation(carrier.getClass().getName(), new Throwable()));
+  }
+
+  private static Context appendLocation(Context context, Propagation propagation) {
     ContextPropagationDebug propagationDebug = ContextPropagationDebug.getPropagations(context);
     if (propagationDebug == null) {
       propagationDebug = new ContextPropagationDebug(context);
       context = context.with(THREAD_PROPAGATION_LOCATIONS, propagationDebug);
       propagationDebug.wrappedContext = context;
     }
-    propagationDebug.locations.add(0, new Propagation(carrier.getClass().getName(), locations));
+    propagationDebug.locations.add(0, propagation);
     return context;
   }
 
+  /**
+   * Records that {@code rejected} could not be propagated to a carrier of type {@code
+   * carrierClassName} because the context that was propagated to it earlier has not been consumed
+   * yet.
+   */
+  public static void recordOverwrittenContext(Context rejected, @Nullable String carrierClassName) {
+    if (!isThreadPropagationDebuggerEnabled()) {
+      return;
+    }
+    overwrittenContexts.increment();
+    recordSuspiciousPropagation(SuspiciousPropagation.Kind.OVERWRITTEN, rejected, carrierClassName);
+  }
+
+  /**
+   * Records that {@code context} was attached to a carrier of type {@code carrierClassName} but
+   * never made current.
+   */
+  public static void recordNotConsumedContext(Context context, @Nullable String carrierClassName) {
+    if (!isThreadPropagationDebuggerEnabled()) {
+      return;
+    }
+    notConsumedContexts.increment();
+    recordSuspiciousPropagation(SuspiciousPropagation.Kind.NOT_CONSUMED, context, carrierClassName);
+  }
+
+  private static void recordSuspiciousPropagation(
+      SuspiciousPropagation.Kind kind, Context context, @Nullable String carrierClassName) {
+    ContextPropagationDebug propagationDebug = getPropagations(context);
+    SuspiciousPropagation suspiciousPropagation =
+        new SuspiciousPropagation(
+            kind,
+            carrierClassName,
+            Span.fromContext(context).getSpanContext(),
+            propagationDebug == null
+                ? Collections.emptyList()
+                : new ArrayList<>(propagationDebug.locations));
+    long index = suspiciousPropagationIndex.getAndIncrement();
+    suspiciousPropagations.set(
+        (int) (index % suspiciousPropagations.length()), suspiciousPropagation);
+  }
+
+  /** Returns the most recently recorded suspicious propagations, oldest first. */
+  public static List<SuspiciousPropagation> getSuspiciousPropagations() {
+    int capacity = suspiciousPropagations.length();
+    long end = suspiciousPropagationIndex.get();
+    long start = Math.max(0, end - capacity);
+    List<SuspiciousPropagation> result = new ArrayList<>((int) (end - start));
+    for (long i = start; i < end; i++) {
+      SuspiciousPropagation suspiciousPropagation =
+          suspiciousPropagations.get((int) (i % capacity));
+      if (suspiciousPropagation != null) {
+        result.add(suspiciousPropagation);
+      }
+    }
+    return result;
+  }
+
+  public static long getSampledPropagationCount() {
+    return sampledPropagations.sum();
+  }
+
+  public static long getOverwrittenContextCount() {
+    return overwrittenContexts.sum();
+  }
+
+  public static long getNotConsumedContextCount() {
+    return notConsumedContexts.sum();
+  }
+
   public static void debugContextLeakIfEnabled() {
     if (!isThreadPropagationDebuggerEnabled()) {
       return;
@@ -111,31 +220,119 @@ public final class ContextPropagationDebug {
   private static void debugContextPropagation(Context context) {
     ContextPropagationDebug propagationDebug = getPropagations(context);
     if (propagationDebug != null) {
-      List<Propagation> propagations = propagationDebug.locations;
-      StringBuilder sb = new StringBuilder();
-      Iterator<Propagation> i = propagations.iterator();
-      while (i.hasNext()) {
-        Propagation entry = i.next();
-        sb.append("\ncarrier of type: ").append(entry.carrierClassName);
-        for (StackTraceElement ste : entry.location) {
-          sb.append("\n    ");
-          sb.append(ste);
-        }
-        if (i.hasNext()) {
-          sb.append("\nwhich was propagated from:");
-        }
+      logger.log(
+          SEVERE,
+          "a context leak was detected. it was propagated from: {0}",
+          formatPropagations(propagationDebug.locations));
+    }
+  }
+
+  private static String formatPropagations(List<Propagation> propagations) {
+    StringBuilder sb = new StringBuilder();
+    Iterator<Propagation> i = propagations.iterator();
+    while (i.hasNext()) {
+      Propagation entry = i.next();
+      sb.append("\ncarrier of type: ").append(entry.carrierClassName);
+      for (StackTraceElement ste : entry.getLocation()) {
+        sb.append("\n    ");
+        sb.append(ste);
+      }
+      if (i.hasNext()) {
+        sb.append("\nwhich was propagated from:");
       }
-      logger.log(SEVERE, "a context leak was detected. it was propagated from: {0}", sb);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+   * any time.
+   */
+  public static final class SuspiciousPropagation {
+
+    /**
+     * This class is internal and is hence not for public use. Its APIs are unstable and can change
+     * at any time.
+     */
+    public enum Kind {
+      /** Context could not be propagated because the previous one was not consumed yet. */
+      OVERWRITTEN,
+      /** Context was attached to a carrier that was cleaned up without running. */
+      NOT_CONSUMED
+    }
+
+    private final Kind kind;
+    @Nullable private final String carrierClassName;
+    private final SpanContext spanContext;
+    private final List<Propagation> propagations;
+
+    private SuspiciousPropagation(
+        Kind kind,
+        @Nullable String carrierClassName,
+        SpanContext spanContext,
+        List<Propagation> propagations) {
+      this.kind = kind;
+      this.carrierClassName = carrierClassName;
+      this.spanContext = spanContext;
+      this.propagations = propagations;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    @Nullable
+    public String getCarrierClassName() {
+      return carrierClassName;
+    }
+
+    public SpanContext getSpanContext() {
+      return spanContext;
+    }
+
+    /**
+     * Returns the sampled locations through which the context was propagated, the most recent
+     * first. Empty when none of the propagations were sampled.
+     */
+    public List<StackTraceElement[]> getLocations() {
+      List<StackTraceElement[]> result = new ArrayList<>(propagations.size());
+      for (Propagation propagation : propagations) {
+        result.add(propagation.getLocation());
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return kind
+          + " context of "
+          + spanContext
+          + " in carrier of type: "
+          + carrierClassName
+          + formatPropagations(propagations);
     }
   }
 
   private static class Propagation {
     public final String carrierClassName;
-    public final StackTraceElement[] location;
+    // stack frames are resolved lazily, only when this propagation is reported
+    @Nullable private Throwable capturedLocation;
+    @Nullable private StackTraceElement[] location;
 
-    public Propagation(String carrierClassName, StackTraceElement[] location) {
+    public Propagation(String carrierClassName, Throwable capturedLocation) {
       this.carrierClassName = carrierClassName;
-      this.location = location;
+      this.capturedLocation = capturedLocation;
+    }
+
+    synchronized StackTraceElement[] getLocation() {
+      if (location == null) {
+        location =
+            capturedLocation == null
+                ? new StackTraceElement[0]
+                : capturedLocation.getStackTrace();
+        capturedLocation = null;
+      }
+      return location;
     }
   }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The context of an operation that a start filter of its instrumenter filtered out. It carries a
+ * span that is not sampled, so that the operations done while the filtered out operation runs,
+ * e.g. the database calls made while serving a filtered out request, are not sampled either instead
+ * of each becoming the root of a new trace. The span is not recorded and costs no more than its
+ * ids.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class FilteredOperation {
+
+  private static final ContextKey<Span> KEY =
+      ContextKey.named("opentelemetry-filtered-operation-span");
+
+  /**
+   * Returns the context of a filtered out operation. The span continues the trace of the parent
+   * context if there is one.
+   */
+  public static Context start(Context parentContext) {
+    SpanContext parentSpanContext = Span.fromContext(parentContext).getSpanContext();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String traceId =
+        parentSpanContext.isValid()
+            ? parentSpanContext.getTraceId()
+            : TraceId.fromLongs(random.nextLong(), nonZeroRandomLong(random));
+    Span span =
+        Span.wrap(
+            SpanContext.create(
+                traceId,
+                SpanId.fromLong(nonZeroRandomLong(random)),
+                TraceFlags.getDefault(),
+                parentSpanContext.getTraceState()));
+    return parentContext.with(span).with(KEY, span);
+  }
+
+  /**
+   * Returns {@code true} if the passed context belongs to a filtered out operation, or to an
+   * operation nested in one.
+   */
+  public static boolean isFiltered(Context context) {
+    return context.get(KEY) != null;
+  }
+
+  /**
+   * Returns {@code true} if the passed context was returned by {@link #start(Context)}, as opposed
+   * to the context of an operation nested in the filtered out one.
+   */
+  public static boolean isFilteredOperation(Context context) {
+    Span span = context.get(KEY);
+    return span != null && span == Span.fromContext(context);
+  }
+
+  private static long nonZeroRandomLong(ThreadLocalRandom random) {
+    long value;
+    do {
+      value = random.nextLong();
+    } while (value == 0);
+    return value;
+  }
+
+  private FilteredOperation() {}
+}
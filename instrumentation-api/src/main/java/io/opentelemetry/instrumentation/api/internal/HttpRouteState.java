@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.internal;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.context.ImplicitContextKeyed;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -28,8 +29,13 @@ public final class HttpRouteState implements ImplicitContextKeyed {
     return new HttpRouteState(updatedBySourceOrder, route);
   }
 
-  private volatile int updatedBySourceOrder;
-  @Nullable private volatile String route;
+  // guarded by this: the route is usually updated on the request thread but can be read on another
+  // one, e.g. when an async request ends, and materializing a pending route updates all fields
+  private int updatedBySourceOrder;
+  @Nullable private String route;
+  // registered by sources that won the priority check, the most recent first; only materialized
+  // when the route is read, a registration whose supplier returns null does not raise the order
+  @Nullable private PendingRoute pendingRoute;
 
   private HttpRouteState(int updatedBySourceOrder, @Nullable String route) {
     this.updatedBySourceOrder = updatedBySourceOrder;
@@ -41,21 +47,74 @@ public final class HttpRouteState implements ImplicitContextKeyed {
     return context.with(KEY, this);
   }
 
-  public int getUpdatedBySourceOrder() {
-    return updatedBySourceOrder;
+  /**
+   * Returns the order of the source that last updated the route, including sources whose route
+   * supplier has not been materialized yet.
+   */
+  public synchronized int getUpdatedBySourceOrder() {
+    PendingRoute pending = pendingRoute;
+    return pending != null ? pending.updatedBySourceOrder : updatedBySourceOrder;
   }
 
+  /**
+   * Returns whether a route was registered with {@link #update(Context, int, Supplier)} and has not
+   * been materialized yet.
+   */
+  public synchronized boolean isRoutePending() {
+    return pendingRoute != null;
+  }
+
+  /**
+   * Returns the current route, materializing the pending route suppliers first if there are any.
+   * The most recently registered supplier that returns a non-empty route wins; when all of them
+   * return null or an empty string the previously set route and its source order stay in place.
+   */
   @Nullable
-  public String getRoute() {
+  public synchronized String getRoute() {
+    PendingRoute pending = pendingRoute;
+    if (pending != null) {
+      pendingRoute = null;
+      for (PendingRoute candidate = pending; candidate != null; candidate = candidate.previous) {
+        String resolved = candidate.routeSupplier.get();
+        if (resolved != null && !resolved.isEmpty()) {
+          updatedBySourceOrder = candidate.updatedBySourceOrder;
+          route = resolved;
+          break;
+        }
+      }
+    }
     return route;
   }
 
-  public void update(
+  public synchronized void update(
       @SuppressWarnings("unused")
           Context context, // context is used by the javaagent bridge instrumentation
       int updatedBySourceOrder,
       String route) {
     this.updatedBySourceOrder = updatedBySourceOrder;
+    this.pendingRoute = null;
     this.route = route;
   }
+
+  public synchronized void update(
+      @SuppressWarnings("unused")
+          Context context, // context is used by the javaagent bridge instrumentation
+      int updatedBySourceOrder,
+      Supplier<String> routeSupplier) {
+    this.pendingRoute = new PendingRoute(updatedBySourceOrder, routeSupplier, pendingRoute);
+  }
+
+  private static final class PendingRoute {
+    final int updatedBySourceOrder;
+    final Supplier<String> routeSupplier;
+    // used when this supplier returns null
+    @Nullable final PendingRoute previous;
+
+    PendingRoute(
+        int updatedBySourceOrder, Supplier<String> routeSupplier, @Nullable PendingRoute previous) {
+      this.updatedBySourceOrder = updatedBySourceOrder;
+      this.routeSupplier = routeSupplier;
+      this.previous = previous;
+    }
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link VirtualField} that stores its values in a field that was injected into the owner class
+ * at build time, by the {@code io.opentelemetry.instrumentation.virtual-field-injection} Gradle
+ * plugin. The enhanced classes implement {@link InjectedVirtualFieldAccessor}, owners whose class
+ * was not enhanced fall back to the cache-based implementation.
+ *
+ * <p>The injected field and accessors are named like the ones the javaagent injects, so that the
+ * javaagent reuses them when it instruments an enhanced class.
+ */
+final class InjectedVirtualField<T, F> extends VirtualField<T, F> {
+
+  private static final Logger logger = Logger.getLogger(InjectedVirtualField.class.getName());
+
+  // lists the "typeName fieldTypeName" pairs that the build time enhancement injected
+  static final String RESOURCE_NAME = "META-INF/io.opentelemetry.instrumentation/virtual-fields";
+
+  // interned, the enhanced classes compare it with the constant of their field name first
+  private final String fieldName;
+  private final VirtualField<T, F> fallback;
+
+  static boolean isInjected(Class<?> type, Class<?> fieldType) {
+    return InjectedFields.NAMES.contains(type.getName() + " " + fieldType.getName());
+  }
+
+  InjectedVirtualField(Class<?> type, Class<?> fieldType, VirtualField<T, F> fallback) {
+    this.fieldName = getRealFieldName(type.getName(), fieldType.getName()).intern();
+    this.fallback = fallback;
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public F get(T object) {
+    if (object instanceof InjectedVirtualFieldAccessor) {
+      Object value =
+          ((InjectedVirtualFieldAccessor) object).__opentelemetryGetVirtualField(fieldName);
+      if (value != InjectedVirtualFieldAccessor.NOT_INJECTED) {
+        return (F) value;
+      }
+    }
+    return fallback.get(object);
+  }
+
+  @Override
+  public void set(T object, @Nullable F fieldValue) {
+    if (object instanceof InjectedVirtualFieldAccessor
+        && ((InjectedVirtualFieldAccessor) object)
+            .__opentelemetrySetVirtualField(fieldName, fieldValue)) {
+      return;
+    }
+    fallback.set(object, fieldValue);
+  }
+
+  // must be the same as the names that the javaagent and the Gradle plugin inject
+  private static String getRealFieldName(String typeName, String fieldTypeName) {
+    return "__opentelemetryVirtualField$"
+        + sanitizeClassName(typeName)
+        + "$"
+        + sanitizeClassName(fieldTypeName);
+  }
+
+  private static String sanitizeClassName(String className) {
+    className = className.replace('.', '$');
+    if (className.endsWith("[]")) {
+      className = className.replace('[', '_').replace(']', '_');
+    }
+    return className;
+  }
+
+  // read once, when the first virtual field is created
+  private static final class InjectedFields {
+    static final Set<String> NAMES = readNames();
+
+    private static Set<String> readNames() {
+      ClassLoader classLoader = InjectedVirtualField.class.getClassLoader();
+      Set<String> names = new HashSet<>();
+      try {
+        Enumeration<URL> resources =
+            classLoader == null
+                ? ClassLoader.getSystemResources(RESOURCE_NAME)
+                : classLoader.getResources(RESOURCE_NAME);
+        while (resources.hasMoreElements()) {
+          readNames(resources.nextElement(), names);
+        }
+      } catch (IOException e) {
+        logger.log(FINE, "Failed to read the injected virtual fields", e);
+        return Collections.emptySet();
+      }
+      return names;
+    }
+
+    private static void readNames(URL resource, Set<String> names) throws IOException {
+      try (BufferedReader reader =
+          new BufferedReader(new InputStreamReader(resource.openStream(), UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          line = line.trim();
+          if (!line.isEmpty()) {
+            names.add(line);
+          }
+        }
+      }
+    }
+
+    private InjectedFields() {}
+  }
+}
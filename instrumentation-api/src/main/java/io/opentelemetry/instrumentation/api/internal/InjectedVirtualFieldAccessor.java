@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import javax.annotation.Nullable;
+
+/**
+ * Implemented by the classes that were enhanced at build time by the {@code
+ * io.opentelemetry.instrumentation.virtual-field-injection} Gradle plugin, gives access to all
+ * virtual fields that were injected into the class by the name of their field.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+// CHECKSTYLE:OFF
+@SuppressWarnings("MemberName") // the methods are named to not clash with the methods of the class
+public interface InjectedVirtualFieldAccessor {
+
+  /** Returned by {@link #__opentelemetryGetVirtualField(String)} for unknown fields. */
+  Object NOT_INJECTED = new Object();
+
+  /**
+   * Returns the value of the injected field with the given name, or {@link #NOT_INJECTED} if the
+   * class has no such field.
+   */
+  @Nullable
+  Object __opentelemetryGetVirtualField(String fieldName);
+
+  /**
+   * Sets the value of the injected field with the given name, returns {@code false} if the class
+   * has no such field.
+   */
+  boolean __opentelemetrySetVirtualField(String fieldName, @Nullable Object value);
+}
+// CHECKSTYLE:ON
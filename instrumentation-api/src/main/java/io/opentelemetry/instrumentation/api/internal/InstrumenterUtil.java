@@ -7,9 +7,11 @@ package io.opentelemetry.instrumentation.api.internal;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Instant;
+import java.util.function.BiPredicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -23,6 +25,7 @@ public final class InstrumenterUtil {
   private static final Logger logger = Logger.getLogger(InstrumenterUtil.class.getName());
 
   private static final Method startAndEndMethod;
+  private static final Method addStartFilterMethod;
 
   static {
     Method method = null;
@@ -42,6 +45,18 @@ public final class InstrumenterUtil {
           Level.WARNING, "Could not get Instrumenter#startAndEnd() method with reflection", e);
     }
     startAndEndMethod = method;
+
+    method = null;
+    try {
+      method = InstrumenterBuilder.class.getDeclaredMethod("addStartFilter", BiPredicate.class);
+      method.setAccessible(true);
+    } catch (NoSuchMethodException e) {
+      logger.log(
+          Level.WARNING,
+          "Could not get InstrumenterBuilder#addStartFilter() method with reflection",
+          e);
+    }
+    addStartFilterMethod = method;
   }
 
   public static <REQUEST, RESPONSE> Context startAndEnd(
@@ -67,5 +82,26 @@ public final class InstrumenterUtil {
     }
   }
 
+  /**
+   * Adds a filter that decides in {@link Instrumenter#start(Context, Object)} whether the operation
+   * is recorded, before any extractor runs. The context of a filtered out operation carries a span
+   * that is not sampled, see {@link FilteredOperation}.
+   */
+  public static <REQUEST> void addStartFilter(
+      InstrumenterBuilder<REQUEST, ?> builder,
+      BiPredicate<Context, ? super REQUEST> startFilter) {
+
+    if (addStartFilterMethod == null) {
+      // already logged a warning when this class initialized
+      return;
+    }
+    try {
+      addStartFilterMethod.invoke(builder, startFilter);
+    } catch (InvocationTargetException | IllegalAccessException e) {
+      logger.log(
+          Level.WARNING, "Error occurred when calling InstrumenterBuilder#addStartFilter()", e);
+    }
+  }
+
   private InstrumenterUtil() {}
 }
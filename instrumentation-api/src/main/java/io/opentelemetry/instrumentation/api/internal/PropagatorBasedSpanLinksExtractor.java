@@ -30,7 +30,8 @@ public final class PropagatorBasedSpanLinksExtractor<REQUEST>
 
   @Override
   public void extract(SpanLinksBuilder spanLinks, Context parentContext, REQUEST request) {
-    Context extracted = propagator.extract(parentContext, request, getter);
+    Context extracted =
+        TraceparentBytesPropagation.extract(propagator, parentContext, request, getter);
     spanLinks.addLink(Span.fromContext(extracted).getSpanContext());
   }
 }
@@ -57,12 +57,23 @@ public final class RuntimeVirtualFieldSupplier {
       return (VirtualField<U, V>)
           ownerToFieldToImplementationMap
               .computeIfAbsent(type, c -> Cache.weak())
-              .computeIfAbsent(fieldType, c -> new CacheBasedVirtualField<>());
+              .computeIfAbsent(fieldType, c -> create(type, fieldType));
+    }
+
+    private static VirtualField<?, ?> create(Class<?> type, Class<?> fieldType) {
+      VirtualField<Object, Object> cacheBased = new CacheBasedVirtualField<>();
+      // the application was enhanced at build time to store this virtual field in a real field
+      if (InjectedVirtualField.isInjected(type, fieldType)) {
+        return new InjectedVirtualField<>(type, fieldType, cacheBased);
+      }
+      return cacheBased;
     }
   }
 
   private static final class CacheBasedVirtualField<T, F> extends VirtualField<T, F> {
-    private final Cache<T, F> cache = Cache.weak();
+    // every (owner type, field type) pair gets its own table, so that unrelated virtual fields do
+    // not contend with each other
+    private final Cache<T, F> cache = Cache.weakStriped();
 
     @Override
     @Nullable
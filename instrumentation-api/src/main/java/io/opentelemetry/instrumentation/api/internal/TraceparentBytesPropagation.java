@@ -0,0 +1,208 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import javax.annotation.Nullable;
+
+/**
+ * Propagates the W3C {@code traceparent} header as raw bytes for carriers whose header values are
+ * byte arrays, skipping the intermediate {@link String} that {@link TextMapPropagator} would
+ * encode and decode for every message. The fast path is only taken when the propagator consists
+ * of W3C trace context and, optionally, W3C baggage, when the span context has no trace state and
+ * when the setter or getter implements {@link BytesSetter} or {@link BytesGetter}; in all other
+ * cases the propagator is called as usual.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class TraceparentBytesPropagation {
+
+  private static final String TRACEPARENT = "traceparent";
+  private static final String TRACESTATE = "tracestate";
+  private static final String BAGGAGE = "baggage";
+
+  // "00-" + trace id + "-" + span id + "-" + trace flags
+  private static final int TRACEPARENT_LENGTH = 3 + 32 + 1 + 16 + 1 + 2;
+  private static final int TRACE_ID_OFFSET = 3;
+  private static final int SPAN_ID_OFFSET = TRACE_ID_OFFSET + 32 + 1;
+  private static final int TRACE_FLAGS_OFFSET = SPAN_ID_OFFSET + 16 + 1;
+
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private static final Cache<TextMapPropagator, Boolean> supportedPropagators = Cache.weak();
+
+  /** A {@link TextMapSetter} that can also write header values as bytes. */
+  public interface BytesSetter<C> extends TextMapSetter<C> {
+
+    void set(C carrier, String key, byte[] value);
+  }
+
+  /** A {@link TextMapGetter} that can also read header values as bytes. */
+  public interface BytesGetter<C> extends TextMapGetter<C> {
+
+    /**
+     * Returns the raw value of the header, or {@code null} when the header is absent or its value
+     * is not available as bytes; {@link #get(Object, String)} is used in the latter case.
+     */
+    @Nullable
+    byte[] getBytes(@Nullable C carrier, String key);
+  }
+
+  /** Injects {@code context} into {@code carrier}, see the class documentation. */
+  public static <C> void inject(
+      TextMapPropagator propagator, Context context, C carrier, TextMapSetter<C> setter) {
+    if (!(setter instanceof BytesSetter) || !isSupported(propagator)) {
+      propagator.inject(context, carrier, setter);
+      return;
+    }
+    SpanContext spanContext = Span.fromContext(context).getSpanContext();
+    if (!spanContext.isValid() || !spanContext.getTraceState().isEmpty()) {
+      propagator.inject(context, carrier, setter);
+      return;
+    }
+
+    ((BytesSetter<C>) setter).set(carrier, TRACEPARENT, encode(spanContext));
+    if (!Baggage.fromContext(context).isEmpty()) {
+      // the trace context propagator does not inject anything for an invalid span
+      propagator.inject(context.with(Span.getInvalid()), carrier, setter);
+    }
+  }
+
+  /** Extracts the propagated context from {@code carrier}, see the class documentation. */
+  public static <C> Context extract(
+      TextMapPropagator propagator, Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+    if (carrier == null || !(getter instanceof BytesGetter) || !isSupported(propagator)) {
+      return propagator.extract(context, carrier, getter);
+    }
+    BytesGetter<C> bytesGetter = (BytesGetter<C>) getter;
+    byte[] traceparent = bytesGetter.getBytes(carrier, TRACEPARENT);
+    if (traceparent == null || getter.get(carrier, TRACESTATE) != null) {
+      return propagator.extract(context, carrier, getter);
+    }
+    SpanContext spanContext = decode(traceparent);
+    if (spanContext == null) {
+      // let the propagator deal with other versions and with invalid values
+      return propagator.extract(context, carrier, getter);
+    }
+
+    if (getter.get(carrier, BAGGAGE) != null) {
+      context = propagator.extract(context, carrier, new WithoutTraceContext<>(getter));
+    }
+    return context.with(Span.wrap(spanContext));
+  }
+
+  private static boolean isSupported(TextMapPropagator propagator) {
+    return supportedPropagators.computeIfAbsent(
+        propagator, TraceparentBytesPropagation::hasOnlyW3cFields);
+  }
+
+  private static boolean hasOnlyW3cFields(TextMapPropagator propagator) {
+    Collection<String> fields = propagator.fields();
+    if (!fields.contains(TRACEPARENT)) {
+      return false;
+    }
+    for (String field : fields) {
+      if (!field.equals(TRACEPARENT) && !field.equals(TRACESTATE) && !field.equals(BAGGAGE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Visible for testing
+  static byte[] encode(SpanContext spanContext) {
+    byte[] result = new byte[TRACEPARENT_LENGTH];
+    result[0] = '0';
+    result[1] = '0';
+    result[2] = '-';
+    writeAscii(spanContext.getTraceId(), result, TRACE_ID_OFFSET);
+    result[SPAN_ID_OFFSET - 1] = '-';
+    writeAscii(spanContext.getSpanId(), result, SPAN_ID_OFFSET);
+    result[TRACE_FLAGS_OFFSET - 1] = '-';
+    byte traceFlags = spanContext.getTraceFlags().asByte();
+    result[TRACE_FLAGS_OFFSET] = HEX_DIGITS[(traceFlags >> 4) & 0xF];
+    result[TRACE_FLAGS_OFFSET + 1] = HEX_DIGITS[traceFlags & 0xF];
+    return result;
+  }
+
+  private static void writeAscii(String value, byte[] destination, int offset) {
+    for (int i = 0; i < value.length(); i++) {
+      destination[offset + i] = (byte) value.charAt(i);
+    }
+  }
+
+  // Visible for testing
+  @Nullable
+  static SpanContext decode(byte[] traceparent) {
+    if (traceparent.length != TRACEPARENT_LENGTH
+        || traceparent[0] != '0'
+        || traceparent[1] != '0'
+        || traceparent[2] != '-'
+        || traceparent[SPAN_ID_OFFSET - 1] != '-'
+        || traceparent[TRACE_FLAGS_OFFSET - 1] != '-') {
+      return null;
+    }
+    int high = hexValue(traceparent[TRACE_FLAGS_OFFSET]);
+    int low = hexValue(traceparent[TRACE_FLAGS_OFFSET + 1]);
+    if (high < 0 || low < 0) {
+      return null;
+    }
+    // the ids only contain ascii characters when they are valid, which is verified when the span
+    // context is created
+    String traceId = new String(traceparent, TRACE_ID_OFFSET, 32, StandardCharsets.ISO_8859_1);
+    String spanId = new String(traceparent, SPAN_ID_OFFSET, 16, StandardCharsets.ISO_8859_1);
+    TraceFlags traceFlags = TraceFlags.fromByte((byte) (high << 4 | low));
+    SpanContext spanContext =
+        SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, TraceState.getDefault());
+    return spanContext.isValid() ? spanContext : null;
+  }
+
+  private static int hexValue(byte b) {
+    if (b >= '0' && b <= '9') {
+      return b - '0';
+    }
+    if (b >= 'a' && b <= 'f') {
+      return b - 'a' + 10;
+    }
+    return -1;
+  }
+
+  private static final class WithoutTraceContext<C> implements TextMapGetter<C> {
+    private final TextMapGetter<C> delegate;
+
+    private WithoutTraceContext(TextMapGetter<C> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Iterable<String> keys(C carrier) {
+      return delegate.keys(carrier);
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable C carrier, String key) {
+      if (TRACEPARENT.equals(key) || TRACESTATE.equals(key)) {
+        return null;
+      }
+      return delegate.get(carrier, key);
+    }
+  }
+
+  private TraceparentBytesPropagation() {}
+}
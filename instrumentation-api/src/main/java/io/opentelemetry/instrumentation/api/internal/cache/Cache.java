@@ -27,6 +27,17 @@ public interface Cache<K, V> {
     return new WeakLockFreeCache<>();
   }
 
+  /**
+   * Returns new unbounded cache that is split into independently locked stripes.
+   *
+   * <p>Keys are referenced weakly and compared using identity comparison, not {@link
+   * Object#equals(Object)}. Entries whose keys were garbage collected are removed when the cache is
+   * written to, without relying on a background cleaner thread.
+   */
+  static <K, V> Cache<K, V> weakStriped() {
+    return new StripedWeakCache<>();
+  }
+
   /**
    * Returns new bounded cache.
    *
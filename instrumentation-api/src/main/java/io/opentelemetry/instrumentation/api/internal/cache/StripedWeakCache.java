@@ -0,0 +1,228 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A weak identity cache split into independently locked stripes. Each stripe owns its reference
+ * queue, collected keys are expunged inline when the stripe is written to, so no cleaner thread is
+ * needed. Reads do not take any lock.
+ */
+final class StripedWeakCache<K, V> implements Cache<K, V> {
+
+  private static final int STRIPE_COUNT = stripeCount();
+  private static final int INITIAL_STRIPE_CAPACITY = 4;
+
+  private final Stripe<K, V>[] stripes;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  StripedWeakCache() {
+    stripes = new Stripe[STRIPE_COUNT];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe<>();
+    }
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    int hash = hash(key);
+    Stripe<K, V> stripe = stripeFor(hash);
+    V value = stripe.get(key, hash);
+    if (value != null) {
+      return value;
+    }
+    return stripe.computeIfAbsent(key, hash, mappingFunction);
+  }
+
+  @Override
+  @Nullable
+  public V get(K key) {
+    int hash = hash(key);
+    return stripeFor(hash).get(key, hash);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    int hash = hash(key);
+    stripeFor(hash).put(key, hash, value);
+  }
+
+  @Override
+  public void remove(K key) {
+    int hash = hash(key);
+    stripeFor(hash).remove(key, hash);
+  }
+
+  // Visible for testing
+  int size() {
+    int size = 0;
+    for (Stripe<K, V> stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  private Stripe<K, V> stripeFor(int hash) {
+    // low bits select the bucket inside of the stripe, use the high bits to select the stripe
+    return stripes[(hash >>> 16) & (stripes.length - 1)];
+  }
+
+  private static int hash(Object key) {
+    int h = System.identityHashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  private static int stripeCount() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    int count = 1;
+    while (count < processors * 2 && count < 64) {
+      count <<= 1;
+    }
+    return count;
+  }
+
+  private static final class Stripe<K, V> {
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+    // lock-free readers go through the volatile table field and the volatile slot reads of the
+    // array, so they always see fully constructed entries; a resized table is filled before it is
+    // published
+    private volatile AtomicReferenceArray<Entry<K, V>> table =
+        new AtomicReferenceArray<>(INITIAL_STRIPE_CAPACITY);
+    // guarded by this
+    private int count;
+
+    @Nullable
+    V get(K key, int hash) {
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      for (Entry<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+        if (e.hash == hash && e.get() == key) {
+          return e.value;
+        }
+      }
+      return null;
+    }
+
+    synchronized V computeIfAbsent(
+        K key, int hash, Function<? super K, ? extends V> mappingFunction) {
+      V value = get(key, hash);
+      if (value == null) {
+        value = mappingFunction.apply(key);
+        put(key, hash, value);
+      }
+      return value;
+    }
+
+    synchronized void put(K key, int hash, V value) {
+      expungeStaleEntries();
+
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      for (Entry<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+        if (e.hash == hash && e.get() == key) {
+          e.value = value;
+          return;
+        }
+      }
+
+      if (count + 1 > tab.length() - (tab.length() >>> 2)) {
+        tab = resize(tab);
+        table = tab;
+      }
+      int index = hash & (tab.length() - 1);
+      tab.set(index, new Entry<>(key, hash, value, tab.get(index), queue));
+      count++;
+    }
+
+    synchronized void remove(K key, int hash) {
+      expungeStaleEntries();
+
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      int index = hash & (tab.length() - 1);
+      for (Entry<K, V> e = tab.get(index); e != null; e = e.next) {
+        if (e.hash == hash && e.get() == key) {
+          removeEntry(tab, index, e);
+          return;
+        }
+      }
+    }
+
+    synchronized int size() {
+      expungeStaleEntries();
+      return count;
+    }
+
+    // guarded by this
+    private void expungeStaleEntries() {
+      Reference<? extends K> reference;
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      while ((reference = queue.poll()) != null) {
+        @SuppressWarnings("unchecked")
+        Entry<K, V> stale = (Entry<K, V>) reference;
+        int index = stale.hash & (tab.length() - 1);
+        for (Entry<K, V> e = tab.get(index); e != null; e = e.next) {
+          if (e == stale) {
+            removeEntry(tab, index, e);
+            break;
+          }
+        }
+      }
+    }
+
+    // guarded by this; next links are final so that lock-free readers always see a consistent
+    // chain, the entries preceding the removed one are cloned
+    private void removeEntry(
+        AtomicReferenceArray<Entry<K, V>> tab, int index, Entry<K, V> removed) {
+      Entry<K, V> head = removed.next;
+      for (Entry<K, V> e = tab.get(index); e != removed; e = e.next) {
+        K key = e.get();
+        if (key != null) {
+          head = new Entry<>(key, e.hash, e.value, head, queue);
+        } else {
+          count--;
+        }
+      }
+      tab.set(index, head);
+      count--;
+    }
+
+    // guarded by this
+    private AtomicReferenceArray<Entry<K, V>> resize(AtomicReferenceArray<Entry<K, V>> oldTable) {
+      AtomicReferenceArray<Entry<K, V>> newTable =
+          new AtomicReferenceArray<>(oldTable.length() << 1);
+      int live = 0;
+      for (int i = 0; i < oldTable.length(); i++) {
+        for (Entry<K, V> e = oldTable.get(i); e != null; e = e.next) {
+          K key = e.get();
+          if (key != null) {
+            int index = e.hash & (newTable.length() - 1);
+            newTable.set(index, new Entry<>(key, e.hash, e.value, newTable.get(index), queue));
+            live++;
+          }
+        }
+      }
+      count = live;
+      return newTable;
+    }
+  }
+
+  private static final class Entry<K, V> extends WeakReference<K> {
+    final int hash;
+    final Entry<K, V> next;
+    volatile V value;
+
+    Entry(K key, int hash, V value, Entry<K, V> next, ReferenceQueue<K> queue) {
+      super(key, queue);
+      this.hash = hash;
+      this.value = value;
+      this.next = next;
+    }
+  }
+}
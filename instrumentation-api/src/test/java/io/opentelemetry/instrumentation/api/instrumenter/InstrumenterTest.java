@@ -23,6 +23,7 @@ import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
 import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
 import io.opentelemetry.instrumentation.api.internal.SpanKey;
 import io.opentelemetry.instrumentation.api.internal.SpanKeyProvider;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
@@ -366,6 +367,33 @@ class InstrumenterTest {
                             .hasParentSpanId("090a0b0c0d0e0f00")));
   }
 
+  @Test
+  void startFilters() {
+    InstrumenterBuilder<Map<String, String>, Map<String, String>> builder =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+            otelTesting.getOpenTelemetry(), "test", unused -> "span");
+    InstrumenterUtil.addStartFilter(
+        builder, (parentContext, request) -> !request.containsKey("skip"));
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        builder.buildServerInstrumenter(new MapGetter());
+
+    Map<String, String> skipped = Collections.singletonMap("skip", "true");
+    assertThat(instrumenter.shouldStart(Context.root(), skipped)).isTrue();
+    Context context = instrumenter.start(Context.root(), skipped);
+    SpanContext spanContext = Span.fromContext(context).getSpanContext();
+    assertThat(spanContext.isValid()).isTrue();
+    assertThat(spanContext.isSampled()).isFalse();
+    instrumenter.end(context, skipped, RESPONSE, null);
+
+    Context recordedContext = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(recordedContext, REQUEST, RESPONSE, null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace -> trace.hasSpansSatisfyingExactly(span -> span.hasName("span")));
+  }
+
   @Test
   void operationListeners() {
     AtomicReference<Boolean> startContext = new AtomicReference<>();
@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CachedSnapshotTest {
+
+  private final AtomicInteger samples = new AtomicInteger();
+
+  @Test
+  void samplesOnEveryCallWithoutInterval() {
+    CachedSnapshot<Integer> snapshot =
+        new CachedSnapshot<>(samples::incrementAndGet, Duration.ZERO);
+
+    assertThat(snapshot.get()).isEqualTo(1);
+    assertThat(snapshot.get()).isEqualTo(2);
+  }
+
+  @Test
+  void reusesSnapshotWithinInterval() {
+    CachedSnapshot<Integer> snapshot =
+        new CachedSnapshot<>(samples::incrementAndGet, Duration.ofHours(1));
+
+    assertThat(snapshot.get()).isEqualTo(1);
+    assertThat(snapshot.get()).isEqualTo(1);
+    assertThat(samples).hasValue(1);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import org.junit.jupiter.api.Test;
+
+// the test resources list Owner and String as a virtual field that was injected at build time
+class InjectedVirtualFieldTest {
+
+  private static final VirtualField<Owner, String> FIELD =
+      VirtualField.find(Owner.class, String.class);
+
+  @Test
+  void usesInjectedField() {
+    EnhancedOwner owner = new EnhancedOwner();
+
+    FIELD.set(owner, "value");
+
+    assertThat(owner.field).isEqualTo("value");
+    assertThat(FIELD.get(owner)).isEqualTo("value");
+
+    FIELD.set(owner, null);
+
+    assertThat(owner.field).isNull();
+    assertThat(FIELD.get(owner)).isNull();
+  }
+
+  @Test
+  void fallsBackWhenClassWasNotEnhanced() {
+    EnhancedOwner enhanced = new EnhancedOwner();
+    PlainOwner plain = new PlainOwner();
+
+    FIELD.set(enhanced, "enhanced");
+    FIELD.set(plain, "plain");
+
+    assertThat(FIELD.get(enhanced)).isEqualTo("enhanced");
+    assertThat(FIELD.get(plain)).isEqualTo("plain");
+    assertThat(FIELD.get(new PlainOwner())).isNull();
+  }
+
+  @Test
+  void fallsBackWhenClassWasEnhancedForOtherFields() {
+    OtherEnhancedOwner owner = new OtherEnhancedOwner();
+
+    FIELD.set(owner, "value");
+
+    assertThat(FIELD.get(owner)).isEqualTo("value");
+    assertThat(FIELD.get(new OtherEnhancedOwner())).isNull();
+  }
+
+  interface Owner {}
+
+  // CHECKSTYLE:OFF
+  // what the build time enhancement adds to the classes that implement Owner
+  @SuppressWarnings("MemberName")
+  static class EnhancedOwner implements Owner, InjectedVirtualFieldAccessor {
+    private static final String FIELD_NAME =
+        "__opentelemetryVirtualField$io$opentelemetry$instrumentation$api$internal$InjectedVirtualFieldTest$Owner$java$lang$String";
+
+    private volatile transient Object field;
+
+    public Object
+        __get__opentelemetryVirtualField$io$opentelemetry$instrumentation$api$internal$InjectedVirtualFieldTest$Owner$java$lang$String() {
+      return field;
+    }
+
+    public void
+        __set__opentelemetryVirtualField$io$opentelemetry$instrumentation$api$internal$InjectedVirtualFieldTest$Owner$java$lang$String(
+            Object value) {
+      field = value;
+    }
+
+    @Override
+    public Object __opentelemetryGetVirtualField(String fieldName) {
+      if (fieldName.equals(FIELD_NAME)) {
+        return field;
+      }
+      return NOT_INJECTED;
+    }
+
+    @Override
+    public boolean __opentelemetrySetVirtualField(String fieldName, Object value) {
+      if (fieldName.equals(FIELD_NAME)) {
+        field = value;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  // enhanced for other virtual fields only
+  @SuppressWarnings("MemberName")
+  static class OtherEnhancedOwner implements Owner, InjectedVirtualFieldAccessor {
+    @Override
+    public Object __opentelemetryGetVirtualField(String fieldName) {
+      return NOT_INJECTED;
+    }
+
+    @Override
+    public boolean __opentelemetrySetVirtualField(String fieldName, Object value) {
+      return false;
+    }
+  }
+
+  // CHECKSTYLE:ON
+
+  static class PlainOwner implements Owner {}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TraceparentBytesPropagationTest {
+
+  private static final TextMapPropagator W3C_PROPAGATOR =
+      TextMapPropagator.composite(
+          W3CTraceContextPropagator.getInstance(), W3CBaggagePropagator.getInstance());
+
+  private static final SpanContext SPAN_CONTEXT =
+      SpanContext.create(
+          "ff000000000000000000000000000041",
+          "ff00000000000041",
+          TraceFlags.getSampled(),
+          TraceState.getDefault());
+
+  private final BytesCarrier bytesCarrier = new BytesCarrier();
+
+  @Test
+  void injectsSameHeadersAsPropagator() {
+    Context context =
+        Context.root()
+            .with(Span.wrap(SPAN_CONTEXT))
+            .with(Baggage.builder().put("key", "value").build());
+
+    Map<String, byte[]> expected = new HashMap<>();
+    W3C_PROPAGATOR.inject(context, expected, bytesCarrier);
+    Map<String, byte[]> actual = new HashMap<>();
+    TraceparentBytesPropagation.inject(W3C_PROPAGATOR, context, actual, bytesCarrier);
+
+    assertThat(bytesCarrier.bytesWritten).isEqualTo(1);
+    assertThat(asStrings(actual)).isEqualTo(asStrings(expected));
+  }
+
+  @Test
+  void injectsWithPropagatorWhenTraceStateIsPresent() {
+    SpanContext spanContext =
+        SpanContext.create(
+            SPAN_CONTEXT.getTraceId(),
+            SPAN_CONTEXT.getSpanId(),
+            SPAN_CONTEXT.getTraceFlags(),
+            TraceState.builder().put("vendor", "value").build());
+    Context context = Context.root().with(Span.wrap(spanContext));
+
+    Map<String, byte[]> actual = new HashMap<>();
+    TraceparentBytesPropagation.inject(W3C_PROPAGATOR, context, actual, bytesCarrier);
+
+    assertThat(bytesCarrier.bytesWritten).isEqualTo(0);
+    assertThat(asStrings(actual))
+        .containsEntry("traceparent", "00-ff000000000000000000000000000041-ff00000000000041-01")
+        .containsEntry("tracestate", "vendor=value");
+  }
+
+  @Test
+  void injectsWithOtherPropagators() {
+    TextMapPropagator propagator = new OtherPropagator();
+    Context context = Context.root().with(Span.wrap(SPAN_CONTEXT));
+
+    Map<String, byte[]> actual = new HashMap<>();
+    TraceparentBytesPropagation.inject(propagator, context, actual, bytesCarrier);
+
+    assertThat(bytesCarrier.bytesWritten).isEqualTo(0);
+    assertThat(asStrings(actual)).containsOnlyKeys("other");
+  }
+
+  @Test
+  void extractsSameContextAsPropagator() {
+    Map<String, byte[]> carrier = new HashMap<>();
+    carrier.put("traceparent", bytes("00-ff000000000000000000000000000041-ff00000000000041-01"));
+    carrier.put("baggage", bytes("key=value"));
+
+    Context expected = W3C_PROPAGATOR.extract(Context.root(), carrier, bytesCarrier);
+    Context actual =
+        TraceparentBytesPropagation.extract(W3C_PROPAGATOR, Context.root(), carrier, bytesCarrier);
+
+    assertThat(Span.fromContext(actual).getSpanContext())
+        .isEqualTo(Span.fromContext(expected).getSpanContext())
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                SPAN_CONTEXT.getTraceId(),
+                SPAN_CONTEXT.getSpanId(),
+                SPAN_CONTEXT.getTraceFlags(),
+                TraceState.getDefault()));
+    assertThat(Baggage.fromContext(actual)).isEqualTo(Baggage.fromContext(expected));
+    assertThat(Baggage.fromContext(actual).getEntryValue("key")).isEqualTo("value");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "00-ff000000000000000000000000000041-ff00000000000041-01",
+        "00-ff000000000000000000000000000041-ff00000000000041-00",
+        "01-ff000000000000000000000000000041-ff00000000000041-01-extra",
+        "00-00000000000000000000000000000000-ff00000000000041-01",
+        "00-ff000000000000000000000000000041-0000000000000000-01",
+        "00-FF000000000000000000000000000041-ff00000000000041-01",
+        "00-ff000000000000000000000000000041-ff00000000000041-0g",
+        "00-ff000000000000000000000000000041-ff00000000000041",
+        "ff-ff000000000000000000000000000041-ff00000000000041-01",
+      })
+  void extractsSameSpanContextAsPropagator(String traceparent) {
+    Map<String, byte[]> carrier = new HashMap<>();
+    carrier.put("traceparent", bytes(traceparent));
+
+    Context expected = W3C_PROPAGATOR.extract(Context.root(), carrier, bytesCarrier);
+    Context actual =
+        TraceparentBytesPropagation.extract(W3C_PROPAGATOR, Context.root(), carrier, bytesCarrier);
+
+    assertThat(Span.fromContext(actual).getSpanContext())
+        .isEqualTo(Span.fromContext(expected).getSpanContext());
+  }
+
+  @Test
+  void extractsTraceStateWithPropagator() {
+    Map<String, byte[]> carrier = new HashMap<>();
+    carrier.put("traceparent", bytes("00-ff000000000000000000000000000041-ff00000000000041-01"));
+    carrier.put("tracestate", bytes("vendor=value"));
+
+    Context actual =
+        TraceparentBytesPropagation.extract(W3C_PROPAGATOR, Context.root(), carrier, bytesCarrier);
+
+    assertThat(Span.fromContext(actual).getSpanContext().getTraceState().get("vendor"))
+        .isEqualTo("value");
+  }
+
+  @Test
+  void encodeDecode() {
+    byte[] encoded = TraceparentBytesPropagation.encode(SPAN_CONTEXT);
+
+    assertThat(new String(encoded, StandardCharsets.US_ASCII))
+        .isEqualTo("00-ff000000000000000000000000000041-ff00000000000041-01");
+    SpanContext decoded = TraceparentBytesPropagation.decode(encoded);
+    assertThat(decoded).isNotNull();
+    assertThat(decoded.getTraceId()).isEqualTo(SPAN_CONTEXT.getTraceId());
+    assertThat(decoded.getSpanId()).isEqualTo(SPAN_CONTEXT.getSpanId());
+    assertThat(decoded.getTraceFlags()).isEqualTo(SPAN_CONTEXT.getTraceFlags());
+    assertThat(decoded.isRemote()).isTrue();
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, String> asStrings(Map<String, byte[]> carrier) {
+    Map<String, String> result = new HashMap<>();
+    carrier.forEach((key, value) -> result.put(key, new String(value, StandardCharsets.UTF_8)));
+    return result;
+  }
+
+  private static final class OtherPropagator implements TextMapPropagator {
+
+    @Override
+    public Collection<String> fields() {
+      return Collections.singletonList("other");
+    }
+
+    @Override
+    public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {
+      setter.set(carrier, "other", Span.fromContext(context).getSpanContext().getTraceId());
+    }
+
+    @Override
+    public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+      return context;
+    }
+  }
+
+  private static final class BytesCarrier
+      implements TraceparentBytesPropagation.BytesSetter<Map<String, byte[]>>,
+          TraceparentBytesPropagation.BytesGetter<Map<String, byte[]>> {
+
+    private int bytesWritten;
+
+    @Override
+    public void set(@Nullable Map<String, byte[]> carrier, String key, String value) {
+      carrier.put(key, bytes(value));
+    }
+
+    @Override
+    public void set(Map<String, byte[]> carrier, String key, byte[] value) {
+      bytesWritten++;
+      carrier.put(key, value);
+    }
+
+    @Override
+    public Iterable<String> keys(Map<String, byte[]> carrier) {
+      return carrier.keySet();
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable Map<String, byte[]> carrier, String key) {
+      byte[] value = getBytes(carrier, key);
+      return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    @Override
+    public byte[] getBytes(@Nullable Map<String, byte[]> carrier, String key) {
+      return carrier.get(key);
+    }
+  }
+}
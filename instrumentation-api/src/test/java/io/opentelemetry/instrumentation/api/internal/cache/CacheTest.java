@@ -74,5 +74,59 @@ class CacheTest {
       // Wait for GC to be reflected.
       await().untilAsserted(() -> assertThat(weakLockFreeCache.size()).isEqualTo(0));
     }
+
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    void striped() {
+      Cache<String, String> cache = Cache.weakStriped();
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      StripedWeakCache<?, ?> stripedWeakCache = ((StripedWeakCache<?, ?>) cache);
+      String cat = new String("cat");
+      String dog = new String("dog");
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+      assertThat(stripedWeakCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent(cat, unused -> "bark")).isEqualTo("meow");
+      assertThat(stripedWeakCache.size()).isEqualTo(1);
+
+      cache.put(dog, "bark");
+      assertThat(cache.get(dog)).isEqualTo("bark");
+      assertThat(cache.get(cat)).isEqualTo("meow");
+      assertThat(cache.get(new String("dog"))).isNull();
+      assertThat(stripedWeakCache.size()).isEqualTo(2);
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+
+      cat = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedWeakCache.size()).isEqualTo(1));
+      assertThat(cache.computeIfAbsent(dog, unused -> "bark")).isEqualTo("bark");
+      dog = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(stripedWeakCache.size()).isEqualTo(0));
+    }
+
+    @Test
+    void stripedResize() {
+      Cache<Object, Integer> cache = Cache.weakStriped();
+      Object[] keys = new Object[1000];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = new Object();
+        cache.put(keys[i], i);
+      }
+      for (int i = 0; i < keys.length; i += 2) {
+        cache.remove(keys[i]);
+      }
+
+      for (int i = 0; i < keys.length; i += 2) {
+        assertThat(cache.get(keys[i])).isNull();
+        assertThat(cache.get(keys[i + 1])).isEqualTo(i + 1);
+      }
+      assertThat(((StripedWeakCache<?, ?>) cache).size()).isEqualTo(keys.length / 2);
+    }
   }
 }
@@ -28,6 +28,11 @@ public final class ArmeriaSingletons {
             .setCapturedClientResponseHeaders(CommonConfig.get().getClientResponseHeaders())
             .setCapturedServerRequestHeaders(CommonConfig.get().getServerRequestHeaders())
             .setCapturedServerResponseHeaders(CommonConfig.get().getServerResponseHeaders())
+            .setDeferredServerHeaderCapture(CommonConfig.get().isServerDeferredHeaderCapture())
+            .setSkippedServerRoutes(CommonConfig.get().getServerSkippedRoutes())
+            .setRateLimitedServerRoutes(
+                CommonConfig.get().getServerRateLimitedRoutes(),
+                CommonConfig.get().getServerRateLimit())
             .addClientAttributeExtractor(
                 PeerServiceAttributesExtractor.create(
                     new ArmeriaNetClientAttributesGetter(),
@@ -22,6 +22,8 @@ import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractorBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanStatusExtractor;
 import io.opentelemetry.instrumentation.armeria.v1_3.internal.ArmeriaNetClientAttributesGetter;
@@ -52,6 +54,8 @@ public final class ArmeriaTelemetryBuilder {
       httpServerAttributesExtractorBuilder =
           HttpServerAttributesExtractor.builder(
               ArmeriaHttpServerAttributesGetter.INSTANCE, new ArmeriaNetServerAttributesGetter());
+  private final HttpServerRequestFilterBuilder<RequestContext> httpServerRequestFilterBuilder =
+      HttpServerRequestFilter.builder(ArmeriaHttpServerAttributesGetter.INSTANCE);
 
   private Function<
           SpanStatusExtractor<RequestContext, RequestLog>,
@@ -146,6 +150,44 @@ public final class ArmeriaTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Configures whether the captured HTTP server request headers are read when the request ends,
+   * instead of when it starts. Both happen on the thread that starts or ends the request, usually
+   * the event loop. With deferred capture, no captured header is read for requests whose span is
+   * not recorded, and the captured request headers are not visible to samplers.
+   */
+  @CanIgnoreReturnValue
+  public ArmeriaTelemetryBuilder setDeferredServerHeaderCapture(boolean deferredHeaderCapture) {
+    httpServerAttributesExtractorBuilder.setDeferredHeaderCapture(deferredHeaderCapture);
+    return this;
+  }
+
+  /**
+   * Configures the HTTP server routes whose requests are never instrumented, in the {@code [METHOD
+   * ]pathPattern} format.
+   *
+   * @param routes A list of routes.
+   */
+  @CanIgnoreReturnValue
+  public ArmeriaTelemetryBuilder setSkippedServerRoutes(List<String> routes) {
+    httpServerRequestFilterBuilder.setSkippedRoutes(routes);
+    return this;
+  }
+
+  /**
+   * Configures the HTTP server routes whose requests are instrumented at most {@code
+   * requestsPerSecond} times per second, in the {@code [METHOD ]pathPattern} format.
+   *
+   * @param routes A list of routes.
+   * @param requestsPerSecond The number of instrumented requests per second, for each route.
+   */
+  @CanIgnoreReturnValue
+  public ArmeriaTelemetryBuilder setRateLimitedServerRoutes(
+      List<String> routes, double requestsPerSecond) {
+    httpServerRequestFilterBuilder.setRateLimitedRoutes(routes, requestsPerSecond);
+    return this;
+  }
+
   public ArmeriaTelemetry build() {
     ArmeriaHttpClientAttributesGetter clientAttributesGetter =
         ArmeriaHttpClientAttributesGetter.INSTANCE;
@@ -180,6 +222,9 @@ public final class ArmeriaTelemetryBuilder {
         .addAttributesExtractor(httpServerAttributesExtractorBuilder.build())
         .addOperationMetrics(HttpServerMetrics.get())
         .addContextCustomizer(HttpRouteHolder.get());
+    httpServerRequestFilterBuilder
+        .build(openTelemetry, INSTRUMENTATION_NAME)
+        .addTo(serverInstrumenterBuilder);
 
     if (peerService != null) {
       clientInstrumenterBuilder.addAttributesExtractor(
@@ -0,0 +1,285 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.awslambdacore.v1_0;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.opentelemetry.instrumentation.awslambdacore.v1_0.internal.WrapperConfiguration;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Flushes the telemetry of an invocation after its response was returned, using an internal
+ * extension registered with the <a
+ * href="https://docs.aws.amazon.com/lambda/latest/dg/runtimes-extensions-api.html">Lambda
+ * Extensions API</a>. Lambda freezes the execution environment only after the runtime and all
+ * extensions asked for their next event, so the extension thread asks for the next event only when
+ * the ended invocation was flushed. The export still counts towards the billed duration, but not
+ * towards the latency of the caller.
+ *
+ * <p>With a flush interval, consecutive warm invocations are flushed together: an invocation that
+ * ends before the interval since the last flush elapsed leaves its telemetry to the batch
+ * processors and the next flush. Lambda signals the runtime before shutting down an environment
+ * with a registered extension, so telemetry that is still buffered then is flushed by a shutdown
+ * hook.
+ *
+ * <p>Failed requests for the next event are retried with an exponential backoff. When they keep
+ * failing, the extension reports its exit to the Extensions API before it stops, and the telemetry
+ * of the following invocations is flushed before their response is returned.
+ */
+final class ExtensionFlusher {
+
+  private static final Logger logger = Logger.getLogger(ExtensionFlusher.class.getName());
+
+  private static final String EXTENSION_NAME = "opentelemetry-java-instrumentation";
+  // internal extensions can only register for the INVOKE event
+  private static final byte[] REGISTER_BODY = "{\"events\":[\"INVOKE\"]}".getBytes(UTF_8);
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final int MAX_NEXT_EVENT_ATTEMPTS = 5;
+  private static final long INITIAL_BACKOFF_MILLIS = 100;
+  private static final long MAX_BACKOFF_MILLIS = 2_000;
+
+  // an extension can only be registered once per process, while the function is initialized
+  private static final Object lock = new Object();
+  private static boolean registrationAttempted;
+  @Nullable private static ExtensionFlusher instance;
+
+  private final String extensionUrl;
+  private final String extensionId;
+  private final OpenTelemetrySdk openTelemetrySdk;
+  private final long flushTimeoutNanos;
+  private final long flushIntervalNanos;
+  private final Semaphore endedInvocations = new Semaphore(0);
+  private volatile boolean failed;
+  private volatile long lastFlushNanos;
+
+  /**
+   * Returns the {@link ExtensionFlusher} of this process when the extension flush strategy is
+   * configured, or {@code null} when the telemetry should be flushed at the end of every
+   * invocation.
+   */
+  @Nullable
+  static ExtensionFlusher fromConfiguration(OpenTelemetrySdk openTelemetrySdk, Duration timeout) {
+    if (!WrapperConfiguration.isExtensionFlushStrategy()) {
+      return null;
+    }
+    String runtimeApi = System.getenv("AWS_LAMBDA_RUNTIME_API");
+    if (runtimeApi == null || runtimeApi.isEmpty()) {
+      return null;
+    }
+    synchronized (lock) {
+      if (!registrationAttempted) {
+        registrationAttempted = true;
+        instance =
+            register(runtimeApi, openTelemetrySdk, timeout, WrapperConfiguration.flushInterval());
+      }
+      return instance;
+    }
+  }
+
+  // Visible for testing
+  @Nullable
+  static ExtensionFlusher register(
+      String runtimeApi,
+      OpenTelemetrySdk openTelemetrySdk,
+      Duration flushTimeout,
+      Duration flushInterval) {
+    String extensionUrl = "http://" + runtimeApi + "/2020-01-01/extension/";
+    String extensionId;
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(extensionUrl + "register").openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Lambda-Extension-Name", EXTENSION_NAME);
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream body = connection.getOutputStream()) {
+        body.write(REGISTER_BODY);
+      }
+      int status = connection.getResponseCode();
+      extensionId = connection.getHeaderField("Lambda-Extension-Identifier");
+      drain(connection);
+      if (status != 200 || extensionId == null) {
+        logger.log(WARNING, "Failed to register the Lambda extension, status: {0}", status);
+        return null;
+      }
+    } catch (IOException e) {
+      logger.log(WARNING, "Failed to register the Lambda extension", e);
+      return null;
+    }
+
+    ExtensionFlusher flusher =
+        new ExtensionFlusher(
+            extensionUrl,
+            extensionId,
+            openTelemetrySdk,
+            flushTimeout.toNanos(),
+            flushInterval.toNanos());
+    Thread thread = new Thread(flusher::run, EXTENSION_NAME);
+    thread.setDaemon(true);
+    thread.start();
+    if (flushInterval.toNanos() > 0) {
+      Runtime.getRuntime().addShutdownHook(new Thread(flusher::flush));
+    }
+    return flusher;
+  }
+
+  private ExtensionFlusher(
+      String extensionUrl,
+      String extensionId,
+      OpenTelemetrySdk openTelemetrySdk,
+      long flushTimeoutNanos,
+      long flushIntervalNanos) {
+    this.extensionUrl = extensionUrl;
+    this.extensionId = extensionId;
+    this.openTelemetrySdk = openTelemetrySdk;
+    this.flushTimeoutNanos = flushTimeoutNanos;
+    this.flushIntervalNanos = flushIntervalNanos;
+    this.lastFlushNanos = System.nanoTime();
+  }
+
+  /** Called by the handler when an invocation ended, the telemetry is flushed in the background. */
+  void invocationEnded() {
+    if (failed) {
+      // the extension does not hold back the freeze anymore
+      flush();
+      return;
+    }
+    endedInvocations.release();
+  }
+
+  private void run() {
+    int failedAttempts = 0;
+    long backoffMillis = INITIAL_BACKOFF_MILLIS;
+    while (true) {
+      String eventType;
+      try {
+        eventType = nextEvent();
+      } catch (IOException e) {
+        failedAttempts++;
+        if (failedAttempts >= MAX_NEXT_EVENT_ATTEMPTS) {
+          logger.log(WARNING, "Failed to receive the next Lambda extension event, giving up", e);
+          exit();
+          return;
+        }
+        logger.log(FINE, "Failed to receive the next Lambda extension event, retrying", e);
+        try {
+          TimeUnit.MILLISECONDS.sleep(backoffMillis);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          exit();
+          return;
+        }
+        backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        continue;
+      }
+      failedAttempts = 0;
+      backoffMillis = INITIAL_BACKOFF_MILLIS;
+      if (!"INVOKE".equals(eventType)) {
+        logger.log(FINE, "Ignoring Lambda extension event {0}", eventType);
+        continue;
+      }
+      // the invocation may have ended already, otherwise the environment is not frozen until it
+      // ends because this extension did not ask for the next event yet
+      endedInvocations.acquireUninterruptibly();
+      if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+        flush();
+      }
+    }
+  }
+
+  // the following invocations flush by themselves, the telemetry that is still buffered is flushed
+  // before Lambda is told that this extension stopped asking for events
+  private void exit() {
+    failed = true;
+    flush();
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(extensionUrl + "exit/error").openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Lambda-Extension-Identifier", extensionId);
+      connection.setRequestProperty(
+          "Lambda-Extension-Function-Error-Type", "Extension.NextEventFailed");
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream body = connection.getOutputStream()) {
+        body.write("{}".getBytes(UTF_8));
+      }
+      drain(connection);
+    } catch (IOException e) {
+      logger.log(WARNING, "Failed to report the exit of the Lambda extension", e);
+    }
+  }
+
+  private void flush() {
+    LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+    lastFlushNanos = System.nanoTime();
+  }
+
+  private String nextEvent() throws IOException {
+    HttpURLConnection connection =
+        (HttpURLConnection) new URL(extensionUrl + "event/next").openConnection();
+    connection.setRequestProperty("Lambda-Extension-Identifier", extensionId);
+    // blocks until the next invocation starts, which may take very long
+    connection.setReadTimeout(0);
+    int status = connection.getResponseCode();
+    if (status != 200) {
+      drain(connection);
+      throw new IOException("Unexpected status: " + status);
+    }
+    try (InputStream body = connection.getInputStream()) {
+      return eventType(body);
+    }
+  }
+
+  // Visible for testing
+  static String eventType(InputStream body) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return "";
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        parser.nextToken();
+        if ("eventType".equals(name)) {
+          return parser.getText();
+        }
+        parser.skipChildren();
+      }
+    }
+    return "";
+  }
+
+  private static void drain(HttpURLConnection connection) throws IOException {
+    InputStream body =
+        connection.getResponseCode() < 400
+            ? connection.getInputStream()
+            : connection.getErrorStream();
+    if (body == null) {
+      return;
+    }
+    try (InputStream ignored = body) {
+      byte[] buffer = new byte[1024];
+      while (body.read(buffer) != -1) {
+        // discard
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * A base class similar to {@link RequestHandler} but will automatically trace invocations of {@link
@@ -28,6 +29,7 @@ public abstract class TracingRequestHandler<I, O> implements RequestHandler<I, O
   private final AwsLambdaFunctionInstrumenter instrumenter;
   private final OpenTelemetrySdk openTelemetrySdk;
   private final long flushTimeoutNanos;
+  @Nullable private final ExtensionFlusher extensionFlusher;
 
   /**
    * Creates a new {@link TracingRequestHandler} which traces using the provided {@link
@@ -61,10 +63,21 @@ public abstract class TracingRequestHandler<I, O> implements RequestHandler<I, O
     this.openTelemetrySdk = openTelemetrySdk;
     this.flushTimeoutNanos = flushTimeout.toNanos();
     this.instrumenter = instrumenter;
+    this.extensionFlusher = ExtensionFlusher.fromConfiguration(openTelemetrySdk, flushTimeout);
   }
 
   @Override
   public final O handleRequest(I input, Context context) {
+    try {
+      return traceRequest(input, context);
+    } finally {
+      if (extensionFlusher != null) {
+        extensionFlusher.invocationEnded();
+      }
+    }
+  }
+
+  private O traceRequest(I input, Context context) {
     AwsLambdaRequest request = AwsLambdaRequest.create(context, input, extractHttpHeaders(input));
     io.opentelemetry.context.Context parentContext = instrumenter.extract(request);
 
@@ -83,7 +96,9 @@ public abstract class TracingRequestHandler<I, O> implements RequestHandler<I, O
       throw t;
     } finally {
       instrumenter.end(otelContext, request, output, error);
-      LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+      if (extensionFlusher == null) {
+        LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+      }
     }
   }
 
@@ -17,6 +17,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * A base class similar to {@link RequestStreamHandler} but will automatically trace invocations of
@@ -29,6 +30,7 @@ public abstract class TracingRequestStreamHandler implements RequestStreamHandle
   private final OpenTelemetrySdk openTelemetrySdk;
   private final long flushTimeoutNanos;
   private final AwsLambdaFunctionInstrumenter instrumenter;
+  @Nullable private final ExtensionFlusher extensionFlusher;
 
   /**
    * Creates a new {@link TracingRequestStreamHandler} which traces using the provided {@link
@@ -62,12 +64,24 @@ public abstract class TracingRequestStreamHandler implements RequestStreamHandle
     this.openTelemetrySdk = openTelemetrySdk;
     this.flushTimeoutNanos = flushTimeout.toNanos();
     this.instrumenter = instrumenter;
+    this.extensionFlusher = ExtensionFlusher.fromConfiguration(openTelemetrySdk, flushTimeout);
   }
 
   @Override
   public void handleRequest(InputStream input, OutputStream output, Context context)
       throws IOException {
+    try {
+      traceRequest(input, output, context);
+    } finally {
+      // the span is usually ended when the output is closed, which may not happen at all
+      if (extensionFlusher != null) {
+        extensionFlusher.invocationEnded();
+      }
+    }
+  }
 
+  private void traceRequest(InputStream input, OutputStream output, Context context)
+      throws IOException {
     ApiGatewayProxyRequest proxyRequest = ApiGatewayProxyRequest.forStream(input);
     AwsLambdaRequest request =
         AwsLambdaRequest.create(context, proxyRequest, proxyRequest.getHeaders());
@@ -82,15 +96,22 @@ public abstract class TracingRequestStreamHandler implements RequestStreamHandle
     try (Scope ignored = otelContext.makeCurrent()) {
       doHandleRequest(
           proxyRequest.freshStream(),
-          new OutputStreamWrapper(output, otelContext, request, openTelemetrySdk),
+          new OutputStreamWrapper(output, otelContext, request),
           context);
     } catch (Throwable t) {
       instrumenter.end(otelContext, request, null, t);
-      LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+      flush();
       throw t;
     }
   }
 
+  private void flush() {
+    // the extension flushes once the invocation ended
+    if (extensionFlusher == null) {
+      LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
   protected abstract void doHandleRequest(InputStream input, OutputStream output, Context context)
       throws IOException;
 
@@ -99,17 +120,14 @@ public abstract class TracingRequestStreamHandler implements RequestStreamHandle
     private final OutputStream delegate;
     private final io.opentelemetry.context.Context otelContext;
     private final AwsLambdaRequest request;
-    private final OpenTelemetrySdk openTelemetrySdk;
 
     private OutputStreamWrapper(
         OutputStream delegate,
         io.opentelemetry.context.Context otelContext,
-        AwsLambdaRequest request,
-        OpenTelemetrySdk openTelemetrySdk) {
+        AwsLambdaRequest request) {
       this.delegate = delegate;
       this.otelContext = otelContext;
       this.request = request;
-      this.openTelemetrySdk = openTelemetrySdk;
     }
 
     @Override
@@ -136,7 +154,7 @@ public abstract class TracingRequestStreamHandler implements RequestStreamHandle
     public void close() throws IOException {
       delegate.close();
       instrumenter.end(otelContext, request, null, null);
-      LambdaUtils.forceFlush(openTelemetrySdk, flushTimeoutNanos, TimeUnit.NANOSECONDS);
+      flush();
     }
   }
 }
@@ -71,7 +71,8 @@ public final class AwsLambdaFunctionAttributesExtractor
       return null;
     }
     try {
-      return (String) GET_FUNCTION_ARN.invoke(awsContext);
+      // the exact call site type avoids adapting the handle on the first invocation
+      return (String) GET_FUNCTION_ARN.invokeExact(awsContext);
     } catch (Throwable throwable) {
       return null;
     }
@@ -10,9 +10,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -26,6 +24,7 @@ public final class WrappedLambda {
   private final Object targetObject;
   private final Class<?> targetClass;
   private final String targetMethodName;
+  @Nullable private volatile Method targetMethod;
 
   /**
    * Creates new lambda wrapper out of configuration. Supported env properties: - {@value
@@ -91,16 +90,27 @@ public final class WrappedLambda {
   }
 
   public Method getRequestTargetMethod() {
+    // resolved once, the lookup runs during the cold start of the function
+    Method targetMethod = this.targetMethod;
+    if (targetMethod == null) {
+      targetMethod = resolveRequestTargetMethod();
+      this.targetMethod = targetMethod;
+    }
+    return targetMethod;
+  }
 
-    List<Method> methods = Arrays.asList(targetClass.getMethods());
-    Optional<Method> firstOptional =
-        methods.stream()
-            .filter((Method m) -> m.getName().equals(targetMethodName))
-            .min(WrappedLambda::methodComparator);
-    if (!firstOptional.isPresent()) {
+  private Method resolveRequestTargetMethod() {
+    Method targetMethod = null;
+    for (Method method : targetClass.getMethods()) {
+      if (method.getName().equals(targetMethodName)
+          && (targetMethod == null || methodComparator(method, targetMethod) < 0)) {
+        targetMethod = method;
+      }
+    }
+    if (targetMethod == null) {
       throw new IllegalStateException("Method " + targetMethodName + " not found");
     }
-    return firstOptional.get();
+    return targetMethod;
   }
 
   /*
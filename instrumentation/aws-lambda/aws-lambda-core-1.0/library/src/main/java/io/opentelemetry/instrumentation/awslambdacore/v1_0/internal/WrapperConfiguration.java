@@ -30,4 +30,33 @@ public final class WrapperConfiguration {
     }
     return OTEL_LAMBDA_FLUSH_TIMEOUT_DEFAULT;
   }
+
+  public static final String OTEL_LAMBDA_FLUSH_STRATEGY_ENV_KEY =
+      "OTEL_INSTRUMENTATION_AWS_LAMBDA_FLUSH_STRATEGY";
+  public static final String OTEL_LAMBDA_FLUSH_INTERVAL_ENV_KEY =
+      "OTEL_INSTRUMENTATION_AWS_LAMBDA_FLUSH_INTERVAL";
+
+  /**
+   * Returns whether the telemetry is flushed by a Lambda extension after the response was returned
+   * ({@code extension}) instead of at the end of every invocation ({@code sync}, the default).
+   */
+  public static boolean isExtensionFlushStrategy() {
+    return "extension".equalsIgnoreCase(System.getenv(OTEL_LAMBDA_FLUSH_STRATEGY_ENV_KEY));
+  }
+
+  /**
+   * Returns the minimum time between two flushes when the extension flush strategy is used, the
+   * telemetry of invocations ending within this time is left to the next flush.
+   */
+  public static Duration flushInterval() {
+    String lambdaFlushInterval = System.getenv(OTEL_LAMBDA_FLUSH_INTERVAL_ENV_KEY);
+    if (lambdaFlushInterval != null && !lambdaFlushInterval.isEmpty()) {
+      try {
+        return Duration.ofMillis(Long.parseLong(lambdaFlushInterval));
+      } catch (NumberFormatException nfe) {
+        // ignored - default used
+      }
+    }
+    return Duration.ZERO;
+  }
 }
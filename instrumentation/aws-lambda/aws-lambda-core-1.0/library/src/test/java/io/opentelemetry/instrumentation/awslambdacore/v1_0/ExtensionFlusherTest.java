@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.awslambdacore.v1_0;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExtensionFlusherTest {
+
+  // stand-in for the Lambda runtime API, serves the queued events to the extension
+  private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+  private final BlockingQueue<String> nextEventRequests = new LinkedBlockingQueue<>();
+  private final BlockingQueue<String> exitErrors = new LinkedBlockingQueue<>();
+  private final AtomicInteger failingNextEventRequests = new AtomicInteger();
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+  private HttpServer runtimeApi;
+  private OpenTelemetrySdk openTelemetrySdk;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    runtimeApi = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    runtimeApi.setExecutor(
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            }));
+    runtimeApi.createContext(
+        "/2020-01-01/extension/register",
+        exchange -> {
+          exchange.getResponseHeaders().add("Lambda-Extension-Identifier", "test-id");
+          respond(exchange, 200, "{}");
+        });
+    runtimeApi.createContext(
+        "/2020-01-01/extension/event/next",
+        exchange -> {
+          nextEventRequests.add(
+              exchange.getRequestHeaders().getFirst("Lambda-Extension-Identifier"));
+          if (failingNextEventRequests.getAndDecrement() > 0) {
+            respond(exchange, 500, "{}");
+            return;
+          }
+          try {
+            String event = events.poll(10, TimeUnit.SECONDS);
+            if (event == null) {
+              respond(exchange, 500, "{}");
+            } else {
+              respond(exchange, 200, "{\"deadlineMs\":0,\"eventType\":\"" + event + "\"}");
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    runtimeApi.createContext(
+        "/2020-01-01/extension/exit/error",
+        exchange -> {
+          exitErrors.add(
+              exchange.getRequestHeaders().getFirst("Lambda-Extension-Function-Error-Type"));
+          respond(exchange, 202, "{}");
+        });
+    runtimeApi.start();
+
+    openTelemetrySdk =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(
+                SdkTracerProvider.builder()
+                    // only a flush exports the spans
+                    .addSpanProcessor(
+                        BatchSpanProcessor.builder(exporter)
+                            .setScheduleDelay(Duration.ofHours(1))
+                            .build())
+                    .build())
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    runtimeApi.stop(0);
+    openTelemetrySdk.getSdkTracerProvider().shutdown();
+  }
+
+  @Test
+  void flushesAfterInvocationEnded() throws InterruptedException {
+    events.add("INVOKE");
+    ExtensionFlusher flusher = register(Duration.ZERO);
+    assertThat(flusher).isNotNull();
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isEqualTo("test-id");
+
+    openTelemetrySdk.getTracer("test").spanBuilder("invocation").startSpan().end();
+    // the environment is not frozen before the invocation ended
+    assertThat(nextEventRequests.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+    flusher.invocationEnded();
+
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isEqualTo("test-id");
+    assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+  }
+
+  @Test
+  void coalescesFlushesWithinInterval() throws InterruptedException {
+    events.add("INVOKE");
+    events.add("INVOKE");
+    ExtensionFlusher flusher = register(Duration.ofHours(1));
+    assertThat(flusher).isNotNull();
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+    openTelemetrySdk.getTracer("test").spanBuilder("first").startSpan().end();
+    flusher.invocationEnded();
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+    openTelemetrySdk.getTracer("test").spanBuilder("second").startSpan().end();
+    flusher.invocationEnded();
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+    // both invocations ended within the flush interval
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+  }
+
+  @Test
+  void retriesFailedNextEventRequests() throws InterruptedException {
+    failingNextEventRequests.set(2);
+    events.add("INVOKE");
+    ExtensionFlusher flusher = register(Duration.ZERO);
+    assertThat(flusher).isNotNull();
+    for (int i = 0; i < 3; i++) {
+      assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isEqualTo("test-id");
+    }
+
+    openTelemetrySdk.getTracer("test").spanBuilder("invocation").startSpan().end();
+    flusher.invocationEnded();
+
+    assertThat(nextEventRequests.poll(10, TimeUnit.SECONDS)).isEqualTo("test-id");
+    assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+    assertThat(exitErrors).isEmpty();
+  }
+
+  @Test
+  void exitsAfterRetriesAreExhausted() throws InterruptedException {
+    failingNextEventRequests.set(Integer.MAX_VALUE);
+    ExtensionFlusher flusher = register(Duration.ofHours(1));
+    assertThat(flusher).isNotNull();
+
+    assertThat(exitErrors.poll(10, TimeUnit.SECONDS)).isEqualTo("Extension.NextEventFailed");
+    assertThat(nextEventRequests).hasSize(5);
+
+    // the invocation does not wait for the extension anymore
+    openTelemetrySdk.getTracer("test").spanBuilder("invocation").startSpan().end();
+    flusher.invocationEnded();
+    assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+  }
+
+  @Test
+  void parsesEventType() throws IOException {
+    String event =
+        "{\"eventType\":\"INVOKE\",\"deadlineMs\":1,\"tracing\":{\"type\":\"X-Amzn-Trace-Id\"}}";
+    assertThat(ExtensionFlusher.eventType(new ByteArrayInputStream(event.getBytes(UTF_8))))
+        .isEqualTo("INVOKE");
+    String nested = "{\"tracing\":{\"eventType\":\"ignored\"},\"eventType\":\"SHUTDOWN\"}";
+    assertThat(ExtensionFlusher.eventType(new ByteArrayInputStream(nested.getBytes(UTF_8))))
+        .isEqualTo("SHUTDOWN");
+  }
+
+  private ExtensionFlusher register(Duration flushInterval) {
+    return ExtensionFlusher.register(
+        "localhost:" + runtimeApi.getAddress().getPort(),
+        openTelemetrySdk,
+        Duration.ofSeconds(10),
+        flushInterval);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -1,5 +1,8 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -36,6 +39,10 @@ dependencies {
 
   testImplementation(project(":instrumentation:aws-lambda:aws-lambda-events-2.2:testing"))
   testImplementation("uk.org.webcompere:system-stubs-jupiter")
+
+  jmhImplementation("com.amazonaws:aws-lambda-java-core:1.2.1")
+  jmhImplementation("com.amazonaws:aws-lambda-java-events:2.2.1")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
 }
 
 tasks.withType<Test>().configureEach {
@@ -43,3 +50,12 @@ tasks.withType<Test>().configureEach {
   jvmArgs("--add-opens=java.base/java.util=ALL-UNNAMED")
   jvmArgs("-XX:+IgnoreUnrecognizedVMOptions")
 }
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
+}
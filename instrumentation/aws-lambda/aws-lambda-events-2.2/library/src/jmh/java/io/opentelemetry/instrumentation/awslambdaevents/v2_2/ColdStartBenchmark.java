@@ -0,0 +1,142 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.awslambdaevents.v2_2;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import io.opentelemetry.instrumentation.awslambdacore.v1_0.internal.WrappedLambda;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time from loading the handler until the first invocation returned in a fresh JVM,
+ * which is what a cold start adds to the first request of a Lambda execution environment. {@link
+ * #uninstrumented()} is the baseline, {@link #wrapper()} adds the initialization of the wrapper and
+ * {@link #wrapperWithJsonMapping()} the creation of the Jackson mapper, which is only needed when
+ * the input has to be converted to the parameter type of the handler.
+ */
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+public class ColdStartBenchmark {
+
+  private static final Context CONTEXT = new BenchmarkContext();
+
+  @Benchmark
+  public Object uninstrumented() {
+    return new StringHandler().handleRequest("hello", CONTEXT);
+  }
+
+  @Benchmark
+  public Object wrapper() {
+    return createWrapper(StringHandler.class).handleRequest("hello", CONTEXT);
+  }
+
+  @Benchmark
+  public Object wrapperWithJsonMapping() {
+    return createWrapper(RequestHandler.class)
+        .handleRequest(Collections.singletonMap("message", "hello"), CONTEXT);
+  }
+
+  private static TracingRequestWrapper createWrapper(Class<?> handlerClass) {
+    OpenTelemetrySdk openTelemetrySdk =
+        OpenTelemetrySdk.builder().setTracerProvider(SdkTracerProvider.builder().build()).build();
+    return new TracingRequestWrapper(
+        openTelemetrySdk,
+        new WrappedLambda(handlerClass, "handleRequest"),
+        TracingRequestWrapper::map);
+  }
+
+  public static class StringHandler {
+
+    public String handleRequest(String input, Context context) {
+      return input;
+    }
+  }
+
+  public static class RequestHandler {
+
+    public String handleRequest(Request input, Context context) {
+      return input.message;
+    }
+  }
+
+  public static class Request {
+
+    public String message;
+  }
+
+  private static class BenchmarkContext implements Context {
+
+    @Override
+    public String getAwsRequestId() {
+      return "request-id";
+    }
+
+    @Override
+    public String getLogGroupName() {
+      return null;
+    }
+
+    @Override
+    public String getLogStreamName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionName() {
+      return "benchmark";
+    }
+
+    @Override
+    public String getFunctionVersion() {
+      return "$LATEST";
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+      return "arn:aws:lambda:us-east-1:123456789:function:benchmark";
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+      return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+      return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+      return 0;
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+      return 0;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+      return null;
+    }
+  }
+}
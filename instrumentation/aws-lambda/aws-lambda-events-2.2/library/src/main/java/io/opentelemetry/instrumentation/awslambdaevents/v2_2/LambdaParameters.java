@@ -13,7 +13,12 @@ final class LambdaParameters {
 
   static <T> Object[] toArray(
       Method targetMethod, T input, Context context, BiFunction<T, Class<?>, Object> mapper) {
-    Class<?>[] parameterTypes = targetMethod.getParameterTypes();
+    return toArray(targetMethod.getParameterTypes(), input, context, mapper);
+  }
+
+  // the wrappers resolve the parameter types once instead of copying them on every invocation
+  static <T> Object[] toArray(
+      Class<?>[] parameterTypes, T input, Context context, BiFunction<T, Class<?>, Object> mapper) {
     Object[] parameters = new Object[parameterTypes.length];
     for (int i = 0; i < parameterTypes.length; i++) {
       Class<?> clazz = parameterTypes[i];
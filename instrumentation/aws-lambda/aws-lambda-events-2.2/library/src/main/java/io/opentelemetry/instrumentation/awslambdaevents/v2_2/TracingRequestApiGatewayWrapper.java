@@ -36,7 +36,7 @@ public class TracingRequestApiGatewayWrapper
   // Visible for testing
   static <T> T map(APIGatewayProxyRequestEvent event, Class<T> clazz) {
     try {
-      return OBJECT_MAPPER.readValue(event.getBody(), clazz);
+      return objectMapper().readValue(event.getBody(), clazz);
     } catch (JsonProcessingException e) {
       throw new IllegalStateException(
           "Could not map API Gateway event body to requested parameter type: " + clazz, e);
@@ -54,7 +54,7 @@ public class TracingRequestApiGatewayWrapper
     } else {
       try {
         event = new APIGatewayProxyResponseEvent();
-        event.setBody(OBJECT_MAPPER.writeValueAsString(result));
+        event.setBody(objectMapper().writeValueAsString(result));
       } catch (JsonProcessingException e) {
         throw new IllegalStateException("Could not serialize return value.", e);
       }
@@ -30,7 +30,7 @@ public class TracingRequestWrapper extends TracingRequestWrapperBase<Object, Obj
   // Visible for testing
   static <T> T map(Object jsonMap, Class<T> clazz) {
     try {
-      return OBJECT_MAPPER.convertValue(jsonMap, clazz);
+      return objectMapper().convertValue(jsonMap, clazz);
     } catch (IllegalArgumentException e) {
       throw new IllegalStateException(
           "Could not map input to requested parameter type: " + clazz, e);
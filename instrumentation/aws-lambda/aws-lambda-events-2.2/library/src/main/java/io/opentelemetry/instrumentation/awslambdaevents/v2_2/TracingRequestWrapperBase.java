@@ -28,12 +28,9 @@ import java.util.function.BiFunction;
  */
 abstract class TracingRequestWrapperBase<I, O> extends TracingRequestHandler<I, O> {
 
-  protected static final ObjectMapper OBJECT_MAPPER =
-      new ObjectMapper()
-          .registerModule(new CustomJodaModule())
-          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
   private final WrappedLambda wrappedLambda;
   private final Method targetMethod;
+  private final Class<?>[] parameterTypes;
   private final BiFunction<I, Class<?>, Object> parameterMapper;
 
   protected TracingRequestWrapperBase(BiFunction<I, Class<?>, Object> parameterMapper) {
@@ -54,13 +51,24 @@ abstract class TracingRequestWrapperBase<I, O> extends TracingRequestHandler<I,
         AwsLambdaEventsInstrumenterFactory.createInstrumenter(openTelemetrySdk));
     this.wrappedLambda = wrappedLambda;
     this.targetMethod = wrappedLambda.getRequestTargetMethod();
+    this.parameterTypes = targetMethod.getParameterTypes();
     this.parameterMapper = parameterMapper;
   }
 
+  /**
+   * Returns the {@link ObjectMapper} used to map the input of the wrapper to the parameter of the
+   * wrapped lambda. It is only created when it is first needed, most of its initialization cost is
+   * avoided when the lambda accepts the input of the wrapper as is.
+   */
+  static ObjectMapper objectMapper() {
+    return ObjectMapperHolder.OBJECT_MAPPER;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   protected O doHandleRequest(I input, Context context) {
-    Object[] parameters = LambdaParameters.toArray(targetMethod, input, context, parameterMapper);
+    Object[] parameters =
+        LambdaParameters.toArray(parameterTypes, input, context, parameterMapper);
     O result;
     try {
       result = (O) targetMethod.invoke(wrappedLambda.getTargetObject(), parameters);
@@ -81,4 +89,14 @@ abstract class TracingRequestWrapperBase<I, O> extends TracingRequestHandler<I,
     }
     return Collections.emptyMap();
   }
+
+  private static final class ObjectMapperHolder {
+
+    private static final ObjectMapper OBJECT_MAPPER =
+        new ObjectMapper()
+            .registerModule(new CustomJodaModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private ObjectMapperHolder() {}
+  }
 }
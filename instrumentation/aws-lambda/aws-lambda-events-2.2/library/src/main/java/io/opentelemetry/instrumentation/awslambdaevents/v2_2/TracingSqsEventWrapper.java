@@ -18,6 +18,7 @@ public class TracingSqsEventWrapper extends TracingSqsEventHandler {
 
   private final WrappedLambda wrappedLambda;
   private final Method targetMethod;
+  private final Class<?>[] parameterTypes;
 
   public TracingSqsEventWrapper() {
     this(
@@ -30,12 +31,13 @@ public class TracingSqsEventWrapper extends TracingSqsEventHandler {
     super(openTelemetrySdk, WrapperConfiguration.flushTimeout());
     this.wrappedLambda = wrappedLambda;
     this.targetMethod = wrappedLambda.getRequestTargetMethod();
+    this.parameterTypes = targetMethod.getParameterTypes();
   }
 
   @Override
   protected void handleEvent(SQSEvent sqsEvent, Context context) {
     Object[] parameters =
-        LambdaParameters.toArray(targetMethod, sqsEvent, context, (event, clazz) -> event);
+        LambdaParameters.toArray(parameterTypes, sqsEvent, context, (event, clazz) -> event);
     try {
       targetMethod.invoke(wrappedLambda.getTargetObject(), parameters);
     } catch (IllegalAccessException e) {
@@ -1,3 +1,9 @@
 plugins {
   id("otel.javaagent-bootstrap")
 }
+
+tasks {
+  test {
+    jvmArgs("-Dotel.javaagent.experimental.thread-propagation-debugger.enabled=true")
+  }
+}
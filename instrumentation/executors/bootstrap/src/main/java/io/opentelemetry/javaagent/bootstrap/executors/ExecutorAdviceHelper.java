@@ -63,10 +63,9 @@ public final class ExecutorAdviceHelper {
     }
 
     if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
-      context =
-          ContextPropagationDebug.appendLocations(context, new Exception().getStackTrace(), task);
+      context = ContextPropagationDebug.appendLocations(context, task);
     }
-    propagatedContext.setContext(context);
+    propagatedContext.setContext(context, task);
     return propagatedContext;
   }
 
@@ -8,8 +8,10 @@ package io.opentelemetry.javaagent.bootstrap.executors;
 import static java.util.logging.Level.FINE;
 
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /** Represents a {@link Context} attached to a concurrent task instance. */
 public final class PropagatedContext {
@@ -23,23 +25,45 @@ public final class PropagatedContext {
   @SuppressWarnings("UnusedVariable")
   private volatile Context context;
 
+  // the type of the carrier, only kept when the thread propagation debugger is enabled; the carrier
+  // itself is not kept as it usually holds this object
+  @Nullable private volatile String carrierClassName;
+
   PropagatedContext() {}
 
-  void setContext(Context context) {
+  void setContext(Context context, Object carrier) {
     boolean result = contextUpdater.compareAndSet(this, null, context);
-    if (!result) {
+    if (result) {
+      if (ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
+        carrierClassName = carrier.getClass().getName();
+      }
+    } else {
       Context currentPropagatedContext = contextUpdater.get(this);
-      if (currentPropagatedContext != context && logger.isLoggable(FINE)) {
-        logger.log(
-            FINE,
-            "Failed to propagate context because previous propagated context is already set; new: {0}, old: {1}",
-            new Object[] {context, currentPropagatedContext});
+      if (currentPropagatedContext != context) {
+        ContextPropagationDebug.recordOverwrittenContext(context, carrier.getClass().getName());
+        if (logger.isLoggable(FINE)) {
+          logger.log(
+              FINE,
+              "Failed to propagate context because previous propagated context is already set; new: {0}, old: {1}",
+              new Object[] {context, currentPropagatedContext});
+        }
       }
     }
   }
 
+  /**
+   * Clears the context of a carrier that will not run, e.g. because its submission failed or it was
+   * cancelled. A context that was not consumed yet is recorded by the thread propagation debugger.
+   */
   void clear() {
-    contextUpdater.set(this, null);
+    if (!ContextPropagationDebug.isThreadPropagationDebuggerEnabled()) {
+      contextUpdater.set(this, null);
+      return;
+    }
+    Context notConsumed = getAndClear();
+    if (notConsumed != null) {
+      ContextPropagationDebug.recordNotConsumedContext(notConsumed, carrierClassName);
+    }
   }
 
   Context getAndClear() {
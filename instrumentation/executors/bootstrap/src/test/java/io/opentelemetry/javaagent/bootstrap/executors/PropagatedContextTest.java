@@ -0,0 +1,138 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
+import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug.SuspiciousPropagation;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+// runs with otel.javaagent.experimental.thread-propagation-debugger.enabled=true
+class PropagatedContextTest {
+
+  private static final SpanContext SPAN_CONTEXT =
+      SpanContext.create(
+          "ff01020304050600ff0a0b0c0d0e0f00",
+          "090a0b0c0d0e0f00",
+          TraceFlags.getSampled(),
+          TraceState.getDefault());
+  private static final Context CONTEXT = Context.root().with(Span.wrap(SPAN_CONTEXT));
+
+  private final VirtualField<Runnable, PropagatedContext> virtualField = new MapVirtualField();
+  private final Runnable task = new Task();
+
+  @Test
+  void recordsContextOfRejectedSubmission() {
+    long notConsumed = ContextPropagationDebug.getNotConsumedContextCount();
+    PropagatedContext propagatedContext =
+        ExecutorAdviceHelper.attachContextToTask(CONTEXT, virtualField, task);
+
+    ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, new RejectedExecutionException());
+
+    assertThat(propagatedContext.get()).isNull();
+    assertThat(ContextPropagationDebug.getNotConsumedContextCount()).isEqualTo(notConsumed + 1);
+    SuspiciousPropagation suspiciousPropagation = lastSuspiciousPropagation();
+    assertThat(suspiciousPropagation.getKind()).isEqualTo(SuspiciousPropagation.Kind.NOT_CONSUMED);
+    assertThat(suspiciousPropagation.getCarrierClassName()).isEqualTo(Task.class.getName());
+    assertThat(suspiciousPropagation.getSpanContext()).isEqualTo(SPAN_CONTEXT);
+    assertThat(suspiciousPropagation.getLocations()).hasSize(1);
+  }
+
+  @Test
+  void keepsContextOfSuccessfulSubmission() {
+    long notConsumed = ContextPropagationDebug.getNotConsumedContextCount();
+    PropagatedContext propagatedContext =
+        ExecutorAdviceHelper.attachContextToTask(CONTEXT, virtualField, task);
+
+    ExecutorAdviceHelper.cleanUpAfterSubmit(propagatedContext, null);
+
+    assertThat(ContextPropagationDebug.unwrap(propagatedContext.get())).isSameAs(CONTEXT);
+    assertThat(ContextPropagationDebug.getNotConsumedContextCount()).isEqualTo(notConsumed);
+  }
+
+  @Test
+  void recordsContextOfCancelledTask() {
+    long notConsumed = ContextPropagationDebug.getNotConsumedContextCount();
+    ExecutorAdviceHelper.attachContextToTask(CONTEXT, virtualField, task);
+
+    ExecutorAdviceHelper.cleanPropagatedContext(virtualField, task);
+
+    assertThat(ContextPropagationDebug.getNotConsumedContextCount()).isEqualTo(notConsumed + 1);
+    assertThat(lastSuspiciousPropagation().getKind())
+        .isEqualTo(SuspiciousPropagation.Kind.NOT_CONSUMED);
+  }
+
+  @Test
+  void doesNotRecordConsumedContext() {
+    long notConsumed = ContextPropagationDebug.getNotConsumedContextCount();
+    PropagatedContext propagatedContext =
+        ExecutorAdviceHelper.attachContextToTask(CONTEXT, virtualField, task);
+    propagatedContext.getAndClear();
+
+    ExecutorAdviceHelper.cleanPropagatedContext(virtualField, task);
+
+    assertThat(ContextPropagationDebug.getNotConsumedContextCount()).isEqualTo(notConsumed);
+  }
+
+  @Test
+  void recordsOverwrittenContext() {
+    long overwritten = ContextPropagationDebug.getOverwrittenContextCount();
+    PropagatedContext propagatedContext =
+        ExecutorAdviceHelper.attachContextToTask(CONTEXT, virtualField, task);
+    Context other = Context.root().with(Span.wrap(SPAN_CONTEXT));
+
+    propagatedContext.setContext(other, task);
+
+    assertThat(ContextPropagationDebug.unwrap(propagatedContext.get())).isSameAs(CONTEXT);
+    assertThat(ContextPropagationDebug.getOverwrittenContextCount()).isEqualTo(overwritten + 1);
+    SuspiciousPropagation suspiciousPropagation = lastSuspiciousPropagation();
+    assertThat(suspiciousPropagation.getKind()).isEqualTo(SuspiciousPropagation.Kind.OVERWRITTEN);
+    assertThat(suspiciousPropagation.getCarrierClassName()).isEqualTo(Task.class.getName());
+  }
+
+  private static SuspiciousPropagation lastSuspiciousPropagation() {
+    List<SuspiciousPropagation> suspiciousPropagations =
+        ContextPropagationDebug.getSuspiciousPropagations();
+    assertThat(suspiciousPropagations).isNotEmpty();
+    return suspiciousPropagations.get(suspiciousPropagations.size() - 1);
+  }
+
+  private static class Task implements Runnable {
+    @Override
+    public void run() {}
+  }
+
+  private static class MapVirtualField extends VirtualField<Runnable, PropagatedContext> {
+    private final Map<Runnable, PropagatedContext> values = new ConcurrentHashMap<>();
+
+    @Override
+    @Nullable
+    public PropagatedContext get(Runnable object) {
+      return values.get(object);
+    }
+
+    @Override
+    public void set(Runnable object, @Nullable PropagatedContext fieldValue) {
+      if (fieldValue == null) {
+        values.remove(object);
+      } else {
+        values.put(object, fieldValue);
+      }
+    }
+  }
+}
@@ -37,11 +37,21 @@ public final class GrpcSingletons {
         InstrumentationConfig.get()
             .getList("otel.instrumentation.grpc.capture-metadata.server.request", emptyList());
 
+    boolean messageStatistics =
+        InstrumentationConfig.get()
+            .getBoolean("otel.instrumentation.grpc.experimental-message-statistics", false);
+    int messageEventLimit =
+        InstrumentationConfig.get()
+            .getInt(
+                "otel.instrumentation.grpc.experimental-message-event-limit", Integer.MAX_VALUE);
+
     GrpcTelemetry telemetry =
         GrpcTelemetry.builder(GlobalOpenTelemetry.get())
             .setCaptureExperimentalSpanAttributes(experimentalSpanAttributes)
             .setCapturedClientRequestMetadata(clientRequestMetadata)
             .setCapturedServerRequestMetadata(serverRequestMetadata)
+            .setCaptureMessageStatistics(messageStatistics)
+            .setMessageEventLimit(messageEventLimit)
             .build();
 
     CLIENT_INTERCEPTOR = telemetry.newClientInterceptor();
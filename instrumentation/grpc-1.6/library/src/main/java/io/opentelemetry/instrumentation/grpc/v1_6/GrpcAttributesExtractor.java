@@ -41,6 +41,10 @@ final class GrpcAttributesExtractor implements AttributesExtractor<GrpcRequest,
     if (status != null) {
       attributes.put(SemanticAttributes.RPC_GRPC_STATUS_CODE, status.getCode().value());
     }
+    GrpcMessageStatistics messageStatistics = request.getMessageStatistics();
+    if (messageStatistics != null) {
+      messageStatistics.addAttributes(attributes);
+    }
     for (String key : capturedRequestMetadata) {
       List<String> value = getter.metadataValue(request, key);
       if (!value.isEmpty()) {
@@ -12,5 +12,10 @@ final class GrpcHelper {
   static final AttributeKey<String> MESSAGE_TYPE = AttributeKey.stringKey("message.type");
   static final AttributeKey<Long> MESSAGE_ID = AttributeKey.longKey("message.id");
 
+  // aggregated message statistics, also read by RpcServerMetrics and RpcClientMetrics
+  static final AttributeKey<Long> SENT_MESSAGES = AttributeKey.longKey("rpc.messages.sent");
+  static final AttributeKey<Long> RECEIVED_MESSAGES =
+      AttributeKey.longKey("rpc.messages.received");
+
   private GrpcHelper() {}
 }
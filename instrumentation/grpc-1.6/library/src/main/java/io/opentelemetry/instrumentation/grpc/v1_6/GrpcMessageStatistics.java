@@ -0,0 +1,41 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Counts the messages of a call, so that long-lived streams don't need an event for every message.
+ * Messages can be sent and received concurrently, the counters are only read when the call ends.
+ *
+ * <p>The sizes of the messages are not recorded: the interceptors only see the message objects,
+ * and asking the marshaller for the serialized stream of a message serializes it once more for
+ * most marshallers.
+ */
+final class GrpcMessageStatistics {
+
+  private static final AtomicLongFieldUpdater<GrpcMessageStatistics> SENT_MESSAGES_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(GrpcMessageStatistics.class, "sentMessages");
+  private static final AtomicLongFieldUpdater<GrpcMessageStatistics> RECEIVED_MESSAGES_UPDATER =
+      AtomicLongFieldUpdater.newUpdater(GrpcMessageStatistics.class, "receivedMessages");
+
+  volatile long sentMessages;
+  volatile long receivedMessages;
+
+  void messageSent() {
+    SENT_MESSAGES_UPDATER.incrementAndGet(this);
+  }
+
+  void messageReceived() {
+    RECEIVED_MESSAGES_UPDATER.incrementAndGet(this);
+  }
+
+  void addAttributes(AttributesBuilder attributes) {
+    attributes.put(GrpcHelper.SENT_MESSAGES, sentMessages);
+    attributes.put(GrpcHelper.RECEIVED_MESSAGES, receivedMessages);
+  }
+}
@@ -19,6 +19,7 @@ public final class GrpcRequest {
   @Nullable private volatile String logicalHost;
   private volatile int logicalPort = -1;
   @Nullable private volatile SocketAddress peerSocketAddress;
+  @Nullable private volatile GrpcMessageStatistics messageStatistics;
 
   GrpcRequest(
       MethodDescriptor<?, ?> method,
@@ -78,4 +79,13 @@ public final class GrpcRequest {
   void setPeerSocketAddress(SocketAddress peerSocketAddress) {
     this.peerSocketAddress = peerSocketAddress;
   }
+
+  @Nullable
+  GrpcMessageStatistics getMessageStatistics() {
+    return messageStatistics;
+  }
+
+  void setMessageStatistics(GrpcMessageStatistics messageStatistics) {
+    this.messageStatistics = messageStatistics;
+  }
 }
@@ -29,16 +29,22 @@ public final class GrpcTelemetry {
   private final Instrumenter<GrpcRequest, Status> clientInstrumenter;
   private final ContextPropagators propagators;
   private final boolean captureExperimentalSpanAttributes;
+  private final boolean captureMessageStatistics;
+  private final long messageEventLimit;
 
   GrpcTelemetry(
       Instrumenter<GrpcRequest, Status> serverInstrumenter,
       Instrumenter<GrpcRequest, Status> clientInstrumenter,
       ContextPropagators propagators,
-      boolean captureExperimentalSpanAttributes) {
+      boolean captureExperimentalSpanAttributes,
+      boolean captureMessageStatistics,
+      long messageEventLimit) {
     this.serverInstrumenter = serverInstrumenter;
     this.clientInstrumenter = clientInstrumenter;
     this.propagators = propagators;
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.captureMessageStatistics = captureMessageStatistics;
+    this.messageEventLimit = messageEventLimit;
   }
 
   /**
@@ -46,7 +52,8 @@ public final class GrpcTelemetry {
    * io.grpc.ManagedChannelBuilder#intercept(ClientInterceptor...)}.
    */
   public ClientInterceptor newClientInterceptor() {
-    return new TracingClientInterceptor(clientInstrumenter, propagators);
+    return new TracingClientInterceptor(
+        clientInstrumenter, propagators, captureMessageStatistics, messageEventLimit);
   }
 
   /**
@@ -54,6 +61,10 @@ public final class GrpcTelemetry {
    * io.grpc.ServerBuilder#intercept(ServerInterceptor)}.
    */
   public ServerInterceptor newServerInterceptor() {
-    return new TracingServerInterceptor(serverInstrumenter, captureExperimentalSpanAttributes);
+    return new TracingServerInterceptor(
+        serverInstrumenter,
+        captureExperimentalSpanAttributes,
+        captureMessageStatistics,
+        messageEventLimit);
   }
 }
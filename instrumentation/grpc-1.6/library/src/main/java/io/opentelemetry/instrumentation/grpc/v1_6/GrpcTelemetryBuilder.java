@@ -53,6 +53,8 @@ public final class GrpcTelemetryBuilder {
       additionalServerExtractors = new ArrayList<>();
 
   private boolean captureExperimentalSpanAttributes;
+  private boolean captureMessageStatistics;
+  private long messageEventLimit = Long.MAX_VALUE;
   private List<String> capturedClientRequestMetadata = Collections.emptyList();
   private List<String> capturedServerRequestMetadata = Collections.emptyList();
 
@@ -132,6 +134,29 @@ public final class GrpcTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the messages of a call should be counted. The number of sent and received
+   * messages are set as attributes on the span when the call ends, and are recorded by the RPC
+   * metrics as messages per RPC histograms. Combine with {@link #setMessageEventLimit(int)} for
+   * long-lived streams.
+   */
+  @CanIgnoreReturnValue
+  public GrpcTelemetryBuilder setCaptureMessageStatistics(boolean captureMessageStatistics) {
+    this.captureMessageStatistics = captureMessageStatistics;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of {@code message} events that are added to the span of a call. Later
+   * messages are only counted when {@link #setCaptureMessageStatistics(boolean)} is enabled. There
+   * is no limit by default.
+   */
+  @CanIgnoreReturnValue
+  public GrpcTelemetryBuilder setMessageEventLimit(int messageEventLimit) {
+    this.messageEventLimit = Math.max(0, messageEventLimit);
+    return this;
+  }
+
   /** Sets which metadata request values should be captured as span attributes on client spans. */
   @CanIgnoreReturnValue
   public GrpcTelemetryBuilder setCapturedClientRequestMetadata(
@@ -206,6 +231,8 @@ public final class GrpcTelemetryBuilder {
         // So we go ahead and inject manually in this instrumentation.
         clientInstrumenterBuilder.buildInstrumenter(SpanKindExtractor.alwaysClient()),
         openTelemetry.getPropagators(),
-        captureExperimentalSpanAttributes);
+        captureExperimentalSpanAttributes,
+        captureMessageStatistics,
+        messageEventLimit);
   }
 }
@@ -22,6 +22,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingClientInterceptor implements ClientInterceptor {
 
@@ -31,11 +32,18 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
   private final Instrumenter<GrpcRequest, Status> instrumenter;
   private final ContextPropagators propagators;
+  private final boolean captureMessageStatistics;
+  private final long messageEventLimit;
 
   TracingClientInterceptor(
-      Instrumenter<GrpcRequest, Status> instrumenter, ContextPropagators propagators) {
+      Instrumenter<GrpcRequest, Status> instrumenter,
+      ContextPropagators propagators,
+      boolean captureMessageStatistics,
+      long messageEventLimit) {
     this.instrumenter = instrumenter;
     this.propagators = propagators;
+    this.captureMessageStatistics = captureMessageStatistics;
+    this.messageEventLimit = messageEventLimit;
   }
 
   @Override
@@ -46,6 +54,9 @@ final class TracingClientInterceptor implements ClientInterceptor {
     if (!instrumenter.shouldStart(parentContext, request)) {
       return next.newCall(method, callOptions);
     }
+    if (captureMessageStatistics) {
+      request.setMessageStatistics(new GrpcMessageStatistics());
+    }
 
     Context context = instrumenter.start(parentContext, request);
     ClientCall<REQUEST, RESPONSE> result;
@@ -59,29 +70,33 @@ final class TracingClientInterceptor implements ClientInterceptor {
       }
     }
 
-    return new TracingClientCall<>(result, parentContext, context, request);
+    return new TracingClientCall<>(result, method, parentContext, context, request);
   }
 
   final class TracingClientCall<REQUEST, RESPONSE>
       extends ForwardingClientCall.SimpleForwardingClientCall<REQUEST, RESPONSE> {
 
+    private final MethodDescriptor<REQUEST, RESPONSE> method;
     private final Context parentContext;
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final GrpcMessageStatistics messageStatistics;
 
     // Used by MESSAGE_ID_UPDATER
-    @SuppressWarnings("UnusedVariable")
     volatile long messageId;
 
     TracingClientCall(
         ClientCall<REQUEST, RESPONSE> delegate,
+        MethodDescriptor<REQUEST, RESPONSE> method,
         Context parentContext,
         Context context,
         GrpcRequest request) {
       super(delegate);
+      this.method = method;
       this.parentContext = parentContext;
       this.context = context;
       this.request = request;
+      this.messageStatistics = request.getMessageStatistics();
     }
 
     @Override
@@ -107,14 +122,23 @@ final class TracingClientInterceptor implements ClientInterceptor {
         instrumenter.end(context, request, Status.UNKNOWN, e);
         throw e;
       }
-      Span span = Span.fromContext(context);
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE,
-              "SENT",
-              GrpcHelper.MESSAGE_ID,
-              MESSAGE_ID_UPDATER.incrementAndGet(this));
-      span.addEvent("message", attributes);
+      if (messageStatistics != null) {
+        messageStatistics.messageSent();
+      }
+      addMessageEvent("SENT");
+    }
+
+    private void addMessageEvent(String type) {
+      // no need for the atomic increment once the limit was reached
+      if (messageId >= messageEventLimit) {
+        return;
+      }
+      long id = MESSAGE_ID_UPDATER.incrementAndGet(this);
+      if (id <= messageEventLimit) {
+        Attributes attributes =
+            Attributes.of(GrpcHelper.MESSAGE_TYPE, type, GrpcHelper.MESSAGE_ID, id);
+        Span.fromContext(context).addEvent("message", attributes);
+      }
     }
 
     final class TracingClientCallListener
@@ -137,14 +161,10 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
       @Override
       public void onMessage(RESPONSE message) {
-        Span span = Span.fromContext(context);
-        Attributes attributes =
-            Attributes.of(
-                GrpcHelper.MESSAGE_TYPE,
-                "RECEIVED",
-                GrpcHelper.MESSAGE_ID,
-                MESSAGE_ID_UPDATER.incrementAndGet(TracingClientCall.this));
-        span.addEvent("message", attributes);
+        if (messageStatistics != null) {
+          messageStatistics.messageReceived();
+        }
+        addMessageEvent("RECEIVED");
         try (Scope ignored = context.makeCurrent()) {
           delegate().onMessage(message);
         }
@@ -20,6 +20,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingServerInterceptor implements ServerInterceptor {
 
@@ -29,11 +30,18 @@ final class TracingServerInterceptor implements ServerInterceptor {
 
   private final Instrumenter<GrpcRequest, Status> instrumenter;
   private final boolean captureExperimentalSpanAttributes;
+  private final boolean captureMessageStatistics;
+  private final long messageEventLimit;
 
   TracingServerInterceptor(
-      Instrumenter<GrpcRequest, Status> instrumenter, boolean captureExperimentalSpanAttributes) {
+      Instrumenter<GrpcRequest, Status> instrumenter,
+      boolean captureExperimentalSpanAttributes,
+      boolean captureMessageStatistics,
+      long messageEventLimit) {
     this.instrumenter = instrumenter;
     this.captureExperimentalSpanAttributes = captureExperimentalSpanAttributes;
+    this.captureMessageStatistics = captureMessageStatistics;
+    this.messageEventLimit = messageEventLimit;
   }
 
   @Override
@@ -51,6 +59,9 @@ final class TracingServerInterceptor implements ServerInterceptor {
     if (!instrumenter.shouldStart(parentContext, request)) {
       return next.startCall(call, headers);
     }
+    if (captureMessageStatistics) {
+      request.setMessageStatistics(new GrpcMessageStatistics());
+    }
 
     Context context = instrumenter.start(parentContext, request);
 
@@ -66,9 +77,9 @@ final class TracingServerInterceptor implements ServerInterceptor {
       extends ForwardingServerCall.SimpleForwardingServerCall<REQUEST, RESPONSE> {
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final GrpcMessageStatistics messageStatistics;
 
     // Used by MESSAGE_ID_UPDATER
-    @SuppressWarnings("UnusedVariable")
     volatile long messageId;
 
     TracingServerCall(
@@ -76,6 +87,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
       super(delegate);
       this.context = context;
       this.request = request;
+      this.messageStatistics = request.getMessageStatistics();
     }
 
     TracingServerCallListener start(Metadata headers, ServerCallHandler<REQUEST, RESPONSE> next) {
@@ -88,14 +100,23 @@ final class TracingServerInterceptor implements ServerInterceptor {
       try (Scope ignored = context.makeCurrent()) {
         super.sendMessage(message);
       }
-      Span span = Span.fromContext(context);
-      Attributes attributes =
-          Attributes.of(
-              GrpcHelper.MESSAGE_TYPE,
-              "SENT",
-              GrpcHelper.MESSAGE_ID,
-              MESSAGE_ID_UPDATER.incrementAndGet(this));
-      span.addEvent("message", attributes);
+      if (messageStatistics != null) {
+        messageStatistics.messageSent();
+      }
+      addMessageEvent("SENT");
+    }
+
+    private void addMessageEvent(String type) {
+      // no need for the atomic increment once the limit was reached
+      if (messageId >= messageEventLimit) {
+        return;
+      }
+      long id = MESSAGE_ID_UPDATER.incrementAndGet(this);
+      if (id <= messageEventLimit) {
+        Attributes attributes =
+            Attributes.of(GrpcHelper.MESSAGE_TYPE, type, GrpcHelper.MESSAGE_ID, id);
+        Span.fromContext(context).addEvent("message", attributes);
+      }
     }
 
     @Override
@@ -123,13 +144,10 @@ final class TracingServerInterceptor implements ServerInterceptor {
       @Override
       public void onMessage(REQUEST message) {
         // TODO(anuraaga): Restore
-        Attributes attributes =
-            Attributes.of(
-                GrpcHelper.MESSAGE_TYPE,
-                "RECEIVED",
-                GrpcHelper.MESSAGE_ID,
-                MESSAGE_ID_UPDATER.incrementAndGet(TracingServerCall.this));
-        Span.fromContext(context).addEvent("message", attributes);
+        if (messageStatistics != null) {
+          messageStatistics.messageReceived();
+        }
+        addMessageEvent("RECEIVED");
         delegate().onMessage(message);
       }
 
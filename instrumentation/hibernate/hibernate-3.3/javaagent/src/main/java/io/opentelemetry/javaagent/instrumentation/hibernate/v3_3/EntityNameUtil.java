@@ -5,11 +5,14 @@
 
 package io.opentelemetry.javaagent.instrumentation.hibernate.v3_3;
 
-import java.util.function.Function;
+import java.util.function.BiFunction;
 import org.hibernate.impl.AbstractSessionImpl;
 
 public final class EntityNameUtil {
 
+  private static final BiFunction<Object, Object, String> BEST_GUESS_ENTITY_NAME =
+      EntityNameUtil::bestGuessEntityName;
+
   private EntityNameUtil() {}
 
   private static String bestGuessEntityName(Object session, Object entity) {
@@ -24,7 +27,7 @@ public final class EntityNameUtil {
     return null;
   }
 
-  public static Function<Object, String> bestGuessEntityName(Object session) {
-    return (entity) -> bestGuessEntityName(session, entity);
+  public static BiFunction<Object, Object, String> bestGuessEntityName() {
+    return BEST_GUESS_ENTITY_NAME;
   }
 }
@@ -15,6 +15,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 import static net.bytebuddy.matcher.ElementMatchers.returns;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
@@ -77,6 +78,12 @@ public class SessionInstrumentation implements TypeInstrumentation {
             .and(returns(named("org.hibernate.Transaction"))),
         SessionInstrumentation.class.getName() + "$GetTransactionAdvice");
 
+    // the summary spans of a transaction that is neither committed nor rolled back are recorded
+    // when the session is closed
+    transformer.applyAdviceToMethod(
+        isMethod().and(named("close")).and(takesArguments(0)),
+        SessionInstrumentation.class.getName() + "$CloseAdvice");
+
     transformer.applyAdviceToMethod(
         isMethod().and(returns(implementsInterface(named("org.hibernate.Query")))),
         SessionInstrumentation.class.getName() + "$GetQueryAdvice");
@@ -109,9 +116,12 @@ public class SessionInstrumentation implements TypeInstrumentation {
       Context parentContext = Java8BytecodeBridge.currentContext();
       SessionInfo sessionInfo = SessionUtil.getSessionInfo(session);
       String entityName =
-          getEntityName(descriptor, arg0, arg1, EntityNameUtil.bestGuessEntityName(session));
+          getEntityName(descriptor, arg0, arg1, session, EntityNameUtil.bestGuessEntityName());
       hibernateOperation =
           new HibernateOperation(getSessionMethodOperationName(name), entityName, sessionInfo);
+      if (hibernateOperation.summarize()) {
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, hibernateOperation)) {
         return;
       }
@@ -135,6 +145,8 @@ public class SessionInstrumentation implements TypeInstrumentation {
       if (scope != null) {
         scope.close();
         instrumenter().end(context, hibernateOperation, null, throwable);
+      } else if (hibernateOperation != null) {
+        hibernateOperation.endSummarized(throwable);
       }
     }
   }
@@ -157,12 +169,28 @@ public class SessionInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class)
     public static void getTransaction(
-        @Advice.This Object session, @Advice.Return Transaction transaction) {
+        @Advice.This Object session,
+        @Advice.Origin("#m") String name,
+        @Advice.Return Transaction transaction) {
 
       SessionInfo sessionInfo = SessionUtil.getSessionInfo(session);
       VirtualField<Transaction, SessionInfo> transactionVirtualField =
           VirtualField.find(Transaction.class, SessionInfo.class);
       transactionVirtualField.set(transaction, sessionInfo);
+      if ("beginTransaction".equals(name)) {
+        SessionInfo.beginTransaction(sessionInfo);
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class CloseAdvice {
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void close(@Advice.This Object session) {
+
+      SessionInfo sessionInfo = SessionUtil.getSessionInfo(session);
+      SessionInfo.endTransaction(sessionInfo, instrumenter());
     }
   }
 
@@ -43,6 +43,12 @@ public class TransactionInstrumentation implements TypeInstrumentation {
     transformer.applyAdviceToMethod(
         isMethod().and(named("commit")).and(takesArguments(0)),
         TransactionInstrumentation.class.getName() + "$TransactionCommitAdvice");
+    transformer.applyAdviceToMethod(
+        isMethod().and(named("begin")).and(takesArguments(0)),
+        TransactionInstrumentation.class.getName() + "$TransactionBeginAdvice");
+    transformer.applyAdviceToMethod(
+        isMethod().and(named("rollback")).and(takesArguments(0)),
+        TransactionInstrumentation.class.getName() + "$TransactionRollbackAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -91,6 +97,33 @@ public class TransactionInstrumentation implements TypeInstrumentation {
         scope.close();
         instrumenter().end(context, hibernateOperation, null, throwable);
       }
+      if (hibernateOperation != null) {
+        SessionInfo.endTransaction(hibernateOperation.getSessionInfo(), instrumenter());
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class TransactionBeginAdvice {
+
+    @Advice.OnMethodExit(suppress = Throwable.class)
+    public static void begin(@Advice.This Transaction transaction) {
+
+      VirtualField<Transaction, SessionInfo> transactionVirtualField =
+          VirtualField.find(Transaction.class, SessionInfo.class);
+      SessionInfo.beginTransaction(transactionVirtualField.get(transaction));
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class TransactionRollbackAdvice {
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void rollback(@Advice.This Transaction transaction) {
+
+      VirtualField<Transaction, SessionInfo> transactionVirtualField =
+          VirtualField.find(Transaction.class, SessionInfo.class);
+      SessionInfo.endTransaction(transactionVirtualField.get(transaction), instrumenter());
     }
   }
 }
@@ -25,9 +25,27 @@ testSets {
 tasks {
   val version5Test by existing(Test::class)
 
+  val testTransactionSummary by registering(Test::class) {
+    filter {
+      includeTestsMatching("SessionTransactionSummaryTest")
+    }
+    include("**/SessionTransactionSummaryTest.*")
+    jvmArgs("-Dotel.instrumentation.hibernate.experimental-transaction-summary=true")
+  }
+
+  withType<Test>().matching { it.name != "testTransactionSummary" }.configureEach {
+    filter {
+      excludeTestsMatching("SessionTransactionSummaryTest")
+    }
+  }
+
   test {
     dependsOn(version5Test)
   }
+
+  check {
+    dependsOn(testTransactionSummary)
+  }
 }
 
 dependencies {
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.instrumentation.hibernate.v4_0;
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
+import static io.opentelemetry.javaagent.instrumentation.hibernate.OperationNameUtil.getCriteriaMethodOperationName;
 import static io.opentelemetry.javaagent.instrumentation.hibernate.v4_0.Hibernate4Singletons.instrumenter;
 import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.named;
@@ -73,7 +74,11 @@ public class CriteriaInstrumentation implements TypeInstrumentation {
       SessionInfo sessionInfo = criteriaVirtualField.get(criteria);
 
       Context parentContext = Java8BytecodeBridge.currentContext();
-      hibernateOperation = new HibernateOperation("Criteria." + name, entityName, sessionInfo);
+      hibernateOperation =
+          new HibernateOperation(getCriteriaMethodOperationName(name), entityName, sessionInfo);
+      if (hibernateOperation.summarize()) {
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, hibernateOperation)) {
         return;
       }
@@ -97,6 +102,8 @@ public class CriteriaInstrumentation implements TypeInstrumentation {
       if (scope != null) {
         scope.close();
         instrumenter().end(context, hibernateOperation, null, throwable);
+      } else if (hibernateOperation != null) {
+        hibernateOperation.endSummarized(throwable);
       }
     }
   }
@@ -5,13 +5,16 @@
 
 package io.opentelemetry.javaagent.instrumentation.hibernate.v4_0;
 
-import java.util.function.Function;
+import java.util.function.BiFunction;
 import org.hibernate.SharedSessionContract;
 import org.hibernate.internal.SessionImpl;
 import org.hibernate.internal.StatelessSessionImpl;
 
 public final class EntityNameUtil {
 
+  private static final BiFunction<SharedSessionContract, Object, String> BEST_GUESS_ENTITY_NAME =
+      EntityNameUtil::bestGuessEntityName;
+
   private EntityNameUtil() {}
 
   private static String bestGuessEntityName(SharedSessionContract session, Object entity) {
@@ -28,7 +31,7 @@ public final class EntityNameUtil {
     return null;
   }
 
-  public static Function<Object, String> bestGuessEntityName(SharedSessionContract session) {
-    return (entity) -> bestGuessEntityName(session, entity);
+  public static BiFunction<SharedSessionContract, Object, String> bestGuessEntityName() {
+    return BEST_GUESS_ENTITY_NAME;
   }
 }
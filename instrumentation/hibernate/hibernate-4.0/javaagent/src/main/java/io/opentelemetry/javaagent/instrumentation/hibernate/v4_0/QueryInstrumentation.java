@@ -69,6 +69,9 @@ public class QueryInstrumentation implements TypeInstrumentation {
       Context parentContext = Java8BytecodeBridge.currentContext();
       hibernateOperation =
           new HibernateOperation(getOperationNameForQuery(query.getQueryString()), sessionInfo);
+      if (hibernateOperation.summarize()) {
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, hibernateOperation)) {
         return;
       }
@@ -92,6 +95,8 @@ public class QueryInstrumentation implements TypeInstrumentation {
       if (scope != null) {
         scope.close();
         instrumenter().end(context, hibernateOperation, null, throwable);
+      } else if (hibernateOperation != null) {
+        hibernateOperation.endSummarized(throwable);
       }
     }
   }
@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.hibernate.Session
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+
+// runs with otel.instrumentation.hibernate.experimental-transaction-summary=true
+class SessionTransactionSummaryTest extends AbstractHibernateTest {
+
+  def "repeated operations are summarized when the transaction is committed"() {
+    setup:
+    runWithSpan("parent") {
+      Session session = sessionFactory.openSession()
+      session.beginTransaction()
+      getRepeatedly(session)
+      session.getTransaction().commit()
+      session.close()
+    }
+
+    expect:
+    assertTraces(1) {
+      trace(0, 5) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+          }
+        }
+        span(2) {
+          name "SELECT db1.Value"
+          kind CLIENT
+          childOf span(1)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "h2"
+            "$SemanticAttributes.DB_NAME" "db1"
+            "$SemanticAttributes.DB_USER" "sa"
+            "$SemanticAttributes.DB_CONNECTION_STRING" "h2:mem:"
+            "$SemanticAttributes.DB_STATEMENT" String
+            "$SemanticAttributes.DB_OPERATION" "SELECT"
+            "$SemanticAttributes.DB_SQL_TABLE" "Value"
+          }
+        }
+        span(3) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+            "hibernate.operation.count" 2
+          }
+        }
+        span(4) {
+          name "Transaction.commit"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+          }
+        }
+      }
+    }
+  }
+
+  def "repeated operations are summarized when the session is closed"() {
+    setup:
+    runWithSpan("parent") {
+      Session session = sessionFactory.openSession()
+      session.beginTransaction()
+      getRepeatedly(session)
+      session.close()
+    }
+
+    expect:
+    assertTraces(1) {
+      trace(0, 4) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+        }
+        span(2) {
+          name "SELECT db1.Value"
+          kind CLIENT
+          childOf span(1)
+        }
+        span(3) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+            "hibernate.operation.count" 2
+          }
+        }
+      }
+    }
+  }
+
+  def "operations outside of a transaction are not summarized"() {
+    setup:
+    runWithSpan("parent") {
+      Session session = sessionFactory.openSession()
+      getRepeatedly(session)
+      session.close()
+    }
+
+    expect:
+    assertTraces(1) {
+      trace(0, 5) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+          hasNoParent()
+        }
+        span(1) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+        }
+        span(2) {
+          name "SELECT db1.Value"
+          kind CLIENT
+          childOf span(1)
+        }
+        span(3) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+          }
+        }
+        span(4) {
+          name "Session.get Value"
+          kind INTERNAL
+          childOf span(0)
+          attributes {
+            "hibernate.session_id" String
+          }
+        }
+      }
+    }
+  }
+
+  // the first get loads the entity, the following ones read it from the session, the pauses keep
+  // the spans in order as the summary spans are timed with a clock of millisecond precision on
+  // some JVMs
+  private void getRepeatedly(Session session) {
+    def id = prepopulated.get(0).getId()
+    session.get(Value, id)
+    Thread.sleep(10)
+    session.get(Value, id)
+    session.get(Value, id)
+    Thread.sleep(10)
+  }
+}
@@ -24,6 +24,9 @@ public final class HibernateInstrumenterFactory {
     if (CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES) {
       instrumenterBuilder.addAttributesExtractor(new HibernateExperimentalAttributesExtractor());
     }
+    if (TransactionSummary.isEnabled()) {
+      instrumenterBuilder.addAttributesExtractor(new HibernateSummaryAttributesExtractor());
+    }
 
     return instrumenterBuilder.buildInstrumenter();
   }
@@ -5,30 +5,79 @@
 
 package io.opentelemetry.javaagent.instrumentation.hibernate;
 
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import javax.annotation.Nullable;
+
 public class HibernateOperation {
+  // operation name -> entity name -> span name, the operation names are a small fixed set
+  private static final Cache<String, Cache<String, String>> spanNames = Cache.bounded(64);
+
   private final String spanName;
-  private final String sessionId;
+  @Nullable private final SessionInfo sessionInfo;
+  private final int summarizedOperationCount;
+  @Nullable private TransactionSummary.Entry summaryEntry;
 
-  public HibernateOperation(String operation, String entityName, SessionInfo sessionInfo) {
+  public HibernateOperation(
+      String operation, @Nullable String entityName, @Nullable SessionInfo sessionInfo) {
     this(spanNameForOperation(operation, entityName), sessionInfo);
   }
 
-  public HibernateOperation(String operation, SessionInfo sessionInfo) {
-    this.spanName = operation;
-    this.sessionId = sessionInfo != null ? sessionInfo.getSessionId() : null;
+  public HibernateOperation(String operation, @Nullable SessionInfo sessionInfo) {
+    this(operation, sessionInfo, 0);
+  }
+
+  HibernateOperation(
+      String spanName, @Nullable SessionInfo sessionInfo, int summarizedOperationCount) {
+    this.spanName = spanName;
+    this.sessionInfo = sessionInfo;
+    this.summarizedOperationCount = summarizedOperationCount;
   }
 
   public String getName() {
     return spanName;
   }
 
+  @Nullable
   public String getSessionId() {
-    return sessionId;
+    return sessionInfo != null ? sessionInfo.getSessionId() : null;
+  }
+
+  @Nullable
+  public SessionInfo getSessionInfo() {
+    return sessionInfo;
+  }
+
+  /** Returns the number of operations of a summary span, 0 for the span of a single operation. */
+  int getSummarizedOperationCount() {
+    return summarizedOperationCount;
+  }
+
+  /**
+   * Returns whether this operation is recorded in the summary span of the current transaction of
+   * its session instead of getting its own span, see {@link TransactionSummary}. The caller must
+   * then call {@link #endSummarized(Throwable)} when the operation ended.
+   */
+  public boolean summarize() {
+    TransactionSummary summary = sessionInfo != null ? sessionInfo.getTransactionSummary() : null;
+    if (summary == null) {
+      return false;
+    }
+    summaryEntry = summary.add(this);
+    return summaryEntry != null;
+  }
+
+  /** Ends an operation for which {@link #summarize()} returned {@code true}. */
+  public void endSummarized(@Nullable Throwable throwable) {
+    if (summaryEntry != null) {
+      summaryEntry.end(throwable);
+    }
   }
 
-  private static String spanNameForOperation(String operationName, String entityName) {
+  private static String spanNameForOperation(String operationName, @Nullable String entityName) {
     if (entityName != null) {
-      return operationName + " " + entityName;
+      return spanNames
+          .computeIfAbsent(operationName, unused -> Cache.bounded(1000))
+          .computeIfAbsent(entityName, name -> operationName + " " + name);
     }
     return operationName;
   }
@@ -0,0 +1,35 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.hibernate;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import javax.annotation.Nullable;
+
+class HibernateSummaryAttributesExtractor implements AttributesExtractor<HibernateOperation, Void> {
+
+  private static final AttributeKey<Long> OPERATION_COUNT =
+      AttributeKey.longKey("hibernate.operation.count");
+
+  @Override
+  public void onStart(
+      AttributesBuilder attributes, Context parentContext, HibernateOperation hibernateOperation) {
+    int operationCount = hibernateOperation.getSummarizedOperationCount();
+    if (operationCount > 0) {
+      attributes.put(OPERATION_COUNT, (long) operationCount);
+    }
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      HibernateOperation hibernateOperation,
+      @Nullable Void unused,
+      @Nullable Throwable error) {}
+}
@@ -7,14 +7,20 @@ package io.opentelemetry.javaagent.instrumentation.hibernate;
 
 import io.opentelemetry.instrumentation.api.db.SqlStatementInfo;
 import io.opentelemetry.instrumentation.api.db.SqlStatementSanitizer;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
 public final class OperationNameUtil {
 
   private static final SqlStatementSanitizer sanitizer =
       SqlStatementSanitizer.create(CommonConfig.get().isStatementSanitizationEnabled());
 
+  // the operation names are built once per method instead of on every call, the sanitized queries
+  // are already cached by the sanitizer
+  private static final Cache<String, String> sessionMethodOperationNames = Cache.bounded(64);
+  private static final Cache<String, String> criteriaMethodOperationNames = Cache.bounded(64);
+
   public static String getOperationNameForQuery(String query) {
     // set operation to default value that is used when sql sanitizer fails to extract
     // operation name
@@ -30,23 +36,40 @@ public final class OperationNameUtil {
   }
 
   public static String getSessionMethodOperationName(String methodName) {
-    if ("fireLock".equals(methodName)) {
-      return "Session.lock";
-    }
-    return "Session." + methodName;
+    return sessionMethodOperationNames.computeIfAbsent(
+        methodName,
+        name -> {
+          if ("fireLock".equals(name)) {
+            return "Session.lock";
+          }
+          return "Session." + name;
+        });
+  }
+
+  public static String getCriteriaMethodOperationName(String methodName) {
+    return criteriaMethodOperationNames.computeIfAbsent(methodName, name -> "Criteria." + name);
   }
 
-  public static String getEntityName(
-      String descriptor, Object arg0, Object arg1, Function<Object, String> nameFromEntity) {
+  /**
+   * Returns the entity name of a session method call. The entity name is guessed from the entity
+   * by {@code nameFromEntity}, which is passed the session and the entity, so that callers can use
+   * a constant function instead of allocating one per call.
+   */
+  public static <S> String getEntityName(
+      String descriptor,
+      Object arg0,
+      Object arg1,
+      S session,
+      BiFunction<S, Object, String> nameFromEntity) {
     String entityName = null;
     // methods like save(String entityName, Object object)
     // that take entity name as first argument and entity as second
     // if given entity name is null compute it from entity object
     if (descriptor.startsWith("(Ljava/lang/String;Ljava/lang/Object;")) {
-      entityName = arg0 == null ? nameFromEntity.apply(arg1) : (String) arg0;
+      entityName = arg0 == null ? nameFromEntity.apply(session, arg1) : (String) arg0;
       // methods like save(Object obj)
     } else if (descriptor.startsWith("(Ljava/lang/Object;")) {
-      entityName = nameFromEntity.apply(arg0);
+      entityName = nameFromEntity.apply(session, arg0);
       // methods like get(String entityName, Serializable id)
     } else if (descriptor.startsWith("(Ljava/lang/String;")) {
       entityName = (String) arg0;
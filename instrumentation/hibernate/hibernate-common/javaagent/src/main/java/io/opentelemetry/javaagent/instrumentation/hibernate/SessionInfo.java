@@ -7,10 +7,18 @@ package io.opentelemetry.javaagent.instrumentation.hibernate;
 
 import static io.opentelemetry.javaagent.instrumentation.hibernate.HibernateInstrumenterFactory.CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES;
 
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.UUID;
+import javax.annotation.Nullable;
 
+/**
+ * The state of a session, which is attached to the session and to the queries, criteria and
+ * transactions created by it.
+ */
 public class SessionInfo {
   private final String sessionId;
+  // a session is used by a single thread at a time
+  @Nullable private TransactionSummary transactionSummary;
 
   public SessionInfo() {
     sessionId = generateSessionId();
@@ -20,6 +28,40 @@ public class SessionInfo {
     return sessionId;
   }
 
+  @Nullable
+  TransactionSummary getTransactionSummary() {
+    return transactionSummary;
+  }
+
+  /**
+   * Starts summarizing the operations of the session, when a transaction was started and summary
+   * spans are enabled. Does nothing when the transaction is already summarized, e.g. because
+   * {@code beginTransaction()} calls {@code Transaction.begin()}.
+   */
+  public static void beginTransaction(@Nullable SessionInfo sessionInfo) {
+    if (sessionInfo != null
+        && TransactionSummary.isEnabled()
+        && sessionInfo.transactionSummary == null) {
+      sessionInfo.transactionSummary = new TransactionSummary();
+    }
+  }
+
+  /**
+   * Records the summary spans of the transaction of the session, once it ended or the session was
+   * closed.
+   */
+  public static void endTransaction(
+      @Nullable SessionInfo sessionInfo, Instrumenter<HibernateOperation, Void> instrumenter) {
+    if (sessionInfo == null) {
+      return;
+    }
+    TransactionSummary summary = sessionInfo.transactionSummary;
+    if (summary != null) {
+      sessionInfo.transactionSummary = null;
+      summary.end(sessionInfo, instrumenter);
+    }
+  }
+
   private static String generateSessionId() {
     if (!CAPTURE_EXPERIMENTAL_SPAN_ATTRIBUTES) {
       return null;
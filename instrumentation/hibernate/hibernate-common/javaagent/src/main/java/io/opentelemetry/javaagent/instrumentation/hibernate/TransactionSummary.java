@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.hibernate;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
+import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Summarizes the repeated operations of a transaction, e.g. saving thousands of entities of the
+ * same type in a batch job. The first operation with a given span name gets its own span, the
+ * following ones are recorded in a single summary span with the same name, which is started when
+ * the second operation started and ended when the last one ended. The summary spans are recorded
+ * when the transaction is committed or rolled back, or when the session is closed, and carry the
+ * number of operations they summarize in {@code hibernate.operation.count}.
+ *
+ * <p>The spans of the operations made by a summarized operation, e.g. JDBC spans, are children of
+ * the span that was current when the operation was called.
+ */
+final class TransactionSummary {
+
+  private static final boolean ENABLED =
+      InstrumentationConfig.get()
+          .getBoolean("otel.instrumentation.hibernate.experimental-transaction-summary", false);
+
+  // span name -> operations with that name after the first one, null while there was only one
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /** Returns the summary the operation is added to, or {@code null} for the first operation. */
+  @Nullable
+  Entry add(HibernateOperation operation) {
+    String spanName = operation.getName();
+    if (!entries.containsKey(spanName)) {
+      entries.put(spanName, null);
+      return null;
+    }
+    Entry entry = entries.get(spanName);
+    if (entry == null) {
+      entry = new Entry(spanName);
+      entries.put(spanName, entry);
+    }
+    entry.start();
+    return entry;
+  }
+
+  void end(SessionInfo sessionInfo, Instrumenter<HibernateOperation, Void> instrumenter) {
+    for (Entry entry : entries.values()) {
+      if (entry != null) {
+        entry.record(sessionInfo, instrumenter);
+      }
+    }
+    entries.clear();
+  }
+
+  static final class Entry {
+    private final String spanName;
+    @Nullable private Context parentContext;
+    @Nullable private Instant startTime;
+    @Nullable private Instant endTime;
+    @Nullable private Throwable error;
+    private int count;
+
+    private Entry(String spanName) {
+      this.spanName = spanName;
+    }
+
+    private void start() {
+      if (parentContext == null) {
+        parentContext = Context.current();
+        startTime = Instant.now();
+      }
+      count++;
+    }
+
+    void end(@Nullable Throwable throwable) {
+      endTime = Instant.now();
+      if (error == null) {
+        error = throwable;
+      }
+    }
+
+    private void record(
+        SessionInfo sessionInfo, Instrumenter<HibernateOperation, Void> instrumenter) {
+      Context parentContext = this.parentContext;
+      Instant startTime = this.startTime;
+      if (parentContext == null || startTime == null) {
+        return;
+      }
+      // an operation that is still running when the transaction ends ends with it
+      Instant endTime = this.endTime != null ? this.endTime : Instant.now();
+      HibernateOperation operation = new HibernateOperation(spanName, sessionInfo, count);
+      if (instrumenter.shouldStart(parentContext, operation)) {
+        InstrumenterUtil.startAndEnd(
+            instrumenter, parentContext, operation, null, error, startTime, endTime);
+      }
+    }
+  }
+}
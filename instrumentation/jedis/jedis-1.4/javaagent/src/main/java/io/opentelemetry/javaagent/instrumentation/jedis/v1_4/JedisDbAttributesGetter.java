@@ -14,7 +14,9 @@ import javax.annotation.Nullable;
 final class JedisDbAttributesGetter implements DbClientAttributesGetter<JedisRequest> {
 
   private static final RedisCommandSanitizer sanitizer =
-      RedisCommandSanitizer.create(CommonConfig.get().isStatementSanitizationEnabled());
+      RedisCommandSanitizer.create(
+          CommonConfig.get().isStatementSanitizationEnabled(),
+          CommonConfig.get().getRedisMaxStatementLength());
 
   @Override
   public String getSystem(JedisRequest request) {
@@ -29,7 +29,23 @@ dependencies {
 }
 
 tasks {
+  val testBatchSpans by registering(Test::class) {
+    filter {
+      includeTestsMatching("Jedis30BatchTest")
+    }
+    include("**/Jedis30BatchTest.*")
+    jvmArgs("-Dotel.instrumentation.jedis.experimental-batch-spans=true")
+    usesService(gradle.sharedServices.registrations["testcontainersBuildService"].getService())
+  }
+
   test {
+    filter {
+      excludeTestsMatching("Jedis30BatchTest")
+    }
     usesService(gradle.sharedServices.registrations["testcontainersBuildService"].getService())
   }
+
+  check {
+    dependsOn(testBatchSpans)
+  }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis.v3_0;
+
+import io.opentelemetry.instrumentation.api.instrumenter.net.InetSocketAddressNetClientAttributesGetter;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatch;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.net.InetSocketAddress;
+import javax.annotation.Nullable;
+
+// the commands of a pipeline are sent to the same connection, so its first command is used
+final class JedisBatchNetAttributesGetter
+    extends InetSocketAddressNetClientAttributesGetter<JedisBatch, Void> {
+
+  private final JedisNetAttributesGetter delegate = new JedisNetAttributesGetter();
+
+  @Override
+  public String getTransport(JedisBatch batch, @Nullable Void unused) {
+    return SemanticAttributes.NetTransportValues.IP_TCP;
+  }
+
+  @Nullable
+  @Override
+  public String getPeerName(JedisBatch batch) {
+    return delegate.getPeerName(batch.getFirstRequest(JedisRequest.class));
+  }
+
+  @Nullable
+  @Override
+  public Integer getPeerPort(JedisBatch batch) {
+    return delegate.getPeerPort(batch.getFirstRequest(JedisRequest.class));
+  }
+
+  @Override
+  @Nullable
+  protected InetSocketAddress getPeerSocketAddress(JedisBatch batch, @Nullable Void unused) {
+    return delegate.getPeerSocketAddress(batch.getFirstRequest(JedisRequest.class), unused);
+  }
+}
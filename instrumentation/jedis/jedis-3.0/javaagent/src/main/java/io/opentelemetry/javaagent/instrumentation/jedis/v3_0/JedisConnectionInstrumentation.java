@@ -6,6 +6,8 @@
 package io.opentelemetry.javaagent.instrumentation.jedis.v3_0;
 
 import static io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge.currentContext;
+import static io.opentelemetry.javaagent.instrumentation.jedis.v3_0.JedisSingletons.batchInstrumenter;
+import static io.opentelemetry.javaagent.instrumentation.jedis.v3_0.JedisSingletons.commandCounter;
 import static io.opentelemetry.javaagent.instrumentation.jedis.v3_0.JedisSingletons.instrumenter;
 import static java.util.Arrays.asList;
 import static net.bytebuddy.matcher.ElementMatchers.is;
@@ -18,6 +20,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatch;
 import io.opentelemetry.javaagent.instrumentation.jedis.JedisRequestContext;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
@@ -55,6 +58,17 @@ public class JedisConnectionInstrumentation implements TypeInstrumentation {
         @Advice.Local("otelScope") Scope scope) {
       Context parentContext = currentContext();
       request = JedisRequest.create(connection, command, asList(args));
+      JedisBatch batch = JedisBatch.current();
+      if (batch != null) {
+        // sent by a pipeline, recorded in the span of the pipeline
+        batch.addCommand(
+            batchInstrumenter(),
+            commandCounter(),
+            request,
+            request.getOperation(),
+            request.getArgs());
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, request)) {
         return;
       }
@@ -12,6 +12,8 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisMultiInstrumentation;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisPipelineInstrumentation;
 import java.util.List;
 import net.bytebuddy.matcher.ElementMatcher;
 
@@ -32,6 +34,10 @@ public class JedisInstrumentationModule extends InstrumentationModule {
 
   @Override
   public List<TypeInstrumentation> typeInstrumentations() {
-    return asList(new JedisConnectionInstrumentation(), new JedisInstrumentation());
+    return asList(
+        new JedisConnectionInstrumentation(),
+        new JedisInstrumentation(),
+        new JedisMultiInstrumentation(),
+        new JedisPipelineInstrumentation());
   }
 }
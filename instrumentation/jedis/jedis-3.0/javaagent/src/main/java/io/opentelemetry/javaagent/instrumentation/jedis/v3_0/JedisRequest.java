@@ -18,7 +18,9 @@ import redis.clients.jedis.commands.ProtocolCommand;
 public abstract class JedisRequest {
 
   private static final RedisCommandSanitizer sanitizer =
-      RedisCommandSanitizer.create(CommonConfig.get().isStatementSanitizationEnabled());
+      RedisCommandSanitizer.create(
+          CommonConfig.get().isStatementSanitizationEnabled(),
+          CommonConfig.get().getRedisMaxStatementLength());
 
   public static JedisRequest create(
       Connection connection, ProtocolCommand command, List<byte[]> args) {
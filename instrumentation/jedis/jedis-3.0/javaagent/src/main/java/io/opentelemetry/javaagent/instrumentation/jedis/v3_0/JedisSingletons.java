@@ -6,6 +6,8 @@
 package io.opentelemetry.javaagent.instrumentation.jedis.v3_0;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.db.DbClientAttributesExtractor;
@@ -13,11 +15,16 @@ import io.opentelemetry.instrumentation.api.instrumenter.db.DbClientSpanNameExtr
 import io.opentelemetry.instrumentation.api.instrumenter.net.NetClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.net.PeerServiceAttributesExtractor;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatch;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatchAttributesExtractor;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatchDbAttributesGetter;
 
 public final class JedisSingletons {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.jedis-3.0";
 
   private static final Instrumenter<JedisRequest, Void> INSTRUMENTER;
+  private static final Instrumenter<JedisBatch, Void> BATCH_INSTRUMENTER;
+  private static final LongCounter COMMAND_COUNTER;
 
   static {
     JedisDbAttributesGetter dbAttributesGetter = new JedisDbAttributesGetter();
@@ -34,11 +41,38 @@ public final class JedisSingletons {
                 PeerServiceAttributesExtractor.create(
                     netAttributesGetter, CommonConfig.get().getPeerServiceMapping()))
             .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+    JedisBatchDbAttributesGetter batchDbAttributesGetter = new JedisBatchDbAttributesGetter();
+    JedisBatchNetAttributesGetter batchNetAttributesGetter = new JedisBatchNetAttributesGetter();
+
+    BATCH_INSTRUMENTER =
+        Instrumenter.<JedisBatch, Void>builder(
+                GlobalOpenTelemetry.get(),
+                INSTRUMENTATION_NAME,
+                DbClientSpanNameExtractor.create(batchDbAttributesGetter))
+            .addAttributesExtractor(DbClientAttributesExtractor.create(batchDbAttributesGetter))
+            .addAttributesExtractor(new JedisBatchAttributesExtractor())
+            .addAttributesExtractor(NetClientAttributesExtractor.create(batchNetAttributesGetter))
+            .addAttributesExtractor(
+                PeerServiceAttributesExtractor.create(
+                    batchNetAttributesGetter, CommonConfig.get().getPeerServiceMapping()))
+            .buildInstrumenter(SpanKindExtractor.alwaysClient());
+
+    COMMAND_COUNTER =
+        RedisBatchSummary.createCommandCounter(GlobalOpenTelemetry.getMeter(INSTRUMENTATION_NAME));
   }
 
   public static Instrumenter<JedisRequest, Void> instrumenter() {
     return INSTRUMENTER;
   }
 
+  public static Instrumenter<JedisBatch, Void> batchInstrumenter() {
+    return BATCH_INSTRUMENTER;
+  }
+
+  public static LongCounter commandCounter() {
+    return COMMAND_COUNTER;
+  }
+
   private JedisSingletons() {}
 }
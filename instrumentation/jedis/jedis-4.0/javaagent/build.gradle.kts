@@ -25,9 +25,26 @@ dependencies {
 }
 
 tasks {
+  val testBatchSpans by registering(Test::class) {
+    filter {
+      includeTestsMatching("Jedis40BatchTest")
+    }
+    include("**/Jedis40BatchTest.*")
+    jvmArgs("-Dotel.instrumentation.jedis.experimental-batch-spans=true")
+    jvmArgs("-Djava.net.preferIPv4Stack=true")
+    usesService(gradle.sharedServices.registrations["testcontainersBuildService"].getService())
+  }
+
   test {
+    filter {
+      excludeTestsMatching("Jedis40BatchTest")
+    }
     // latest dep test fails because peer ip is 0:0:0:0:0:0:0:1 instead of 127.0.0.1
     jvmArgs("-Djava.net.preferIPv4Stack=true")
     usesService(gradle.sharedServices.registrations["testcontainersBuildService"].getService())
   }
+
+  check {
+    dependsOn(testBatchSpans)
+  }
 }
@@ -6,6 +6,8 @@
 package io.opentelemetry.javaagent.instrumentation.jedis.v4_0;
 
 import static io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge.currentContext;
+import static io.opentelemetry.javaagent.instrumentation.jedis.v4_0.JedisSingletons.batchInstrumenter;
+import static io.opentelemetry.javaagent.instrumentation.jedis.v4_0.JedisSingletons.commandCounter;
 import static io.opentelemetry.javaagent.instrumentation.jedis.v4_0.JedisSingletons.instrumenter;
 import static java.util.Arrays.asList;
 import static net.bytebuddy.matcher.ElementMatchers.is;
@@ -18,6 +20,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import io.opentelemetry.javaagent.instrumentation.jedis.JedisBatch;
 import io.opentelemetry.javaagent.instrumentation.jedis.JedisRequestContext;
 import java.net.Socket;
 import net.bytebuddy.asm.Advice;
@@ -62,6 +65,17 @@ public class JedisConnectionInstrumentation implements TypeInstrumentation {
         @Advice.Local("otelScope") Scope scope) {
       Context parentContext = currentContext();
       request = JedisRequest.create(command, asList(args));
+      JedisBatch batch = JedisBatch.current();
+      if (batch != null) {
+        // sent by a pipeline, recorded in the span of the pipeline
+        batch.addCommand(
+            batchInstrumenter(),
+            commandCounter(),
+            request,
+            request.getOperation(),
+            request.getArgs());
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, request)) {
         return;
       }
@@ -78,6 +92,10 @@ public class JedisConnectionInstrumentation implements TypeInstrumentation {
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
       if (scope == null) {
+        if (request != null && JedisBatch.current() != null) {
+          // the first command of a pipeline provides the network attributes of its span
+          request.setSocket(socket);
+        }
         return;
       }
 
@@ -99,6 +117,17 @@ public class JedisConnectionInstrumentation implements TypeInstrumentation {
         @Advice.Local("otelScope") Scope scope) {
       Context parentContext = currentContext();
       request = JedisRequest.create(command);
+      JedisBatch batch = JedisBatch.current();
+      if (batch != null) {
+        // sent by a pipeline, recorded in the span of the pipeline
+        batch.addCommand(
+            batchInstrumenter(),
+            commandCounter(),
+            request,
+            request.getOperation(),
+            request.getArgs());
+        return;
+      }
       if (!instrumenter().shouldStart(parentContext, request)) {
         return;
       }
@@ -115,6 +144,10 @@ public class JedisConnectionInstrumentation implements TypeInstrumentation {
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
       if (scope == null) {
+        if (request != null && JedisBatch.current() != null) {
+          // the first command of a pipeline provides the network attributes of its span
+          request.setSocket(socket);
+        }
         return;
       }
 
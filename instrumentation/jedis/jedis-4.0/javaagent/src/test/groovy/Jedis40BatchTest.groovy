@@ -0,0 +1,162 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import io.opentelemetry.instrumentation.test.AgentInstrumentationSpecification
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.testcontainers.containers.GenericContainer
+import redis.clients.jedis.Jedis
+import spock.lang.Shared
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+
+// runs with -Dotel.instrumentation.jedis.experimental-batch-spans=true
+class Jedis40BatchTest extends AgentInstrumentationSpecification {
+
+  private static GenericContainer redisServer = new GenericContainer<>("redis:6.2.3-alpine").withExposedPorts(6379)
+
+  @Shared
+  int port
+
+  @Shared
+  Jedis jedis
+
+  def setupSpec() {
+    redisServer.start()
+    port = redisServer.getMappedPort(6379)
+    jedis = new Jedis("localhost", port)
+  }
+
+  def cleanupSpec() {
+    redisServer.stop()
+    jedis.close()
+  }
+
+  def setup() {
+    jedis.flushAll()
+    clearExportedData()
+  }
+
+  def "pipeline"() {
+    when:
+    def values = runWithSpan("parent") {
+      def pipeline = jedis.pipelined()
+      pipeline.set("foo", "bar")
+      pipeline.set("baz", "qux")
+      pipeline.get("foo")
+      pipeline.syncAndReturnAll()
+    }
+
+    then:
+    values == ["OK", "OK", "bar"]
+
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "PIPELINE"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "SET foo ?\nSET baz ?\nGET foo"
+            "$SemanticAttributes.DB_OPERATION" "PIPELINE"
+            "$SemanticAttributes.NET_TRANSPORT" SemanticAttributes.NetTransportValues.IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" { it == "localhost" || it == "127.0.0.1" }
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+            "db.redis.batch.command_count" 3
+            "db.redis.batch.command_types" ["SET=2", "GET=1"]
+          }
+        }
+      }
+    }
+  }
+
+  def "transaction"() {
+    when:
+    def values = runWithSpan("parent") {
+      def transaction = jedis.multi()
+      transaction.set("foo", "bar")
+      transaction.get("foo")
+      transaction.exec()
+    }
+
+    then:
+    values == ["OK", "bar"]
+
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "MULTI"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "MULTI\nSET foo ?\nGET foo\nEXEC"
+            "$SemanticAttributes.DB_OPERATION" "MULTI"
+            "$SemanticAttributes.NET_TRANSPORT" SemanticAttributes.NetTransportValues.IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" { it == "localhost" || it == "127.0.0.1" }
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+            "db.redis.batch.command_count" 4
+            "db.redis.batch.command_types" ["MULTI=1", "SET=1", "GET=1", "EXEC=1"]
+          }
+        }
+      }
+    }
+  }
+
+  def "commands outside of a pipeline get their own spans"() {
+    when:
+    def pipeline = jedis.pipelined()
+    pipeline.set("foo", "bar")
+    pipeline.sync()
+    def value = jedis.get("foo")
+
+    then:
+    value == "bar"
+
+    assertTraces(2) {
+      trace(0, 1) {
+        span(0) {
+          name "SET"
+          kind CLIENT
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "SET foo ?"
+            "$SemanticAttributes.DB_OPERATION" "SET"
+            "$SemanticAttributes.NET_TRANSPORT" SemanticAttributes.NetTransportValues.IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" { it == "localhost" || it == "127.0.0.1" }
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+          }
+        }
+      }
+      trace(1, 1) {
+        span(0) {
+          name "GET"
+          kind CLIENT
+          attributes {
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "GET foo"
+            "$SemanticAttributes.DB_OPERATION" "GET"
+            "$SemanticAttributes.NET_TRANSPORT" SemanticAttributes.NetTransportValues.IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" { it == "localhost" || it == "127.0.0.1" }
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+          }
+        }
+      }
+    }
+  }
+}
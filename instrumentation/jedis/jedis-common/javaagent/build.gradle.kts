@@ -1,3 +1,7 @@
 plugins {
   id("otel.javaagent-instrumentation")
 }
+
+dependencies {
+  compileOnly("redis.clients:jedis:3.0.0")
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
+import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
+import java.time.Instant;
+import java.util.List;
+import javax.annotation.Nullable;
+import redis.clients.jedis.Queable;
+
+/**
+ * The commands sent through a {@code Pipeline} or {@code Transaction}, which are recorded as a
+ * single span when the pipeline is synced or the transaction is executed. A batch is attached to
+ * its pipeline and becomes the current batch of the thread while a method of the pipeline runs, so
+ * that the commands sent by the method are added to it instead of getting their own span. The
+ * version specific instrumentation of the connection adds the commands together with the
+ * instrumenter that records the batch.
+ */
+public final class JedisBatch {
+
+  private static final boolean ENABLED =
+      InstrumentationConfig.get()
+          .getBoolean("otel.instrumentation.jedis.experimental-batch-spans", false);
+  private static final int STATEMENT_LIMIT =
+      InstrumentationConfig.get().getInt("otel.instrumentation.jedis.batch-statement-limit", 10);
+  private static final RedisCommandSanitizer sanitizer =
+      RedisCommandSanitizer.create(
+          CommonConfig.get().isStatementSanitizationEnabled(),
+          CommonConfig.get().getRedisMaxStatementLength());
+
+  private static final ThreadLocal<JedisBatch> currentBatch = new ThreadLocal<>();
+
+  // a pipeline is used by a single thread at a time, like the connection it sends the commands to
+  @Nullable private Instrumenter<JedisBatch, Void> instrumenter;
+  @Nullable private LongCounter commandCounter;
+  @Nullable private Context parentContext;
+  @Nullable private Instant startTime;
+  @Nullable private Object firstRequest;
+  @Nullable private RedisBatchSummary summary;
+
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /** Returns the batch of the given pipeline, attaches a new batch if it has none yet. */
+  public static JedisBatch attachedTo(
+      VirtualField<Queable, JedisBatch> virtualField, Queable pipeline) {
+    JedisBatch batch = virtualField.get(pipeline);
+    if (batch == null) {
+      batch = new JedisBatch();
+      virtualField.set(pipeline, batch);
+    }
+    return batch;
+  }
+
+  /** Makes the given batch the current one, returns the batch that was current before. */
+  @Nullable
+  public static JedisBatch enter(JedisBatch batch) {
+    JedisBatch previous = currentBatch.get();
+    currentBatch.set(batch);
+    return previous;
+  }
+
+  /** Restores the batch that was returned by {@link #enter(JedisBatch)}. */
+  public static void exit(@Nullable JedisBatch previous) {
+    if (previous == null) {
+      currentBatch.remove();
+    } else {
+      currentBatch.set(previous);
+    }
+  }
+
+  @Nullable
+  public static JedisBatch current() {
+    return currentBatch.get();
+  }
+
+  public void addCommand(
+      Instrumenter<JedisBatch, Void> instrumenter,
+      LongCounter commandCounter,
+      Object request,
+      String operation,
+      List<byte[]> args) {
+    RedisBatchSummary summary = this.summary;
+    if (summary == null) {
+      this.instrumenter = instrumenter;
+      this.commandCounter = commandCounter;
+      parentContext = Context.current();
+      startTime = Instant.now();
+      firstRequest = request;
+      summary = new RedisBatchSummary(sanitizer, STATEMENT_LIMIT);
+      this.summary = summary;
+    }
+    summary.addCommand(operation, args);
+  }
+
+  public <T> T getFirstRequest(Class<T> type) {
+    return type.cast(firstRequest);
+  }
+
+  public RedisBatchSummary getSummary() {
+    RedisBatchSummary summary = this.summary;
+    if (summary == null) {
+      throw new IllegalStateException("No commands were added to the batch");
+    }
+    return summary;
+  }
+
+  /**
+   * Records the commands added since the batch was last ended, if any, and starts a new batch. Does
+   * nothing when no command was added, e.g. when {@code close()} syncs an already synced pipeline.
+   */
+  public void end(@Nullable Throwable throwable) {
+    Instrumenter<JedisBatch, Void> instrumenter = this.instrumenter;
+    LongCounter commandCounter = this.commandCounter;
+    RedisBatchSummary summary = this.summary;
+    Context parentContext = this.parentContext;
+    Instant startTime = this.startTime;
+    if (instrumenter == null
+        || commandCounter == null
+        || summary == null
+        || parentContext == null
+        || startTime == null) {
+      return;
+    }
+    if (instrumenter.shouldStart(parentContext, this)) {
+      InstrumenterUtil.startAndEnd(
+          instrumenter, parentContext, this, null, throwable, startTime, Instant.now());
+    }
+    summary.recordCommands(commandCounter);
+
+    this.instrumenter = null;
+    this.commandCounter = null;
+    this.summary = null;
+    this.parentContext = null;
+    this.startTime = null;
+    this.firstRequest = null;
+  }
+}
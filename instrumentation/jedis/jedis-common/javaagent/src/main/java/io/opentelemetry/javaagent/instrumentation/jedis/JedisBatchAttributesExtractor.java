@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis;
+
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import javax.annotation.Nullable;
+
+public final class JedisBatchAttributesExtractor implements AttributesExtractor<JedisBatch, Void> {
+
+  @Override
+  public void onStart(AttributesBuilder attributes, Context parentContext, JedisBatch batch) {
+    batch.getSummary().addAttributes(attributes);
+  }
+
+  @Override
+  public void onEnd(
+      AttributesBuilder attributes,
+      Context context,
+      JedisBatch batch,
+      @Nullable Void unused,
+      @Nullable Throwable error) {}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis;
+
+import io.opentelemetry.instrumentation.api.instrumenter.db.DbClientAttributesGetter;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import javax.annotation.Nullable;
+
+public final class JedisBatchDbAttributesGetter implements DbClientAttributesGetter<JedisBatch> {
+
+  @Override
+  public String getSystem(JedisBatch batch) {
+    return SemanticAttributes.DbSystemValues.REDIS;
+  }
+
+  @Override
+  @Nullable
+  public String getUser(JedisBatch batch) {
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public String getName(JedisBatch batch) {
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public String getConnectionString(JedisBatch batch) {
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public String getStatement(JedisBatch batch) {
+    return batch.getSummary().getStatement();
+  }
+
+  @Override
+  @Nullable
+  public String getOperation(JedisBatch batch) {
+    return batch.getSummary().getOperation();
+  }
+}
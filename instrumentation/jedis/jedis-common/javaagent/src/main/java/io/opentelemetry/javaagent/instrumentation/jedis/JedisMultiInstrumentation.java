@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+import static net.bytebuddy.matcher.ElementMatchers.takesNoArguments;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import redis.clients.jedis.Queable;
+
+// multi() sends MULTI before it returns the Transaction, the MULTI is added to the batch of the
+// transaction so that the whole transaction is recorded in one span
+public class JedisMultiInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<ClassLoader> classLoaderOptimization() {
+    return hasClassesNamed("redis.clients.jedis.Queable");
+  }
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    // BinaryJedis in 3.x, Jedis in 4.x
+    return namedOneOf("redis.clients.jedis.BinaryJedis", "redis.clients.jedis.Jedis");
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    transformer.applyAdviceToMethod(
+        isMethod().and(isPublic()).and(named("multi")).and(takesNoArguments()),
+        this.getClass().getName() + "$MultiAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class MultiAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (!JedisBatch.isEnabled()) {
+        return;
+      }
+      batch = new JedisBatch();
+      previousBatch = JedisBatch.enter(batch);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Return Object transaction,
+        @Advice.Thrown Throwable throwable,
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (batch == null) {
+        return;
+      }
+      JedisBatch.exit(previousBatch);
+      if (throwable == null && transaction instanceof Queable) {
+        VirtualField.find(Queable.class, JedisBatch.class).set((Queable) transaction, batch);
+      } else {
+        batch.end(throwable);
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.jedis;
+
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.extendsClass;
+import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static net.bytebuddy.matcher.ElementMatchers.returns;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import redis.clients.jedis.Queable;
+
+// Pipeline and Transaction of Jedis 3.0+
+public class JedisPipelineInstrumentation implements TypeInstrumentation {
+
+  @Override
+  public ElementMatcher<ClassLoader> classLoaderOptimization() {
+    return hasClassesNamed("redis.clients.jedis.Queable");
+  }
+
+  @Override
+  public ElementMatcher<TypeDescription> typeMatcher() {
+    return extendsClass(named("redis.clients.jedis.Queable"));
+  }
+
+  @Override
+  public void transform(TypeTransformer transformer) {
+    // the methods that queue a command return the response of the command
+    transformer.applyAdviceToMethod(
+        isMethod()
+            .and(isPublic())
+            .and(not(isStatic()))
+            .and(returns(named("redis.clients.jedis.Response"))),
+        this.getClass().getName() + "$CommandAdvice");
+    // the methods that read the responses of the queued commands
+    transformer.applyAdviceToMethod(
+        isMethod()
+            .and(isPublic())
+            .and(not(isStatic()))
+            .and(
+                namedOneOf(
+                    "sync", "syncAndReturnAll", "exec", "execGetResponse", "discard", "close")),
+        this.getClass().getName() + "$EndAdvice");
+  }
+
+  @SuppressWarnings("unused")
+  public static class CommandAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.This Queable pipeline,
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (!JedisBatch.isEnabled()) {
+        return;
+      }
+      batch = JedisBatch.attachedTo(VirtualField.find(Queable.class, JedisBatch.class), pipeline);
+      previousBatch = JedisBatch.enter(batch);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (batch != null) {
+        JedisBatch.exit(previousBatch);
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class EndAdvice {
+
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.This Queable pipeline,
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (!JedisBatch.isEnabled()) {
+        return;
+      }
+      batch = JedisBatch.attachedTo(VirtualField.find(Queable.class, JedisBatch.class), pipeline);
+      previousBatch = JedisBatch.enter(batch);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(
+        @Advice.Thrown Throwable throwable,
+        @Advice.Local("otelBatch") JedisBatch batch,
+        @Advice.Local("otelPreviousBatch") JedisBatch previousBatch) {
+      if (batch != null) {
+        JedisBatch.exit(previousBatch);
+        batch.end(throwable);
+      }
+    }
+  }
+}
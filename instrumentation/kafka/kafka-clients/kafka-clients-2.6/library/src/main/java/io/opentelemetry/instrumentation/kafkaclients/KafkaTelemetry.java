@@ -15,6 +15,7 @@ import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.context.propagation.TextMapSetter;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaConsumerRecordGetter;
 import io.opentelemetry.instrumentation.kafka.internal.KafkaHeadersSetter;
 import io.opentelemetry.instrumentation.kafka.internal.OpenTelemetryMetricsReporter;
@@ -184,7 +185,7 @@ public final class KafkaTelemetry {
     Context context = producerInstrumenter.start(parentContext, record);
     if (producerPropagationEnabled) {
       try {
-        propagator().inject(context, record.headers(), SETTER);
+        TraceparentBytesPropagation.inject(propagator(), context, record.headers(), SETTER);
       } catch (Throwable t) {
         // it can happen if headers are read only (when record is sent second time)
         logger.log(WARNING, "failed to inject span context. sending record second time?", t);
@@ -211,7 +212,7 @@ public final class KafkaTelemetry {
 
     Context context = producerInstrumenter.start(parentContext, record);
     try (Scope ignored = context.makeCurrent()) {
-      propagator().inject(context, record.headers(), SETTER);
+      TraceparentBytesPropagation.inject(propagator(), context, record.headers(), SETTER);
       callback = new ProducerCallback(callback, parentContext, context, record);
       return sendFn.apply(record, callback);
     }
@@ -220,7 +221,8 @@ public final class KafkaTelemetry {
   <K, V> void buildAndFinishSpan(ConsumerRecords<K, V> records) {
     Context currentContext = Context.current();
     for (ConsumerRecord<K, V> record : records) {
-      Context linkedContext = propagator().extract(currentContext, record, GETTER);
+      Context linkedContext =
+          TraceparentBytesPropagation.extract(propagator(), currentContext, record, GETTER);
       Context newContext = currentContext.with(Span.fromContext(linkedContext));
 
       if (!consumerProcessInstrumenter.shouldStart(newContext, record)) {
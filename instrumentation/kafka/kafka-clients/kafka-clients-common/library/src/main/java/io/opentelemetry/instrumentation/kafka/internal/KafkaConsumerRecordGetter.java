@@ -5,7 +5,7 @@
 
 package io.opentelemetry.instrumentation.kafka.internal;
 
-import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -17,7 +17,8 @@ import org.apache.kafka.common.header.Header;
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
  */
-public enum KafkaConsumerRecordGetter implements TextMapGetter<ConsumerRecord<?, ?>> {
+public enum KafkaConsumerRecordGetter
+    implements TraceparentBytesPropagation.BytesGetter<ConsumerRecord<?, ?>> {
   INSTANCE;
 
   @Override
@@ -30,14 +31,20 @@ public enum KafkaConsumerRecordGetter implements TextMapGetter<ConsumerRecord<?,
   @Nullable
   @Override
   public String get(@Nullable ConsumerRecord<?, ?> carrier, String key) {
-    Header header = carrier.headers().lastHeader(key);
-    if (header == null) {
-      return null;
-    }
-    byte[] value = header.value();
+    byte[] value = getBytes(carrier, key);
     if (value == null) {
       return null;
     }
     return new String(value, StandardCharsets.UTF_8);
   }
+
+  @Nullable
+  @Override
+  public byte[] getBytes(@Nullable ConsumerRecord<?, ?> carrier, String key) {
+    Header header = carrier.headers().lastHeader(key);
+    if (header == null) {
+      return null;
+    }
+    return header.value();
+  }
 }
@@ -5,7 +5,7 @@
 
 package io.opentelemetry.instrumentation.kafka.internal;
 
-import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -17,7 +17,7 @@ import org.apache.kafka.common.header.Headers;
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
  */
-public final class KafkaHeadersGetter implements TextMapGetter<Headers> {
+public final class KafkaHeadersGetter implements TraceparentBytesPropagation.BytesGetter<Headers> {
   @Override
   public Iterable<String> keys(Headers carrier) {
     return StreamSupport.stream(carrier.spliterator(), false)
@@ -28,14 +28,20 @@ public final class KafkaHeadersGetter implements TextMapGetter<Headers> {
   @Nullable
   @Override
   public String get(@Nullable Headers carrier, String key) {
-    Header header = carrier.lastHeader(key);
-    if (header == null) {
-      return null;
-    }
-    byte[] value = header.value();
+    byte[] value = getBytes(carrier, key);
     if (value == null) {
       return null;
     }
     return new String(value, StandardCharsets.UTF_8);
   }
+
+  @Nullable
+  @Override
+  public byte[] getBytes(@Nullable Headers carrier, String key) {
+    Header header = carrier.lastHeader(key);
+    if (header == null) {
+      return null;
+    }
+    return header.value();
+  }
 }
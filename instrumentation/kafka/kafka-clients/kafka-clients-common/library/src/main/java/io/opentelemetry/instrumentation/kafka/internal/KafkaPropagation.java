@@ -7,6 +7,7 @@ package io.opentelemetry.instrumentation.kafka.internal;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import org.apache.kafka.clients.ApiVersions;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.record.RecordBatch;
@@ -51,9 +52,11 @@ public final class KafkaPropagation {
   }
 
   private static <K, V> void inject(Context context, ProducerRecord<K, V> record) {
-    GlobalOpenTelemetry.getPropagators()
-        .getTextMapPropagator()
-        .inject(context, record.headers(), SETTER);
+    TraceparentBytesPropagation.inject(
+        GlobalOpenTelemetry.getPropagators().getTextMapPropagator(),
+        context,
+        record.headers(),
+        SETTER);
   }
 
   private KafkaPropagation() {}
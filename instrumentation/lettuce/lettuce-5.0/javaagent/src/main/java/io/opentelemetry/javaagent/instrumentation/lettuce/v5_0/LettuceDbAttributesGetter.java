@@ -18,7 +18,9 @@ import javax.annotation.Nullable;
 final class LettuceDbAttributesGetter implements DbClientAttributesGetter<RedisCommand<?, ?, ?>> {
 
   private static final RedisCommandSanitizer sanitizer =
-      RedisCommandSanitizer.create(CommonConfig.get().isStatementSanitizationEnabled());
+      RedisCommandSanitizer.create(
+          CommonConfig.get().isStatementSanitizationEnabled(),
+          CommonConfig.get().getRedisMaxStatementLength());
 
   @Override
   public String getSystem(RedisCommand<?, ?, ?> request) {
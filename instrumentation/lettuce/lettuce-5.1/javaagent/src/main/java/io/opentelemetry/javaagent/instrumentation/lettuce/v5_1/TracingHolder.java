@@ -8,11 +8,22 @@ package io.opentelemetry.javaagent.instrumentation.lettuce.v5_1;
 import io.lettuce.core.tracing.Tracing;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.lettuce.v5_1.LettuceTelemetry;
+import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
+import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
 
 public final class TracingHolder {
 
   public static final Tracing TRACING =
-      LettuceTelemetry.create(GlobalOpenTelemetry.get()).newTracing();
+      LettuceTelemetry.builder(GlobalOpenTelemetry.get())
+          .setMaxStatementLength(CommonConfig.get().getRedisMaxStatementLength())
+          .setBatchSpansEnabled(
+              InstrumentationConfig.get()
+                  .getBoolean("otel.instrumentation.lettuce.experimental-batch-spans", false))
+          .setBatchStatementLimit(
+              InstrumentationConfig.get()
+                  .getInt("otel.instrumentation.lettuce.batch-statement-limit", 10))
+          .build()
+          .newTracing();
 
   private TracingHolder() {}
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1;
+
+import static io.opentelemetry.instrumentation.lettuce.common.LettuceArgSplitter.splitArgs;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary;
+import io.opentelemetry.instrumentation.lettuce.v5_1.OpenTelemetryTracing.OpenTelemetryEndpoint;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes.DbSystemValues;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Records the commands that are in flight at the same time under the same parent context as a
+ * single span. Lettuce starts tracing a command when it writes the command to the connection, so
+ * the commands of a flush (e.g. when auto flushing is disabled) and the commands queued in a
+ * transaction are in flight together. The span ends when the last of its commands completed, a
+ * command that is sent while no other command of the parent is in flight gets a span on its own.
+ *
+ * <p>A transaction is kept in one batch from {@code MULTI} until {@code EXEC} or {@code DISCARD},
+ * also when the sync API waits for each command. A transaction that did not get a new command for
+ * {@link #MAX_TRANSACTION_IDLE_NANOS}, e.g. because its connection was closed or the application
+ * abandoned it, is ended with an error the next time a command is sent. Other batches stop taking
+ * new commands once they hold {@link #MAX_BATCH_COMMANDS} commands or are older than {@link
+ * #MAX_BATCH_AGE_NANOS}, so that the commands of a parent with steady traffic are split into
+ * several spans instead of a single span that never ends.
+ */
+final class CommandBatches {
+
+  static final int MAX_BATCH_COMMANDS = 1000;
+  static final long MAX_BATCH_AGE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  static final long MAX_TRANSACTION_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final Tracer tracer;
+  private final RedisCommandSanitizer sanitizer;
+  private final int statementLimit;
+  private final LongCounter commandCounter;
+  private final long maxTransactionIdleNanos;
+
+  // the batch of each parent context that takes new commands, batches that stopped taking commands
+  // are only referenced by their commands that are still in flight
+  private final ConcurrentMap<Context, Batch> openBatches = new ConcurrentHashMap<>();
+  // the open batches are checked for abandoned transactions at most once per idle period
+  private final AtomicLong lastAbandonedCheckNanos;
+
+  CommandBatches(
+      Tracer tracer,
+      RedisCommandSanitizer sanitizer,
+      int statementLimit,
+      LongCounter commandCounter) {
+    this(tracer, sanitizer, statementLimit, commandCounter, MAX_TRANSACTION_IDLE_NANOS);
+  }
+
+  // Visible for testing
+  CommandBatches(
+      Tracer tracer,
+      RedisCommandSanitizer sanitizer,
+      int statementLimit,
+      LongCounter commandCounter,
+      long maxTransactionIdleNanos) {
+    this.tracer = tracer;
+    this.sanitizer = sanitizer;
+    this.statementLimit = statementLimit;
+    this.commandCounter = commandCounter;
+    this.maxTransactionIdleNanos = maxTransactionIdleNanos;
+    this.lastAbandonedCheckNanos = new AtomicLong(System.nanoTime());
+  }
+
+  Batch join(
+      Context context,
+      String command,
+      @Nullable String args,
+      @Nullable OpenTelemetryEndpoint endpoint) {
+    long now = System.nanoTime();
+    endAbandonedTransactions(now);
+    Batch batch =
+        openBatches.compute(
+            context,
+            (key, existing) -> {
+              // a transaction starts a batch of its own
+              if (existing != null && !command.equals("MULTI") && existing.join(command, now)) {
+                return existing;
+              }
+              Batch created = new Batch(context, command, now);
+              created.join(command, now);
+              return created;
+            });
+    batch.addCommand(command, args, endpoint);
+    return batch;
+  }
+
+  void leave(
+      Context context,
+      Batch batch,
+      String command,
+      @Nullable Throwable throwable,
+      @Nullable String errorMessage) {
+    batch.recordError(throwable, errorMessage);
+    if (batch.leave(command, throwable, errorMessage)) {
+      openBatches.remove(context, batch);
+      batch.end();
+    }
+  }
+
+  private void endAbandonedTransactions(long now) {
+    long lastCheck = lastAbandonedCheckNanos.get();
+    if (now - lastCheck < maxTransactionIdleNanos
+        || !lastAbandonedCheckNanos.compareAndSet(lastCheck, now)) {
+      return;
+    }
+    for (Map.Entry<Context, Batch> entry : openBatches.entrySet()) {
+      Batch batch = entry.getValue();
+      if (batch.abandon(now)) {
+        openBatches.remove(entry.getKey(), batch);
+        batch.end();
+      }
+    }
+  }
+
+  // Visible for testing
+  int getOpenBatchCount() {
+    return openBatches.size();
+  }
+
+  private static boolean endsTransaction(String command) {
+    return command.equals("EXEC") || command.equals("DISCARD");
+  }
+
+  final class Batch {
+    private final Context parentContext;
+    private final Span span;
+    private final long startNanos;
+    private final RedisBatchSummary summary = new RedisBatchSummary(sanitizer, statementLimit);
+
+    // guarded by this
+    private int commands;
+    private int inFlight;
+    private boolean inTransaction;
+    private boolean closed;
+    private boolean ended;
+    private long lastJoinNanos;
+
+    private boolean endpointAdded;
+    private boolean errorRecorded;
+
+    private Batch(Context context, String command, long startNanos) {
+      parentContext = context;
+      this.startNanos = startNanos;
+      span =
+          tracer
+              .spanBuilder(command)
+              .setSpanKind(SpanKind.CLIENT)
+              .setParent(context)
+              .setAttribute(SemanticAttributes.DB_SYSTEM, DbSystemValues.REDIS)
+              .startSpan();
+    }
+
+    /** Returns whether the command was added to this batch. */
+    private synchronized boolean join(String command, long now) {
+      if (closed) {
+        return false;
+      }
+      if (!inTransaction
+          && (commands >= MAX_BATCH_COMMANDS || now - startNanos > MAX_BATCH_AGE_NANOS)) {
+        closed = true;
+        return false;
+      }
+      commands++;
+      inFlight++;
+      lastJoinNanos = now;
+      if (command.equals("MULTI")) {
+        // holds the batch open until the transaction ends, the commands of the sync API are sent
+        // one after the other
+        inTransaction = true;
+        inFlight++;
+      } else if (inTransaction && endsTransaction(command)) {
+        closed = true;
+      }
+      return true;
+    }
+
+    /** Returns whether this was the last command of the batch, which then has to be ended. */
+    private synchronized boolean leave(
+        String command, @Nullable Throwable throwable, @Nullable String errorMessage) {
+      if (ended) {
+        return false;
+      }
+      inFlight--;
+      // a failing MULTI did not start a transaction, a failing connection does not send EXEC
+      if (inTransaction
+          && (endsTransaction(command)
+              || throwable != null
+              || (command.equals("MULTI") && errorMessage != null))) {
+        inTransaction = false;
+        inFlight--;
+      }
+      if (inFlight == 0) {
+        closed = true;
+        ended = true;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Returns whether this batch is a transaction that did not get a new command for too long,
+     * which then has to be ended. The commands of the batch that are still in flight do not end it
+     * again.
+     */
+    private synchronized boolean abandon(long now) {
+      if (!inTransaction || ended || now - lastJoinNanos <= maxTransactionIdleNanos) {
+        return false;
+      }
+      inTransaction = false;
+      closed = true;
+      ended = true;
+      if (!errorRecorded) {
+        errorRecorded = true;
+        span.setStatus(StatusCode.ERROR, "The transaction was neither executed nor discarded");
+      }
+      return true;
+    }
+
+    private synchronized void addCommand(
+        String command, @Nullable String args, @Nullable OpenTelemetryEndpoint endpoint) {
+      summary.addCommand(command, summary.isCapturingStatements() ? splitArgs(args) : null);
+      if (!endpointAdded && endpoint != null) {
+        endpointAdded = true;
+        AttributesBuilder attributes = Attributes.builder();
+        OpenTelemetryTracing.netAttributesExtractor.onEnd(
+            attributes, parentContext, endpoint, null, null);
+        span.setAllAttributes(attributes.build());
+      }
+    }
+
+    private synchronized void recordError(
+        @Nullable Throwable throwable, @Nullable String errorMessage) {
+      if (ended || errorRecorded || (throwable == null && errorMessage == null)) {
+        return;
+      }
+      // only the first error, a failing connection fails all commands of a batch
+      errorRecorded = true;
+      if (throwable != null) {
+        span.recordException(throwable);
+      }
+      if (errorMessage != null) {
+        span.setStatus(StatusCode.ERROR, errorMessage);
+      } else {
+        span.setStatus(StatusCode.ERROR);
+      }
+    }
+
+    private synchronized void end() {
+      String operation = summary.getOperation();
+      if (operation != null) {
+        span.updateName(operation);
+      }
+      String statement = summary.getStatement();
+      if (statement != null) {
+        span.setAttribute(SemanticAttributes.DB_STATEMENT, statement);
+      }
+      AttributesBuilder attributes = Attributes.builder();
+      summary.addAttributes(attributes);
+      span.setAllAttributes(attributes.build());
+      span.end();
+      summary.recordCommands(commandCounter);
+    }
+  }
+}
@@ -7,10 +7,13 @@ package io.opentelemetry.instrumentation.lettuce.v5_1;
 
 import io.lettuce.core.tracing.Tracing;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.api.trace.TracerBuilder;
 import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer;
+import io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import javax.annotation.Nullable;
 
 /** Entrypoint for instrumenting Lettuce or clients. */
 public final class LettuceTelemetry {
@@ -31,15 +34,36 @@ public final class LettuceTelemetry {
 
   private final Tracer tracer;
   private final RedisCommandSanitizer sanitizer;
+  @Nullable private final CommandBatches batches;
 
-  LettuceTelemetry(OpenTelemetry openTelemetry, boolean statementSanitizationEnabled) {
+  LettuceTelemetry(
+      OpenTelemetry openTelemetry,
+      boolean statementSanitizationEnabled,
+      int maxStatementLength,
+      boolean batchSpansEnabled,
+      int batchStatementLimit) {
     TracerBuilder tracerBuilder = openTelemetry.tracerBuilder(INSTRUMENTATION_NAME);
     String version = EmbeddedInstrumentationProperties.findVersion(INSTRUMENTATION_NAME);
     if (version != null) {
       tracerBuilder.setInstrumentationVersion(version);
     }
     tracer = tracerBuilder.build();
-    sanitizer = RedisCommandSanitizer.create(statementSanitizationEnabled);
+    sanitizer = RedisCommandSanitizer.create(statementSanitizationEnabled, maxStatementLength);
+
+    if (batchSpansEnabled) {
+      MeterBuilder meterBuilder = openTelemetry.meterBuilder(INSTRUMENTATION_NAME);
+      if (version != null) {
+        meterBuilder.setInstrumentationVersion(version);
+      }
+      batches =
+          new CommandBatches(
+              tracer,
+              sanitizer,
+              batchStatementLimit,
+              RedisBatchSummary.createCommandCounter(meterBuilder.build()));
+    } else {
+      batches = null;
+    }
   }
 
   /**
@@ -47,6 +71,6 @@ public final class LettuceTelemetry {
    * io.lettuce.core.resource.ClientResources.Builder#tracing(Tracing)}.
    */
   public Tracing newTracing() {
-    return new OpenTelemetryTracing(tracer, sanitizer);
+    return new OpenTelemetryTracing(tracer, sanitizer, batches);
   }
 }
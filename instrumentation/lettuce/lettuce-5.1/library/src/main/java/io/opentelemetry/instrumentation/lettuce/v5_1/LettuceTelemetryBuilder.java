@@ -14,6 +14,9 @@ public final class LettuceTelemetryBuilder {
   private final OpenTelemetry openTelemetry;
 
   private boolean statementSanitizationEnabled = true;
+  private int maxStatementLength = Integer.MAX_VALUE;
+  private boolean batchSpansEnabled = false;
+  private int batchStatementLimit = 10;
 
   LettuceTelemetryBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -31,11 +34,54 @@ public final class LettuceTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum length of the {@code db.statement} attribute on the spans emitted by the
+   * constructed {@link LettuceTelemetry}, longer statements are cut and their remaining arguments
+   * are not decoded. Not limited by default.
+   */
+  @CanIgnoreReturnValue
+  public LettuceTelemetryBuilder setMaxStatementLength(int maxStatementLength) {
+    if (maxStatementLength <= 0) {
+      throw new IllegalArgumentException("maxStatementLength must be positive");
+    }
+    this.maxStatementLength = maxStatementLength;
+    return this;
+  }
+
+  /**
+   * Sets whether commands that are in flight at the same time under the same parent span, like the
+   * commands of a pipeline flush, are recorded as a single span instead of a span per command. A
+   * transaction is recorded as a single span from {@code MULTI} to {@code EXEC}, other batches are
+   * bounded in size and duration. The span carries the number of commands, the number of commands
+   * of each type and the statements of the first commands, the commands are also counted in the
+   * {@code db.client.redis.commands} metric. Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public LettuceTelemetryBuilder setBatchSpansEnabled(boolean batchSpansEnabled) {
+    this.batchSpansEnabled = batchSpansEnabled;
+    return this;
+  }
+
+  /**
+   * Sets the number of commands whose statements are added to the {@code db.statement} attribute of
+   * a batch span, see {@link #setBatchSpansEnabled(boolean)}. 10 by default.
+   */
+  @CanIgnoreReturnValue
+  public LettuceTelemetryBuilder setBatchStatementLimit(int batchStatementLimit) {
+    this.batchStatementLimit = batchStatementLimit;
+    return this;
+  }
+
   /**
    * Returns a new {@link LettuceTelemetry} with the settings of this {@link
    * LettuceTelemetryBuilder}.
    */
   public LettuceTelemetry build() {
-    return new LettuceTelemetry(openTelemetry, statementSanitizationEnabled);
+    return new LettuceTelemetry(
+        openTelemetry,
+        statementSanitizationEnabled,
+        maxStatementLength,
+        batchSpansEnabled,
+        batchStatementLimit);
   }
 }
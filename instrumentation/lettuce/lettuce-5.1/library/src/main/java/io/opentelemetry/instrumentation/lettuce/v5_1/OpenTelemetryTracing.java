@@ -36,13 +36,16 @@ import javax.annotation.Nullable;
 
 final class OpenTelemetryTracing implements Tracing {
 
-  private static final NetClientAttributesExtractor<OpenTelemetryEndpoint, Void>
+  static final NetClientAttributesExtractor<OpenTelemetryEndpoint, Void>
       netAttributesExtractor =
           NetClientAttributesExtractor.create(new LettuceNetAttributesGetter());
   private final TracerProvider tracerProvider;
 
-  OpenTelemetryTracing(io.opentelemetry.api.trace.Tracer tracer, RedisCommandSanitizer sanitizer) {
-    this.tracerProvider = new OpenTelemetryTracerProvider(tracer, sanitizer);
+  OpenTelemetryTracing(
+      io.opentelemetry.api.trace.Tracer tracer,
+      RedisCommandSanitizer sanitizer,
+      @Nullable CommandBatches batches) {
+    this.tracerProvider = new OpenTelemetryTracerProvider(tracer, sanitizer, batches);
   }
 
   @Override
@@ -80,8 +83,10 @@ final class OpenTelemetryTracing implements Tracing {
     private final Tracer openTelemetryTracer;
 
     OpenTelemetryTracerProvider(
-        io.opentelemetry.api.trace.Tracer tracer, RedisCommandSanitizer sanitizer) {
-      openTelemetryTracer = new OpenTelemetryTracer(tracer, sanitizer);
+        io.opentelemetry.api.trace.Tracer tracer,
+        RedisCommandSanitizer sanitizer,
+        @Nullable CommandBatches batches) {
+      openTelemetryTracer = new OpenTelemetryTracer(tracer, sanitizer, batches);
     }
 
     @Override
@@ -122,19 +127,24 @@ final class OpenTelemetryTracing implements Tracing {
 
     private final io.opentelemetry.api.trace.Tracer tracer;
     private final RedisCommandSanitizer sanitizer;
+    @Nullable private final CommandBatches batches;
 
-    OpenTelemetryTracer(io.opentelemetry.api.trace.Tracer tracer, RedisCommandSanitizer sanitizer) {
+    OpenTelemetryTracer(
+        io.opentelemetry.api.trace.Tracer tracer,
+        RedisCommandSanitizer sanitizer,
+        @Nullable CommandBatches batches) {
       this.tracer = tracer;
       this.sanitizer = sanitizer;
+      this.batches = batches;
     }
 
     @Override
-    public OpenTelemetrySpan nextSpan() {
+    public Tracer.Span nextSpan() {
       return nextSpan(Context.current());
     }
 
     @Override
-    public OpenTelemetrySpan nextSpan(TraceContext traceContext) {
+    public Tracer.Span nextSpan(TraceContext traceContext) {
       if (!(traceContext instanceof OpenTelemetryTraceContext)) {
         return nextSpan();
       }
@@ -143,7 +153,11 @@ final class OpenTelemetryTracing implements Tracing {
       return nextSpan(context);
     }
 
-    private OpenTelemetrySpan nextSpan(Context context) {
+    private Tracer.Span nextSpan(Context context) {
+      // commands without a parent span are unrelated to each other and are not batched
+      if (batches != null && Span.fromContext(context).getSpanContext().isValid()) {
+        return new BatchedCommandSpan(context, batches);
+      }
       // Name will be updated later, we create with an arbitrary one here to store other data before
       // the span starts.
       SpanBuilder spanBuilder =
@@ -331,4 +345,116 @@ final class OpenTelemetryTracing implements Tracing {
       span.end();
     }
   }
+
+  // Buffers the data of a command until it is written, then adds it to the batch of its parent
+  // context. Only the data that is aggregated in the batch span is kept.
+  private static class BatchedCommandSpan extends Tracer.Span {
+
+    private final Context context;
+    private final CommandBatches batches;
+
+    @Nullable private String name;
+    @Nullable private String args;
+    @Nullable private OpenTelemetryEndpoint endpoint;
+    @Nullable private Throwable error;
+    @Nullable private CommandBatches.Batch batch;
+    private boolean finished;
+
+    BatchedCommandSpan(Context context, CommandBatches batches) {
+      this.context = context;
+      this.batches = batches;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public synchronized Tracer.Span name(String name) {
+      this.name = name;
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public synchronized Tracer.Span remoteEndpoint(Endpoint endpoint) {
+      if (endpoint instanceof OpenTelemetryEndpoint) {
+        this.endpoint = (OpenTelemetryEndpoint) endpoint;
+      }
+      return this;
+    }
+
+    // Added and called in 6.0+
+    // @Override
+    @CanIgnoreReturnValue
+    @SuppressWarnings("UnusedMethod")
+    public synchronized Tracer.Span start(RedisCommand<?, ?, ?> command) {
+      name = command.getType().name();
+      if (command.getArgs() != null) {
+        args = command.getArgs().toCommandString();
+      }
+      start();
+
+      if (command instanceof CompleteableCommand) {
+        CompleteableCommand<?> completeableCommand = (CompleteableCommand<?>) command;
+        completeableCommand.onComplete(
+            (o, throwable) -> {
+              CommandOutput<?, ?, ?> output = command.getOutput();
+              finish(throwable, output != null ? output.getError() : null);
+            });
+      }
+
+      return this;
+    }
+
+    // Not called by Lettuce in 6.0+ (though we call it ourselves above).
+    @Override
+    @CanIgnoreReturnValue
+    public synchronized Tracer.Span start() {
+      if (batch == null) {
+        batch = batches.join(context, name != null ? name : "redis", args, endpoint);
+        args = null;
+      }
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public Tracer.Span annotate(String value) {
+      // events of single commands are not recorded on the batch span
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public synchronized Tracer.Span tag(String key, String value) {
+      if (key.equals("redis.args")) {
+        args = value;
+      }
+      return this;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public synchronized Tracer.Span error(Throwable throwable) {
+      this.error = throwable;
+      return this;
+    }
+
+    @Override
+    public void finish() {
+      finish(null, null);
+    }
+
+    private synchronized void finish(@Nullable Throwable throwable, @Nullable String errorMessage) {
+      // Lettuce 6 may call finish() in addition to the completion callback
+      if (batch == null || finished) {
+        return;
+      }
+      finished = true;
+      batches.leave(
+          context,
+          batch,
+          name != null ? name : "redis",
+          throwable != null ? throwable : error,
+          errorMessage);
+    }
+  }
 }
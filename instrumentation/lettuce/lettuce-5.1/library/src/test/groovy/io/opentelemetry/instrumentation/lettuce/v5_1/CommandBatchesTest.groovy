@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1
+
+import io.opentelemetry.context.Context
+import io.opentelemetry.instrumentation.api.db.RedisCommandSanitizer
+import io.opentelemetry.instrumentation.api.db.internal.RedisBatchSummary
+import io.opentelemetry.instrumentation.test.InstrumentationSpecification
+import io.opentelemetry.instrumentation.test.LibraryTestTrait
+
+import java.util.concurrent.TimeUnit
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.api.trace.StatusCode.ERROR
+
+class CommandBatchesTest extends InstrumentationSpecification implements LibraryTestTrait {
+
+  def "abandoned transaction is ended"() {
+    setup:
+    def batches = new CommandBatches(
+      getOpenTelemetry().getTracer("test"),
+      RedisCommandSanitizer.create(true),
+      10,
+      RedisBatchSummary.createCommandCounter(getOpenTelemetry().getMeter("test")),
+      TimeUnit.MILLISECONDS.toNanos(50))
+
+    when:
+    runWithSpan("parent") {
+      def context = Context.current()
+      def multi = batches.join(context, "MULTI", null, null)
+      batches.leave(context, multi, "MULTI", null, null)
+      def set = batches.join(context, "SET", "a ?", null)
+      batches.leave(context, set, "SET", null, null)
+    }
+    // the transaction is neither executed nor discarded, the next command ends it
+    Thread.sleep(100)
+    def get = batches.join(Context.root(), "GET", "a", null)
+    batches.leave(Context.root(), get, "GET", null, null)
+
+    then:
+    batches.getOpenBatchCount() == 0
+    assertTraces(2) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "MULTI"
+          kind CLIENT
+          childOf span(0)
+          status ERROR
+        }
+      }
+      trace(1, 1) {
+        span(0) {
+          name "GET"
+          kind CLIENT
+        }
+      }
+    }
+  }
+}
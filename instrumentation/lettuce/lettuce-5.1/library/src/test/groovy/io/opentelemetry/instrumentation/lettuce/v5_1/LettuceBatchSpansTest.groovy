@@ -0,0 +1,191 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1
+
+import io.lettuce.core.RedisClient
+import io.lettuce.core.api.StatefulRedisConnection
+import io.lettuce.core.resource.ClientResources
+import io.opentelemetry.instrumentation.test.InstrumentationSpecification
+import io.opentelemetry.instrumentation.test.LibraryTestTrait
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes
+import org.testcontainers.containers.GenericContainer
+
+import java.util.concurrent.TimeUnit
+
+import static io.opentelemetry.api.trace.SpanKind.CLIENT
+import static io.opentelemetry.api.trace.SpanKind.INTERNAL
+import static io.opentelemetry.semconv.trace.attributes.SemanticAttributes.NetTransportValues.IP_TCP
+
+class LettuceBatchSpansTest extends InstrumentationSpecification implements LibraryTestTrait {
+
+  private static GenericContainer redisServer = new GenericContainer<>("redis:6.2.3-alpine").withExposedPorts(6379)
+
+  String host
+  String expectedHostAttributeValue
+  int port
+  RedisClient redisClient
+  StatefulRedisConnection<String, String> connection
+
+  def setup() {
+    redisServer.start()
+
+    port = redisServer.getMappedPort(6379)
+    host = redisServer.getHost()
+    expectedHostAttributeValue = host == "127.0.0.1" ? null : host
+
+    redisClient = RedisClient.create(
+      ClientResources.builder()
+        .tracing(LettuceTelemetry.builder(getOpenTelemetry())
+          .setBatchSpansEnabled(true)
+          .build()
+          .newTracing())
+        .build(),
+      "redis://" + host + ":" + port + "/0")
+    redisClient.setOptions(LettuceTestUtil.CLIENT_OPTIONS)
+    connection = redisClient.connect()
+  }
+
+  def cleanup() {
+    connection.close()
+    redisClient.shutdown()
+    redisServer.stop()
+  }
+
+  def "commands of a flush are recorded in one span"() {
+    when:
+    def values = runWithSpan("parent") {
+      def asyncCommands = connection.async()
+      connection.setAutoFlushCommands(false)
+      def futures = [
+        asyncCommands.set("a", "1"),
+        asyncCommands.set("b", "2"),
+        asyncCommands.get("a")
+      ]
+      connection.flushCommands()
+      futures.collect { it.get(10, TimeUnit.SECONDS) }
+    }
+
+    then:
+    values == ["OK", "OK", "1"]
+
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "PIPELINE"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.NET_TRANSPORT" IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" expectedHostAttributeValue
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "SET a ?\nSET b ?\nGET a"
+            "db.redis.batch.command_count" 3
+            "db.redis.batch.command_types" ["SET=2", "GET=1"]
+          }
+        }
+      }
+    }
+  }
+
+  def "sync transaction is recorded in one span"() {
+    when:
+    def result = runWithSpan("parent") {
+      def syncCommands = connection.sync()
+      syncCommands.multi()
+      syncCommands.set("a", "1")
+      syncCommands.get("a")
+      syncCommands.exec()
+    }
+
+    then:
+    !result.wasDiscarded()
+    result.size() == 2
+
+    assertTraces(1) {
+      trace(0, 2) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "MULTI"
+          kind CLIENT
+          childOf span(0)
+          attributes {
+            "$SemanticAttributes.NET_TRANSPORT" IP_TCP
+            "$SemanticAttributes.NET_SOCK_PEER_ADDR" "127.0.0.1"
+            "$SemanticAttributes.NET_SOCK_PEER_NAME" expectedHostAttributeValue
+            "$SemanticAttributes.NET_SOCK_PEER_PORT" port
+            "$SemanticAttributes.DB_SYSTEM" "redis"
+            "$SemanticAttributes.DB_STATEMENT" "MULTI\nSET a ?\nGET a\nEXEC"
+            "db.redis.batch.command_count" 4
+            "db.redis.batch.command_types" ["MULTI=1", "SET=1", "GET=1", "EXEC=1"]
+          }
+        }
+      }
+    }
+  }
+
+  def "commands that are not in flight together get their own spans"() {
+    when:
+    runWithSpan("parent") {
+      def syncCommands = connection.sync()
+      syncCommands.set("a", "1")
+      syncCommands.get("a")
+    }
+
+    then:
+    assertTraces(1) {
+      trace(0, 3) {
+        span(0) {
+          name "parent"
+          kind INTERNAL
+        }
+        span(1) {
+          name "SET"
+          kind CLIENT
+          childOf span(0)
+        }
+        span(2) {
+          name "GET"
+          kind CLIENT
+          childOf span(0)
+        }
+      }
+    }
+  }
+
+  def "commands without a parent span are not batched"() {
+    when:
+    def asyncCommands = connection.async()
+    connection.setAutoFlushCommands(false)
+    def futures = [asyncCommands.set("a", "1"), asyncCommands.get("a")]
+    connection.flushCommands()
+    futures.each { it.get(10, TimeUnit.SECONDS) }
+
+    then:
+    assertTraces(2) {
+      trace(0, 1) {
+        span(0) {
+          name "SET"
+          kind CLIENT
+        }
+      }
+      trace(1, 1) {
+        span(0) {
+          name "GET"
+          kind CLIENT
+        }
+      }
+    }
+  }
+}
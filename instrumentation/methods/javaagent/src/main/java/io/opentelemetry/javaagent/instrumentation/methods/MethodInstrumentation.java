@@ -8,13 +8,14 @@ package io.opentelemetry.javaagent.instrumentation.methods;
 import static io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge.currentContext;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasSuperType;
+import static io.opentelemetry.javaagent.instrumentation.methods.MethodSingletons.getTracedMethod;
 import static io.opentelemetry.javaagent.instrumentation.methods.MethodSingletons.instrumenter;
+import static io.opentelemetry.javaagent.instrumentation.methods.MethodSingletons.registerTracedMethod;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
 import io.opentelemetry.instrumentation.api.instrumenter.util.ClassAndMethod;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
@@ -57,12 +58,20 @@ public class MethodInstrumentation implements TypeInstrumentation {
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static void onEnter(
         @Advice.Origin("#t") Class<?> declaringClass,
-        @Advice.Origin("#m") String methodName,
-        @Advice.Local("otelMethod") ClassAndMethod classAndMethod,
+        @Advice.Origin("#m#d") String signature,
+        @Advice.Origin Method originMethod,
+        @Advice.Local("otelMethod") TracedMethod tracedMethod,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
+      tracedMethod = getTracedMethod(declaringClass, signature);
+      if (tracedMethod == null) {
+        // every usage of @Advice.Origin Method is replaced with a call to Class.getMethod, only
+        // read it the first time this method is called
+        tracedMethod = registerTracedMethod(declaringClass, signature, originMethod);
+      }
+
       Context parentContext = currentContext();
-      classAndMethod = ClassAndMethod.create(declaringClass, methodName);
+      ClassAndMethod classAndMethod = tracedMethod.classAndMethod();
       if (!instrumenter().shouldStart(parentContext, classAndMethod)) {
         return;
       }
@@ -73,17 +82,20 @@ public class MethodInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void stopSpan(
-        @Advice.Origin Method method,
-        @Advice.Local("otelMethod") ClassAndMethod classAndMethod,
+        @Advice.Local("otelMethod") TracedMethod tracedMethod,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope,
         @Advice.Return(typing = Assigner.Typing.DYNAMIC, readOnly = false) Object returnValue,
         @Advice.Thrown Throwable throwable) {
+      if (scope == null) {
+        return;
+      }
       scope.close();
 
       returnValue =
-          AsyncOperationEndSupport.create(instrumenter(), Void.class, method.getReturnType())
-              .asyncEnd(context, classAndMethod, returnValue, throwable);
+          tracedMethod
+              .asyncOperationEndSupport()
+              .asyncEnd(context, tracedMethod.classAndMethod(), returnValue, throwable);
     }
   }
 }
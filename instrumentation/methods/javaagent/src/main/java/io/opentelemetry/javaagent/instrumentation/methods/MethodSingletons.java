@@ -6,18 +6,32 @@
 package io.opentelemetry.javaagent.instrumentation.methods;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanKindExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.code.CodeAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.code.CodeAttributesGetter;
 import io.opentelemetry.instrumentation.api.instrumenter.code.CodeSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.util.ClassAndMethod;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
 
 public final class MethodSingletons {
   private static final String INSTRUMENTATION_NAME = "io.opentelemetry.methods";
 
   private static final Instrumenter<ClassAndMethod, Void> INSTRUMENTER;
 
+  // instrumented class -> method name and descriptor -> traced method
+  private static final ClassValue<Map<String, TracedMethod>> TRACED_METHODS =
+      new ClassValue<Map<String, TracedMethod>>() {
+        @Override
+        protected Map<String, TracedMethod> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   static {
     CodeAttributesGetter<ClassAndMethod> codeAttributesGetter =
         ClassAndMethod.codeAttributesGetter();
@@ -35,5 +49,27 @@ public final class MethodSingletons {
     return INSTRUMENTER;
   }
 
+  @Nullable
+  public static TracedMethod getTracedMethod(Class<?> declaringClass, String signature) {
+    return TRACED_METHODS.get(declaringClass).get(signature);
+  }
+
+  public static TracedMethod registerTracedMethod(
+      Class<?> declaringClass, String signature, Method method) {
+    Map<String, TracedMethod> tracedMethods = TRACED_METHODS.get(declaringClass);
+    TracedMethod tracedMethod = tracedMethods.get(signature);
+    if (tracedMethod == null) {
+      tracedMethod =
+          new TracedMethod(
+              ClassAndMethod.create(declaringClass, method.getName()),
+              AsyncOperationEndSupport.create(INSTRUMENTER, Void.class, method.getReturnType()));
+      TracedMethod previous = tracedMethods.putIfAbsent(signature, tracedMethod);
+      if (previous != null) {
+        tracedMethod = previous;
+      }
+    }
+    return tracedMethod;
+  }
+
   private MethodSingletons() {}
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.methods;
+
+import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
+import io.opentelemetry.instrumentation.api.instrumenter.util.ClassAndMethod;
+
+/** Values computed once per instrumented method and shared by all of its invocations. */
+public final class TracedMethod {
+  private final ClassAndMethod classAndMethod;
+  private final AsyncOperationEndSupport<ClassAndMethod, Void> asyncOperationEndSupport;
+
+  TracedMethod(
+      ClassAndMethod classAndMethod,
+      AsyncOperationEndSupport<ClassAndMethod, Void> asyncOperationEndSupport) {
+    this.classAndMethod = classAndMethod;
+    this.asyncOperationEndSupport = asyncOperationEndSupport;
+  }
+
+  public ClassAndMethod classAndMethod() {
+    return classAndMethod;
+  }
+
+  public AsyncOperationEndSupport<ClassAndMethod, Void> asyncOperationEndSupport() {
+    return asyncOperationEndSupport;
+  }
+}
@@ -26,16 +26,8 @@ import org.bson.json.JsonWriterSettings;
 
 class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStartedEvent> {
 
-  @Nullable private static final Method IS_TRUNCATED_METHOD;
   private static final String HIDDEN_CHAR = "?";
-
-  static {
-    IS_TRUNCATED_METHOD =
-        Arrays.stream(JsonWriter.class.getMethods())
-            .filter(method -> method.getName().equals("isTruncated"))
-            .findFirst()
-            .orElse(null);
-  }
+  private static final int MAX_SANITIZED_ARRAY_DOCUMENTS = 10;
 
   private final boolean statementSanitizationEnabled;
   private final int maxNormalizedQueryLength;
@@ -94,6 +86,14 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
   }
 
   String sanitizeStatement(BsonDocument command) {
+    if (statementSanitizationEnabled) {
+      // masked values are written directly while walking the document, which allows to stop as
+      // soon as the length limit is reached instead of rendering the whole command first
+      StringBuilder buf = new StringBuilder(Math.min(128, maxNormalizedQueryLength));
+      writeScrubbed(command, buf, /* isRoot= */ true);
+      return truncate(buf);
+    }
+
     StringBuilderWriter stringWriter = new StringBuilderWriter(128);
     // jsonWriterSettings is generally not null but could be due to security manager or unknown
     // API incompatibilities, which we can't detect by Muzzle because we use reflection.
@@ -101,16 +101,14 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
         jsonWriterSettings != null
             ? new JsonWriter(stringWriter, jsonWriterSettings)
             : new JsonWriter(stringWriter);
-
-    if (statementSanitizationEnabled) {
-      writeScrubbed(command, jsonWriter, /* isRoot= */ true);
-    } else {
-      new BsonDocumentCodec().encode(jsonWriter, command, EncoderContext.builder().build());
-    }
+    new BsonDocumentCodec().encode(jsonWriter, command, EncoderContext.builder().build());
 
     // If using MongoDB driver >= 3.7, the substring invocation will be a no-op due to use of
     // JsonWriterSettings.Builder.maxLength in the static initializer for JSON_WRITER_SETTINGS
-    StringBuilder buf = stringWriter.getBuilder();
+    return truncate(stringWriter.getBuilder());
+  }
+
+  private String truncate(StringBuilder buf) {
     if (buf.length() <= maxNormalizedQueryLength) {
       return buf.toString();
     }
@@ -170,57 +168,109 @@ class MongoDbAttributesGetter implements DbClientAttributesGetter<CommandStarted
     return settings;
   }
 
-  private static boolean writeScrubbed(BsonDocument origin, JsonWriter writer, boolean isRoot) {
-    writer.writeStartDocument();
+  private boolean writeScrubbed(BsonDocument origin, StringBuilder buf, boolean isRoot) {
+    buf.append('{');
     boolean firstField = true;
     for (Map.Entry<String, BsonValue> entry : origin.entrySet()) {
-      writer.writeName(entry.getKey());
+      if (!firstField) {
+        buf.append(", ");
+      }
+      writeString(entry.getKey(), buf);
+      buf.append(": ");
       // the first field of the root document is the command name, so we preserve its value
       // (which for most CRUD commands is the collection name)
       if (isRoot && firstField && entry.getValue().isString()) {
-        writer.writeString(entry.getValue().asString().getValue());
+        writeString(entry.getValue().asString().getValue(), buf);
+        if (isTruncated(buf)) {
+          return true;
+        }
       } else {
-        if (writeScrubbed(entry.getValue(), writer)) {
+        if (writeScrubbed(entry.getValue(), buf)) {
           return true;
         }
       }
       firstField = false;
     }
-    writer.writeEndDocument();
-    return false;
+    buf.append('}');
+    return isTruncated(buf);
   }
 
-  private static boolean writeScrubbed(BsonArray origin, JsonWriter writer) {
-    writer.writeStartArray();
-    for (BsonValue value : origin) {
-      if (writeScrubbed(value, writer)) {
+  private boolean writeScrubbed(BsonArray origin, StringBuilder buf) {
+    buf.append('[');
+    int size = origin.size();
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        buf.append(", ");
+      }
+      BsonValue value = origin.get(i);
+      // large batches (e.g. insertMany documents) look the same once sanitized, so only the first
+      // few elements are rendered
+      if (i == MAX_SANITIZED_ARRAY_DOCUMENTS && value.isDocument()) {
+        buf.append("\"(").append(size - i).append(" more documents)\"");
+        break;
+      }
+      if (writeScrubbed(value, buf)) {
         return true;
       }
     }
-    writer.writeEndArray();
-    return false;
+    buf.append(']');
+    return isTruncated(buf);
   }
 
-  private static boolean writeScrubbed(BsonValue origin, JsonWriter writer) {
+  private boolean writeScrubbed(BsonValue origin, StringBuilder buf) {
     if (origin.isDocument()) {
-      return writeScrubbed(origin.asDocument(), writer, /* isRoot= */ false);
+      return writeScrubbed(origin.asDocument(), buf, /* isRoot= */ false);
     } else if (origin.isArray()) {
-      return writeScrubbed(origin.asArray(), writer);
+      return writeScrubbed(origin.asArray(), buf);
     } else {
-      writer.writeString(HIDDEN_CHAR);
-      return isTruncated(writer);
+      buf.append('"').append(HIDDEN_CHAR).append('"');
+      return isTruncated(buf);
     }
   }
 
-  private static boolean isTruncated(JsonWriter writer) {
-    if (IS_TRUNCATED_METHOD == null) {
-      return false;
-    } else {
-      try {
-        return (boolean) IS_TRUNCATED_METHOD.invoke(writer, (Object[]) null);
-      } catch (IllegalAccessException | InvocationTargetException ignored) {
-        return false;
+  private boolean isTruncated(StringBuilder buf) {
+    return buf.length() >= maxNormalizedQueryLength;
+  }
+
+  private static void writeString(String value, StringBuilder buf) {
+    buf.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          buf.append("\\\"");
+          break;
+        case '\\':
+          buf.append("\\\\");
+          break;
+        case '\b':
+          buf.append("\\b");
+          break;
+        case '\f':
+          buf.append("\\f");
+          break;
+        case '\n':
+          buf.append("\\n");
+          break;
+        case '\r':
+          buf.append("\\r");
+          break;
+        case '\t':
+          buf.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            buf.append("\\u");
+            String hex = Integer.toHexString(c);
+            for (int j = hex.length(); j < 4; j++) {
+              buf.append('0');
+            }
+            buf.append(hex);
+          } else {
+            buf.append(c);
+          }
       }
     }
+    buf.append('"');
   }
 }
@@ -74,6 +74,40 @@ class MongoDbAttributesGetterTest extends Specification {
     normalized == '{"cmd": "c", "f1": ["?", "?' || normalized == '{"cmd": "c", "f1": ["?",'
   }
 
+  def 'should not truncate without a length limit'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, Integer.MAX_VALUE)
+
+    expect:
+    sanitizeStatementAcrossVersions(extractor,
+      new BsonDocument("cmd", new BsonString("c"))
+        .append("f1", new BsonString("c1"))
+        .append("f2", new BsonArray(asList(new BsonInt32(1), new BsonInt32(2))))) ==
+      '{"cmd": "c", "f1": "?", "f2": ["?", "?"]}'
+  }
+
+  def 'should collapse large arrays of documents'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH)
+    def documents = (0..<25).collect { new BsonDocument("_id", new BsonInt32(it)) }
+
+    def normalized = sanitizeStatementAcrossVersions(extractor,
+      new BsonDocument("insert", new BsonString("c"))
+        .append("documents", new BsonArray(documents)))
+    expect:
+    normalized == '{"insert": "c", "documents": [' + (['{"_id": "?"}'] * 10).join(", ") + ', "(15 more documents)"]}'
+  }
+
+  def 'should escape preserved strings'() {
+    setup:
+    def extractor = new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH)
+
+    expect:
+    sanitizeStatementAcrossVersions(extractor,
+      new BsonDocument("cmd", new BsonString('a"b\\c'))) ==
+      '{"cmd": "a\\"b\\\\c"}'
+  }
+
   def sanitizeStatementAcrossVersions(MongoDbAttributesGetter extractor, BsonDocument query) {
     return sanitizeAcrossVersions(extractor.sanitizeStatement(query))
   }
@@ -0,0 +1,52 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4.common.internal;
+
+import io.netty.channel.Channel;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+public final class HttpFlavorUtil {
+
+  // the HTTP/2 codec is optional, and does not exist in Netty 4.0
+  private static final Class<? extends Channel> http2StreamChannelClass =
+      getHttp2StreamChannelClass();
+
+  @SuppressWarnings("unchecked")
+  private static Class<? extends Channel> getHttp2StreamChannelClass() {
+    try {
+      return (Class<? extends Channel>)
+          Class.forName(
+              "io.netty.handler.codec.http2.Http2StreamChannel",
+              false,
+              HttpFlavorUtil.class.getClassLoader());
+    } catch (ClassNotFoundException exception) {
+      return null;
+    }
+  }
+
+  public static String getFlavor(HttpRequestAndChannel requestAndChannel) {
+    // Http2StreamFrameToHttpObjectCodec converts the frames of an HTTP/2 stream to HTTP/1.1
+    // messages, the stream channel they are read from or written to is what tells them apart
+    if (isHttp2Stream(requestAndChannel.channel())) {
+      return "2.0";
+    }
+    String flavor = requestAndChannel.request().getProtocolVersion().toString();
+    if (flavor.startsWith("HTTP/")) {
+      flavor = flavor.substring("HTTP/".length());
+    }
+    return flavor;
+  }
+
+  private static boolean isHttp2Stream(Channel channel) {
+    return http2StreamChannelClass != null && http2StreamChannelClass.isInstance(channel);
+  }
+
+  private HttpFlavorUtil() {}
+}
@@ -10,6 +10,7 @@ import static io.opentelemetry.instrumentation.netty.v4.common.internal.HttpSche
 import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientAttributesGetter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpFlavorUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -42,11 +43,7 @@ final class NettyHttpClientAttributesGetter
   @Override
   public String getFlavor(
       HttpRequestAndChannel requestAndChannel, @Nullable HttpResponse response) {
-    String flavor = requestAndChannel.request().getProtocolVersion().toString();
-    if (flavor.startsWith("HTTP/")) {
-      flavor = flavor.substring("HTTP/".length());
-    }
-    return flavor;
+    return HttpFlavorUtil.getFlavor(requestAndChannel);
   }
 
   @Override
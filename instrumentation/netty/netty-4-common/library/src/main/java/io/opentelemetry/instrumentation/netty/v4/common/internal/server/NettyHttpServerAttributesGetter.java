@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.netty.v4.common.internal.server;
 import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesGetter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpFlavorUtil;
 import io.opentelemetry.instrumentation.netty.v4.common.internal.HttpSchemeUtil;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -39,11 +40,7 @@ final class NettyHttpServerAttributesGetter
 
   @Override
   public String getFlavor(HttpRequestAndChannel requestAndChannel) {
-    String flavor = requestAndChannel.request().getProtocolVersion().toString();
-    if (flavor.startsWith("HTTP/")) {
-      flavor = flavor.substring("HTTP/".length());
-    }
-    return flavor;
+    return HttpFlavorUtil.getFlavor(requestAndChannel);
   }
 
   @Override
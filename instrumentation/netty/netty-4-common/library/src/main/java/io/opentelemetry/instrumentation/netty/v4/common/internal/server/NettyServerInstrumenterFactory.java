@@ -5,12 +5,16 @@
 
 package io.opentelemetry.instrumentation.netty.v4.common.internal.server;
 
+import static java.util.Collections.emptyList;
+
 import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanStatusExtractor;
 import io.opentelemetry.instrumentation.netty.common.internal.NettyErrorHolder;
@@ -28,22 +32,51 @@ public final class NettyServerInstrumenterFactory {
       String instrumentationName,
       List<String> capturedRequestHeaders,
       List<String> capturedResponseHeaders) {
+    return create(
+        openTelemetry,
+        instrumentationName,
+        capturedRequestHeaders,
+        capturedResponseHeaders,
+        false,
+        emptyList(),
+        emptyList(),
+        0);
+  }
+
+  public static Instrumenter<HttpRequestAndChannel, HttpResponse> create(
+      OpenTelemetry openTelemetry,
+      String instrumentationName,
+      List<String> capturedRequestHeaders,
+      List<String> capturedResponseHeaders,
+      boolean deferredHeaderCapture,
+      List<String> skippedRoutes,
+      List<String> rateLimitedRoutes,
+      double rateLimit) {
 
     NettyHttpServerAttributesGetter httpAttributesGetter = new NettyHttpServerAttributesGetter();
 
-    return Instrumenter.<HttpRequestAndChannel, HttpResponse>builder(
-            openTelemetry, instrumentationName, HttpSpanNameExtractor.create(httpAttributesGetter))
-        .setSpanStatusExtractor(HttpSpanStatusExtractor.create(httpAttributesGetter))
-        .addAttributesExtractor(
-            HttpServerAttributesExtractor.builder(
-                    httpAttributesGetter, new NettyNetServerAttributesGetter())
-                .setCapturedRequestHeaders(capturedRequestHeaders)
-                .setCapturedResponseHeaders(capturedResponseHeaders)
-                .build())
-        .addOperationMetrics(HttpServerMetrics.get())
-        .addContextCustomizer((context, request, attributes) -> NettyErrorHolder.init(context))
-        .addContextCustomizer(HttpRouteHolder.get())
-        .buildServerInstrumenter(HttpRequestHeadersGetter.INSTANCE);
+    InstrumenterBuilder<HttpRequestAndChannel, HttpResponse> builder =
+        Instrumenter.<HttpRequestAndChannel, HttpResponse>builder(
+                openTelemetry,
+                instrumentationName,
+                HttpSpanNameExtractor.create(httpAttributesGetter))
+            .setSpanStatusExtractor(HttpSpanStatusExtractor.create(httpAttributesGetter))
+            .addAttributesExtractor(
+                HttpServerAttributesExtractor.builder(
+                        httpAttributesGetter, new NettyNetServerAttributesGetter())
+                    .setCapturedRequestHeaders(capturedRequestHeaders)
+                    .setCapturedResponseHeaders(capturedResponseHeaders)
+                    .setDeferredHeaderCapture(deferredHeaderCapture)
+                    .build())
+            .addOperationMetrics(HttpServerMetrics.get())
+            .addContextCustomizer((context, request, attributes) -> NettyErrorHolder.init(context))
+            .addContextCustomizer(HttpRouteHolder.get());
+    HttpServerRequestFilter.builder(httpAttributesGetter)
+        .setSkippedRoutes(skippedRoutes)
+        .setRateLimitedRoutes(rateLimitedRoutes, rateLimit)
+        .build(openTelemetry, instrumentationName)
+        .addTo(builder);
+    return builder.buildServerInstrumenter(HttpRequestHeadersGetter.INSTANCE);
   }
 
   private NettyServerInstrumenterFactory() {}
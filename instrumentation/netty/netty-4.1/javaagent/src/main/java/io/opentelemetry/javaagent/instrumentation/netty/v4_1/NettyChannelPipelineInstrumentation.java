@@ -11,6 +11,7 @@ import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
@@ -86,8 +87,19 @@ public class NettyChannelPipelineInstrumentation
       VirtualField<ChannelHandler, ChannelHandler> instrumentationHandlerField =
           VirtualField.find(ChannelHandler.class, ChannelHandler.class);
 
+      // Http2StreamFrameToHttpObjectCodec (which lives in the netty-codec-http2 module, using class
+      // name comparison to avoid adding a dependency) converts the frames of a single HTTP/2 stream
+      // to HTTP/1 messages. Every stream has its own child channel, so the HTTP/1 tracing handlers
+      // keep their state per stream. The codec is sharable and may be added to the pipelines of
+      // all streams, so it can't be associated with a single tracing handler.
+      boolean http2StreamCodec =
+          handler
+              .getClass()
+              .getName()
+              .equals("io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec");
+
       // don't add another instrumentation handler if there already is one attached
-      if (instrumentationHandlerField.get(handler) != null) {
+      if (!http2StreamCodec && instrumentationHandlerField.get(handler) != null) {
         return;
       }
 
@@ -121,13 +133,23 @@ public class NettyChannelPipelineInstrumentation
         // adding a dependency
       } else if (handler.getClass().getName().equals("io.netty.handler.ssl.SslHandler")) {
         ourHandler = new NettySslInstrumentationHandler(sslInstrumenter(), handler);
+      } else if (http2StreamCodec) {
+        // the parent of a stream channel is the connection, which has a parent only on the server
+        Channel connection = pipeline.channel().parent();
+        if (connection != null && connection.parent() != null) {
+          ourHandler = new HttpServerTracingHandler(NettyServerSingletons.instrumenter());
+        } else {
+          ourHandler = new HttpClientTracingHandler(NettyClientSingletons.instrumenter());
+        }
       }
 
       if (ourHandler != null) {
         try {
           pipeline.addAfter(name, ourHandler.getClass().getName(), ourHandler);
           // associate our handle with original handler so they could be removed together
-          instrumentationHandlerField.set(handler, ourHandler);
+          if (!http2StreamCodec) {
+            instrumentationHandlerField.set(handler, ourHandler);
+          }
         } catch (IllegalArgumentException e) {
           // Prevented adding duplicate handlers.
         }
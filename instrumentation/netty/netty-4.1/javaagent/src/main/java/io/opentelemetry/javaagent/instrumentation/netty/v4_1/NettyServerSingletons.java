@@ -19,7 +19,11 @@ public final class NettyServerSingletons {
           GlobalOpenTelemetry.get(),
           "io.opentelemetry.netty-4.1",
           CommonConfig.get().getServerRequestHeaders(),
-          CommonConfig.get().getServerResponseHeaders());
+          CommonConfig.get().getServerResponseHeaders(),
+          CommonConfig.get().isServerDeferredHeaderCapture(),
+          CommonConfig.get().getServerSkippedRoutes(),
+          CommonConfig.get().getServerRateLimitedRoutes(),
+          CommonConfig.get().getServerRateLimit());
 
   public static Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter() {
     return INSTRUMENTER;
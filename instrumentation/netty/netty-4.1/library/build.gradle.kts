@@ -1,11 +1,27 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
   library("io.netty:netty-codec-http:4.1.0.Final")
+  library("io.netty:netty-codec-http2:4.1.0.Final")
   implementation(project(":instrumentation:netty:netty-4-common:library"))
   implementation(project(":instrumentation:netty:netty-common:library"))
 
   testImplementation(project(":instrumentation:netty:netty-4.1:testing"))
+
+  jmhImplementation("io.netty:netty-codec-http2:4.1.0.Final")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Completes one request per invocation while {@link #streams} requests of the same connection are
+ * in flight. The time per request should not depend on the number of concurrent streams, compare
+ * with {@code traced=false} for the cost of the stream channel itself.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class Http2StreamBenchmark {
+
+  private static final Http2Headers REQUEST_HEADERS =
+      new DefaultHttp2Headers()
+          .method("GET")
+          .scheme("http")
+          .authority("localhost:8080")
+          .path("/benchmark");
+  private static final Http2Headers RESPONSE_HEADERS = new DefaultHttp2Headers().status("200");
+
+  @Param({"1", "10", "100", "1000"})
+  public int streams;
+
+  @Param({"true", "false"})
+  public boolean traced;
+
+  private OpenTelemetrySdk openTelemetry;
+  private NettyServerTelemetry telemetry;
+  private EmbeddedChannel[] inFlight;
+  private int next;
+
+  @Setup
+  public void setup() {
+    openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(SdkTracerProvider.builder().build())
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build();
+    telemetry = NettyServerTelemetry.create(openTelemetry);
+    inFlight = new EmbeddedChannel[streams];
+    for (int i = 0; i < streams; i++) {
+      inFlight[i] = openStream();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (EmbeddedChannel stream : inFlight) {
+      stream.finishAndReleaseAll();
+    }
+    openTelemetry.getSdkTracerProvider().close();
+  }
+
+  @Benchmark
+  public Object completeStream() {
+    EmbeddedChannel stream = inFlight[next];
+    stream.writeOutbound(new DefaultHttp2HeadersFrame(RESPONSE_HEADERS, true));
+    stream.finishAndReleaseAll();
+
+    EmbeddedChannel newStream = openStream();
+    inFlight[next] = newStream;
+    next = (next + 1) % streams;
+    return newStream;
+  }
+
+  private EmbeddedChannel openStream() {
+    // every stream of a connection has its own child channel and handler instance
+    ChannelHandler handler =
+        traced ? telemetry.createHttp2StreamHandler() : new ChannelInboundHandlerAdapter();
+    EmbeddedChannel stream = new EmbeddedChannel(handler);
+    stream.writeInbound(new DefaultHttp2HeadersFrame(REQUEST_HEADERS, true));
+    return stream;
+  }
+}
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.netty.v4_1;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.CombinedChannelDuplexHandler;
@@ -15,6 +16,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.client.Http2ClientStreamTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientRequestTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientResponseTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientTracingHandler;
@@ -67,6 +69,16 @@ public final class NettyClientTelemetry {
     return new HttpClientTracingHandler(instrumenter);
   }
 
+  /**
+   * Returns a new {@link ChannelDuplexHandler} that generates telemetry for the request of a single
+   * HTTP/2 stream. It must be added to the pipeline of the stream channel (e.g. by the initializer
+   * passed to {@code Http2StreamChannelBootstrap}) before any handler that converts the {@code
+   * Http2StreamFrame}s, and a new handler must be created for every stream.
+   */
+  public ChannelDuplexHandler createHttp2StreamHandler() {
+    return new Http2ClientStreamTracingHandler(instrumenter);
+  }
+
   /**
    * Propagate the {@link Context} to the {@link Channel}. This MUST be called before each HTTP
    * request executed on a {@link Channel}.
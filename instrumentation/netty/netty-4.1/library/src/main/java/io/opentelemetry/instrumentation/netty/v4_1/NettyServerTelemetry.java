@@ -5,6 +5,7 @@
 
 package io.opentelemetry.instrumentation.netty.v4_1;
 
+import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.CombinedChannelDuplexHandler;
@@ -12,6 +13,7 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.server.Http2ServerStreamTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerRequestTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerResponseTracingHandler;
 import io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerTracingHandler;
@@ -63,4 +65,14 @@ public final class NettyServerTelemetry {
       createCombinedHandler() {
     return new HttpServerTracingHandler(instrumenter);
   }
+
+  /**
+   * Returns a new {@link ChannelDuplexHandler} that generates telemetry for the request of a single
+   * HTTP/2 stream. It must be added to the pipeline of the stream channel (e.g. by the initializer
+   * passed to {@code Http2MultiplexHandler}) before any handler that converts the {@code
+   * Http2StreamFrame}s, and a new handler must be created for every stream.
+   */
+  public ChannelDuplexHandler createHttp2StreamHandler() {
+    return new Http2ServerStreamTracingHandler(instrumenter);
+  }
 }
@@ -17,6 +17,7 @@ public final class NettyServerTelemetryBuilder {
   private final OpenTelemetry openTelemetry;
   private List<String> capturedRequestHeaders = Collections.emptyList();
   private List<String> capturedResponseHeaders = Collections.emptyList();
+  private boolean deferredHeaderCapture = false;
 
   NettyServerTelemetryBuilder(OpenTelemetry openTelemetry) {
     this.openTelemetry = openTelemetry;
@@ -46,6 +47,18 @@ public final class NettyServerTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Configures whether the captured HTTP headers are read when the request ends, instead of when it
+   * starts. Both happen on the event loop. With deferred capture, no captured header is read for
+   * requests whose span is not recorded, and the captured request headers are not visible to
+   * samplers.
+   */
+  @CanIgnoreReturnValue
+  public NettyServerTelemetryBuilder setDeferredHeaderCapture(boolean deferredHeaderCapture) {
+    this.deferredHeaderCapture = deferredHeaderCapture;
+    return this;
+  }
+
   /** Returns a new {@link NettyServerTelemetry} with the given configuration. */
   public NettyServerTelemetry build() {
     return new NettyServerTelemetry(
@@ -53,6 +66,10 @@ public final class NettyServerTelemetryBuilder {
             openTelemetry,
             "io.opentelemetry.netty-4.1",
             capturedRequestHeaders,
-            capturedResponseHeaders));
+            capturedResponseHeaders,
+            deferredHeaderCapture,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            0));
   }
 }
@@ -17,17 +17,15 @@ public final class AttributeKeys {
   public static final AttributeKey<Context> WRITE_CONTEXT =
       AttributeKey.valueOf(AttributeKeys.class, "passed-context");
 
-  // this is the context that has the server span
+  // this is the context that has the server span of the most recently received request
   //
   // note: this attribute key is also used by ratpack instrumentation
   public static final AttributeKey<Context> SERVER_CONTEXT =
       AttributeKey.valueOf(AttributeKeys.class, "server-context");
 
+  // this is the context that has the client span of the request whose response is read next
   public static final AttributeKey<Context> CLIENT_CONTEXT =
       AttributeKey.valueOf(AttributeKeys.class, "client-context");
 
-  public static final AttributeKey<Context> CLIENT_PARENT_CONTEXT =
-      AttributeKey.valueOf(AttributeKeys.class, "client-parent-context");
-
   private AttributeKeys() {}
 }
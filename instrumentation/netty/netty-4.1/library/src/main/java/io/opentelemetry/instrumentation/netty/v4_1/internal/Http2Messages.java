@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal;
+
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Converts the headers of HTTP/2 streams into the {@link HttpRequest} and {@link HttpResponse}
+ * messages that the Netty instrumenters understand.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Http2Messages {
+
+  private static final HttpVersion HTTP_2_0 = new HttpVersion("HTTP", 2, 0, true);
+
+  public static HttpRequest toRequest(Http2Headers headers) {
+    CharSequence method = headers.method();
+    CharSequence path = headers.path();
+    HttpRequest request =
+        new DefaultHttpRequest(
+            HTTP_2_0,
+            HttpMethod.valueOf(method == null ? "GET" : method.toString()),
+            path == null ? "/" : path.toString());
+    HttpHeaders httpHeaders = request.headers();
+    CharSequence authority = headers.authority();
+    if (authority != null) {
+      httpHeaders.set("host", authority);
+    }
+    copyRegularHeaders(headers, httpHeaders);
+    return request;
+  }
+
+  /** Returns {@code null} when the headers do not carry a status. */
+  @Nullable
+  public static HttpResponse toResponse(Http2Headers headers) {
+    CharSequence status = headers.status();
+    if (status == null) {
+      return null;
+    }
+    HttpResponse response;
+    try {
+      response =
+          new DefaultHttpResponse(
+              HTTP_2_0, HttpResponseStatus.valueOf(Integer.parseInt(status.toString())));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    copyRegularHeaders(headers, response.headers());
+    return response;
+  }
+
+  /** Returns whether the response is only an interim (1xx) response. */
+  public static boolean isInformational(HttpResponse response) {
+    int code = response.getStatus().code();
+    return code >= 100 && code < 200;
+  }
+
+  /** Returns whether {@code msg} is the last frame that is sent on its stream. */
+  public static boolean isEndStream(Object msg) {
+    if (msg instanceof Http2HeadersFrame) {
+      return ((Http2HeadersFrame) msg).isEndStream();
+    }
+    if (msg instanceof Http2DataFrame) {
+      return ((Http2DataFrame) msg).isEndStream();
+    }
+    return false;
+  }
+
+  /**
+   * Copies the headers that were injected into {@code request} by the propagators to the headers
+   * frame that is actually written.
+   */
+  public static void copyInjectedHeaders(HttpRequest request, Http2Headers headers) {
+    HttpHeaders httpHeaders = request.headers();
+    for (String name : httpHeaders.names()) {
+      if (name.equalsIgnoreCase("host")) {
+        continue;
+      }
+      // HTTP/2 requires lower case header names
+      String http2Name = name.toLowerCase(Locale.ROOT);
+      List<String> values = httpHeaders.getAll(name);
+      if (!sameValues(headers.getAll(http2Name), values)) {
+        headers.remove(http2Name);
+        for (String value : values) {
+          headers.add(http2Name, value);
+        }
+      }
+    }
+  }
+
+  private static boolean sameValues(List<CharSequence> http2Values, List<String> values) {
+    if (http2Values.size() != values.size()) {
+      return false;
+    }
+    for (int i = 0; i < values.size(); i++) {
+      if (!values.get(i).contentEquals(http2Values.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void copyRegularHeaders(Http2Headers from, HttpHeaders to) {
+    for (Map.Entry<CharSequence, CharSequence> header : from) {
+      CharSequence name = header.getKey();
+      // skip the pseudo headers, they were already mapped to the request or status line
+      if (name.length() > 0 && name.charAt(0) == ':') {
+        continue;
+      }
+      to.add(name, header.getValue());
+    }
+  }
+
+  private Http2Messages() {}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal.client;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.Http2Messages;
+import java.nio.channels.ClosedChannelException;
+import javax.annotation.Nullable;
+
+/**
+ * Traces the request of a single HTTP/2 stream from its {@code Http2StreamFrame}s. Every stream has
+ * its own child channel and therefore its own instance of this handler, so the state of concurrent
+ * streams of one connection is never shared and needs no synchronization.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public class Http2ClientStreamTracingHandler extends ChannelDuplexHandler {
+
+  private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
+
+  @Nullable private HttpRequestAndChannel request;
+  @Nullable private Context parentContext;
+  @Nullable private Context context;
+  @Nullable private HttpResponse response;
+  private boolean ended;
+
+  public Http2ClientStreamTracingHandler(
+      Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
+    this.instrumenter = instrumenter;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    if (request != null || !(msg instanceof Http2HeadersFrame)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    Http2HeadersFrame frame = (Http2HeadersFrame) msg;
+    HttpRequestAndChannel request =
+        HttpRequestAndChannel.create(Http2Messages.toRequest(frame.headers()), ctx.channel());
+    this.request = request;
+
+    Context parentContext = ctx.channel().attr(AttributeKeys.WRITE_CONTEXT).getAndSet(null);
+    if (parentContext == null) {
+      parentContext = Context.current();
+    }
+    if (!instrumenter.shouldStart(parentContext, request)) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    Context context = instrumenter.start(parentContext, request);
+    this.parentContext = parentContext;
+    this.context = context;
+    // the propagators wrote to the converted request, the peer only sees the frame headers
+    Http2Messages.copyInjectedHeaders(request.request(), frame.headers());
+    ctx.channel().attr(AttributeKeys.CLIENT_CONTEXT).set(context);
+
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.write(msg, prm);
+      // span is ended normally when the end of the response stream is read
+    } catch (Throwable throwable) {
+      end(throwable);
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    Context parentContext = this.parentContext;
+    if (parentContext == null || ended) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    if (msg instanceof Http2HeadersFrame
+        && (response == null || Http2Messages.isInformational(response))) {
+      HttpResponse response = Http2Messages.toResponse(((Http2HeadersFrame) msg).headers());
+      if (response != null) {
+        this.response = response;
+      }
+    }
+
+    // the frame may be released by the next handlers
+    boolean endStream = Http2Messages.isEndStream(msg);
+
+    // We want the callback in the scope of the parent, not the client span
+    try (Scope ignored = parentContext.makeCurrent()) {
+      ctx.fireChannelRead(msg);
+    } finally {
+      if (endStream) {
+        end(null);
+      }
+    }
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    end(cause);
+    ctx.fireExceptionCaught(cause);
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) {
+    if (context != null && !ended) {
+      // the stream was closed (e.g. reset by the server) before the response was completed
+      end(new ClosedChannelException());
+    }
+    ctx.fireChannelInactive();
+  }
+
+  private void end(@Nullable Throwable error) {
+    Context context = this.context;
+    if (context == null || ended) {
+      return;
+    }
+    ended = true;
+    instrumenter.end(context, request, response, error);
+  }
+}
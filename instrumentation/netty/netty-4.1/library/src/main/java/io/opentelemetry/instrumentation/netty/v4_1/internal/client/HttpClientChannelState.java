@@ -0,0 +1,146 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal.client;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nullable;
+
+/**
+ * Tracing state of a client channel, shared by {@link HttpClientRequestTracingHandler} and {@link
+ * HttpClientResponseTracingHandler}. Requests are kept in the order in which they were written, so
+ * that the responses to pipelined requests end the right spans. Only accessed from the event loop
+ * of the channel.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class HttpClientChannelState {
+
+  private static final AttributeKey<HttpClientChannelState> STATE =
+      AttributeKey.valueOf(HttpClientChannelState.class, "http-client-channel-state");
+
+  private final Attribute<Context> writeContextAttr;
+  // the context of the request whose response is read next is also published in this attribute
+  // for other instrumentations
+  private final Attribute<Context> clientContextAttr;
+  // requests whose response has not been completely read yet, including the ones that are not
+  // traced, so that the responses to the requests after them are matched correctly
+  private final Deque<TracedRequest> requests = new ArrayDeque<>(2);
+
+  private HttpClientChannelState(Channel channel) {
+    writeContextAttr = channel.attr(AttributeKeys.WRITE_CONTEXT);
+    clientContextAttr = channel.attr(AttributeKeys.CLIENT_CONTEXT);
+  }
+
+  static HttpClientChannelState get(Channel channel) {
+    Attribute<HttpClientChannelState> attr = channel.attr(STATE);
+    HttpClientChannelState state = attr.get();
+    if (state == null) {
+      state = new HttpClientChannelState(channel);
+      HttpClientChannelState existing = attr.setIfAbsent(state);
+      if (existing != null) {
+        state = existing;
+      }
+    }
+    return state;
+  }
+
+  @Nullable
+  public static HttpClientChannelState getIfPresent(Channel channel) {
+    return channel.attr(STATE).get();
+  }
+
+  // the context that was current when the request was passed to the channel
+  @Nullable
+  Context takeWriteContext() {
+    return writeContextAttr.getAndSet(null);
+  }
+
+  @Nullable
+  TracedRequest respondingRequest() {
+    return requests.peekFirst();
+  }
+
+  TracedRequest requestWritten(
+      Context parentContext, Context context, HttpRequestAndChannel request) {
+    TracedRequest tracedRequest = new TracedRequest(parentContext, context, request, true);
+    requests.addLast(tracedRequest);
+    if (requests.peekFirst() == tracedRequest) {
+      clientContextAttr.set(context);
+    }
+    return tracedRequest;
+  }
+
+  // the request is not traced, but its response still has to be matched to it
+  void untracedRequestWritten(Context parentContext, HttpRequestAndChannel request) {
+    TracedRequest untracedRequest =
+        new TracedRequest(parentContext, parentContext, request, false);
+    requests.addLast(untracedRequest);
+    if (requests.peekFirst() == untracedRequest) {
+      clientContextAttr.set(null);
+    }
+  }
+
+  // the next response that is read belongs to the next request
+  void responseRead(TracedRequest request) {
+    if (requests.remove(request)) {
+      TracedRequest next = requests.peekFirst();
+      clientContextAttr.set(next == null || !next.traced ? null : next.context);
+    }
+  }
+
+  /** Returns {@code false} when the request was already ended. */
+  boolean end(TracedRequest request) {
+    if (request.ended) {
+      return false;
+    }
+    request.ended = true;
+    responseRead(request);
+    return true;
+  }
+
+  /**
+   * Ends the span of the request whose response is read next with {@code error}. Returns {@code
+   * false} when there is no such request.
+   */
+  public boolean endRespondingRequest(
+      Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter, Throwable error) {
+    TracedRequest request = respondingRequest();
+    if (request == null || !request.traced || !end(request)) {
+      return false;
+    }
+    instrumenter.end(request.context, request.request, request.response, error);
+    return true;
+  }
+
+  static final class TracedRequest {
+    final Context parentContext;
+    final Context context;
+    final HttpRequestAndChannel request;
+    // false for the requests that the instrumenter decided not to start, their context is the
+    // parent context
+    final boolean traced;
+    @Nullable HttpResponse response;
+    private boolean ended;
+
+    private TracedRequest(
+        Context parentContext, Context context, HttpRequestAndChannel request, boolean traced) {
+      this.parentContext = parentContext;
+      this.context = context;
+      this.request = request;
+      this.traced = traced;
+    }
+  }
+}
@@ -10,13 +10,12 @@ import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientChannelState.TracedRequest;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -24,11 +23,11 @@ import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
  */
 public class HttpClientRequestTracingHandler extends ChannelOutboundHandlerAdapter {
 
-  public static final AttributeKey<HttpRequestAndChannel> HTTP_REQUEST =
-      AttributeKey.valueOf(HttpClientRequestTracingHandler.class, "http-client-request");
-
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
 
+  // this handler is not sharable, so the state is looked up only once per channel
+  @Nullable private HttpClientChannelState state;
+
   public HttpClientRequestTracingHandler(
       Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
     this.instrumenter = instrumenter;
@@ -41,36 +40,42 @@ public class HttpClientRequestTracingHandler extends ChannelOutboundHandlerAdapt
       return;
     }
 
-    Context parentContext = ctx.channel().attr(AttributeKeys.WRITE_CONTEXT).getAndSet(null);
+    HttpClientChannelState state = state(ctx);
+    Context parentContext = state.takeWriteContext();
     if (parentContext == null) {
       parentContext = Context.current();
     }
 
     HttpRequestAndChannel request = HttpRequestAndChannel.create((HttpRequest) msg, ctx.channel());
     if (!instrumenter.shouldStart(parentContext, request) || isAwsRequest(request)) {
+      state.untracedRequestWritten(parentContext, request);
       ctx.write(msg, prm);
       return;
     }
 
-    Attribute<Context> parentContextAttr = ctx.channel().attr(AttributeKeys.CLIENT_PARENT_CONTEXT);
-    Attribute<Context> contextAttr = ctx.channel().attr(AttributeKeys.CLIENT_CONTEXT);
-    Attribute<HttpRequestAndChannel> requestAttr = ctx.channel().attr(HTTP_REQUEST);
-
     Context context = instrumenter.start(parentContext, request);
-    parentContextAttr.set(parentContext);
-    contextAttr.set(context);
-    requestAttr.set(request);
+    TracedRequest tracedRequest = state.requestWritten(parentContext, context, request);
 
     try (Scope ignored = context.makeCurrent()) {
       ctx.write(msg, prm);
       // span is ended normally in HttpClientResponseTracingHandler
     } catch (Throwable throwable) {
-      instrumenter.end(contextAttr.getAndSet(null), requestAttr.getAndSet(null), null, throwable);
-      parentContextAttr.set(null);
+      if (state.end(tracedRequest)) {
+        instrumenter.end(context, request, null, throwable);
+      }
       throw throwable;
     }
   }
 
+  private HttpClientChannelState state(ChannelHandlerContext ctx) {
+    HttpClientChannelState state = this.state;
+    if (state == null) {
+      state = HttpClientChannelState.get(ctx.channel());
+      this.state = state;
+    }
+    return state;
+  }
+
   private static boolean isAwsRequest(HttpRequestAndChannel request) {
     // The AWS SDK uses Netty for asynchronous clients but constructs a request signature before
     // beginning transport. This means we MUST suppress Netty spans we would normally create or
@@ -5,20 +5,16 @@
 
 package io.opentelemetry.instrumentation.netty.v4_1.internal.client;
 
-import static io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientRequestTracingHandler.HTTP_REQUEST;
-
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
-import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.client.HttpClientChannelState.TracedRequest;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -26,11 +22,12 @@ import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
  */
 public class HttpClientResponseTracingHandler extends ChannelInboundHandlerAdapter {
 
-  private static final AttributeKey<HttpResponse> HTTP_RESPONSE =
-      AttributeKey.valueOf(HttpClientResponseTracingHandler.class, "http-client-response");
-
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
 
+  // this handler is not sharable, so the state is looked up only once per channel
+  @Nullable private HttpClientChannelState state;
+  private boolean contentAggregated;
+
   public HttpClientResponseTracingHandler(
       Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
     this.instrumenter = instrumenter;
@@ -38,47 +35,47 @@ public class HttpClientResponseTracingHandler extends ChannelInboundHandlerAdapt
 
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
-    Attribute<Context> contextAttr = ctx.channel().attr(AttributeKeys.CLIENT_CONTEXT);
-    Context context = contextAttr.get();
-    if (context == null) {
+    HttpClientChannelState state = state(ctx);
+    // responses are read in the same order as the (pipelined) requests were written
+    TracedRequest request = state.respondingRequest();
+    if (request == null) {
       ctx.fireChannelRead(msg);
       return;
     }
 
-    Attribute<Context> parentContextAttr = ctx.channel().attr(AttributeKeys.CLIENT_PARENT_CONTEXT);
-    Attribute<HttpRequestAndChannel> requestAttr = ctx.channel().attr(HTTP_REQUEST);
-
-    Context parentContext = parentContextAttr.get();
-    HttpRequestAndChannel request = requestAttr.get();
-
-    if (msg instanceof FullHttpResponse) {
-      parentContextAttr.set(null);
-      contextAttr.set(null);
-      requestAttr.set(null);
-    } else if (msg instanceof HttpResponse) {
+    if (msg instanceof HttpResponse) {
       // Headers before body have been received, store them to use when finishing the span.
-      ctx.channel().attr(HTTP_RESPONSE).set((HttpResponse) msg);
-    } else if (msg instanceof LastHttpContent) {
-      // Not a FullHttpResponse so this is content that has been received after headers. Finish the
-      // span using what we stored in attrs.
-      parentContextAttr.set(null);
-      contextAttr.set(null);
-      requestAttr.set(null);
+      request.response = (HttpResponse) msg;
+      contentAggregated = ctx.pipeline().get(HttpObjectAggregator.class) != null;
+    }
+
+    boolean lastContent = msg instanceof LastHttpContent;
+    if (lastContent) {
+      // requests that are written by the callback below belong to the following response
+      state.responseRead(request);
     }
 
-    // We want the callback in the scope of the parent, not the client span
-    if (parentContext != null) {
-      try (Scope ignored = parentContext.makeCurrent()) {
+    // We want the callback in the scope of the parent, not the client span. Content chunks are
+    // only buffered by an aggregator, nothing downstream reads the context until the last one.
+    if (contentAggregated && !lastContent && !(msg instanceof HttpResponse)) {
+      ctx.fireChannelRead(msg);
+    } else {
+      try (Scope ignored = request.parentContext.makeCurrent()) {
         ctx.fireChannelRead(msg);
       }
-    } else {
-      ctx.fireChannelRead(msg);
     }
 
-    if (msg instanceof FullHttpResponse) {
-      instrumenter.end(context, request, (HttpResponse) msg, null);
-    } else if (msg instanceof LastHttpContent) {
-      instrumenter.end(context, request, ctx.channel().attr(HTTP_RESPONSE).getAndSet(null), null);
+    if (lastContent && request.traced && state.end(request)) {
+      instrumenter.end(request.context, request.request, request.response, null);
+    }
+  }
+
+  private HttpClientChannelState state(ChannelHandlerContext ctx) {
+    HttpClientChannelState state = this.state;
+    if (state == null) {
+      state = HttpClientChannelState.get(ctx.channel());
+      this.state = state;
     }
+    return state;
   }
 }
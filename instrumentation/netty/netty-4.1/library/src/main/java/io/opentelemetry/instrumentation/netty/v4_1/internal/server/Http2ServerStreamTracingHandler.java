@@ -0,0 +1,139 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal.server;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.netty.common.internal.NettyErrorHolder;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.Http2Messages;
+import java.nio.channels.ClosedChannelException;
+import javax.annotation.Nullable;
+
+/**
+ * Traces the request of a single HTTP/2 stream from its {@code Http2StreamFrame}s. Every stream has
+ * its own child channel and therefore its own instance of this handler, so the state of concurrent
+ * streams of one connection is never shared and needs no synchronization.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public class Http2ServerStreamTracingHandler extends ChannelDuplexHandler {
+
+  private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
+
+  @Nullable private HttpRequestAndChannel request;
+  @Nullable private Context context;
+  @Nullable private HttpResponse response;
+  private boolean ended;
+
+  public Http2ServerStreamTracingHandler(
+      Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
+    this.instrumenter = instrumenter;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (request == null && msg instanceof Http2HeadersFrame) {
+      start(ctx, (Http2HeadersFrame) msg);
+    }
+
+    Context context = this.context;
+    if (context == null || ended) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.fireChannelRead(msg);
+      // the span is ended normally when the end of the response stream is written
+    } catch (Throwable throwable) {
+      end(throwable);
+      throw throwable;
+    }
+  }
+
+  private void start(ChannelHandlerContext ctx, Http2HeadersFrame frame) {
+    HttpRequestAndChannel request =
+        HttpRequestAndChannel.create(Http2Messages.toRequest(frame.headers()), ctx.channel());
+    this.request = request;
+
+    Context parentContext = Context.current();
+    if (!instrumenter.shouldStart(parentContext, request)) {
+      return;
+    }
+    Context context = instrumenter.start(parentContext, request);
+    this.context = context;
+    // the attribute belongs to the stream channel, it's used to record errors reported by
+    // exceptionCaught
+    ctx.channel().attr(AttributeKeys.SERVER_CONTEXT).set(context);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
+    Context context = this.context;
+    if (context == null || ended) {
+      ctx.write(msg, prm);
+      return;
+    }
+
+    if (msg instanceof Http2HeadersFrame
+        && (response == null || Http2Messages.isInformational(response))) {
+      HttpResponse response = Http2Messages.toResponse(((Http2HeadersFrame) msg).headers());
+      if (response != null) {
+        this.response = response;
+      }
+    }
+
+    ChannelPromise writePromise = prm;
+    if (Http2Messages.isEndStream(msg)) {
+      if (prm.isVoid()) {
+        // we need to be notified when the last frame was written
+        writePromise = ctx.newPromise();
+      }
+      ChannelPromise endPromise = writePromise;
+      writePromise.addListener(future -> end(endPromise));
+    }
+
+    try (Scope ignored = context.makeCurrent()) {
+      ctx.write(msg, writePromise);
+    } catch (Throwable throwable) {
+      end(throwable);
+      throw throwable;
+    }
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) {
+    if (context != null && !ended) {
+      // the stream was closed (e.g. reset by the client) before the response was completed
+      end(new ClosedChannelException());
+    }
+    ctx.fireChannelInactive();
+  }
+
+  private void end(ChannelFuture future) {
+    end(future.isSuccess() ? null : future.cause());
+  }
+
+  private void end(@Nullable Throwable error) {
+    Context context = this.context;
+    if (context == null || ended) {
+      return;
+    }
+    ended = true;
+    error = NettyErrorHolder.getOrDefault(context, error);
+    instrumenter.end(context, request, response, error);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1.internal.server;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nullable;
+
+/**
+ * Tracing state of a server channel, shared by {@link HttpServerRequestTracingHandler} and {@link
+ * HttpServerResponseTracingHandler}. Requests are kept in the order in which they were received, so
+ * that the responses to pipelined requests end the right spans. Only accessed from the event loop
+ * of the channel.
+ */
+final class HttpServerChannelState {
+
+  private static final AttributeKey<HttpServerChannelState> STATE =
+      AttributeKey.valueOf(HttpServerChannelState.class, "http-server-channel-state");
+
+  // the context of the last started request is also published in this attribute for other
+  // instrumentations
+  private final Attribute<Context> serverContextAttr;
+  // requests whose response has not been completely written yet, including the ones that are not
+  // traced, so that the responses to the requests after them are matched correctly
+  private final Deque<TracedRequest> requests = new ArrayDeque<>(2);
+  // the request whose content is currently being read
+  @Nullable private TracedRequest readingRequest;
+
+  private HttpServerChannelState(Channel channel) {
+    serverContextAttr = channel.attr(AttributeKeys.SERVER_CONTEXT);
+  }
+
+  static HttpServerChannelState get(Channel channel) {
+    Attribute<HttpServerChannelState> attr = channel.attr(STATE);
+    HttpServerChannelState state = attr.get();
+    if (state == null) {
+      state = new HttpServerChannelState(channel);
+      HttpServerChannelState existing = attr.setIfAbsent(state);
+      if (existing != null) {
+        state = existing;
+      }
+    }
+    return state;
+  }
+
+  @Nullable
+  TracedRequest lastRequest() {
+    return requests.peekLast();
+  }
+
+  @Nullable
+  TracedRequest readingRequest() {
+    return readingRequest;
+  }
+
+  @Nullable
+  TracedRequest respondingRequest() {
+    return requests.peekFirst();
+  }
+
+  TracedRequest startReading(Context context, HttpRequestAndChannel request) {
+    TracedRequest tracedRequest = new TracedRequest(context, request, true);
+    requests.addLast(tracedRequest);
+    readingRequest = tracedRequest;
+    serverContextAttr.set(context);
+    return tracedRequest;
+  }
+
+  // the request is not traced, but its response still has to be matched to it
+  void skipReading(Context parentContext, HttpRequestAndChannel request) {
+    requests.addLast(new TracedRequest(parentContext, request, false));
+    readingRequest = null;
+  }
+
+  // the next response that is written belongs to the next request
+  void responseWritten(TracedRequest request) {
+    requests.remove(request);
+  }
+
+  /** Returns {@code false} when the request was already ended. */
+  boolean end(TracedRequest request) {
+    if (request.ended) {
+      return false;
+    }
+    request.ended = true;
+    requests.remove(request);
+    if (readingRequest == request) {
+      readingRequest = null;
+    }
+    serverContextAttr.compareAndSet(request.context, null);
+    return true;
+  }
+
+  static final class TracedRequest {
+    final Context context;
+    final HttpRequestAndChannel request;
+    // false for the requests that the instrumenter decided not to start
+    final boolean traced;
+    @Nullable HttpResponse response;
+    private boolean ended;
+
+    private TracedRequest(Context context, HttpRequestAndChannel request, boolean traced) {
+      this.context = context;
+      this.request = request;
+      this.traced = traced;
+    }
+  }
+}
@@ -5,18 +5,18 @@
 
 package io.opentelemetry.instrumentation.netty.v4_1.internal.server;
 
-import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerChannelState.TracedRequest;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -24,11 +24,12 @@ import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
  */
 public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapter {
 
-  static final AttributeKey<HttpRequestAndChannel> HTTP_REQUEST =
-      AttributeKey.valueOf(HttpServerRequestTracingHandler.class, "http-server-request");
-
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
 
+  // this handler is not sharable, so the state is looked up only once per channel
+  @Nullable private HttpServerChannelState state;
+  private boolean contentAggregated;
+
   public HttpServerRequestTracingHandler(
       Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
     this.instrumenter = instrumenter;
@@ -36,44 +37,59 @@ public class HttpServerRequestTracingHandler extends ChannelInboundHandlerAdapte
 
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
-    Channel channel = ctx.channel();
-    Attribute<Context> contextAttr = channel.attr(AttributeKeys.SERVER_CONTEXT);
-    Attribute<HttpRequestAndChannel> requestAttr = channel.attr(HTTP_REQUEST);
+    HttpServerChannelState state = state(ctx);
 
     if (!(msg instanceof HttpRequest)) {
-      Context serverContext = contextAttr.get();
-      if (serverContext == null) {
+      TracedRequest readingRequest = state.readingRequest();
+      // content chunks are only buffered by an aggregator, nothing downstream reads the context
+      // until the last one completes the request
+      if (readingRequest == null || (contentAggregated && !(msg instanceof LastHttpContent))) {
         ctx.fireChannelRead(msg);
       } else {
-        try (Scope ignored = serverContext.makeCurrent()) {
+        try (Scope ignored = readingRequest.context.makeCurrent()) {
           ctx.fireChannelRead(msg);
         }
       }
       return;
     }
 
-    Context parentContext = contextAttr.get();
-    if (parentContext == null) {
-      parentContext = Context.current();
+    TracedRequest lastRequest = state.lastRequest();
+    if (lastRequest != null && lastRequest.request.request() == msg) {
+      // this request was already started by another server handler of this channel
+      ctx.fireChannelRead(msg);
+      return;
     }
-    HttpRequestAndChannel request = HttpRequestAndChannel.create((HttpRequest) msg, channel);
+
+    Context parentContext = Context.current();
+    HttpRequestAndChannel request = HttpRequestAndChannel.create((HttpRequest) msg, ctx.channel());
 
     if (!instrumenter.shouldStart(parentContext, request)) {
+      state.skipReading(parentContext, request);
       ctx.fireChannelRead(msg);
       return;
     }
 
+    contentAggregated = ctx.pipeline().get(HttpObjectAggregator.class) != null;
     Context context = instrumenter.start(parentContext, request);
-    contextAttr.set(context);
-    requestAttr.set(request);
+    TracedRequest tracedRequest = state.startReading(context, request);
 
     try (Scope ignored = context.makeCurrent()) {
       ctx.fireChannelRead(msg);
       // the span is ended normally in HttpServerResponseTracingHandler
     } catch (Throwable throwable) {
-      // make sure to remove the server context on end() call
-      instrumenter.end(contextAttr.getAndSet(null), requestAttr.getAndSet(null), null, throwable);
+      if (state.end(tracedRequest)) {
+        instrumenter.end(context, request, null, throwable);
+      }
       throw throwable;
     }
   }
+
+  private HttpServerChannelState state(ChannelHandlerContext ctx) {
+    HttpServerChannelState state = this.state;
+    if (state == null) {
+      state = HttpServerChannelState.get(ctx.channel());
+      this.state = state;
+    }
+    return state;
+  }
 }
@@ -5,24 +5,17 @@
 
 package io.opentelemetry.instrumentation.netty.v4_1.internal.server;
 
-import static io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerRequestTracingHandler.HTTP_REQUEST;
-
-import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
-import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.util.Attribute;
-import io.netty.util.AttributeKey;
-import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.netty.common.internal.NettyErrorHolder;
 import io.opentelemetry.instrumentation.netty.v4.common.HttpRequestAndChannel;
-import io.opentelemetry.instrumentation.netty.v4_1.internal.AttributeKeys;
+import io.opentelemetry.instrumentation.netty.v4_1.internal.server.HttpServerChannelState.TracedRequest;
 import javax.annotation.Nullable;
 
 /**
@@ -31,11 +24,11 @@ import javax.annotation.Nullable;
  */
 public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdapter {
 
-  static final AttributeKey<HttpResponse> HTTP_RESPONSE =
-      AttributeKey.valueOf(HttpServerResponseTracingHandler.class, "http-server-response");
-
   private final Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter;
 
+  // this handler is not sharable, so the state is looked up only once per channel
+  @Nullable private HttpServerChannelState state;
+
   public HttpServerResponseTracingHandler(
       Instrumenter<HttpRequestAndChannel, HttpResponse> instrumenter) {
     this.instrumenter = instrumenter;
@@ -43,15 +36,28 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
 
   @Override
   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise prm) {
-    Attribute<Context> contextAttr = ctx.channel().attr(AttributeKeys.SERVER_CONTEXT);
-    Context context = contextAttr.get();
-    if (context == null) {
+    HttpServerChannelState state = state(ctx);
+    // responses are written in the same order as the (pipelined) requests were received
+    TracedRequest request = state.respondingRequest();
+    if (request == null) {
+      ctx.write(msg, prm);
+      return;
+    }
+    if (!request.traced) {
+      if (msg instanceof LastHttpContent) {
+        state.responseWritten(request);
+      }
       ctx.write(msg, prm);
       return;
     }
 
     ChannelPromise writePromise;
 
+    if (msg instanceof HttpResponse) {
+      // Headers before body has been sent, store them to use when finishing the span.
+      request.response = (HttpResponse) msg;
+    }
+
     if (msg instanceof LastHttpContent) {
       if (prm.isVoid()) {
         // Some frameworks don't actually listen for response completion and optimize for
@@ -62,48 +68,41 @@ public class HttpServerResponseTracingHandler extends ChannelOutboundHandlerAdap
         writePromise = prm;
       }
 
-      // Going to finish the span after the write of the last content finishes.
-      if (msg instanceof FullHttpResponse) {
-        // Headers and body all sent together, we have the response information in the msg.
-        writePromise.addListener(
-            future -> end(ctx.channel(), (FullHttpResponse) msg, writePromise));
-      } else {
-        // Body sent after headers. We stored the response information in the context when
-        // encountering HttpResponse (which was not FullHttpResponse since it's not
-        // LastHttpContent).
-        writePromise.addListener(
-            future ->
-                end(
-                    ctx.channel(),
-                    ctx.channel().attr(HTTP_RESPONSE).getAndSet(null),
-                    writePromise));
-      }
+      // Going to finish the span after the write of the last content finishes, the following
+      // writes already belong to the next request.
+      state.responseWritten(request);
+      writePromise.addListener(future -> end(state, request, writePromise));
     } else {
       writePromise = prm;
-      if (msg instanceof HttpResponse) {
-        // Headers before body has been sent, store them to use when finishing the span.
-        ctx.channel().attr(HTTP_RESPONSE).set((HttpResponse) msg);
-      }
     }
 
-    try (Scope ignored = context.makeCurrent()) {
+    try (Scope ignored = request.context.makeCurrent()) {
       ctx.write(msg, writePromise);
     } catch (Throwable throwable) {
-      end(ctx.channel(), null, throwable);
+      end(state, request, throwable);
       throw throwable;
     }
   }
 
-  private void end(Channel channel, HttpResponse response, ChannelFuture future) {
+  private void end(HttpServerChannelState state, TracedRequest request, ChannelFuture future) {
     Throwable error = future.isSuccess() ? null : future.cause();
-    end(channel, response, error);
+    end(state, request, error);
+  }
+
+  private void end(HttpServerChannelState state, TracedRequest request, @Nullable Throwable error) {
+    if (!state.end(request)) {
+      return;
+    }
+    error = NettyErrorHolder.getOrDefault(request.context, error);
+    instrumenter.end(request.context, request.request, request.response, error);
   }
 
-  // make sure to remove the server context on end() call
-  private void end(Channel channel, @Nullable HttpResponse response, @Nullable Throwable error) {
-    Context context = channel.attr(AttributeKeys.SERVER_CONTEXT).getAndSet(null);
-    HttpRequestAndChannel request = channel.attr(HTTP_REQUEST).getAndSet(null);
-    error = NettyErrorHolder.getOrDefault(context, error);
-    instrumenter.end(context, request, response, error);
+  private HttpServerChannelState state(ChannelHandlerContext ctx) {
+    HttpServerChannelState state = this.state;
+    if (state == null) {
+      state = HttpServerChannelState.get(ctx.channel());
+      this.state = state;
+    }
+    return state;
   }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.nio.channels.ClosedChannelException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class Netty41Http2StreamTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  @Test
+  void concurrentServerStreams() {
+    NettyServerTelemetry telemetry = NettyServerTelemetry.create(testing.getOpenTelemetry());
+    // every stream of a connection has its own child channel
+    EmbeddedChannel first = new EmbeddedChannel(telemetry.createHttp2StreamHandler());
+    EmbeddedChannel second = new EmbeddedChannel(telemetry.createHttp2StreamHandler());
+
+    first.writeInbound(new DefaultHttp2HeadersFrame(requestHeaders("/first"), true));
+    second.writeInbound(new DefaultHttp2HeadersFrame(requestHeaders("/second"), true));
+    // the second stream completes before the first one
+    second.writeOutbound(
+        new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("201"), true));
+    first.writeOutbound(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+    first.writeOutbound(new DefaultHttp2DataFrame(true));
+    first.finishAndReleaseAll();
+    second.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/first")
+                        .hasAttribute(SemanticAttributes.HTTP_FLAVOR, "2.0")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 200L)),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/second")
+                        .hasAttribute(SemanticAttributes.HTTP_FLAVOR, "2.0")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 201L)));
+  }
+
+  @Test
+  void clientStream() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyClientTelemetry.create(testing.getOpenTelemetry()).createHttp2StreamHandler());
+
+    channel.writeOutbound(new DefaultHttp2HeadersFrame(requestHeaders("/path"), true));
+    Http2HeadersFrame written = channel.readOutbound();
+    // the context is propagated in the headers that are actually sent
+    assertThat(written.headers().contains("traceparent")).isTrue();
+
+    channel.writeInbound(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+    channel.writeInbound(new DefaultHttp2DataFrame(true));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_URL, "http://localhost:8080/path")
+                        .hasAttribute(SemanticAttributes.HTTP_FLAVOR, "2.0")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 200L)));
+  }
+
+  @Test
+  void resetServerStream() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyServerTelemetry.create(testing.getOpenTelemetry()).createHttp2StreamHandler());
+
+    channel.writeInbound(new DefaultHttp2HeadersFrame(requestHeaders("/path"), true));
+    // the stream channel is closed when the stream is reset
+    channel.close();
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasStatus(StatusData.error())
+                        .hasException(new ClosedChannelException())));
+  }
+
+  @Test
+  void http2StreamIdHeaderDoesNotMakeHttp2Request() {
+    NettyServerTelemetry telemetry = NettyServerTelemetry.create(testing.getOpenTelemetry());
+    EmbeddedChannel channel =
+        new EmbeddedChannel(telemetry.createRequestHandler(), telemetry.createResponseHandler());
+
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/path");
+    request.headers().set("host", "localhost:8080");
+    request.headers().set("x-http2-stream-id", "3");
+    channel.writeInbound(request);
+    channel.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasAttribute(SemanticAttributes.HTTP_FLAVOR, "1.1")));
+  }
+
+  private static Http2Headers requestHeaders(String path) {
+    return new DefaultHttp2Headers()
+        .method("GET")
+        .scheme("http")
+        .authority("localhost:8080")
+        .path(path);
+  }
+}
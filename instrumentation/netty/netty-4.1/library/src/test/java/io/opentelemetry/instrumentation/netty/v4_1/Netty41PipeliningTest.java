@@ -0,0 +1,168 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.netty.v4_1;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.internal.SpanKey;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class Netty41PipeliningTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  @Test
+  void pipelinedServerRequests() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyServerTelemetry.create(testing.getOpenTelemetry()).createCombinedHandler());
+
+    // the second request is received before the response to the first one is written
+    channel.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first"));
+    channel.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/second"));
+    channel.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+    channel.writeOutbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CREATED));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/first")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 200L)),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/second")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 201L)));
+  }
+
+  @Test
+  void pipelinedServerRequestsWithSkippedRequest() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyServerTelemetry.create(testing.getOpenTelemetry()).createCombinedHandler());
+
+    channel.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first"));
+    // a request that is received within another server span is not traced
+    Context serverContext = SpanKey.HTTP_SERVER.storeInContext(Context.root(), Span.getInvalid());
+    try (Scope ignored = serverContext.makeCurrent()) {
+      channel.writeInbound(
+          new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/skipped"));
+    }
+    channel.writeInbound(
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/third"));
+    channel.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+    channel.writeOutbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND));
+    channel.writeOutbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CREATED));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/first")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 200L)),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.SERVER)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_TARGET, "/third")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 201L)));
+  }
+
+  @Test
+  void pipelinedClientRequests() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyClientTelemetry.create(testing.getOpenTelemetry()).createCombinedHandler());
+
+    // the second request is written before the response to the first one is read
+    channel.writeOutbound(clientRequest("/first"));
+    channel.writeOutbound(clientRequest("/second"));
+    channel.writeInbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+    channel.writeInbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CREATED));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_URL, "http://localhost/first")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 200L)),
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_URL, "http://localhost/second")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 201L)));
+  }
+
+  @Test
+  void pipelinedClientRequestsWithSkippedRequest() {
+    EmbeddedChannel channel =
+        new EmbeddedChannel(
+            NettyClientTelemetry.create(testing.getOpenTelemetry()).createCombinedHandler());
+
+    // requests of the AWS SDK are not traced
+    FullHttpRequest skippedRequest = clientRequest("/skipped");
+    skippedRequest.headers().set("amz-sdk-invocation-id", "1");
+    channel.writeOutbound(skippedRequest);
+    channel.writeOutbound(clientRequest("/second"));
+    channel.writeInbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND));
+    channel.writeInbound(
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CREATED));
+    channel.finishAndReleaseAll();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasAttribute(SemanticAttributes.HTTP_URL, "http://localhost/second")
+                        .hasAttribute(SemanticAttributes.HTTP_STATUS_CODE, 201L)));
+  }
+
+  private static FullHttpRequest clientRequest(String path) {
+    FullHttpRequest request =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path);
+    request.headers().set("Host", "localhost");
+    return request;
+  }
+}
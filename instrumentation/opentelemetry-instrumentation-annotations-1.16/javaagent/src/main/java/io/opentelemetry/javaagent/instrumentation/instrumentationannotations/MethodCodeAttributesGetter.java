@@ -6,18 +6,17 @@
 package io.opentelemetry.javaagent.instrumentation.instrumentationannotations;
 
 import io.opentelemetry.instrumentation.api.instrumenter.code.CodeAttributesGetter;
-import java.lang.reflect.Method;
 
-enum MethodCodeAttributesGetter implements CodeAttributesGetter<Method> {
+enum MethodCodeAttributesGetter implements CodeAttributesGetter<TracedMethod> {
   INSTANCE;
 
   @Override
-  public Class<?> getCodeClass(Method method) {
-    return method.getDeclaringClass();
+  public Class<?> getCodeClass(TracedMethod tracedMethod) {
+    return tracedMethod.method().getDeclaringClass();
   }
 
   @Override
-  public String getMethodName(Method method) {
-    return method.getName();
+  public String getMethodName(TracedMethod tracedMethod) {
+    return tracedMethod.method().getName();
   }
 }
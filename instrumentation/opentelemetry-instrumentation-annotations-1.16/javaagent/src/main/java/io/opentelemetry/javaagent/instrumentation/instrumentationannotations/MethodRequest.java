@@ -8,16 +8,20 @@ package io.opentelemetry.javaagent.instrumentation.instrumentationannotations;
 import java.lang.reflect.Method;
 
 public final class MethodRequest {
-  private final Method method;
+  private final TracedMethod tracedMethod;
   private final Object[] args;
 
-  public MethodRequest(Method method, Object[] args) {
-    this.method = method;
+  public MethodRequest(TracedMethod tracedMethod, Object[] args) {
+    this.tracedMethod = tracedMethod;
     this.args = args;
   }
 
+  public TracedMethod tracedMethod() {
+    return this.tracedMethod;
+  }
+
   public Method method() {
-    return this.method;
+    return this.tracedMethod.method();
   }
 
   public Object[] args() {
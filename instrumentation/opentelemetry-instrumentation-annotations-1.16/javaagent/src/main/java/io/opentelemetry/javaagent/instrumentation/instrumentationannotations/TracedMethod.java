@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.instrumentationannotations;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
+import java.lang.reflect.Method;
+
+/**
+ * Values computed once per {@code @WithSpan} annotated method and shared by all of its invocations.
+ */
+public final class TracedMethod {
+  private final Method method;
+  private final String spanName;
+  private final SpanKind spanKind;
+  private final AsyncOperationEndSupport<TracedMethod, Object> asyncOperationEndSupport;
+  private final AsyncOperationEndSupport<MethodRequest, Object>
+      asyncOperationEndSupportWithAttributes;
+
+  TracedMethod(
+      Method method,
+      String spanName,
+      SpanKind spanKind,
+      AsyncOperationEndSupport<TracedMethod, Object> asyncOperationEndSupport,
+      AsyncOperationEndSupport<MethodRequest, Object> asyncOperationEndSupportWithAttributes) {
+    this.method = method;
+    this.spanName = spanName;
+    this.spanKind = spanKind;
+    this.asyncOperationEndSupport = asyncOperationEndSupport;
+    this.asyncOperationEndSupportWithAttributes = asyncOperationEndSupportWithAttributes;
+  }
+
+  public Method method() {
+    return method;
+  }
+
+  public String spanName() {
+    return spanName;
+  }
+
+  public SpanKind spanKind() {
+    return spanKind;
+  }
+
+  public AsyncOperationEndSupport<TracedMethod, Object> asyncOperationEndSupport() {
+    return asyncOperationEndSupport;
+  }
+
+  public AsyncOperationEndSupport<MethodRequest, Object> asyncOperationEndSupportWithAttributes() {
+    return asyncOperationEndSupportWithAttributes;
+  }
+}
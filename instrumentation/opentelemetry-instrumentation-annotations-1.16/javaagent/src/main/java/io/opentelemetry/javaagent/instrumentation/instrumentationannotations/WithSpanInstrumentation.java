@@ -5,8 +5,10 @@
 
 package io.opentelemetry.javaagent.instrumentation.instrumentationannotations;
 
+import static io.opentelemetry.javaagent.instrumentation.instrumentationannotations.WithSpanSingletons.getTracedMethod;
 import static io.opentelemetry.javaagent.instrumentation.instrumentationannotations.WithSpanSingletons.instrumenter;
 import static io.opentelemetry.javaagent.instrumentation.instrumentationannotations.WithSpanSingletons.instrumenterWithAttributes;
+import static io.opentelemetry.javaagent.instrumentation.instrumentationannotations.WithSpanSingletons.registerTracedMethod;
 import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
 import static net.bytebuddy.matcher.ElementMatchers.hasParameters;
 import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
@@ -19,7 +21,6 @@ import static net.bytebuddy.matcher.ElementMatchers.whereAny;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
-import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.javaagent.bootstrap.Java8BytecodeBridge;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
@@ -117,15 +118,20 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static void onEnter(
+        @Advice.Origin("#t") Class<?> declaringClass,
+        @Advice.Origin("#m#d") String signature,
         @Advice.Origin Method originMethod,
-        @Advice.Local("otelMethod") Method method,
+        @Advice.Local("otelMethod") TracedMethod method,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
-      // Every usage of @Advice.Origin Method is replaced with a call to Class.getMethod, copy it
-      // to local variable so that there would be only one call to Class.getMethod.
-      method = originMethod;
+      method = getTracedMethod(declaringClass, signature);
+      if (method == null) {
+        // Every usage of @Advice.Origin Method is replaced with a call to Class.getMethod, only
+        // read it the first time this method is called.
+        method = registerTracedMethod(declaringClass, signature, originMethod);
+      }
 
-      Instrumenter<Method, Object> instrumenter = instrumenter();
+      Instrumenter<TracedMethod, Object> instrumenter = instrumenter();
       Context current = Java8BytecodeBridge.currentContext();
 
       if (instrumenter.shouldStart(current, method)) {
@@ -136,7 +142,7 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void stopSpan(
-        @Advice.Local("otelMethod") Method method,
+        @Advice.Local("otelMethod") TracedMethod method,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope,
         @Advice.Return(typing = Assigner.Typing.DYNAMIC, readOnly = false) Object returnValue,
@@ -146,9 +152,8 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
       }
       scope.close();
 
-      AsyncOperationEndSupport<Method, Object> operationEndSupport =
-          AsyncOperationEndSupport.create(instrumenter(), Object.class, method.getReturnType());
-      returnValue = operationEndSupport.asyncEnd(context, method, returnValue, throwable);
+      returnValue =
+          method.asyncOperationEndSupport().asyncEnd(context, method, returnValue, throwable);
     }
   }
 
@@ -157,16 +162,20 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static void onEnter(
+        @Advice.Origin("#t") Class<?> declaringClass,
+        @Advice.Origin("#m#d") String signature,
         @Advice.Origin Method originMethod,
-        @Advice.Local("otelMethod") Method method,
+        @Advice.Local("otelMethod") TracedMethod method,
         @Advice.AllArguments(typing = Assigner.Typing.DYNAMIC) Object[] args,
         @Advice.Local("otelRequest") MethodRequest request,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope) {
-
-      // Every usage of @Advice.Origin Method is replaced with a call to Class.getMethod, copy it
-      // to local variable so that there would be only one call to Class.getMethod.
-      method = originMethod;
+      method = getTracedMethod(declaringClass, signature);
+      if (method == null) {
+        // Every usage of @Advice.Origin Method is replaced with a call to Class.getMethod, only
+        // read it the first time this method is called.
+        method = registerTracedMethod(declaringClass, signature, originMethod);
+      }
 
       Instrumenter<MethodRequest, Object> instrumenter = instrumenterWithAttributes();
       Context current = Java8BytecodeBridge.currentContext();
@@ -180,7 +189,7 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
     public static void stopSpan(
-        @Advice.Local("otelMethod") Method method,
+        @Advice.Local("otelMethod") TracedMethod method,
         @Advice.Local("otelRequest") MethodRequest request,
         @Advice.Local("otelContext") Context context,
         @Advice.Local("otelScope") Scope scope,
@@ -190,10 +199,10 @@ public class WithSpanInstrumentation implements TypeInstrumentation {
         return;
       }
       scope.close();
-      AsyncOperationEndSupport<MethodRequest, Object> operationEndSupport =
-          AsyncOperationEndSupport.create(
-              instrumenterWithAttributes(), Object.class, method.getReturnType());
-      returnValue = operationEndSupport.asyncEnd(context, request, returnValue, throwable);
+      returnValue =
+          method
+              .asyncOperationEndSupportWithAttributes()
+              .asyncEnd(context, request, returnValue, throwable);
     }
   }
 }
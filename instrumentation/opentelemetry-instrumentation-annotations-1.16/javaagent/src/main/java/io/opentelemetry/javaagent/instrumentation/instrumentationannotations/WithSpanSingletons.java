@@ -11,11 +11,15 @@ import application.io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.instrumentation.api.annotation.support.MethodSpanAttributesExtractor;
+import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndSupport;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.code.CodeAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.util.SpanNames;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 public final class WithSpanSingletons {
 
@@ -23,11 +27,20 @@ public final class WithSpanSingletons {
       "io.opentelemetry.opentelemetry-instrumentation-annotations-1.16";
 
   private static final Logger logger = Logger.getLogger(WithSpanSingletons.class.getName());
-  private static final Instrumenter<Method, Object> INSTRUMENTER = createInstrumenter();
+  private static final Instrumenter<TracedMethod, Object> INSTRUMENTER = createInstrumenter();
   private static final Instrumenter<MethodRequest, Object> INSTRUMENTER_WITH_ATTRIBUTES =
       createInstrumenterWithAttributes();
 
-  public static Instrumenter<Method, Object> instrumenter() {
+  // instrumented class -> method name and descriptor -> traced method
+  private static final ClassValue<Map<String, TracedMethod>> TRACED_METHODS =
+      new ClassValue<Map<String, TracedMethod>>() {
+        @Override
+        protected Map<String, TracedMethod> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  public static Instrumenter<TracedMethod, Object> instrumenter() {
     return INSTRUMENTER;
   }
 
@@ -35,11 +48,38 @@ public final class WithSpanSingletons {
     return INSTRUMENTER_WITH_ATTRIBUTES;
   }
 
-  private static Instrumenter<Method, Object> createInstrumenter() {
+  @Nullable
+  public static TracedMethod getTracedMethod(Class<?> declaringClass, String signature) {
+    return TRACED_METHODS.get(declaringClass).get(signature);
+  }
+
+  public static TracedMethod registerTracedMethod(
+      Class<?> declaringClass, String signature, Method method) {
+    Map<String, TracedMethod> tracedMethods = TRACED_METHODS.get(declaringClass);
+    TracedMethod tracedMethod = tracedMethods.get(signature);
+    if (tracedMethod == null) {
+      Class<?> returnType = method.getReturnType();
+      tracedMethod =
+          new TracedMethod(
+              method,
+              spanNameFromMethod(method),
+              spanKindFromMethod(method),
+              AsyncOperationEndSupport.create(INSTRUMENTER, Object.class, returnType),
+              AsyncOperationEndSupport.create(
+                  INSTRUMENTER_WITH_ATTRIBUTES, Object.class, returnType));
+      TracedMethod previous = tracedMethods.putIfAbsent(signature, tracedMethod);
+      if (previous != null) {
+        tracedMethod = previous;
+      }
+    }
+    return tracedMethod;
+  }
+
+  private static Instrumenter<TracedMethod, Object> createInstrumenter() {
     return Instrumenter.builder(
-            GlobalOpenTelemetry.get(), INSTRUMENTATION_NAME, WithSpanSingletons::spanNameFromMethod)
+            GlobalOpenTelemetry.get(), INSTRUMENTATION_NAME, TracedMethod::spanName)
         .addAttributesExtractor(CodeAttributesExtractor.create(MethodCodeAttributesGetter.INSTANCE))
-        .buildInstrumenter(WithSpanSingletons::spanKindFromMethod);
+        .buildInstrumenter(TracedMethod::spanKind);
   }
 
   private static Instrumenter<MethodRequest, Object> createInstrumenterWithAttributes() {
@@ -58,7 +98,7 @@ public final class WithSpanSingletons {
   }
 
   private static SpanKind spanKindFromMethodRequest(MethodRequest request) {
-    return spanKindFromMethod(request.method());
+    return request.tracedMethod().spanKind();
   }
 
   private static SpanKind spanKindFromMethod(Method method) {
@@ -80,7 +120,7 @@ public final class WithSpanSingletons {
   }
 
   private static String spanNameFromMethodRequest(MethodRequest request) {
-    return spanNameFromMethod(request.method());
+    return request.tracedMethod().spanName();
   }
 
   private static String spanNameFromMethod(Method method) {
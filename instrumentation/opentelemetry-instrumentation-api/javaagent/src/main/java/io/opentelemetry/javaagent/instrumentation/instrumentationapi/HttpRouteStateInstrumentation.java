@@ -12,6 +12,7 @@ import application.io.opentelemetry.context.Context;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeTransformer;
 import io.opentelemetry.javaagent.instrumentation.opentelemetryapi.context.AgentContextStorage;
+import java.util.function.Supplier;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -31,6 +32,13 @@ final class HttpRouteStateInstrumentation implements TypeInstrumentation {
             .and(takesArgument(1, int.class))
             .and(takesArgument(2, String.class)),
         this.getClass().getName() + "$UpdateAdvice");
+    // the route supplier is a JDK type, so it can be handed over to the agent as it is
+    transformer.applyAdviceToMethod(
+        named("update")
+            .and(takesArgument(0, named("application.io.opentelemetry.context.Context")))
+            .and(takesArgument(1, int.class))
+            .and(takesArgument(2, Supplier.class)),
+        this.getClass().getName() + "$LazyUpdateAdvice");
   }
 
   @SuppressWarnings("unused")
@@ -54,4 +62,26 @@ final class HttpRouteStateInstrumentation implements TypeInstrumentation {
       agentRouteState.update(agentContext, updatedBySourceOrder, route);
     }
   }
+
+  @SuppressWarnings("unused")
+  public static class LazyUpdateAdvice {
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static void onEnter(
+        @Advice.Argument(0) Context applicationContext,
+        @Advice.Argument(1) int updatedBySourceOrder,
+        @Advice.Argument(2) Supplier<String> routeSupplier) {
+
+      io.opentelemetry.context.Context agentContext =
+          AgentContextStorage.getAgentContext(applicationContext);
+
+      io.opentelemetry.instrumentation.api.internal.HttpRouteState agentRouteState =
+          io.opentelemetry.instrumentation.api.internal.HttpRouteState.fromContextOrNull(
+              agentContext);
+      if (agentRouteState == null) {
+        return;
+      }
+
+      agentRouteState.update(agentContext, updatedBySourceOrder, routeSupplier);
+    }
+  }
 }
@@ -9,6 +9,10 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.instrumentation.api.internal.CachedSnapshot;
+import java.time.Duration;
+import java.util.function.Supplier;
 import oshi.SystemInfo;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
@@ -17,36 +21,86 @@ import oshi.software.os.OperatingSystem;
 public class ProcessMetrics {
   private static final AttributeKey<String> TYPE_KEY = AttributeKey.stringKey("type");
 
+  private static final Attributes ATTRIBUTES_RSS = Attributes.of(TYPE_KEY, "rss");
+  private static final Attributes ATTRIBUTES_VMS = Attributes.of(TYPE_KEY, "vms");
+  private static final Attributes ATTRIBUTES_USER = Attributes.of(TYPE_KEY, "user");
+  private static final Attributes ATTRIBUTES_SYSTEM = Attributes.of(TYPE_KEY, "system");
+
   private ProcessMetrics() {}
 
   /** Register observers for java runtime metrics. */
   public static void registerObservers(OpenTelemetry openTelemetry) {
-    Meter meter = openTelemetry.getMeterProvider().get("io.opentelemetry.oshi");
+    registerObservers(openTelemetry, Duration.ZERO);
+  }
+
+  /**
+   * Register observers for java runtime metrics. The process is sampled at most once per {@code
+   * minimumCollectionInterval}, metric readers collecting within that interval of each other
+   * observe the same values.
+   */
+  public static void registerObservers(
+      OpenTelemetry openTelemetry, Duration minimumCollectionInterval) {
     SystemInfo systemInfo = new SystemInfo();
     OperatingSystem osInfo = systemInfo.getOperatingSystem();
-    OSProcess processInfo = osInfo.getProcess(osInfo.getProcessId());
-
-    meter
-        .upDownCounterBuilder("runtime.java.memory")
-        .setDescription("Runtime Java memory")
-        .setUnit("By")
-        .buildWithCallback(
-            r -> {
-              processInfo.updateAttributes();
-              r.record(processInfo.getResidentSetSize(), Attributes.of(TYPE_KEY, "rss"));
-              r.record(processInfo.getVirtualSize(), Attributes.of(TYPE_KEY, "vms"));
-            });
-
-    meter
-        .gaugeBuilder("runtime.java.cpu_time")
-        .setDescription("Runtime Java CPU time")
-        .setUnit("ms")
-        .ofLongs()
-        .buildWithCallback(
-            r -> {
-              processInfo.updateAttributes();
-              r.record(processInfo.getUserTime(), Attributes.of(TYPE_KEY, "user"));
-              r.record(processInfo.getKernelTime(), Attributes.of(TYPE_KEY, "system"));
-            });
+    registerObservers(
+        openTelemetry, osInfo.getProcess(osInfo.getProcessId()), minimumCollectionInterval);
+  }
+
+  // Visible for testing
+  static void registerObservers(
+      OpenTelemetry openTelemetry, OSProcess processInfo, Duration minimumCollectionInterval) {
+    Meter meter = openTelemetry.getMeterProvider().get("io.opentelemetry.oshi");
+
+    ObservableLongMeasurement memory =
+        meter
+            .upDownCounterBuilder("runtime.java.memory")
+            .setDescription("Runtime Java memory")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement cpuTime =
+        meter
+            .gaugeBuilder("runtime.java.cpu_time")
+            .setDescription("Runtime Java CPU time")
+            .setUnit("ms")
+            .ofLongs()
+            .buildObserver();
+
+    // the process is read once per collection and all instruments are recorded from that read
+    Supplier<Snapshot> snapshot =
+        new CachedSnapshot<>(() -> Snapshot.sample(processInfo), minimumCollectionInterval);
+    meter.batchCallback(
+        () -> {
+          Snapshot current = snapshot.get();
+          memory.record(current.residentSetSize, ATTRIBUTES_RSS);
+          memory.record(current.virtualSize, ATTRIBUTES_VMS);
+          cpuTime.record(current.userTime, ATTRIBUTES_USER);
+          cpuTime.record(current.kernelTime, ATTRIBUTES_SYSTEM);
+        },
+        memory,
+        cpuTime);
+  }
+
+  private static final class Snapshot {
+    private final long residentSetSize;
+    private final long virtualSize;
+    private final long userTime;
+    private final long kernelTime;
+
+    private Snapshot(long residentSetSize, long virtualSize, long userTime, long kernelTime) {
+      this.residentSetSize = residentSetSize;
+      this.virtualSize = virtualSize;
+      this.userTime = userTime;
+      this.kernelTime = kernelTime;
+    }
+
+    // OSProcess is updated in place, copy the values so that a cached snapshot stays consistent
+    static Snapshot sample(OSProcess processInfo) {
+      processInfo.updateAttributes();
+      return new Snapshot(
+          processInfo.getResidentSetSize(),
+          processInfo.getVirtualSize(),
+          processInfo.getUserTime(),
+          processInfo.getKernelTime());
+    }
   }
 }
@@ -9,6 +9,12 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.instrumentation.api.internal.CachedSnapshot;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
 import oshi.SystemInfo;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.HWDiskStore;
@@ -29,110 +35,136 @@ public class SystemMetrics {
 
   /** Register observers for system metrics. */
   public static void registerObservers(OpenTelemetry openTelemetry) {
+    registerObservers(openTelemetry, Duration.ZERO);
+  }
+
+  /**
+   * Register observers for system metrics. The system is sampled at most once per {@code
+   * minimumCollectionInterval}, metric readers collecting within that interval of each other
+   * observe the same values.
+   */
+  public static void registerObservers(
+      OpenTelemetry openTelemetry, Duration minimumCollectionInterval) {
     Meter meter = openTelemetry.getMeterProvider().get("io.opentelemetry.oshi");
     SystemInfo systemInfo = new SystemInfo();
     HardwareAbstractionLayer hal = systemInfo.getHardware();
 
-    meter
-        .upDownCounterBuilder("system.memory.usage")
-        .setDescription("System memory usage")
-        .setUnit("By")
-        .buildWithCallback(
-            r -> {
-              GlobalMemory mem = hal.getMemory();
-              r.record(mem.getTotal() - mem.getAvailable(), ATTRIBUTES_USED);
-              r.record(mem.getAvailable(), ATTRIBUTES_FREE);
-            });
-
-    meter
-        .gaugeBuilder("system.memory.utilization")
-        .setDescription("System memory utilization")
-        .setUnit("1")
-        .buildWithCallback(
-            r -> {
-              GlobalMemory mem = hal.getMemory();
-              r.record(
-                  ((double) (mem.getTotal() - mem.getAvailable())) / mem.getTotal(),
-                  ATTRIBUTES_USED);
-              r.record(((double) mem.getAvailable()) / mem.getTotal(), ATTRIBUTES_FREE);
-            });
-
-    meter
-        .counterBuilder("system.network.io")
-        .setDescription("System network IO")
-        .setUnit("By")
-        .buildWithCallback(
-            r -> {
-              for (NetworkIF networkIf : hal.getNetworkIFs()) {
-                networkIf.updateAttributes();
-                long recv = networkIf.getBytesRecv();
-                long sent = networkIf.getBytesSent();
-                String device = networkIf.getName();
-                r.record(recv, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "receive"));
-                r.record(sent, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "transmit"));
-              }
-            });
-
-    meter
-        .counterBuilder("system.network.packets")
-        .setDescription("System network packets")
-        .setUnit("{packets}")
-        .buildWithCallback(
-            r -> {
-              for (NetworkIF networkIf : hal.getNetworkIFs()) {
-                networkIf.updateAttributes();
-                long recv = networkIf.getPacketsRecv();
-                long sent = networkIf.getPacketsSent();
-                String device = networkIf.getName();
-                r.record(recv, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "receive"));
-                r.record(sent, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "transmit"));
-              }
-            });
-
-    meter
-        .counterBuilder("system.network.errors")
-        .setDescription("System network errors")
-        .setUnit("{errors}")
-        .buildWithCallback(
-            r -> {
-              for (NetworkIF networkIf : hal.getNetworkIFs()) {
-                networkIf.updateAttributes();
-                long recv = networkIf.getInErrors();
-                long sent = networkIf.getOutErrors();
-                String device = networkIf.getName();
-                r.record(recv, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "receive"));
-                r.record(sent, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "transmit"));
-              }
-            });
-
-    meter
-        .counterBuilder("system.disk.io")
-        .setDescription("System disk IO")
-        .setUnit("By")
-        .buildWithCallback(
-            r -> {
-              for (HWDiskStore diskStore : hal.getDiskStores()) {
-                long read = diskStore.getReadBytes();
-                long write = diskStore.getWriteBytes();
-                String device = diskStore.getName();
-                r.record(read, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "read"));
-                r.record(write, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "write"));
-              }
-            });
-
-    meter
-        .counterBuilder("system.disk.operations")
-        .setDescription("System disk operations")
-        .setUnit("{operations}")
-        .buildWithCallback(
-            r -> {
-              for (HWDiskStore diskStore : hal.getDiskStores()) {
-                long read = diskStore.getReads();
-                long write = diskStore.getWrites();
-                String device = diskStore.getName();
-                r.record(read, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "read"));
-                r.record(write, Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "write"));
-              }
-            });
+    ObservableLongMeasurement memoryUsage =
+        meter
+            .upDownCounterBuilder("system.memory.usage")
+            .setDescription("System memory usage")
+            .setUnit("By")
+            .buildObserver();
+    ObservableDoubleMeasurement memoryUtilization =
+        meter
+            .gaugeBuilder("system.memory.utilization")
+            .setDescription("System memory utilization")
+            .setUnit("1")
+            .buildObserver();
+    ObservableLongMeasurement networkIo =
+        meter
+            .counterBuilder("system.network.io")
+            .setDescription("System network IO")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement networkPackets =
+        meter
+            .counterBuilder("system.network.packets")
+            .setDescription("System network packets")
+            .setUnit("{packets}")
+            .buildObserver();
+    ObservableLongMeasurement networkErrors =
+        meter
+            .counterBuilder("system.network.errors")
+            .setDescription("System network errors")
+            .setUnit("{errors}")
+            .buildObserver();
+    ObservableLongMeasurement diskIo =
+        meter
+            .counterBuilder("system.disk.io")
+            .setDescription("System disk IO")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement diskOperations =
+        meter
+            .counterBuilder("system.disk.operations")
+            .setDescription("System disk operations")
+            .setUnit("{operations}")
+            .buildObserver();
+
+    // memory, network interfaces and disks are read once per collection and all instruments are
+    // recorded from that read
+    Supplier<Snapshot> snapshot =
+        new CachedSnapshot<>(() -> Snapshot.sample(hal), minimumCollectionInterval);
+    meter.batchCallback(
+        () -> {
+          Snapshot current = snapshot.get();
+
+          long used = current.memoryTotal - current.memoryAvailable;
+          memoryUsage.record(used, ATTRIBUTES_USED);
+          memoryUsage.record(current.memoryAvailable, ATTRIBUTES_FREE);
+          memoryUtilization.record(((double) used) / current.memoryTotal, ATTRIBUTES_USED);
+          memoryUtilization.record(
+              ((double) current.memoryAvailable) / current.memoryTotal, ATTRIBUTES_FREE);
+
+          for (NetworkIF networkIf : current.networkIfs) {
+            String device = networkIf.getName();
+            Attributes receive = Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "receive");
+            Attributes transmit = Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "transmit");
+            networkIo.record(networkIf.getBytesRecv(), receive);
+            networkIo.record(networkIf.getBytesSent(), transmit);
+            networkPackets.record(networkIf.getPacketsRecv(), receive);
+            networkPackets.record(networkIf.getPacketsSent(), transmit);
+            networkErrors.record(networkIf.getInErrors(), receive);
+            networkErrors.record(networkIf.getOutErrors(), transmit);
+          }
+
+          for (HWDiskStore diskStore : current.diskStores) {
+            String device = diskStore.getName();
+            Attributes read = Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "read");
+            Attributes write = Attributes.of(DEVICE_KEY, device, DIRECTION_KEY, "write");
+            diskIo.record(diskStore.getReadBytes(), read);
+            diskIo.record(diskStore.getWriteBytes(), write);
+            diskOperations.record(diskStore.getReads(), read);
+            diskOperations.record(diskStore.getWrites(), write);
+          }
+        },
+        memoryUsage,
+        memoryUtilization,
+        networkIo,
+        networkPackets,
+        networkErrors,
+        diskIo,
+        diskOperations);
+  }
+
+  private static final class Snapshot {
+    private final long memoryTotal;
+    private final long memoryAvailable;
+    private final List<NetworkIF> networkIfs;
+    private final List<HWDiskStore> diskStores;
+
+    private Snapshot(
+        long memoryTotal,
+        long memoryAvailable,
+        List<NetworkIF> networkIfs,
+        List<HWDiskStore> diskStores) {
+      this.memoryTotal = memoryTotal;
+      this.memoryAvailable = memoryAvailable;
+      this.networkIfs = networkIfs;
+      this.diskStores = diskStores;
+    }
+
+    // getNetworkIFs() and getDiskStores() return new objects on every call, they are not updated
+    // after the snapshot is taken
+    static Snapshot sample(HardwareAbstractionLayer hal) {
+      GlobalMemory memory = hal.getMemory();
+      List<NetworkIF> networkIfs = hal.getNetworkIFs();
+      for (NetworkIF networkIf : networkIfs) {
+        networkIf.updateAttributes();
+      }
+      return new Snapshot(
+          memory.getTotal(), memory.getAvailable(), networkIfs, hal.getDiskStores());
+    }
   }
 }
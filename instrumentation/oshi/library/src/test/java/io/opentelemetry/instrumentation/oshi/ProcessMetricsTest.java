@@ -5,10 +5,26 @@
 
 package io.opentelemetry.instrumentation.oshi;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
 import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.time.Duration;
+import java.util.Collection;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import oshi.software.os.OSProcess;
 
 class ProcessMetricsTest extends AbstractProcessMetricsTest {
 
@@ -24,4 +40,47 @@ class ProcessMetricsTest extends AbstractProcessMetricsTest {
   protected InstrumentationExtension testing() {
     return testing;
   }
+
+  @Test
+  void samplesProcessOncePerCollection() {
+    OSProcess processInfo = mock(OSProcess.class);
+    when(processInfo.getResidentSetSize()).thenReturn(1L, 2L);
+    InMemoryMetricReader metricReader = register(processInfo, Duration.ZERO);
+
+    assertThat(residentSetSize(metricReader.collectAllMetrics())).isEqualTo(1);
+    assertThat(residentSetSize(metricReader.collectAllMetrics())).isEqualTo(2);
+    verify(processInfo, times(2)).updateAttributes();
+  }
+
+  @Test
+  void reusesSnapshotWithinMinimumInterval() {
+    OSProcess processInfo = mock(OSProcess.class);
+    when(processInfo.getResidentSetSize()).thenReturn(1L, 2L);
+    InMemoryMetricReader metricReader = register(processInfo, Duration.ofHours(1));
+
+    assertThat(residentSetSize(metricReader.collectAllMetrics())).isEqualTo(1);
+    assertThat(residentSetSize(metricReader.collectAllMetrics())).isEqualTo(1);
+    verify(processInfo, times(1)).updateAttributes();
+  }
+
+  private static InMemoryMetricReader register(
+      OSProcess processInfo, Duration minimumCollectionInterval) {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    OpenTelemetrySdk openTelemetry =
+        OpenTelemetrySdk.builder()
+            .setMeterProvider(SdkMeterProvider.builder().registerMetricReader(metricReader).build())
+            .build();
+    ProcessMetrics.registerObservers(openTelemetry, processInfo, minimumCollectionInterval);
+    return metricReader;
+  }
+
+  private static long residentSetSize(Collection<MetricData> metrics) {
+    return metrics.stream()
+        .filter(metric -> metric.getName().equals("runtime.java.memory"))
+        .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+        .filter(point -> "rss".equals(point.getAttributes().get(AttributeKey.stringKey("type"))))
+        .map(LongPointData::getValue)
+        .findFirst()
+        .orElseThrow(AssertionError::new);
+  }
 }
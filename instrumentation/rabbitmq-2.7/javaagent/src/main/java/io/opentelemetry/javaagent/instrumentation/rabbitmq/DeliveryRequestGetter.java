@@ -5,11 +5,13 @@
 
 package io.opentelemetry.javaagent.instrumentation.rabbitmq;
 
-import io.opentelemetry.context.propagation.TextMapGetter;
+import com.rabbitmq.client.LongString;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import java.util.Collections;
 import java.util.Map;
+import javax.annotation.Nullable;
 
-enum DeliveryRequestGetter implements TextMapGetter<DeliveryRequest> {
+enum DeliveryRequestGetter implements TraceparentBytesPropagation.BytesGetter<DeliveryRequest> {
   INSTANCE;
 
   @Override
@@ -36,4 +38,19 @@ enum DeliveryRequestGetter implements TextMapGetter<DeliveryRequest> {
     Object obj = headers.get(key);
     return obj == null ? null : obj.toString();
   }
+
+  @Nullable
+  @Override
+  public byte[] getBytes(@Nullable DeliveryRequest carrier, String key) {
+    if (carrier == null) {
+      return null;
+    }
+    Map<String, Object> headers = carrier.getProperties().getHeaders();
+    if (headers == null) {
+      return null;
+    }
+    Object obj = headers.get(key);
+    // headers received from the broker are long strings, in-process values use the text path
+    return obj instanceof LongString ? ((LongString) obj).getBytes() : null;
+  }
 }
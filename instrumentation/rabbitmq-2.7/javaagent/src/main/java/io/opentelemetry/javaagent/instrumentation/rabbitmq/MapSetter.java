@@ -5,14 +5,21 @@
 
 package io.opentelemetry.javaagent.instrumentation.rabbitmq;
 
-import io.opentelemetry.context.propagation.TextMapSetter;
+import com.rabbitmq.client.impl.LongStringHelper;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import java.util.Map;
 
-public enum MapSetter implements TextMapSetter<Map<String, Object>> {
+public enum MapSetter implements TraceparentBytesPropagation.BytesSetter<Map<String, Object>> {
   INSTANCE;
 
   @Override
   public void set(Map<String, Object> carrier, String key, String value) {
     carrier.put(key, value);
   }
+
+  @Override
+  public void set(Map<String, Object> carrier, String key, byte[] value) {
+    // written to the wire the same way as a string value
+    carrier.put(key, LongStringHelper.asLongString(value));
+  }
 }
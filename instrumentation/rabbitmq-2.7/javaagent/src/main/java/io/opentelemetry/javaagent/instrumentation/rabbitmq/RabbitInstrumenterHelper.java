@@ -13,6 +13,7 @@ import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import io.opentelemetry.javaagent.bootstrap.internal.InstrumentationConfig;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 import java.util.Map;
@@ -73,7 +74,8 @@ public class RabbitInstrumenterHelper {
   }
 
   public void inject(Context context, Map<String, Object> headers, MapSetter setter) {
-    GlobalOpenTelemetry.getPropagators().getTextMapPropagator().inject(context, headers, setter);
+    TraceparentBytesPropagation.inject(
+        GlobalOpenTelemetry.getPropagators().getTextMapPropagator(), context, headers, setter);
   }
 
   public void setChannelAndMethod(Context context, ChannelAndMethod channelAndMethod) {
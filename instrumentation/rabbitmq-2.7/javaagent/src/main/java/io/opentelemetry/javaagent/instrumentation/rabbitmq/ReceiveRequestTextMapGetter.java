@@ -7,13 +7,15 @@ package io.opentelemetry.javaagent.instrumentation.rabbitmq;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.GetResponse;
-import io.opentelemetry.context.propagation.TextMapGetter;
+import com.rabbitmq.client.LongString;
+import io.opentelemetry.instrumentation.api.internal.TraceparentBytesPropagation;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
 
-enum ReceiveRequestTextMapGetter implements TextMapGetter<ReceiveRequest> {
+enum ReceiveRequestTextMapGetter
+    implements TraceparentBytesPropagation.BytesGetter<ReceiveRequest> {
   INSTANCE;
 
   @Override
@@ -37,4 +39,17 @@ enum ReceiveRequestTextMapGetter implements TextMapGetter<ReceiveRequest> {
         .map(Object::toString)
         .orElse(null);
   }
+
+  @Nullable
+  @Override
+  public byte[] getBytes(@Nullable ReceiveRequest carrier, String key) {
+    return Optional.ofNullable(carrier)
+        .map(ReceiveRequest::getResponse)
+        .map(GetResponse::getProps)
+        .map(AMQP.BasicProperties::getHeaders)
+        .map(headers -> headers.get(key))
+        .filter(LongString.class::isInstance)
+        .map(value -> ((LongString) value).getBytes())
+        .orElse(null);
+  }
 }
@@ -53,7 +53,24 @@ testing {
 }
 
 tasks {
+  val testBoundaryPropagation by registering(Test::class) {
+    filter {
+      includeTestsMatching("BoundaryPropagationInstrumentationTest")
+      includeTestsMatching("ContextPropagationOperatorInstrumentationTest.run*")
+    }
+    include("**/BoundaryPropagationInstrumentationTest.*")
+    include("**/ContextPropagationOperatorInstrumentationTest.*")
+    jvmArgs("-Dotel.instrumentation.reactor.experimental-boundary-propagation=true")
+  }
+
+  test {
+    filter {
+      excludeTestsMatching("BoundaryPropagationInstrumentationTest")
+    }
+  }
+
   check {
     dependsOn(testing.suites)
+    dependsOn(testBoundaryPropagation)
   }
 }
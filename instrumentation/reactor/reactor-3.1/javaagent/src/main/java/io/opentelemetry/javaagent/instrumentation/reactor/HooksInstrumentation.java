@@ -6,7 +6,6 @@
 package io.opentelemetry.javaagent.instrumentation.reactor;
 
 import static net.bytebuddy.matcher.ElementMatchers.isTypeInitializer;
-import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 
 import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
@@ -30,7 +29,7 @@ public class HooksInstrumentation implements TypeInstrumentation {
   @Override
   public void transform(TypeTransformer transformer) {
     transformer.applyAdviceToMethod(
-        isTypeInitializer().or(named("resetOnEachOperator")),
+        isTypeInitializer().or(namedOneOf("resetOnEachOperator", "resetOnLastOperator")),
         this.getClass().getName() + "$ResetOnEachOperatorAdvice");
   }
 
@@ -43,6 +42,10 @@ public class HooksInstrumentation implements TypeInstrumentation {
           .setCaptureExperimentalSpanAttributes(
               InstrumentationConfig.get()
                   .getBoolean("otel.instrumentation.reactor.experimental-span-attributes", false))
+          .setPropagateOnlyAtBoundaries(
+              InstrumentationConfig.get()
+                  .getBoolean(
+                      "otel.instrumentation.reactor.experimental-boundary-propagation", false))
           .build()
           .registerOnEachOperator();
     }
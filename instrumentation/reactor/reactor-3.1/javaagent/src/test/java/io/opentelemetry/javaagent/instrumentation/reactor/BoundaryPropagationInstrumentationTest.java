@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.reactor;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.reactor.ContextPropagationOperator;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+// runs with otel.instrumentation.reactor.experimental-boundary-propagation=true
+class BoundaryPropagationInstrumentationTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @Test
+  void propagatesAcrossPublishOn() {
+    testing.runWithSpan(
+        "parent",
+        () ->
+            Flux.range(0, 2)
+                .publishOn(Schedulers.parallel())
+                .map(i -> testing.runWithSpan("child", () -> i))
+                .blockLast());
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span -> span.hasName("child").hasParent(trace.getSpan(0)),
+                span -> span.hasName("child").hasParent(trace.getSpan(0))));
+  }
+
+  @Test
+  void propagatesToSubscriber() {
+    subscribeAndEmitOutsideOfParent();
+  }
+
+  @Test
+  void registersAgainAfterReset() {
+    Hooks.resetOnEachOperator();
+    Hooks.resetOnLastOperator();
+
+    subscribeAndEmitOutsideOfParent();
+  }
+
+  @Test
+  void runMonoWithContextMakesItCurrentForDelayedSignals() {
+    Mono<String> result =
+        Mono.defer(
+            () -> {
+              Span span =
+                  testing.getOpenTelemetry().getTracer("test").spanBuilder("parent").startSpan();
+              // emits on a thread that is not managed by Reactor
+              Mono<String> outer =
+                  Mono.create(sink -> new Thread(() -> sink.success("Value")).start());
+              return ContextPropagationOperator.runWithContext(outer, Context.current().with(span))
+                  .flatMap(
+                      value -> new ExtensionAnnotationsTracedWithSpan().mono(Mono.just(value)))
+                  .doFinally(unused -> span.end());
+            });
+
+    StepVerifier.create(result).expectNext("Value").verifyComplete();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span ->
+                    span.hasName("TracedWithSpan.mono")
+                        .hasKind(SpanKind.INTERNAL)
+                        .hasParent(trace.getSpan(0))));
+  }
+
+  // the values are emitted on the test thread after the parent span ended, only the hook on the
+  // last operator makes the context of the subscription current for the subscriber
+  private static void subscribeAndEmitOutsideOfParent() {
+    AtomicReference<FluxSink<String>> sink = new AtomicReference<>();
+    testing.runWithSpan(
+        "parent",
+        () ->
+            Flux.<String>create(sink::set)
+                .map(value -> value)
+                .subscribe(value -> testing.runWithSpan("child", () -> {})));
+
+    sink.get().next("value");
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span -> span.hasName("child").hasParent(trace.getSpan(0))));
+  }
+}
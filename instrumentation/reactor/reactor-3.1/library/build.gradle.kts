@@ -1,5 +1,8 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -11,4 +14,15 @@ dependencies {
 
   latestDepTestLibrary("io.projectreactor:reactor-core:3.4.+")
   latestDepTestLibrary("io.projectreactor:reactor-test:3.4.+")
+
+  jmhImplementation("io.projectreactor:reactor-core:3.4.0")
+}
+
+tasks {
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
 }
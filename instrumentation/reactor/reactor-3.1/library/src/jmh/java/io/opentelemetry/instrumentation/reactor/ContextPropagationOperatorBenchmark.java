@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streams elements through a long chain of synchronous operators, with and without a thread hop,
+ * while a span is current. {@code none} is the baseline without hooks, {@code eachOperator}
+ * switches the context in every operator for every signal and {@code boundaries} only at the
+ * subscriber of the chain and in the tasks of the scheduler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ContextPropagationOperatorBenchmark {
+
+  private static final Context CONTEXT =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "ff01020304050600ff0a0b0c0d0e0f00",
+                      "090a0b0c0d0e0f00",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Param({"none", "eachOperator", "boundaries"})
+  public String mode;
+
+  @Param({"20"})
+  public int operators;
+
+  @Param({"10000"})
+  public int elements;
+
+  private ContextPropagationOperator operator;
+  private Flux<Integer> synchronousChain;
+  private Flux<Integer> chainWithPublishOn;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (!mode.equals("none")) {
+      operator =
+          ContextPropagationOperator.builder()
+              .setPropagateOnlyAtBoundaries(mode.equals("boundaries"))
+              .build();
+      operator.registerOnEachOperator();
+    }
+    // the hooks are applied when the operators are assembled
+    synchronousChain = chain(Flux.range(0, elements), operators);
+    chainWithPublishOn =
+        chain(
+            chain(Flux.range(0, elements), operators / 2).publishOn(Schedulers.parallel()),
+            operators / 2);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (operator != null) {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Benchmark
+  public Integer synchronousChain() {
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      return synchronousChain.blockLast();
+    }
+  }
+
+  @Benchmark
+  public Integer chainWithPublishOn() {
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      return chainWithPublishOn.blockLast();
+    }
+  }
+
+  private static Flux<Integer> chain(Flux<Integer> flux, int operators) {
+    for (int i = 0; i < operators; i++) {
+      flux = flux.map(value -> value + 1);
+    }
+    return flux;
+  }
+}
@@ -29,6 +29,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.annotation.support.async.AsyncOperationEndStrategies;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -40,6 +41,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Schedulers;
 
 /** Based on Spring Sleuth's Reactor instrumentation. */
 public final class ContextPropagationOperator {
@@ -52,6 +54,15 @@ public final class ContextPropagationOperator {
   @Nullable
   private static final MethodHandle FLUX_CONTEXT_WRITE_METHOD = getContextWriteMethod(Flux.class);
 
+  // Schedulers.onScheduleHook is not available in all supported versions
+  @Nullable
+  private static final MethodHandle ON_SCHEDULE_HOOK_METHOD =
+      getSchedulersMethod("onScheduleHook", methodType(void.class, String.class, Function.class));
+
+  @Nullable
+  private static final MethodHandle RESET_ON_SCHEDULE_HOOK_METHOD =
+      getSchedulersMethod("resetOnScheduleHook", methodType(void.class, String.class));
+
   @Nullable
   private static MethodHandle getContextWriteMethod(Class<?> type) {
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
@@ -68,6 +79,15 @@ public final class ContextPropagationOperator {
     return null;
   }
 
+  @Nullable
+  private static MethodHandle getSchedulersMethod(String name, MethodType type) {
+    try {
+      return MethodHandles.publicLookup().findStatic(Schedulers.class, name, type);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
   public static ContextPropagationOperator create() {
     return builder().build();
   }
@@ -77,6 +97,7 @@ public final class ContextPropagationOperator {
   }
 
   private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+  private final boolean propagateOnlyAtBoundaries;
 
   private static final Object TRACE_CONTEXT_KEY =
       new Object() {
@@ -90,10 +111,19 @@ public final class ContextPropagationOperator {
 
   private static volatile boolean enabled = false;
 
+  // whether the hooks propagate only at the boundaries of a stream, runWithContext() then traces
+  // the publisher it runs itself
+  private static volatile boolean propagatingOnlyAtBoundaries = false;
+
   /**
    * Stores Trace {@link io.opentelemetry.context.Context} in Reactor {@link
    * reactor.util.context.Context}.
    *
+   * <p>When {@linkplain ContextPropagationOperatorBuilder#setPropagateOnlyAtBoundaries(boolean)
+   * propagating only at boundaries}, the stored context is only made current by the publishers
+   * returned by {@code runWithContext()}, not by the other operators upstream of the {@code
+   * contextWrite()} that stored it.
+   *
    * @param context Reactor's context to store trace context in.
    * @param traceContext Trace context to be stored.
    */
@@ -116,11 +146,13 @@ public final class ContextPropagationOperator {
     return context.getOrDefault(TRACE_CONTEXT_KEY, defaultTraceContext);
   }
 
-  ContextPropagationOperator(boolean captureExperimentalSpanAttributes) {
+  ContextPropagationOperator(
+      boolean captureExperimentalSpanAttributes, boolean propagateOnlyAtBoundaries) {
     this.asyncOperationEndStrategy =
         ReactorAsyncOperationEndStrategy.builder()
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .build();
+    this.propagateOnlyAtBoundaries = propagateOnlyAtBoundaries;
   }
 
   /**
@@ -128,28 +160,67 @@ public final class ContextPropagationOperator {
    * callbacks to ensure spans in the {@link Context} are available throughout the lifetime of a
    * reactive stream. This should generally be called in a static initializer block in your
    * application.
+   *
+   * <p>When {@linkplain ContextPropagationOperatorBuilder#setPropagateOnlyAtBoundaries(boolean)
+   * propagating only at boundaries}, the hook applies to the last operator of a stream instead, and
+   * tasks scheduled by Reactor's schedulers, e.g. by {@code publishOn()} and {@code
+   * subscribeOn()}, run with the {@link Context} they were scheduled with. Reactor versions without
+   * scheduler hooks always use the hook that applies to every operator.
+   *
+   * <p>The hooks are registered again when this method is called after they were removed with
+   * Reactor's {@code Hooks.resetOnEachOperator()} or {@code Hooks.resetOnLastOperator()}.
    */
   public void registerOnEachOperator() {
     synchronized (lock) {
-      if (enabled) {
-        return;
+      // the hooks are registered by key, registering them again replaces them
+      if (propagateOnlyAtBoundaries && isScheduleHookSupported()) {
+        Hooks.onLastOperator(
+            TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+        invokeStatic(
+            ON_SCHEDULE_HOOK_METHOD, TracingSubscriber.class.getName(), new ContextScheduleHook());
+        propagatingOnlyAtBoundaries = true;
+      } else {
+        Hooks.onEachOperator(
+            TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+        propagatingOnlyAtBoundaries = false;
+      }
+      if (!enabled) {
+        AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
+        enabled = true;
       }
-      Hooks.onEachOperator(
-          TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
-      AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
-      enabled = true;
     }
   }
 
-  /** Unregisters the hook registered by {@link #registerOnEachOperator()}. */
+  /** Unregisters the hooks registered by {@link #registerOnEachOperator()}. */
   public void resetOnEachOperator() {
     synchronized (lock) {
       if (!enabled) {
         return;
       }
+      // the hooks may have been registered by an operator with a different mode
       Hooks.resetOnEachOperator(TracingSubscriber.class.getName());
+      Hooks.resetOnLastOperator(TracingSubscriber.class.getName());
+      if (isScheduleHookSupported()) {
+        invokeStatic(RESET_ON_SCHEDULE_HOOK_METHOD, TracingSubscriber.class.getName());
+      }
       AsyncOperationEndStrategies.instance().unregisterStrategy(asyncOperationEndStrategy);
       enabled = false;
+      propagatingOnlyAtBoundaries = false;
+    }
+  }
+
+  static boolean isScheduleHookSupported() {
+    return ON_SCHEDULE_HOOK_METHOD != null && RESET_ON_SCHEDULE_HOOK_METHOD != null;
+  }
+
+  private static void invokeStatic(@Nullable MethodHandle method, Object... args) {
+    if (method == null) {
+      return;
+    }
+    try {
+      method.invokeWithArguments(args);
+    } catch (Throwable t) {
+      throw sneakyThrow(t);
     }
   }
 
@@ -171,7 +242,7 @@ public final class ContextPropagationOperator {
     try {
       return (Mono<T>)
           MONO_CONTEXT_WRITE_METHOD.invoke(
-              ScalarPropagatingMono.create(publisher),
+              ScalarPropagatingMono.create(traceIfOnlyAtBoundaries(publisher)),
               new StoreOpenTelemetryContext(tracingContext));
     } catch (Throwable t) {
       // rethrowing without any wrapping to avoid any change to the underlying application behavior
@@ -192,7 +263,7 @@ public final class ContextPropagationOperator {
     try {
       return (Flux<T>)
           FLUX_CONTEXT_WRITE_METHOD.invoke(
-              ScalarPropagatingFlux.create(publisher),
+              ScalarPropagatingFlux.create(traceIfOnlyAtBoundaries(publisher)),
               new StoreOpenTelemetryContext(tracingContext));
     } catch (Throwable t) {
       // rethrowing without any wrapping to avoid any change to the underlying application behavior
@@ -200,11 +271,40 @@ public final class ContextPropagationOperator {
     }
   }
 
+  // without the hook on every operator the signals of the publisher, e.g. ones emitted on a Netty
+  // event loop, would not be delivered with the context that runWithContext() stored
+  private static <T> Mono<T> traceIfOnlyAtBoundaries(Mono<T> publisher) {
+    return propagatingOnlyAtBoundaries ? publisher.transform(storedContextLift()) : publisher;
+  }
+
+  private static <T> Flux<T> traceIfOnlyAtBoundaries(Flux<T> publisher) {
+    return propagatingOnlyAtBoundaries ? publisher.transform(storedContextLift()) : publisher;
+  }
+
+  private static <T> Function<? super Publisher<T>, ? extends Publisher<T>> storedContextLift() {
+    return Operators.lift(
+        (scannable, subscriber) ->
+            new TracingSubscriber<>(subscriber, subscriber.currentContext()));
+  }
+
   @SuppressWarnings({"TypeParameterUnusedInFormals", "unchecked"})
   private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
     throw (T) t;
   }
 
+  /** Runs scheduled tasks with the {@link Context} that was current when they were scheduled. */
+  private static class ContextScheduleHook implements Function<Runnable, Runnable> {
+
+    @Override
+    public Runnable apply(Runnable runnable) {
+      Context context = Context.current();
+      if (context == Context.root()) {
+        return runnable;
+      }
+      return context.wrap(runnable);
+    }
+  }
+
   private static class StoreOpenTelemetryContext
       implements Function<reactor.util.context.Context, reactor.util.context.Context> {
 
@@ -9,6 +9,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 public final class ContextPropagationOperatorBuilder {
   private boolean captureExperimentalSpanAttributes;
+  private boolean propagateOnlyAtBoundaries;
 
   ContextPropagationOperatorBuilder() {}
 
@@ -19,7 +20,28 @@ public final class ContextPropagationOperatorBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the {@link io.opentelemetry.context.Context} is only propagated at the boundaries
+   * of a reactive stream: to its subscriber and to the tasks scheduled by Reactor's schedulers,
+   * e.g. by {@code publishOn()} and {@code subscribeOn()}. This avoids switching the context in
+   * every operator for every signal, but operators that run after a publisher that emits on
+   * another thread without using a Reactor scheduler, e.g. a Netty event loop, don't see the
+   * context of the subscriber. The publishers returned by {@link
+   * ContextPropagationOperator#runWithContext(reactor.core.publisher.Mono,
+   * io.opentelemetry.context.Context)} still run with their context, but a context that is stored
+   * with {@link ContextPropagationOperator#storeOpenTelemetryContext(reactor.util.context.Context,
+   * io.opentelemetry.context.Context)} is not made current in the other operators upstream of it.
+   * Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public ContextPropagationOperatorBuilder setPropagateOnlyAtBoundaries(
+      boolean propagateOnlyAtBoundaries) {
+    this.propagateOnlyAtBoundaries = propagateOnlyAtBoundaries;
+    return this;
+  }
+
   public ContextPropagationOperator build() {
-    return new ContextPropagationOperator(captureExperimentalSpanAttributes);
+    return new ContextPropagationOperator(
+        captureExperimentalSpanAttributes, propagateOnlyAtBoundaries);
   }
 }
@@ -54,22 +54,46 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
 
   @Override
   public void onSubscribe(Subscription subscription) {
-    withActiveSpan(() -> subscriber.onSubscribe(subscription));
+    if (!shouldMakeCurrent()) {
+      subscriber.onSubscribe(subscription);
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onSubscribe(subscription);
+    }
   }
 
   @Override
   public void onNext(T o) {
-    withActiveSpan(() -> subscriber.onNext(o));
+    if (!shouldMakeCurrent()) {
+      subscriber.onNext(o);
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onNext(o);
+    }
   }
 
   @Override
   public void onError(Throwable throwable) {
-    withActiveSpan(() -> subscriber.onError(throwable));
+    if (!shouldMakeCurrent()) {
+      subscriber.onError(throwable);
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onError(throwable);
+    }
   }
 
   @Override
   public void onComplete() {
-    withActiveSpan(subscriber::onComplete);
+    if (!shouldMakeCurrent()) {
+      subscriber.onComplete();
+      return;
+    }
+    try (Scope ignored = traceContext.makeCurrent()) {
+      subscriber.onComplete();
+    }
   }
 
   @Override
@@ -77,13 +101,9 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
     return context;
   }
 
-  private void withActiveSpan(Runnable runnable) {
-    if (hasContextToPropagate) {
-      try (Scope ignored = traceContext.makeCurrent()) {
-        runnable.run();
-      }
-    } else {
-      runnable.run();
-    }
+  // the context is not switched when it is already current, e.g. in the synchronous stages of a
+  // stream whose operators are all traced
+  private boolean shouldMakeCurrent() {
+    return hasContextToPropagate && traceContext != io.opentelemetry.context.Context.current();
   }
 }
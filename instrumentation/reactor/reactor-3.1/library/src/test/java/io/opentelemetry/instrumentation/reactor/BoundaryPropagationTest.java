@@ -0,0 +1,170 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class BoundaryPropagationTest {
+
+  private static final Context CONTEXT =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "ff01020304050600ff0a0b0c0d0e0f00",
+                      "090a0b0c0d0e0f00",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  private final ContextPropagationOperator operator =
+      ContextPropagationOperator.builder().setPropagateOnlyAtBoundaries(true).build();
+
+  @BeforeEach
+  void setUp() {
+    operator.registerOnEachOperator();
+  }
+
+  @AfterEach
+  void tearDown() {
+    operator.resetOnEachOperator();
+  }
+
+  @Test
+  void wrapsOnlyLastOperator() {
+    assumeTrue(ContextPropagationOperator.isScheduleHookSupported());
+    assertOnlyLastOperatorIsWrapped();
+  }
+
+  @Test
+  void registersAgainAfterReset() {
+    assumeTrue(ContextPropagationOperator.isScheduleHookSupported());
+    Hooks.resetOnLastOperator();
+
+    operator.registerOnEachOperator();
+
+    assertOnlyLastOperatorIsWrapped();
+  }
+
+  @Test
+  void propagatesInSynchronousStages() {
+    List<Context> contexts = new CopyOnWriteArrayList<>();
+
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      Flux.range(0, 3)
+          .map(i -> i + 1)
+          .filter(i -> contexts.add(Context.current()))
+          .map(i -> i * 2)
+          .blockLast();
+    }
+
+    assertThat(contexts).hasSize(3).containsOnly(CONTEXT);
+  }
+
+  @Test
+  void propagatesAcrossPublishOn() {
+    List<Context> contexts = new CopyOnWriteArrayList<>();
+
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      Flux.range(0, 3)
+          .publishOn(Schedulers.parallel())
+          .map(i -> i + 1)
+          .doOnNext(i -> contexts.add(Context.current()))
+          .blockLast();
+    }
+
+    assertThat(contexts).hasSize(3).containsOnly(CONTEXT);
+  }
+
+  @Test
+  void propagatesAcrossSubscribeOn() {
+    List<Context> contexts = new CopyOnWriteArrayList<>();
+
+    try (Scope ignored = CONTEXT.makeCurrent()) {
+      Mono.fromCallable(() -> contexts.add(Context.current()))
+          .subscribeOn(Schedulers.single())
+          .block();
+    }
+
+    assertThat(contexts).containsExactly(CONTEXT);
+  }
+
+  @Test
+  void runMonoWithContextPropagatesToSignalsFromOtherThreads() {
+    List<Context> contexts = new CopyOnWriteArrayList<>();
+    Mono<Integer> source = Mono.create(sink -> new Thread(() -> sink.success(1)).start());
+
+    ContextPropagationOperator.runWithContext(source, CONTEXT)
+        .doOnNext(i -> contexts.add(Context.current()))
+        .block();
+
+    assertThat(contexts).containsExactly(CONTEXT);
+  }
+
+  @Test
+  void runFluxWithContextPropagatesToSignalsFromOtherThreads() {
+    List<Context> contexts = new CopyOnWriteArrayList<>();
+    Flux<Integer> source =
+        Flux.create(
+            sink ->
+                new Thread(
+                        () -> {
+                          sink.next(1);
+                          sink.next(2);
+                          sink.complete();
+                        })
+                    .start());
+
+    ContextPropagationOperator.runWithContext(source, CONTEXT)
+        .doOnNext(i -> contexts.add(Context.current()))
+        .blockLast();
+
+    assertThat(contexts).hasSize(2).containsOnly(CONTEXT);
+  }
+
+  private static void assertOnlyLastOperatorIsWrapped() {
+    AtomicReference<CoreSubscriber<? super Integer>> subscriber = new AtomicReference<>();
+
+    new CapturingMono(subscriber).map(i -> i + 1).map(i -> i * 2).subscribe();
+
+    assertThat(subscriber.get()).extracting("actual").isNotInstanceOf(TracingSubscriber.class);
+    assertThat(subscriber.get())
+        .extracting("actual")
+        .extracting("actual")
+        .isInstanceOf(TracingSubscriber.class);
+  }
+
+  private static class CapturingMono extends Mono<Integer> {
+    final AtomicReference<CoreSubscriber<? super Integer>> subscriber;
+
+    CapturingMono(AtomicReference<CoreSubscriber<? super Integer>> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super Integer> actual) {
+      subscriber.set(actual);
+    }
+  }
+}
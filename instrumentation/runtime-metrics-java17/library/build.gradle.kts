@@ -0,0 +1,14 @@
+plugins {
+  id("otel.library-instrumentation")
+}
+
+otelJava {
+  minJavaVersionSupported.set(JavaVersion.VERSION_17)
+}
+
+dependencies {
+  implementation(project(":instrumentation-api"))
+
+  testImplementation("io.opentelemetry:opentelemetry-sdk-metrics")
+  testImplementation(project(":testing-common"))
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterBuilder;
+import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Collects JVM runtime metrics from a JDK Flight Recorder event stream instead of polling
+ * management beans.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * if (JfrRuntimeMetrics.isAvailable()) {
+ *   JfrRuntimeMetrics jfrRuntimeMetrics = JfrRuntimeMetrics.create(GlobalOpenTelemetry.get());
+ *   // ...
+ *   jfrRuntimeMetrics.close();
+ * } else {
+ *   GarbageCollector.registerObservers(GlobalOpenTelemetry.get());
+ *   MemoryPools.registerObservers(GlobalOpenTelemetry.get());
+ * }
+ * }</pre>
+ *
+ * <p>Example metrics being exported:
+ *
+ * <pre>
+ *   process.runtime.jvm.gc.duration{gc="G1New",cause="G1 Evacuation Pause"} 1.2
+ *   process.runtime.jvm.memory.usage_after_gc{type="heap"} 20000000
+ *   process.runtime.jvm.memory.allocation 512000
+ *   process.runtime.jvm.monitor.contention.duration{monitor.class="java.lang.Object"} 25.0
+ *   process.runtime.jvm.cpu.context_switch_rate 1200.0
+ *   process.runtime.jvm.code_cache.usage{code_cache="CodeHeap 'non-nmethods'"} 1500000
+ * </pre>
+ */
+public final class JfrRuntimeMetrics implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(JfrRuntimeMetrics.class.getName());
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.runtime-metrics-java17";
+
+  @Nullable
+  private static final String INSTRUMENTATION_VERSION =
+      EmbeddedInstrumentationProperties.findVersion(INSTRUMENTATION_NAME);
+
+  private static final Duration PERIOD = Duration.ofSeconds(1);
+  private static final Duration MONITOR_CONTENTION_THRESHOLD = Duration.ofMillis(10);
+
+  static final AttributeKey<String> GC_KEY = AttributeKey.stringKey("gc");
+  static final AttributeKey<String> CAUSE_KEY = AttributeKey.stringKey("cause");
+  static final AttributeKey<String> TYPE_KEY = AttributeKey.stringKey("type");
+  static final AttributeKey<String> MONITOR_CLASS_KEY = AttributeKey.stringKey("monitor.class");
+  static final AttributeKey<String> CODE_CACHE_KEY = AttributeKey.stringKey("code_cache");
+
+  private static final Attributes HEAP_ATTRIBUTES = Attributes.of(TYPE_KEY, "heap");
+
+  private final RecordingStream recordingStream;
+
+  private final DoubleHistogram gcDuration;
+  private final LongCounter allocation;
+  private final DoubleHistogram monitorContention;
+
+  // the fields below are only accessed from the recording stream thread
+  private final Map<String, Attributes> gcAttributes = new HashMap<>();
+  private final Map<String, Attributes> monitorAttributes = new HashMap<>();
+  // the total bytes allocated by each live thread, the statistics report running totals of which
+  // only the increase is added to the counter; threads that are not reported in a period ended
+  private final Map<Long, ThreadAllocation> threadAllocations = new HashMap<>();
+  @Nullable private Instant currentAllocationPeriod;
+
+  // written from the recording stream thread, read by the metric callbacks
+  private volatile long heapUsedAfterGc = -1;
+  private volatile double contextSwitchRate = -1;
+  private final Map<String, Long> codeCacheUsage = new ConcurrentHashMap<>();
+
+  /** Returns whether JDK Flight Recorder event streaming can be used in this JVM. */
+  public static boolean isAvailable() {
+    // jdk.jfr is an optional module and may have been left out of a custom runtime image
+    if (!ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+      return false;
+    }
+    return FlightRecorder.isAvailable();
+  }
+
+  /**
+   * Starts streaming JFR events and registers the instruments that report them. The returned
+   * instance must be closed to stop the recording.
+   */
+  public static JfrRuntimeMetrics create(OpenTelemetry openTelemetry) {
+    JfrRuntimeMetrics jfrRuntimeMetrics = new JfrRuntimeMetrics(getMeter(openTelemetry));
+    jfrRuntimeMetrics.recordingStream.startAsync();
+    return jfrRuntimeMetrics;
+  }
+
+  private JfrRuntimeMetrics(Meter meter) {
+    gcDuration =
+        meter
+            .histogramBuilder("process.runtime.jvm.gc.duration")
+            .setDescription("Duration of JVM garbage collection pauses")
+            .setUnit("ms")
+            .build();
+    allocation =
+        meter
+            .counterBuilder("process.runtime.jvm.memory.allocation")
+            .setDescription("Bytes allocated by all threads")
+            .setUnit("By")
+            .build();
+    monitorContention =
+        meter
+            .histogramBuilder("process.runtime.jvm.monitor.contention.duration")
+            .setDescription(
+                "Time spent waiting to enter a contended monitor, for waits longer than "
+                    + MONITOR_CONTENTION_THRESHOLD.toMillis()
+                    + "ms")
+            .setUnit("ms")
+            .build();
+    meter
+        .upDownCounterBuilder("process.runtime.jvm.memory.usage_after_gc")
+        .setDescription("Heap memory used after the most recent garbage collection")
+        .setUnit("By")
+        .buildWithCallback(
+            measurement -> {
+              long value = heapUsedAfterGc;
+              if (value >= 0) {
+                measurement.record(value, HEAP_ATTRIBUTES);
+              }
+            });
+    meter
+        .gaugeBuilder("process.runtime.jvm.cpu.context_switch_rate")
+        .setDescription("Number of operating system thread context switches per second")
+        .setUnit("{switch}/s")
+        .buildWithCallback(
+            measurement -> {
+              double value = contextSwitchRate;
+              if (value >= 0) {
+                measurement.record(value);
+              }
+            });
+    meter
+        .upDownCounterBuilder("process.runtime.jvm.code_cache.usage")
+        .setDescription("Code cache memory used")
+        .setUnit("By")
+        .buildWithCallback(
+            measurement ->
+                codeCacheUsage.forEach(
+                    (codeCache, used) ->
+                        measurement.record(used, Attributes.of(CODE_CACHE_KEY, codeCache))));
+
+    recordingStream = new RecordingStream();
+    // events are aggregated into metrics as they arrive and are never retained
+    recordingStream.setReuse(true);
+
+    recordingStream.enable("jdk.GarbageCollection");
+    recordingStream.enable("jdk.GCHeapSummary");
+    recordingStream.enable("jdk.ThreadAllocationStatistics").withPeriod(PERIOD);
+    recordingStream
+        .enable("jdk.JavaMonitorEnter")
+        .withThreshold(MONITOR_CONTENTION_THRESHOLD)
+        .withoutStackTrace();
+    recordingStream.enable("jdk.ThreadContextSwitchRate").withPeriod(PERIOD);
+    recordingStream.enable("jdk.CodeCacheStatistics").withPeriod(PERIOD);
+
+    recordingStream.onEvent("jdk.GarbageCollection", this::handleGarbageCollection);
+    recordingStream.onEvent("jdk.GCHeapSummary", this::handleHeapSummary);
+    recordingStream.onEvent("jdk.ThreadAllocationStatistics", this::handleThreadAllocation);
+    recordingStream.onEvent("jdk.JavaMonitorEnter", this::handleMonitorEnter);
+    recordingStream.onEvent("jdk.ThreadContextSwitchRate", this::handleContextSwitchRate);
+    recordingStream.onEvent("jdk.CodeCacheStatistics", this::handleCodeCacheStatistics);
+    recordingStream.onError(
+        throwable -> logger.log(FINE, "Error while streaming JFR events", throwable));
+  }
+
+  private void handleGarbageCollection(RecordedEvent event) {
+    String name = event.getString("name");
+    String cause = event.getString("cause");
+    Attributes attributes =
+        gcAttributes.computeIfAbsent(
+            name + '\0' + cause, unused -> Attributes.of(GC_KEY, name, CAUSE_KEY, cause));
+    gcDuration.record(toMillis(event.getDuration("sumOfPauses")), attributes);
+  }
+
+  private void handleHeapSummary(RecordedEvent event) {
+    if ("After GC".equals(event.getString("when"))) {
+      heapUsedAfterGc = event.getLong("heapUsed");
+    }
+  }
+
+  private void handleThreadAllocation(RecordedEvent event) {
+    RecordedThread thread = event.getThread("thread");
+    if (thread == null) {
+      return;
+    }
+    Instant period = event.getStartTime();
+    if (!period.equals(currentAllocationPeriod)) {
+      Instant previousPeriod = currentAllocationPeriod;
+      // the threads that were not reported in the previous period are gone
+      threadAllocations.values().removeIf(value -> !Objects.equals(value.period, previousPeriod));
+      currentAllocationPeriod = period;
+    }
+
+    long threadId = thread.getJavaThreadId();
+    ThreadAllocation threadAllocation =
+        threadAllocations.computeIfAbsent(threadId, unused -> new ThreadAllocation());
+    long allocated = event.getLong("allocated");
+    long delta = allocated - threadAllocation.allocated;
+    if (delta > 0) {
+      allocation.add(delta);
+    }
+    threadAllocation.allocated = allocated;
+    threadAllocation.period = period;
+  }
+
+  private void handleMonitorEnter(RecordedEvent event) {
+    RecordedClass monitorClass = event.getClass("monitorClass");
+    String className = monitorClass == null ? "unknown" : monitorClass.getName();
+    Attributes attributes =
+        monitorAttributes.computeIfAbsent(
+            className, unused -> Attributes.of(MONITOR_CLASS_KEY, className));
+    monitorContention.record(toMillis(event.getDuration()), attributes);
+  }
+
+  private void handleContextSwitchRate(RecordedEvent event) {
+    contextSwitchRate = event.getFloat("switchRate");
+  }
+
+  private void handleCodeCacheStatistics(RecordedEvent event) {
+    long reserved = event.getLong("reservedTopAddress") - event.getLong("startAddress");
+    long used = reserved - event.getLong("unallocatedCapacity");
+    codeCacheUsage.put(event.getString("codeBlobType"), used);
+  }
+
+  private static double toMillis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+
+  private static Meter getMeter(OpenTelemetry openTelemetry) {
+    MeterBuilder meterBuilder = openTelemetry.meterBuilder(INSTRUMENTATION_NAME);
+    if (INSTRUMENTATION_VERSION != null) {
+      meterBuilder.setInstrumentationVersion(INSTRUMENTATION_VERSION);
+    }
+    return meterBuilder.build();
+  }
+
+  /** Stops the JFR recording; no more values will be recorded afterwards. */
+  @Override
+  public void close() {
+    recordingStream.close();
+  }
+
+  private static final class ThreadAllocation {
+    private long allocated;
+    @Nullable private Instant period;
+  }
+}
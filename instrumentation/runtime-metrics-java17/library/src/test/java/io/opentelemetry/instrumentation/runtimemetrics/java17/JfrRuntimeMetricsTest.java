@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimemetrics.java17;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class JfrRuntimeMetricsTest {
+
+  private static final String INSTRUMENTATION_NAME = "io.opentelemetry.runtime-metrics-java17";
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  private JfrRuntimeMetrics jfrRuntimeMetrics;
+
+  @BeforeEach
+  void setUp() {
+    assertThat(JfrRuntimeMetrics.isAvailable()).isTrue();
+    jfrRuntimeMetrics = JfrRuntimeMetrics.create(testing.getOpenTelemetry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    jfrRuntimeMetrics.close();
+  }
+
+  @Test
+  void gcMetrics() {
+    System.gc();
+
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.gc.duration",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasDescription("Duration of JVM garbage collection pauses")
+                        .hasUnit("ms")
+                        .hasHistogramSatisfying(histogram -> {})));
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.memory.usage_after_gc",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasUnit("By")
+                        .hasLongSumSatisfying(sum -> sum.isNotMonotonic())));
+  }
+
+  @Test
+  void allocationMetrics() {
+    byte[][] garbage = new byte[1024][];
+    for (int i = 0; i < garbage.length; i++) {
+      garbage[i] = new byte[1024];
+    }
+
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.memory.allocation",
+        metrics ->
+            metrics.anySatisfy(
+                metricData ->
+                    assertThat(metricData)
+                        .hasUnit("By")
+                        .hasLongSumSatisfying(
+                            sum ->
+                                sum.isMonotonic()
+                                    .hasPointsSatisfying(
+                                        point -> point.hasAttributes(Attributes.empty())))));
+    testing.waitAndAssertMetrics(
+        INSTRUMENTATION_NAME,
+        "process.runtime.jvm.code_cache.usage",
+        metrics -> metrics.anySatisfy(metricData -> assertThat(metricData).hasUnit("By")));
+  }
+}
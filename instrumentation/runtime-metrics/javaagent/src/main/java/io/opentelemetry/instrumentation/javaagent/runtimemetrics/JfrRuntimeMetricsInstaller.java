@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.javaagent.runtimemetrics;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.runtimemetrics.java17.JfrRuntimeMetrics;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// kept separate from RuntimeMetricsInstaller so that the Java 17 classes are only loaded when the
+// JFR based metrics were enabled
+final class JfrRuntimeMetricsInstaller {
+
+  private static final Logger logger = Logger.getLogger(JfrRuntimeMetricsInstaller.class.getName());
+
+  /** Returns whether JFR based runtime metrics were started. */
+  static boolean install(OpenTelemetry openTelemetry) {
+    try {
+      if (!JfrRuntimeMetrics.isAvailable()) {
+        return false;
+      }
+      JfrRuntimeMetrics jfrRuntimeMetrics = JfrRuntimeMetrics.create(openTelemetry);
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(jfrRuntimeMetrics::close, "otel-jfr-runtime-metrics"));
+      return true;
+    } catch (UnsupportedClassVersionError | NoClassDefFoundError e) {
+      // running on a JVM older than 17
+      return false;
+    } catch (RuntimeException e) {
+      logger.log(Level.FINE, "Failed to start JFR based runtime metrics", e);
+      return false;
+    }
+  }
+
+  private JfrRuntimeMetricsInstaller() {}
+}
@@ -38,6 +38,11 @@ public class RuntimeMetricsInstaller implements AgentListener {
     Cpu.registerObservers(openTelemetry);
     MemoryPools.registerObservers(openTelemetry);
     Threads.registerObservers(openTelemetry);
-    GarbageCollector.registerObservers(openTelemetry);
+
+    // the JFR based metrics require Java 17, fall back to the MXBean based GC metrics otherwise
+    if (!config.getBoolean("otel.instrumentation.runtime-metrics.experimental.jfr.enabled", false)
+        || !JfrRuntimeMetricsInstaller.install(openTelemetry)) {
+      GarbageCollector.registerObservers(openTelemetry);
+    }
   }
 }
@@ -10,14 +10,15 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.instrumentation.api.internal.CachedSnapshot;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryType;
 import java.lang.management.MemoryUsage;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Registers measurements that generate metrics about JVM memory pools.
@@ -51,52 +52,78 @@ public final class MemoryPools {
 
   /** Register observers for java runtime memory metrics. */
   public static void registerObservers(OpenTelemetry openTelemetry) {
-    registerObservers(openTelemetry, ManagementFactory.getMemoryPoolMXBeans());
+    registerObservers(openTelemetry, Duration.ZERO);
+  }
+
+  /**
+   * Register observers for java runtime memory metrics. Memory pools are sampled at most once per
+   * {@code minimumCollectionInterval}, metric readers collecting within that interval of each other
+   * observe the same values.
+   */
+  public static void registerObservers(
+      OpenTelemetry openTelemetry, Duration minimumCollectionInterval) {
+    registerObservers(
+        openTelemetry, ManagementFactory.getMemoryPoolMXBeans(), minimumCollectionInterval);
   }
 
   // Visible for testing
-  static void registerObservers(OpenTelemetry openTelemetry, List<MemoryPoolMXBean> poolBeans) {
+  static void registerObservers(
+      OpenTelemetry openTelemetry,
+      List<MemoryPoolMXBean> poolBeans,
+      Duration minimumCollectionInterval) {
     Meter meter = RuntimeMetricsUtil.getMeter(openTelemetry);
 
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.usage")
-        .setDescription("Measure of memory used")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getUsed));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.init")
-        .setDescription("Measure of initial memory requested")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getInit));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.committed")
-        .setDescription("Measure of memory committed")
-        .setUnit("By")
-        .buildWithCallback(
-            callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getCommitted));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.limit")
-        .setDescription("Measure of max obtainable memory")
-        .setUnit("By")
-        .buildWithCallback(callback(poolBeans, MemoryPoolMXBean::getUsage, MemoryUsage::getMax));
-
-    meter
-        .upDownCounterBuilder("process.runtime.jvm.memory.usage_after_last_gc")
-        .setDescription(
-            "Measure of memory used after the most recent garbage collection event on this pool")
-        .setUnit("By")
-        .buildWithCallback(
-            callback(poolBeans, MemoryPoolMXBean::getCollectionUsage, MemoryUsage::getUsed));
+    ObservableLongMeasurement usage =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.usage")
+            .setDescription("Measure of memory used")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement init =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.init")
+            .setDescription("Measure of initial memory requested")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement committed =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.committed")
+            .setDescription("Measure of memory committed")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement limit =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.limit")
+            .setDescription("Measure of max obtainable memory")
+            .setUnit("By")
+            .buildObserver();
+    ObservableLongMeasurement usageAfterLastGc =
+        meter
+            .upDownCounterBuilder("process.runtime.jvm.memory.usage_after_last_gc")
+            .setDescription(
+                "Measure of memory used after the most recent garbage collection event on this pool")
+            .setUnit("By")
+            .buildObserver();
+
+    meter.batchCallback(
+        callback(
+            poolBeans, minimumCollectionInterval, usage, init, committed, limit, usageAfterLastGc),
+        usage,
+        init,
+        committed,
+        limit,
+        usageAfterLastGc);
   }
 
   // Visible for testing
-  static Consumer<ObservableLongMeasurement> callback(
+  static Runnable callback(
       List<MemoryPoolMXBean> poolBeans,
-      Function<MemoryPoolMXBean, MemoryUsage> memoryUsageExtractor,
-      Function<MemoryUsage, Long> valueExtractor) {
+      Duration minimumCollectionInterval,
+      ObservableLongMeasurement usage,
+      ObservableLongMeasurement init,
+      ObservableLongMeasurement committed,
+      ObservableLongMeasurement limit,
+      ObservableLongMeasurement usageAfterLastGc) {
     List<Attributes> attributeSets = new ArrayList<>(poolBeans.size());
     for (MemoryPoolMXBean pool : poolBeans) {
       attributeSets.add(
@@ -105,24 +132,38 @@ public final class MemoryPools {
               .put(TYPE_KEY, memoryType(pool.getType()))
               .build());
     }
+    // every pool is read once per collection and all instruments are recorded from that read
+    Supplier<Snapshot> snapshot =
+        new CachedSnapshot<>(() -> Snapshot.sample(poolBeans), minimumCollectionInterval);
 
-    return measurement -> {
-      for (int i = 0; i < poolBeans.size(); i++) {
+    return () -> {
+      Snapshot current = snapshot.get();
+      for (int i = 0; i < attributeSets.size(); i++) {
         Attributes attributes = attributeSets.get(i);
-        MemoryUsage memoryUsage = memoryUsageExtractor.apply(poolBeans.get(i));
-        if (memoryUsage == null) {
-          // JVM may return null in special cases for MemoryPoolMXBean.getUsage() and
-          // MemoryPoolMXBean.getCollectionUsage()
-          continue;
+        // JVM may return null in special cases for MemoryPoolMXBean.getUsage() and
+        // MemoryPoolMXBean.getCollectionUsage()
+        MemoryUsage memoryUsage = current.usages[i];
+        if (memoryUsage != null) {
+          record(usage, memoryUsage.getUsed(), attributes);
+          record(init, memoryUsage.getInit(), attributes);
+          record(committed, memoryUsage.getCommitted(), attributes);
+          record(limit, memoryUsage.getMax(), attributes);
         }
-        long value = valueExtractor.apply(memoryUsage);
-        if (value != -1) {
-          measurement.record(value, attributes);
+        MemoryUsage collectionUsage = current.collectionUsages[i];
+        if (collectionUsage != null) {
+          record(usageAfterLastGc, collectionUsage.getUsed(), attributes);
         }
       }
     };
   }
 
+  private static void record(
+      ObservableLongMeasurement measurement, long value, Attributes attributes) {
+    if (value != -1) {
+      measurement.record(value, attributes);
+    }
+  }
+
   private static String memoryType(MemoryType memoryType) {
     switch (memoryType) {
       case HEAP:
@@ -133,5 +174,26 @@ public final class MemoryPools {
     return "unknown";
   }
 
+  private static final class Snapshot {
+    private final MemoryUsage[] usages;
+    private final MemoryUsage[] collectionUsages;
+
+    private Snapshot(MemoryUsage[] usages, MemoryUsage[] collectionUsages) {
+      this.usages = usages;
+      this.collectionUsages = collectionUsages;
+    }
+
+    static Snapshot sample(List<MemoryPoolMXBean> poolBeans) {
+      MemoryUsage[] usages = new MemoryUsage[poolBeans.size()];
+      MemoryUsage[] collectionUsages = new MemoryUsage[poolBeans.size()];
+      for (int i = 0; i < usages.length; i++) {
+        MemoryPoolMXBean pool = poolBeans.get(i);
+        usages[i] = pool.getUsage();
+        collectionUsages[i] = pool.getCollectionUsage();
+      }
+      return new Snapshot(usages, collectionUsages);
+    }
+  }
+
   private MemoryPools() {}
 }
@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,10 +23,10 @@ import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExte
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.MemoryType;
 import java.lang.management.MemoryUsage;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -80,7 +81,7 @@ class MemoryPoolsTest {
     when(nonHeapUsage.getMax()).thenReturn(17L);
     when(heapCollectionUsage.getUsed()).thenReturn(18L);
     when(nonHeapCollectionUsage.getUsed()).thenReturn(19L);
-    MemoryPools.registerObservers(testing.getOpenTelemetry(), beans);
+    MemoryPools.registerObservers(testing.getOpenTelemetry(), beans, Duration.ZERO);
 
     testing.waitAndAssertMetrics(
         "io.opentelemetry.runtime-metrics",
@@ -220,9 +221,7 @@ class MemoryPoolsTest {
     when(heapPoolUsage.getUsed()).thenReturn(1L);
     when(nonHeapUsage.getUsed()).thenReturn(2L);
 
-    Consumer<ObservableLongMeasurement> callback =
-        MemoryPools.callback(beans, MemoryPoolMXBean::getUsage, MemoryUsage::getUsed);
-    callback.accept(measurement);
+    callback(beans, Duration.ZERO).run();
 
     verify(measurement)
         .record(1, Attributes.builder().put("pool", "heap_pool").put("type", "heap").build());
@@ -236,9 +235,7 @@ class MemoryPoolsTest {
     when(heapPoolUsage.getMax()).thenReturn(1L);
     when(nonHeapUsage.getMax()).thenReturn(-1L);
 
-    Consumer<ObservableLongMeasurement> callback =
-        MemoryPools.callback(beans, MemoryPoolMXBean::getUsage, MemoryUsage::getMax);
-    callback.accept(measurement);
+    callback(beans, Duration.ZERO).run();
 
     verify(measurement)
         .record(1, Attributes.builder().put("pool", "heap_pool").put("type", "heap").build());
@@ -247,14 +244,48 @@ class MemoryPoolsTest {
 
   @Test
   void callback_NullUsage() {
+    when(heapPoolBean.getUsage()).thenReturn(null);
     when(heapPoolBean.getCollectionUsage()).thenReturn(null);
 
-    Consumer<ObservableLongMeasurement> callback =
-        MemoryPools.callback(
-            Collections.singletonList(heapPoolBean),
-            MemoryPoolMXBean::getCollectionUsage,
-            MemoryUsage::getUsed);
-    callback.accept(measurement);
+    callback(Collections.singletonList(heapPoolBean), Duration.ZERO).run();
+
     verify(measurement, never()).record(anyLong(), any());
   }
+
+  @Test
+  void callback_ReadsEachPoolOncePerCollection() {
+    Runnable callback = callback(beans, Duration.ZERO);
+    callback.run();
+    callback.run();
+
+    verify(heapPoolBean, times(2)).getUsage();
+    verify(heapPoolBean, times(2)).getCollectionUsage();
+    verify(nonHeapPoolBean, times(2)).getUsage();
+    verify(nonHeapPoolBean, times(2)).getCollectionUsage();
+  }
+
+  @Test
+  void callback_ReusesSnapshotWithinMinimumInterval() {
+    when(heapPoolUsage.getUsed()).thenReturn(1L);
+
+    Runnable callback = callback(beans, Duration.ofHours(1));
+    callback.run();
+    callback.run();
+
+    verify(heapPoolBean, times(1)).getUsage();
+    verify(nonHeapPoolBean, times(1)).getUsage();
+    verify(measurement, times(2))
+        .record(1, Attributes.builder().put("pool", "heap_pool").put("type", "heap").build());
+  }
+
+  private Runnable callback(List<MemoryPoolMXBean> poolBeans, Duration minimumCollectionInterval) {
+    return MemoryPools.callback(
+        poolBeans,
+        minimumCollectionInterval,
+        measurement,
+        measurement,
+        measurement,
+        measurement,
+        measurement);
+  }
 }
@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.bootstrap.servlet;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.util.function.Function;
 
 /**
@@ -26,6 +27,10 @@ public final class ServletContextPath {
   private static final ContextKey<ServletContextPath> CONTEXT_KEY =
       ContextKey.named("opentelemetry-servlet-context-path-key");
 
+  // routes with the context path prepended, keyed by context path and then by route; both are
+  // drawn from the application's mappings, so the same few strings are built over and over again
+  private static final Cache<String, Cache<String, String>> PREPENDED_ROUTES = Cache.bounded(64);
+
   public static <REQUEST> Context init(
       Context context, Function<REQUEST, String> contextPathExtractor, REQUEST request) {
     ServletContextPath servletContextPath = context.get(CONTEXT_KEY);
@@ -63,7 +68,10 @@ public final class ServletContextPath {
         if (spanName == null || spanName.isEmpty()) {
           return value;
         } else {
-          return value + (spanName.startsWith("/") ? spanName : ("/" + spanName));
+          return PREPENDED_ROUTES
+              .computeIfAbsent(value, unused -> Cache.bounded(256))
+              .computeIfAbsent(
+                  spanName, name -> value + (name.startsWith("/") ? name : ("/" + name)));
         }
       }
     }
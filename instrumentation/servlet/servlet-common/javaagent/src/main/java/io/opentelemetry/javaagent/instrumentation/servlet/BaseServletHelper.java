@@ -14,6 +14,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.instrumenter.LocalRootSpan;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteSource;
 import io.opentelemetry.javaagent.bootstrap.servlet.AppServerBridge;
 import io.opentelemetry.javaagent.bootstrap.servlet.MappingResolver;
 import io.opentelemetry.javaagent.bootstrap.servlet.ServletContextPath;
@@ -85,9 +86,12 @@ public abstract class BaseServletHelper<REQUEST, RESPONSE> {
   public Context updateContext(
       Context context, REQUEST request, MappingResolver mappingResolver, boolean servlet) {
     Context result = addServletContextPath(context, request);
-    if (mappingResolver != null) {
-      HttpRouteHolder.updateHttpRoute(
-          result, servlet ? SERVLET : FILTER, spanNameProvider, mappingResolver, request);
+    HttpRouteSource source = servlet ? SERVLET : FILTER;
+    // the request paths are only captured when this servlet or filter can provide the route, which
+    // is then only built for the winning one, when the server span ends
+    if (mappingResolver != null && HttpRouteHolder.canUpdateHttpRoute(result, source)) {
+      HttpRouteHolder.updateHttpRouteLazily(
+          result, source, spanNameProvider, mappingResolver, spanNameProvider.capture(request));
     }
 
     return result;
@@ -0,0 +1,35 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.servlet;
+
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerFilteredRequestMarker;
+
+/**
+ * Records filtered out requests in a request attribute, so that the servlets and filters that
+ * handle the same request afterwards, e.g. the next ones in the filter chain, do not evaluate the
+ * request filter again.
+ */
+final class ServletFilteredRequestMarker<REQUEST, RESPONSE>
+    implements HttpServerFilteredRequestMarker<ServletRequestContext<REQUEST>> {
+
+  private final ServletAccessor<REQUEST, RESPONSE> accessor;
+
+  ServletFilteredRequestMarker(ServletAccessor<REQUEST, RESPONSE> accessor) {
+    this.accessor = accessor;
+  }
+
+  @Override
+  public boolean isMarked(ServletRequestContext<REQUEST> requestContext) {
+    return accessor.getRequestAttribute(requestContext.request(), ServletHelper.FILTERED_ATTRIBUTE)
+        != null;
+  }
+
+  @Override
+  public void mark(ServletRequestContext<REQUEST> requestContext) {
+    accessor.setRequestAttribute(
+        requestContext.request(), ServletHelper.FILTERED_ATTRIBUTE, Boolean.TRUE);
+  }
+}
@@ -17,6 +17,8 @@ public class ServletHelper<REQUEST, RESPONSE> extends BaseServletHelper<REQUEST,
   private static final String ASYNC_EXCEPTION_ATTRIBUTE =
       ServletHelper.class.getName() + ".AsyncException";
   public static final String CONTEXT_ATTRIBUTE = ServletHelper.class.getName() + ".Context";
+  // set when a server instrumentation filtered out the request, see HttpServerRequestFilter
+  public static final String FILTERED_ATTRIBUTE = ServletHelper.class.getName() + ".Filtered";
 
   public ServletHelper(
       Instrumenter<ServletRequestContext<REQUEST>, ServletResponseContext<RESPONSE>> instrumenter,
@@ -16,6 +16,7 @@ import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesGetter;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanStatusExtractor;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
@@ -72,6 +73,14 @@ public final class ServletInstrumenterBuilder<REQUEST, RESPONSE> {
           requestParametersExtractor = new ServletRequestParametersExtractor<>(accessor);
       builder.addAttributesExtractor(requestParametersExtractor);
     }
+    HttpServerRequestFilter.builder(httpAttributesGetter)
+        .setSkippedRoutes(CommonConfig.get().getServerSkippedRoutes())
+        .setRateLimitedRoutes(
+            CommonConfig.get().getServerRateLimitedRoutes(),
+            CommonConfig.get().getServerRateLimit())
+        .setFilteredRequestMarker(new ServletFilteredRequestMarker<>(accessor))
+        .build(GlobalOpenTelemetry.get(), instrumentationName)
+        .addTo(builder);
     for (ContextCustomizer<? super ServletRequestContext<REQUEST>> contextCustomizer :
         contextCustomizers) {
       builder.addContextCustomizer(contextCustomizer);
@@ -11,21 +11,28 @@ import io.opentelemetry.javaagent.bootstrap.servlet.MappingResolver;
 import io.opentelemetry.javaagent.bootstrap.servlet.ServletContextPath;
 import javax.annotation.Nullable;
 
-/** Helper class for constructing span name for given servlet/filter mapping and request. */
+/**
+ * Helper class for constructing span name for given servlet/filter mapping and request. The
+ * request paths are captured up front, so that the span name can be resolved after the request has
+ * been forwarded or has completed.
+ */
 public class ServletSpanNameProvider<REQUEST>
-    implements HttpRouteBiGetter<MappingResolver, REQUEST> {
+    implements HttpRouteBiGetter<MappingResolver, ServletSpanNameProvider.RequestPath> {
   private final ServletAccessor<REQUEST, ?> servletAccessor;
 
   public ServletSpanNameProvider(ServletAccessor<REQUEST, ?> servletAccessor) {
     this.servletAccessor = servletAccessor;
   }
 
+  public RequestPath capture(REQUEST request) {
+    return new RequestPath(
+        servletAccessor.getRequestServletPath(request), servletAccessor.getRequestPathInfo(request));
+  }
+
   @Override
   @Nullable
-  public String get(Context context, MappingResolver mappingResolver, REQUEST request) {
-    String servletPath = servletAccessor.getRequestServletPath(request);
-    String pathInfo = servletAccessor.getRequestPathInfo(request);
-    String mapping = mappingResolver.resolve(servletPath, pathInfo);
+  public String get(Context context, MappingResolver mappingResolver, RequestPath requestPath) {
+    String mapping = mappingResolver.resolve(requestPath.servletPath, requestPath.pathInfo);
     // mapping was not found
     if (mapping == null) {
       return null;
@@ -33,4 +40,15 @@ public class ServletSpanNameProvider<REQUEST>
 
     return ServletContextPath.prepend(context, mapping);
   }
+
+  /** Servlet path and path info of a request at the time it reached a servlet or filter. */
+  public static final class RequestPath {
+    @Nullable private final String servletPath;
+    @Nullable private final String pathInfo;
+
+    private RequestPath(@Nullable String servletPath, @Nullable String pathInfo) {
+      this.servletPath = servletPath;
+      this.pathInfo = pathInfo;
+    }
+  }
 }
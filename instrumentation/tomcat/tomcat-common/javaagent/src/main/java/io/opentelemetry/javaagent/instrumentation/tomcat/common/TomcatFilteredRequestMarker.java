@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.tomcat.common;
+
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerFilteredRequestMarker;
+import io.opentelemetry.javaagent.instrumentation.servlet.ServletHelper;
+import org.apache.coyote.Request;
+
+/**
+ * Records filtered out requests in an attribute of the coyote request. The servlet request falls
+ * back to the attributes of the coyote request, so the servlet instrumentation skips the request
+ * too, like it uses the server context that {@link TomcatHelper} stores there.
+ */
+enum TomcatFilteredRequestMarker implements HttpServerFilteredRequestMarker<Request> {
+  INSTANCE;
+
+  @Override
+  public boolean isMarked(Request request) {
+    return request.getAttribute(ServletHelper.FILTERED_ATTRIBUTE) != null;
+  }
+
+  @Override
+  public void mark(Request request) {
+    request.setAttribute(ServletHelper.FILTERED_ATTRIBUTE, Boolean.TRUE);
+  }
+}
@@ -7,9 +7,11 @@ package io.opentelemetry.javaagent.instrumentation.tomcat.common;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanStatusExtractor;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
@@ -28,25 +30,34 @@ public final class TomcatInstrumenterFactory {
     TomcatHttpAttributesGetter httpAttributesGetter = new TomcatHttpAttributesGetter();
     TomcatNetAttributesGetter netAttributesGetter = new TomcatNetAttributesGetter();
 
-    return Instrumenter.<Request, Response>builder(
-            GlobalOpenTelemetry.get(),
-            instrumentationName,
-            HttpSpanNameExtractor.create(httpAttributesGetter))
-        .setSpanStatusExtractor(HttpSpanStatusExtractor.create(httpAttributesGetter))
-        .setErrorCauseExtractor(new ServletErrorCauseExtractor<>(accessor))
-        .addAttributesExtractor(
-            HttpServerAttributesExtractor.builder(httpAttributesGetter, netAttributesGetter)
-                .setCapturedRequestHeaders(CommonConfig.get().getServerRequestHeaders())
-                .setCapturedResponseHeaders(CommonConfig.get().getServerResponseHeaders())
-                .build())
-        .addContextCustomizer(HttpRouteHolder.get())
-        .addContextCustomizer(
-            (context, request, attributes) ->
-                new AppServerBridge.Builder()
-                    .captureServletAttributes()
-                    .recordException()
-                    .init(context))
-        .addOperationMetrics(HttpServerMetrics.get())
-        .buildServerInstrumenter(TomcatRequestGetter.INSTANCE);
+    InstrumenterBuilder<Request, Response> builder =
+        Instrumenter.<Request, Response>builder(
+                GlobalOpenTelemetry.get(),
+                instrumentationName,
+                HttpSpanNameExtractor.create(httpAttributesGetter))
+            .setSpanStatusExtractor(HttpSpanStatusExtractor.create(httpAttributesGetter))
+            .setErrorCauseExtractor(new ServletErrorCauseExtractor<>(accessor))
+            .addAttributesExtractor(
+                HttpServerAttributesExtractor.builder(httpAttributesGetter, netAttributesGetter)
+                    .setCapturedRequestHeaders(CommonConfig.get().getServerRequestHeaders())
+                    .setCapturedResponseHeaders(CommonConfig.get().getServerResponseHeaders())
+                    .build())
+            .addContextCustomizer(HttpRouteHolder.get())
+            .addContextCustomizer(
+                (context, request, attributes) ->
+                    new AppServerBridge.Builder()
+                        .captureServletAttributes()
+                        .recordException()
+                        .init(context))
+            .addOperationMetrics(HttpServerMetrics.get());
+    HttpServerRequestFilter.builder(httpAttributesGetter)
+        .setSkippedRoutes(CommonConfig.get().getServerSkippedRoutes())
+        .setRateLimitedRoutes(
+            CommonConfig.get().getServerRateLimitedRoutes(),
+            CommonConfig.get().getServerRateLimit())
+        .setFilteredRequestMarker(TomcatFilteredRequestMarker.INSTANCE)
+        .build(GlobalOpenTelemetry.get(), instrumentationName)
+        .addTo(builder);
+    return builder.buildServerInstrumenter(TomcatRequestGetter.INSTANCE);
   }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.undertow;
+
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerFilteredRequestMarker;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
+import io.opentelemetry.javaagent.bootstrap.undertow.KeyHolder;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.AttachmentKey;
+
+/**
+ * Records filtered out requests in an attachment of the exchange, so that the nested handlers of
+ * the same exchange do not evaluate the request filter again.
+ */
+enum UndertowFilteredRequestMarker implements HttpServerFilteredRequestMarker<HttpServerExchange> {
+  INSTANCE;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean isMarked(HttpServerExchange exchange) {
+    AttachmentKey<Boolean> filteredKey =
+        (AttachmentKey<Boolean>) KeyHolder.contextKeys.get(HttpServerRequestFilter.class);
+    return filteredKey != null && exchange.getAttachment(filteredKey) != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void mark(HttpServerExchange exchange) {
+    AttachmentKey<Boolean> filteredKey =
+        (AttachmentKey<Boolean>)
+            KeyHolder.contextKeys.computeIfAbsent(
+                HttpServerRequestFilter.class, key -> AttachmentKey.create(Boolean.class));
+    exchange.putAttachment(filteredKey, Boolean.TRUE);
+  }
+}
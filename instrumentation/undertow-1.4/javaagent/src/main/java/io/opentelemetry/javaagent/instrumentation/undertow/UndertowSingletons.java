@@ -7,9 +7,11 @@ package io.opentelemetry.javaagent.instrumentation.undertow;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.api.instrumenter.InstrumenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpRouteHolder;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerAttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerMetrics;
+import io.opentelemetry.instrumentation.api.instrumenter.http.HttpServerRequestFilter;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanNameExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpSpanStatusExtractor;
 import io.opentelemetry.javaagent.bootstrap.internal.CommonConfig;
@@ -26,7 +28,7 @@ public final class UndertowSingletons {
     UndertowHttpAttributesGetter httpAttributesGetter = new UndertowHttpAttributesGetter();
     UndertowNetAttributesGetter netAttributesGetter = new UndertowNetAttributesGetter();
 
-    INSTRUMENTER =
+    InstrumenterBuilder<HttpServerExchange, HttpServerExchange> builder =
         Instrumenter.<HttpServerExchange, HttpServerExchange>builder(
                 GlobalOpenTelemetry.get(),
                 INSTRUMENTATION_NAME,
@@ -49,8 +51,16 @@ public final class UndertowSingletons {
                       .recordException()
                       .init(context);
                 })
-            .addOperationMetrics(HttpServerMetrics.get())
-            .buildServerInstrumenter(UndertowExchangeGetter.INSTANCE);
+            .addOperationMetrics(HttpServerMetrics.get());
+    HttpServerRequestFilter.builder(httpAttributesGetter)
+        .setSkippedRoutes(CommonConfig.get().getServerSkippedRoutes())
+        .setRateLimitedRoutes(
+            CommonConfig.get().getServerRateLimitedRoutes(),
+            CommonConfig.get().getServerRateLimit())
+        .setFilteredRequestMarker(UndertowFilteredRequestMarker.INSTANCE)
+        .build(GlobalOpenTelemetry.get(), INSTRUMENTATION_NAME)
+        .addTo(builder);
+    INSTRUMENTER = builder.buildServerInstrumenter(UndertowExchangeGetter.INSTANCE);
   }
 
   private static final UndertowHelper HELPER = new UndertowHelper(INSTRUMENTER);
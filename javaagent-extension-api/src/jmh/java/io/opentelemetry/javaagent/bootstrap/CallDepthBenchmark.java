@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Simulates a filter chain where every filter is instrumented by the same advice, and a few other
+ * advice classes (e.g. JDBC, HTTP client) are active on the same thread.
+ */
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CallDepthBenchmark {
+
+  private static final Class<?>[] ADVICE_CLASSES = {
+    FilterAdvice.class, StatementAdvice.class, HttpClientAdvice.class, ExecutorAdvice.class
+  };
+
+  @Param({"1", "10", "50"})
+  public int chainDepth;
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_slotArray(Blackhole blackhole) {
+    slotArrayChain(0, blackhole);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_slotArray(Blackhole blackhole) {
+    slotArrayChain(0, blackhole);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void threads01_threadLocalPerClass(Blackhole blackhole) {
+    threadLocalPerClassChain(0, blackhole);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void threads08_threadLocalPerClass(Blackhole blackhole) {
+    threadLocalPerClassChain(0, blackhole);
+  }
+
+  private void slotArrayChain(int depth, Blackhole blackhole) {
+    CallDepth callDepth = CallDepth.forClass(FilterAdvice.class);
+    blackhole.consume(callDepth.getAndIncrement());
+    if (depth < chainDepth) {
+      slotArrayChain(depth + 1, blackhole);
+    } else {
+      for (Class<?> adviceClass : ADVICE_CLASSES) {
+        CallDepth inner = CallDepth.forClass(adviceClass);
+        blackhole.consume(inner.getAndIncrement());
+        blackhole.consume(inner.decrementAndGet());
+      }
+    }
+    blackhole.consume(callDepth.decrementAndGet());
+  }
+
+  private void threadLocalPerClassChain(int depth, Blackhole blackhole) {
+    CallDepth callDepth = ThreadLocalPerClass.getCallDepth(FilterAdvice.class);
+    blackhole.consume(callDepth.getAndIncrement());
+    if (depth < chainDepth) {
+      threadLocalPerClassChain(depth + 1, blackhole);
+    } else {
+      for (Class<?> adviceClass : ADVICE_CLASSES) {
+        CallDepth inner = ThreadLocalPerClass.getCallDepth(adviceClass);
+        blackhole.consume(inner.getAndIncrement());
+        blackhole.consume(inner.decrementAndGet());
+      }
+    }
+    blackhole.consume(callDepth.decrementAndGet());
+  }
+
+  // the previous CallDepthThreadLocalMap implementation: one thread local per class
+  private static final class ThreadLocalPerClass {
+    private static final ClassValue<ThreadLocal<CallDepth>> TLS =
+        new ClassValue<ThreadLocal<CallDepth>>() {
+          @Override
+          protected ThreadLocal<CallDepth> computeValue(Class<?> type) {
+            return ThreadLocal.withInitial(CallDepth::new);
+          }
+        };
+
+    static CallDepth getCallDepth(Class<?> k) {
+      return TLS.get(k).get();
+    }
+  }
+
+  private static final class FilterAdvice {}
+
+  private static final class StatementAdvice {}
+
+  private static final class HttpClientAdvice {}
+
+  private static final class ExecutorAdvice {}
+}
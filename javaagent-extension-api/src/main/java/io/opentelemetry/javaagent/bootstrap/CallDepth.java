@@ -22,9 +22,12 @@ package io.opentelemetry.javaagent.bootstrap;
  */
 public final class CallDepth {
 
+  // the slot of the class the call depth was created for
+  final CallDepthThreadLocalMap.Slot slot;
   private int depth;
 
-  CallDepth() {
+  CallDepth(CallDepthThreadLocalMap.Slot slot) {
+    this.slot = slot;
     this.depth = 0;
   }
 
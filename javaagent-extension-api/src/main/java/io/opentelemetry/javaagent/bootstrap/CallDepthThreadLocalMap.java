@@ -5,24 +5,106 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class CallDepthThreadLocalMap {
 
-  private static final ClassValue<ThreadLocalDepth> TLS =
-      new ClassValue<ThreadLocalDepth>() {
+  private static final AtomicInteger nextSlot = new AtomicInteger();
+
+  // slots of unloaded classes are handed out again, so that the per thread arrays only grow with
+  // the number of classes that are loaded at the same time and not with class churn, e.g. from
+  // redeployments or generated classes
+  private static final ReferenceQueue<Class<?>> unloadedClasses = new ReferenceQueue<>();
+  private static final Set<SlotReference> slotReferences = ConcurrentHashMap.newKeySet();
+  private static final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+
+  // every class gets a small integer slot once, all classes then share a single thread local
+  // holding an array indexed by that slot instead of using a dedicated thread local per class
+  private static final ClassValue<Slot> SLOTS =
+      new ClassValue<Slot>() {
         @Override
-        protected ThreadLocalDepth computeValue(Class<?> type) {
-          return new ThreadLocalDepth();
+        protected Slot computeValue(Class<?> type) {
+          return allocateSlot(type);
         }
       };
 
+  private static final ThreadLocal<CallDepth[]> TLS =
+      ThreadLocal.withInitial(() -> new CallDepth[16]);
+
   static CallDepth getCallDepth(Class<?> k) {
-    return TLS.get(k).get();
+    Slot slot = SLOTS.get(k);
+    int index = slot.index;
+    CallDepth[] callDepths = TLS.get();
+    if (index >= callDepths.length) {
+      callDepths = Arrays.copyOf(callDepths, Math.max(index + 1, callDepths.length * 2));
+      TLS.set(callDepths);
+    }
+    CallDepth callDepth = callDepths[index];
+    // a reused slot can still hold the call depth of the unloaded class that had it before, which
+    // is not 0 when a call of that class never returned on this thread
+    if (callDepth == null || callDepth.slot != slot) {
+      callDepth = new CallDepth(slot);
+      callDepths[index] = callDepth;
+    }
+    return callDepth;
+  }
+
+  private static Slot allocateSlot(Class<?> type) {
+    reclaimSlots();
+    Integer index = freeSlots.poll();
+    if (index == null) {
+      index = nextSlot.getAndIncrement();
+    }
+    Slot slot = new Slot(index);
+    slotReferences.add(new SlotReference(type, slot, unloadedClasses));
+    return slot;
+  }
+
+  private static void reclaimSlots() {
+    SlotReference reference;
+    while ((reference = (SlotReference) unloadedClasses.poll()) != null) {
+      slotReferences.remove(reference);
+      freeSlots.add(reference.slot.index);
+    }
+  }
+
+  // Visible for testing
+  static int allocatedSlots() {
+    return nextSlot.get();
+  }
+
+  // Visible for testing, releases the slot of the class the same way as when the class is unloaded
+  static void release(Class<?> type) {
+    for (SlotReference reference : slotReferences) {
+      if (reference.get() == type) {
+        reference.enqueue();
+      }
+    }
+    SLOTS.remove(type);
   }
 
-  private static final class ThreadLocalDepth extends ThreadLocal<CallDepth> {
-    @Override
-    protected CallDepth initialValue() {
-      return new CallDepth();
+  /** The index in the per thread arrays that was handed out to a class. */
+  static final class Slot {
+    final int index;
+
+    Slot(int index) {
+      this.index = index;
+    }
+  }
+
+  private static final class SlotReference extends WeakReference<Class<?>> {
+    final Slot slot;
+
+    SlotReference(Class<?> type, Slot slot, ReferenceQueue<Class<?>> queue) {
+      super(type, queue);
+      this.slot = slot;
     }
   }
 
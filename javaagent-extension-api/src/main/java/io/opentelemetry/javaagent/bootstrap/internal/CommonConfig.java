@@ -28,7 +28,12 @@ public final class CommonConfig {
   private final List<String> clientResponseHeaders;
   private final List<String> serverRequestHeaders;
   private final List<String> serverResponseHeaders;
+  private final boolean serverDeferredHeaderCapture;
+  private final List<String> serverSkippedRoutes;
+  private final List<String> serverRateLimitedRoutes;
+  private final double serverRateLimit;
   private final boolean statementSanitizationEnabled;
+  private final int redisMaxStatementLength;
 
   CommonConfig(InstrumentationConfig config) {
     peerServiceMapping =
@@ -41,8 +46,19 @@ public final class CommonConfig {
         config.getList("otel.instrumentation.http.capture-headers.server.request", emptyList());
     serverResponseHeaders =
         config.getList("otel.instrumentation.http.capture-headers.server.response", emptyList());
+    serverDeferredHeaderCapture =
+        config.getBoolean("otel.instrumentation.http.capture-headers.server.deferred", false);
+    serverSkippedRoutes =
+        config.getList("otel.instrumentation.http.server.skipped-routes", emptyList());
+    serverRateLimitedRoutes =
+        config.getList("otel.instrumentation.http.server.rate-limited-routes", emptyList());
+    serverRateLimit = config.getDouble("otel.instrumentation.http.server.rate-limit", 1.0);
     statementSanitizationEnabled =
         config.getBoolean("otel.instrumentation.common.db-statement-sanitizer.enabled", true);
+    int maxStatementLength =
+        config.getInt("otel.instrumentation.redis.experimental-max-statement-length", 0);
+    // 0 (the default) or a negative value keep the whole statement
+    redisMaxStatementLength = maxStatementLength > 0 ? maxStatementLength : Integer.MAX_VALUE;
   }
 
   public Map<String, String> getPeerServiceMapping() {
@@ -65,7 +81,27 @@ public final class CommonConfig {
     return serverResponseHeaders;
   }
 
+  public boolean isServerDeferredHeaderCapture() {
+    return serverDeferredHeaderCapture;
+  }
+
+  public List<String> getServerSkippedRoutes() {
+    return serverSkippedRoutes;
+  }
+
+  public List<String> getServerRateLimitedRoutes() {
+    return serverRateLimitedRoutes;
+  }
+
+  public double getServerRateLimit() {
+    return serverRateLimit;
+  }
+
   public boolean isStatementSanitizationEnabled() {
     return statementSanitizationEnabled;
   }
+
+  public int getRedisMaxStatementLength() {
+    return redisMaxStatementLength;
+  }
 }
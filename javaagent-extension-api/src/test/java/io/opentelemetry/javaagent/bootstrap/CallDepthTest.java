@@ -7,6 +7,10 @@ package io.opentelemetry.javaagent.bootstrap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
 import org.junit.jupiter.api.Test;
 
 class CallDepthTest {
@@ -28,4 +32,97 @@ class CallDepthTest {
     assertThat(CallDepth.forClass(Double.class).getAndIncrement()).isZero();
     assertThat(CallDepth.forClass(Double.class).decrementAndGet()).isZero();
   }
+
+  @Test
+  void manyClasses() {
+    // array classes of increasing dimension are distinct classes
+    Class<?>[] classes = new Class<?>[40];
+    for (int i = 0; i < classes.length; i++) {
+      classes[i] = Array.newInstance(Object.class, new int[i + 1]).getClass();
+    }
+
+    for (int depth = 0; depth < 3; depth++) {
+      for (Class<?> cls : classes) {
+        assertThat(CallDepth.forClass(cls).getAndIncrement()).isEqualTo(depth);
+      }
+    }
+    for (int depth = 2; depth >= 0; depth--) {
+      for (Class<?> cls : classes) {
+        assertThat(CallDepth.forClass(cls).decrementAndGet()).isEqualTo(depth);
+      }
+    }
+  }
+
+  @Test
+  void isolatedPerThread() throws InterruptedException {
+    assertThat(CallDepth.forClass(Boolean.class).getAndIncrement()).isZero();
+
+    int[] otherThreadDepth = new int[1];
+    Thread thread =
+        new Thread(() -> otherThreadDepth[0] = CallDepth.forClass(Boolean.class).getAndIncrement());
+    thread.start();
+    thread.join();
+
+    assertThat(otherThreadDepth[0]).isZero();
+    assertThat(CallDepth.forClass(Boolean.class).decrementAndGet()).isZero();
+  }
+
+  @Test
+  void reusesSlotsOfUnloadedClasses() throws IOException {
+    byte[] bytes = classBytes(Churn.class);
+    int allocatedBefore = CallDepthThreadLocalMap.allocatedSlots();
+
+    for (int i = 0; i < 100; i++) {
+      Class<?> cls = new ChurnClassLoader(bytes).loadChurnClass();
+      assertThat(CallDepth.forClass(cls).getAndIncrement()).isZero();
+      assertThat(CallDepth.forClass(cls).decrementAndGet()).isZero();
+      CallDepthThreadLocalMap.release(cls);
+    }
+
+    assertThat(CallDepthThreadLocalMap.allocatedSlots() - allocatedBefore).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  void reusedSlotStartsAtZero() throws IOException {
+    byte[] bytes = classBytes(Churn.class);
+    Class<?> unloaded = new ChurnClassLoader(bytes).loadChurnClass();
+    // a call of the unloaded class never returned on this thread
+    assertThat(CallDepth.forClass(unloaded).getAndIncrement()).isZero();
+    int allocated = CallDepthThreadLocalMap.allocatedSlots();
+    CallDepthThreadLocalMap.release(unloaded);
+
+    Class<?> cls = new ChurnClassLoader(bytes).loadChurnClass();
+
+    assertThat(CallDepth.forClass(cls).getAndIncrement()).isZero();
+    assertThat(CallDepth.forClass(cls).decrementAndGet()).isZero();
+    assertThat(CallDepthThreadLocalMap.allocatedSlots()).isEqualTo(allocated);
+  }
+
+  private static byte[] classBytes(Class<?> cls) throws IOException {
+    String resource = cls.getName().replace('.', '/') + ".class";
+    try (InputStream in = cls.getClassLoader().getResourceAsStream(resource)) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  static class Churn {}
+
+  private static class ChurnClassLoader extends ClassLoader {
+    private final byte[] bytes;
+
+    ChurnClassLoader(byte[] bytes) {
+      super(CallDepthTest.class.getClassLoader());
+      this.bytes = bytes;
+    }
+
+    Class<?> loadChurnClass() {
+      return defineClass(Churn.class.getName(), bytes, 0, bytes.length);
+    }
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.export;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import com.google.auto.service.AutoService;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizer;
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizerProvider;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
+
+/**
+ * Wraps the span and log record exporters in exporters that retry the items of failed exports,
+ * when {@code otel.javaagent.experimental.exporter.retry.enabled} is set. Metrics are not retried:
+ * with the default cumulative temporality the next export contains the points of a failed one.
+ */
+@AutoService(AutoConfigurationCustomizerProvider.class)
+public final class ExportRetryConfigurer implements AutoConfigurationCustomizerProvider {
+
+  private static final String ENABLED_CONFIG = "otel.javaagent.experimental.exporter.retry.enabled";
+  private static final String MAX_QUEUE_SIZE_CONFIG =
+      "otel.javaagent.experimental.exporter.retry.max-queue-size";
+  private static final int DEFAULT_MAX_QUEUE_SIZE = 4096;
+  // the retried batches are as large as the batches of the batch processors
+  private static final String SPAN_BATCH_SIZE_CONFIG = "otel.bsp.max.export.batch.size";
+  private static final String LOG_BATCH_SIZE_CONFIG = "otel.blrp.max.export.batch.size";
+  private static final int DEFAULT_BATCH_SIZE = 512;
+  // flushing and shutting down retry the queue for as long as the processors wait for an export
+  private static final String SPAN_EXPORT_TIMEOUT_CONFIG = "otel.bsp.export.timeout";
+  private static final String LOG_EXPORT_TIMEOUT_CONFIG = "otel.blrp.export.timeout";
+  private static final Duration DEFAULT_EXPORT_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final AttributeKey<String> SIGNAL = stringKey("signal");
+
+  private static final List<ExportRetryQueue<?>> retryQueues = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void customize(AutoConfigurationCustomizer autoConfigurationCustomizer) {
+    autoConfigurationCustomizer
+        .addSpanExporterCustomizer(ExportRetryConfigurer::configureSpanExporter)
+        .addLogRecordExporterCustomizer(ExportRetryConfigurer::configureLogRecordExporter);
+  }
+
+  private static SpanExporter configureSpanExporter(
+      SpanExporter exporter, ConfigProperties config) {
+    if (!isEnabled(config)) {
+      return exporter;
+    }
+    RetryingSpanExporter retryingExporter =
+        new RetryingSpanExporter(
+            exporter,
+            config.getInt(MAX_QUEUE_SIZE_CONFIG, DEFAULT_MAX_QUEUE_SIZE),
+            config.getInt(SPAN_BATCH_SIZE_CONFIG, DEFAULT_BATCH_SIZE),
+            config.getDuration(SPAN_EXPORT_TIMEOUT_CONFIG, DEFAULT_EXPORT_TIMEOUT).toNanos());
+    retryQueues.add(retryingExporter.getRetryQueue());
+    return retryingExporter;
+  }
+
+  private static LogRecordExporter configureLogRecordExporter(
+      LogRecordExporter exporter, ConfigProperties config) {
+    if (!isEnabled(config)) {
+      return exporter;
+    }
+    RetryingLogRecordExporter retryingExporter =
+        new RetryingLogRecordExporter(
+            exporter,
+            config.getInt(MAX_QUEUE_SIZE_CONFIG, DEFAULT_MAX_QUEUE_SIZE),
+            config.getInt(LOG_BATCH_SIZE_CONFIG, DEFAULT_BATCH_SIZE),
+            config.getDuration(LOG_EXPORT_TIMEOUT_CONFIG, DEFAULT_EXPORT_TIMEOUT).toNanos());
+    retryQueues.add(retryingExporter.getRetryQueue());
+    return retryingExporter;
+  }
+
+  private static boolean isEnabled(ConfigProperties config) {
+    return config.getBoolean(ENABLED_CONFIG, false);
+  }
+
+  /**
+   * Reports the number of queued and dropped items of the export retry queues, once the SDK that
+   * created them was built.
+   */
+  public static void registerMetrics(MeterProvider meterProvider) {
+    if (retryQueues.isEmpty()) {
+      return;
+    }
+    Meter meter = meterProvider.get("io.opentelemetry.javaagent");
+    meter
+        .upDownCounterBuilder("otel.javaagent.exporter.retry.queued")
+        .setUnit("{item}")
+        .setDescription("The number of items waiting to be exported again")
+        .buildWithCallback(measurement -> record(measurement, ExportRetryQueue::getQueueSize));
+    meter
+        .counterBuilder("otel.javaagent.exporter.retry.dropped")
+        .setUnit("{item}")
+        .setDescription("The number of items that were dropped instead of being exported again")
+        .buildWithCallback(measurement -> record(measurement, ExportRetryQueue::getDroppedCount));
+  }
+
+  private static void record(
+      ObservableLongMeasurement measurement, ToLongFunction<ExportRetryQueue<?>> value) {
+    // several exporters of the same signal are reported together
+    Map<String, Long> values = new LinkedHashMap<>();
+    for (ExportRetryQueue<?> retryQueue : retryQueues) {
+      values.merge(retryQueue.getSignal(), value.applyAsLong(retryQueue), Long::sum);
+    }
+    values.forEach((signal, sum) -> measurement.record(sum, Attributes.of(SIGNAL, signal)));
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.export;
+
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the items of failed exports, e.g. while the backend is unreachable, and exports them again
+ * once an export succeeded. The queue is bounded: when it is full, the oldest items are dropped.
+ *
+ * <p>Queued items are only retried after a successful export or on flush, so an unreachable
+ * backend does not receive more requests than without the queue. They are retried in batches of
+ * at most {@code maxRetryBatchSize} items, one batch at a time. Items that failed to export {@link
+ * #MAX_EXPORT_ATTEMPTS} times, e.g. because the backend rejects them, are dropped instead of being
+ * queued again. Flushing and shutting down retry the whole queue within the retry timeout; the
+ * items that are still queued after a shutdown are dropped, as are the items of exports that fail
+ * after the shutdown.
+ */
+final class ExportRetryQueue<T> {
+
+  private static final Logger logger = Logger.getLogger(ExportRetryQueue.class.getName());
+
+  // the first export and 4 retries
+  static final int MAX_EXPORT_ATTEMPTS = 5;
+
+  private final String signal;
+  private final Function<Collection<T>, CompletableResultCode> export;
+  private final int maxQueueSize;
+  private final int maxRetryBatchSize;
+  private final long retryTimeoutNanos;
+
+  // guarded by this, exports are rarely concurrent: the batch processors export from a single
+  // worker thread
+  private final ArrayDeque<QueuedItem<T>> queue = new ArrayDeque<>();
+  private boolean dropping;
+  private boolean shutdown;
+  @Nullable private CompletableResultCode retryInProgress;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  ExportRetryQueue(
+      String signal,
+      Function<Collection<T>, CompletableResultCode> export,
+      int maxQueueSize,
+      int maxRetryBatchSize,
+      long retryTimeoutNanos) {
+    this.signal = signal;
+    this.export = export;
+    this.maxQueueSize = maxQueueSize;
+    this.maxRetryBatchSize = maxRetryBatchSize;
+    this.retryTimeoutNanos = retryTimeoutNanos;
+  }
+
+  /** Exports the items, and queues them when the export fails. */
+  CompletableResultCode export(Collection<T> items) {
+    CompletableResultCode result = export.apply(items);
+    result.whenComplete(
+        () -> {
+          if (result.isSuccess()) {
+            retry();
+          } else {
+            enqueue(items);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Exports the next batch of queued items; when another retry is in progress, returns the result
+   * of that retry instead.
+   */
+  CompletableResultCode retry() {
+    List<QueuedItem<T>> batch;
+    CompletableResultCode result;
+    synchronized (this) {
+      if (retryInProgress != null) {
+        return retryInProgress;
+      }
+      batch = poll();
+      if (batch.isEmpty()) {
+        return CompletableResultCode.ofSuccess();
+      }
+      result = new CompletableResultCode();
+      retryInProgress = result;
+    }
+    List<T> items = new ArrayList<>(batch.size());
+    for (QueuedItem<T> queuedItem : batch) {
+      items.add(queuedItem.item);
+    }
+    CompletableResultCode exportResult = export.apply(items);
+    exportResult.whenComplete(
+        () -> {
+          synchronized (this) {
+            retryInProgress = null;
+          }
+          if (exportResult.isSuccess()) {
+            result.succeed();
+            // continue with the next batch
+            retry();
+          } else {
+            requeue(batch);
+            result.fail();
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Retries the queued items batch by batch until the queue is empty. The returned result fails
+   * when a retry fails or when the retry timeout elapses before the queue was emptied.
+   */
+  CompletableResultCode drain() {
+    CompletableResultCode result = new CompletableResultCode();
+    drainNext(result, System.nanoTime() + retryTimeoutNanos);
+    return result;
+  }
+
+  private void drainNext(CompletableResultCode result, long deadlineNanos) {
+    if (getQueueSize() == 0) {
+      result.succeed();
+      return;
+    }
+    if (System.nanoTime() - deadlineNanos >= 0) {
+      result.fail();
+      return;
+    }
+    CompletableResultCode retryResult = retry();
+    retryResult.whenComplete(
+        () -> {
+          if (retryResult.isSuccess()) {
+            drainNext(result, deadlineNanos);
+          } else {
+            result.fail();
+          }
+        });
+  }
+
+  /**
+   * Drains the queue, then counts the items that could not be exported as dropped and shuts down
+   * the exporter. Items of exports that fail afterwards are dropped right away.
+   */
+  CompletableResultCode shutdown(Supplier<CompletableResultCode> shutdownExporter) {
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableResultCode drainResult = drain();
+    drainResult.whenComplete(
+        () -> {
+          int remaining;
+          synchronized (this) {
+            shutdown = true;
+            remaining = queue.size();
+            queue.clear();
+          }
+          if (remaining > 0) {
+            droppedCount.addAndGet(remaining);
+            logger.log(
+                WARNING,
+                "Dropping {0} {1} that could not be exported before the shutdown",
+                new Object[] {remaining, signal});
+          }
+          CompletableResultCode exporterResult = shutdownExporter.get();
+          exporterResult.whenComplete(
+              () -> {
+                if (drainResult.isSuccess() && exporterResult.isSuccess()) {
+                  result.succeed();
+                } else {
+                  result.fail();
+                }
+              });
+        });
+    return result;
+  }
+
+  String getSignal() {
+    return signal;
+  }
+
+  synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  /**
+   * Returns the number of items that were dropped because the queue was full, because they failed
+   * to export {@link #MAX_EXPORT_ATTEMPTS} times, or because they could not be exported before the
+   * shutdown.
+   */
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  private synchronized List<QueuedItem<T>> poll() {
+    int size = Math.min(queue.size(), maxRetryBatchSize);
+    List<QueuedItem<T>> batch = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      batch.add(queue.pollFirst());
+    }
+    if (queue.isEmpty()) {
+      dropping = false;
+    }
+    return batch;
+  }
+
+  private void enqueue(Collection<T> items) {
+    List<QueuedItem<T>> queuedItems = new ArrayList<>(items.size());
+    for (T item : items) {
+      queuedItems.add(new QueuedItem<>(item));
+    }
+    add(queuedItems, /* retried= */ false);
+  }
+
+  private void requeue(List<QueuedItem<T>> batch) {
+    List<QueuedItem<T>> remaining = new ArrayList<>(batch.size());
+    for (QueuedItem<T> queuedItem : batch) {
+      if (++queuedItem.attempts < MAX_EXPORT_ATTEMPTS) {
+        remaining.add(queuedItem);
+      }
+    }
+    int exhausted = batch.size() - remaining.size();
+    if (exhausted > 0) {
+      droppedCount.addAndGet(exhausted);
+      logger.log(
+          WARNING,
+          "Dropping {0} {1} that failed to export {2} times",
+          new Object[] {exhausted, signal, MAX_EXPORT_ATTEMPTS});
+    }
+    add(remaining, /* retried= */ true);
+  }
+
+  private void add(List<QueuedItem<T>> items, boolean retried) {
+    long dropped;
+    boolean startedDropping = false;
+    synchronized (this) {
+      if (shutdown) {
+        droppedCount.addAndGet(items.size());
+        return;
+      }
+      if (retried) {
+        // retried items are older than the ones queued in the meantime
+        for (int i = items.size() - 1; i >= 0; i--) {
+          queue.addFirst(items.get(i));
+        }
+      } else {
+        queue.addAll(items);
+      }
+      dropped = 0;
+      while (queue.size() > maxQueueSize) {
+        queue.pollFirst();
+        dropped++;
+      }
+      if (dropped > 0 && !dropping) {
+        dropping = true;
+        startedDropping = true;
+      }
+    }
+    if (dropped > 0) {
+      droppedCount.addAndGet(dropped);
+    }
+    if (startedDropping) {
+      logger.log(
+          WARNING, "The export retry queue for {0} is full, dropping the oldest {0}", signal);
+    }
+  }
+
+  private static final class QueuedItem<T> {
+    final T item;
+    // only updated by the retry that took the item from the queue
+    int attempts = 1;
+
+    QueuedItem(T item) {
+      this.item = item;
+    }
+  }
+}
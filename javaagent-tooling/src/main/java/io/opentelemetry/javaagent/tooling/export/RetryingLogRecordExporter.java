@@ -0,0 +1,51 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.export;
+
+import static java.util.Arrays.asList;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import java.util.Collection;
+
+final class RetryingLogRecordExporter implements LogRecordExporter {
+
+  private final LogRecordExporter delegate;
+  private final ExportRetryQueue<LogRecordData> retryQueue;
+
+  RetryingLogRecordExporter(
+      LogRecordExporter delegate, int maxQueueSize, int maxRetryBatchSize, long retryTimeoutNanos) {
+    this.delegate = delegate;
+    this.retryQueue =
+        new ExportRetryQueue<>(
+            "logs", delegate::export, maxQueueSize, maxRetryBatchSize, retryTimeoutNanos);
+  }
+
+  ExportRetryQueue<LogRecordData> getRetryQueue() {
+    return retryQueue;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<LogRecordData> logs) {
+    return retryQueue.export(logs);
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofAll(asList(retryQueue.drain(), delegate.flush()));
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return retryQueue.shutdown(delegate::shutdown);
+  }
+
+  @Override
+  public String toString() {
+    return "RetryingLogRecordExporter{" + delegate + "}";
+  }
+}
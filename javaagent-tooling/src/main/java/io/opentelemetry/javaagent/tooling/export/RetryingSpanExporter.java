@@ -0,0 +1,51 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.export;
+
+import static java.util.Arrays.asList;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Collection;
+
+final class RetryingSpanExporter implements SpanExporter {
+
+  private final SpanExporter delegate;
+  private final ExportRetryQueue<SpanData> retryQueue;
+
+  RetryingSpanExporter(
+      SpanExporter delegate, int maxQueueSize, int maxRetryBatchSize, long retryTimeoutNanos) {
+    this.delegate = delegate;
+    this.retryQueue =
+        new ExportRetryQueue<>(
+            "spans", delegate::export, maxQueueSize, maxRetryBatchSize, retryTimeoutNanos);
+  }
+
+  ExportRetryQueue<SpanData> getRetryQueue() {
+    return retryQueue;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    return retryQueue.export(spans);
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofAll(asList(retryQueue.drain(), delegate.flush()));
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return retryQueue.shutdown(delegate::shutdown);
+  }
+
+  @Override
+  public String toString() {
+    return "RetryingSpanExporter{" + delegate + "}";
+  }
+}
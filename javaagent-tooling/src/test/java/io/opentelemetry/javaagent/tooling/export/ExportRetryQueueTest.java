@@ -0,0 +1,164 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.export;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class ExportRetryQueueTest {
+
+  private final List<List<String>> exported = new ArrayList<>();
+  private boolean available = true;
+  private final Set<String> rejected = new HashSet<>();
+
+  private final ExportRetryQueue<String> retryQueue =
+      new ExportRetryQueue<>("test", this::export, 4, 2, TimeUnit.SECONDS.toNanos(10));
+
+  @Test
+  void retriesAfterSuccessfulExport() {
+    available = false;
+    assertThat(retryQueue.export(asList("a", "b")).isSuccess()).isFalse();
+    assertThat(retryQueue.export(asList("c")).isSuccess()).isFalse();
+    assertThat(retryQueue.getQueueSize()).isEqualTo(3);
+    assertThat(exported).isEmpty();
+
+    available = true;
+    assertThat(retryQueue.export(asList("d")).isSuccess()).isTrue();
+
+    // the new items first, then the queued ones in batches of two
+    assertThat(exported).containsExactly(asList("d"), asList("a", "b"), asList("c"));
+    assertThat(retryQueue.getQueueSize()).isZero();
+    assertThat(retryQueue.getDroppedCount()).isZero();
+  }
+
+  @Test
+  void dropsOldestItemsWhenFull() {
+    available = false;
+    retryQueue.export(asList("a", "b", "c"));
+    retryQueue.export(asList("d", "e", "f"));
+    assertThat(retryQueue.getQueueSize()).isEqualTo(4);
+    assertThat(retryQueue.getDroppedCount()).isEqualTo(2);
+
+    available = true;
+    retryQueue.retry();
+
+    assertThat(exported).containsExactly(asList("c", "d"), asList("e", "f"));
+  }
+
+  @Test
+  void keepsOrderOfFailedRetries() {
+    available = false;
+    retryQueue.export(asList("a", "b"));
+    retryQueue.retry();
+    retryQueue.export(asList("c"));
+
+    available = true;
+    retryQueue.retry();
+
+    assertThat(exported).containsExactly(asList("a", "b"), asList("c"));
+  }
+
+  @Test
+  void dropsItemsThatAlwaysFail() {
+    rejected.add("a");
+    retryQueue.export(asList("a"));
+    assertThat(retryQueue.getQueueSize()).isEqualTo(1);
+
+    // every successful export retries the rejected item once more
+    for (int i = 1; i < ExportRetryQueue.MAX_EXPORT_ATTEMPTS; i++) {
+      retryQueue.export(asList("b" + i));
+    }
+
+    assertThat(retryQueue.getQueueSize()).isZero();
+    assertThat(retryQueue.getDroppedCount()).isEqualTo(1);
+    assertThat(exported).containsExactly(asList("b1"), asList("b2"), asList("b3"), asList("b4"));
+
+    // no more retries once the item was dropped
+    retryQueue.export(asList("c"));
+    assertThat(exported).hasSize(5);
+  }
+
+  @Test
+  void drainsWholeQueue() {
+    available = false;
+    retryQueue.export(asList("a", "b"));
+    retryQueue.export(asList("c"));
+
+    available = true;
+    CompletableResultCode result = retryQueue.drain();
+
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(exported).containsExactly(asList("a", "b"), asList("c"));
+    assertThat(retryQueue.getQueueSize()).isZero();
+  }
+
+  @Test
+  void drainFailsWhenRetryFails() {
+    available = false;
+    retryQueue.export(asList("a", "b"));
+
+    CompletableResultCode result = retryQueue.drain();
+
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(retryQueue.getQueueSize()).isEqualTo(2);
+  }
+
+  @Test
+  void shutdownCountsRemainingItemsAsDropped() {
+    available = false;
+    retryQueue.export(asList("a", "b", "c"));
+    AtomicBoolean exporterShutdown = new AtomicBoolean();
+
+    CompletableResultCode result =
+        retryQueue.shutdown(
+            () -> {
+              exporterShutdown.set(true);
+              return CompletableResultCode.ofSuccess();
+            });
+
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(exporterShutdown).isTrue();
+    assertThat(retryQueue.getQueueSize()).isZero();
+    assertThat(retryQueue.getDroppedCount()).isEqualTo(3);
+
+    // exports failing after the shutdown are not queued anymore
+    retryQueue.export(asList("d"));
+    assertThat(retryQueue.getQueueSize()).isZero();
+    assertThat(retryQueue.getDroppedCount()).isEqualTo(4);
+  }
+
+  @Test
+  void shutdownRetriesQueuedItems() {
+    available = false;
+    retryQueue.export(asList("a", "b", "c"));
+
+    available = true;
+    CompletableResultCode result = retryQueue.shutdown(CompletableResultCode::ofSuccess);
+
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(exported).containsExactly(asList("a", "b"), asList("c"));
+    assertThat(retryQueue.getDroppedCount()).isZero();
+  }
+
+  private CompletableResultCode export(Collection<String> items) {
+    if (!available || items.stream().anyMatch(rejected::contains)) {
+      return CompletableResultCode.ofFailure();
+    }
+    exported.add(new ArrayList<>(items));
+    return CompletableResultCode.ofSuccess();
+  }
+}